@@ -0,0 +1,86 @@
+package pl.jenczalik.validator.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.service.PrimitiveValidator;
+import pl.jenczalik.validator.service.StreamingValidator;
+import pl.jenczalik.validator.service.ValidationService;
+import pl.jenczalik.validator.util.codegen.ValidatorGenerator;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.error.ValidationErrorHandler;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.parser.JsonDocumentParser;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Pomocnicze metody dla benchmarków - tworzenie serwisu bez kontekstu Springa
+ * oraz wczytywanie dokumentów.
+ */
+final class BenchmarkSupport {
+
+    static final String EXAMPLE_REQUEST = "example-request.yml";
+    static final String SYNTHETIC = "synthetic";
+
+    private static final String SPECIFICATION = "specification.yml";
+
+    private BenchmarkSupport() {
+    }
+
+    static ValidationService createValidationService() throws Exception {
+        return createValidationService(ValidatorMode.INTERPRETED);
+    }
+
+    static ValidationService createValidationService(ValidatorMode validatorMode) throws Exception {
+        Config config = new Config();
+        config.setSpecification(SPECIFICATION);
+        config.setSpecificationReloadInterval(Duration.ZERO);
+        config.setValidatorMode(validatorMode);
+
+        YamlParser yamlParser = new YamlParser();
+        ValidationMetrics metrics = new ValidationMetrics(new SimpleMeterRegistry());
+        PrimitiveValidator primitiveValidator = new PrimitiveValidator(metrics);
+        return new ValidationService(
+                yamlParser,
+                new JsonDocumentParser(),
+                new SpecificationRegistry(yamlParser, new SpecificationCompiler(new ContentHasher(), new RegexCompiler()), config),
+                primitiveValidator,
+                new StreamingValidator(primitiveValidator),
+                new ValidatorGenerator(config),
+                new ValidationErrorHandler(),
+                metrics,
+                config);
+    }
+
+    /**
+     * @param document Nazwa dokumentu - {@link #EXAMPLE_REQUEST} lub {@link #SYNTHETIC}
+     * @param paths Liczba ścieżek dokumentu syntetycznego
+     * @param depth Głębokość wypełnienia dokumentu syntetycznego
+     * @param examples Liczba przykładów dokumentu syntetycznego
+     * @return Treść dokumentu
+     */
+    static String loadDocument(String document, int paths, int depth, int examples) {
+        if (SYNTHETIC.equals(document)) {
+            return SyntheticDefinitionGenerator.generate(paths, depth, examples);
+        }
+        return readResource(document);
+    }
+
+    private static String readResource(String name) {
+        try (InputStream stream = Objects.requireNonNull(BenchmarkSupport.class.getClassLoader().getResourceAsStream(name))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package pl.jenczalik.validator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.jenczalik.validator.util.parser.YamlParser;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stan benchmarku zawierający walidowany dokument.
+ * <p>
+ * Parametry ścieżek, głębokości i przykładów dotyczą jedynie dokumentu syntetycznego,
+ * dla przykładowego żądania są ignorowane. Dokument dostępny jest również w formacie JSON,
+ * o tej samej treści.
+ */
+@State(Scope.Benchmark)
+public class DocumentState {
+
+    @Param({BenchmarkSupport.EXAMPLE_REQUEST, BenchmarkSupport.SYNTHETIC})
+    public String document;
+
+    @Param({"10", "100", "1000"})
+    public int paths;
+
+    @Param({"3"})
+    public int depth;
+
+    @Param({"2"})
+    public int examples;
+
+    public String yaml;
+    public byte[] bytes;
+    public String json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        yaml = BenchmarkSupport.loadDocument(document, paths, depth, examples);
+        bytes = yaml.getBytes(StandardCharsets.UTF_8);
+        json = new ObjectMapper().writeValueAsString(new YamlParser().parseYamlString(yaml));
+    }
+}
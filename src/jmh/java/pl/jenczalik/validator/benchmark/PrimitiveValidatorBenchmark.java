@@ -0,0 +1,107 @@
+package pl.jenczalik.validator.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.service.PrimitiveValidator;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+import pl.jenczalik.validator.util.type.BuiltInType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark walidacji pojedynczych prymitywów i wyrażeń regularnych ze specyfikacji.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrimitiveValidatorBenchmark {
+
+    private static final RegexCompiler REGEX_COMPILER = new RegexCompiler();
+    private static final SpecificationPattern PATH_NAME_REGEX = REGEX_COMPILER.compile("\\/.*");
+    private static final SpecificationPattern RESPONSE_NAME_REGEX = REGEX_COMPILER.compile("([245]\\.\\d\\d)|(default)");
+    private static final SpecificationPattern EMAIL_VALUE_REGEX = REGEX_COMPILER.compile("^\\S+@\\S+\\.\\S+$");
+
+    private final PrimitiveValidator primitiveValidator = new PrimitiveValidator(new ValidationMetrics(new SimpleMeterRegistry()));
+
+    private String integer = "2147483647";
+    private String unsignedInteger = "5683";
+    private String bool = "false";
+    private String path = "/lamps/{lampId}/state";
+    private String responseCode = "4.04";
+    private String email = "jenczalik@pw.edu.pl";
+    private String uuid = "123e4567-e89b-12d3-a456-426614174000";
+    private String uri = "coap://example.com/lamps/1?state=on";
+
+    /**
+     * Wartość wymuszająca kwadratową liczbę nawrotów przy dopasowaniu wyrażenia email przez {@link java.util.regex.Pattern}.
+     */
+    private String backtrackingEmail = "@".repeat(2000);
+
+    @Benchmark
+    public ErrorCode validateInteger() {
+        return primitiveValidator.validateType(integer, BuiltInType.INTEGER);
+    }
+
+    @Benchmark
+    public ErrorCode validateUnsignedInteger() {
+        return primitiveValidator.validateType(unsignedInteger, BuiltInType.UNSIGNED_INTEGER);
+    }
+
+    @Benchmark
+    public ErrorCode validateUuid() {
+        return primitiveValidator.validateType(uuid, BuiltInType.UUID);
+    }
+
+    @Benchmark
+    public ErrorCode validateCoapCode() {
+        return primitiveValidator.validateType(responseCode, BuiltInType.COAP_CODE);
+    }
+
+    @Benchmark
+    public ErrorCode validateUri() {
+        return primitiveValidator.validateType(uri, BuiltInType.URI);
+    }
+
+    @Benchmark
+    public ErrorCode validateEmail() {
+        return primitiveValidator.validateType(email, BuiltInType.EMAIL);
+    }
+
+    @Benchmark
+    public ErrorCode validateBacktrackingEmail() {
+        return primitiveValidator.validateType(backtrackingEmail, BuiltInType.EMAIL);
+    }
+
+    @Benchmark
+    public boolean isBoolean() {
+        return primitiveValidator.isBoolean(bool);
+    }
+
+    @Benchmark
+    public boolean validatePathNameRegex() {
+        return primitiveValidator.matches(path, PATH_NAME_REGEX);
+    }
+
+    @Benchmark
+    public boolean validateResponseNameRegex() {
+        return primitiveValidator.matches(responseCode, RESPONSE_NAME_REGEX);
+    }
+
+    @Benchmark
+    public boolean validateEmailValueRegex() {
+        return primitiveValidator.matches(email, EMAIL_VALUE_REGEX);
+    }
+
+    @Benchmark
+    public boolean validateBacktrackingEmailValueRegex() {
+        return primitiveValidator.matches(backtrackingEmail, EMAIL_VALUE_REGEX);
+    }
+}
@@ -0,0 +1,99 @@
+package pl.jenczalik.validator.benchmark;
+
+/**
+ * Generator syntetycznych, poprawnych definicji API w języku Coapi.
+ * <p>
+ * Rozmiar definicji skalowany jest liczbą ścieżek, głębokością wypełnienia operacji
+ * oraz liczbą przykładów w każdym formacie treści.
+ * <p><ul>
+ * <li>Głębokość 1 - operacje zawierają jedynie prymitywy
+ * <li>Głębokość 2 - operacje zawierają treść żądania i odpowiedzi
+ * <li>Głębokość 3 - formaty treści zawierają przykłady
+ * </ul><p>
+ */
+public final class SyntheticDefinitionGenerator {
+
+    private static final String[] OPERATIONS = {"get", "put", "post", "delete"};
+    private static final String[] RESPONSE_CODES = {"default", "2.05", "4.04"};
+    private static final String[] CONTENT_FORMATS = {"json", "cbor"};
+
+    private SyntheticDefinitionGenerator() {
+    }
+
+    /**
+     * @param paths Liczba ścieżek
+     * @param depth Głębokość wypełnienia operacji (1-3)
+     * @param examples Liczba przykładów w każdym formacie treści, dla głębokości 3
+     * @return Definicja API w formacie YAML
+     */
+    public static String generate(int paths, int depth, int examples) {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("coapi: '1.0'\n")
+                .append("servers:\n")
+                .append("  main:\n")
+                .append("    description: Main server\n")
+                .append("    port: 5683\n")
+                .append("info:\n")
+                .append("  title: Synthetic API\n")
+                .append("  description: Generated for benchmarking purposes.\n")
+                .append("  contact:\n")
+                .append("    name: Benchmark\n")
+                .append("    email: benchmark@example.com\n")
+                .append("  version: '1.0'\n")
+                .append("  coapVersion: '1'\n")
+                .append("paths:\n");
+
+        for (int path = 0; path < paths; path++) {
+            yaml.append("  /resources/").append(path).append(":\n")
+                    .append("    description: Resource number ").append(path).append(".\n");
+            for (String operation : OPERATIONS) {
+                appendOperation(yaml, operation, depth, examples);
+            }
+        }
+        return yaml.toString();
+    }
+
+    private static void appendOperation(StringBuilder yaml, String operation, int depth, int examples) {
+        yaml.append("    ").append(operation).append(":\n")
+                .append("      description: Operation ").append(operation).append(".\n")
+                .append("      size1: 128\n");
+
+        if (depth < 2) {
+            return;
+        }
+
+        if (!"get".equals(operation)) {
+            yaml.append("      requestBody:\n")
+                    .append("        description: Request body.\n")
+                    .append("        content:\n");
+            appendContent(yaml, "          ", depth, examples);
+            yaml.append("        required: true\n");
+        }
+
+        yaml.append("      responses:\n");
+        for (String code : RESPONSE_CODES) {
+            yaml.append("        ").append(code).append(":\n")
+                    .append("          description: Response ").append(code).append(".\n")
+                    .append("          content:\n");
+            appendContent(yaml, "            ", depth, examples);
+        }
+    }
+
+    private static void appendContent(StringBuilder yaml, String indent, int depth, int examples) {
+        for (String format : CONTENT_FORMATS) {
+            yaml.append(indent).append(format).append(":\n")
+                    .append(indent).append("  schema: Schema of ").append(format).append("\n");
+
+            if (depth < 3 || examples == 0) {
+                continue;
+            }
+
+            yaml.append(indent).append("  examples:\n");
+            for (int example = 0; example < examples; example++) {
+                yaml.append(indent).append("    example").append(example).append(":\n")
+                        .append(indent).append("      description: Example number ").append(example).append(".\n")
+                        .append(indent).append("      value: \"{state: ").append(example).append("}\"\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package pl.jenczalik.validator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.service.ValidationService;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark pełnej walidacji definicji API - od tekstu do wyniku walidacji, walidacją
+ * interpretowaną oraz wygenerowanym walidatorem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValidationServiceBenchmark {
+
+    @Param({"INTERPRETED", "GENERATED"})
+    public ValidatorMode validatorMode;
+
+    private ValidationService validationService;
+
+    @Setup
+    public void setUp() throws Exception {
+        validationService = BenchmarkSupport.createValidationService(validatorMode);
+    }
+
+    @Benchmark
+    public ValidationResult validate(DocumentState state) {
+        return validationService.validate(state.yaml);
+    }
+
+    @Benchmark
+    public ValidationResult validateStream(DocumentState state) {
+        return validationService.validateStream(new ByteArrayInputStream(state.bytes));
+    }
+
+    @Benchmark
+    public ValidationResult validateJson(DocumentState state) {
+        return validationService.validate(state.json, DocumentFormat.JSON, ValidationOptions.failFast());
+    }
+}
@@ -0,0 +1,45 @@
+package pl.jenczalik.validator.benchmark;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import pl.jenczalik.validator.util.parser.JsonDocumentParser;
+import pl.jenczalik.validator.util.parser.YamlBackendType;
+import pl.jenczalik.validator.util.parser.YamlParser;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark parsowania definicji API do postaci obiektowej - z formatu YAML, każdą
+ * z implementacji odczytu, oraz z tej samej definicji w formacie JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class YamlParserBenchmark {
+
+    private final YamlParser yamlParser = new YamlParser();
+    private final YamlParser snakeYamlParser = new YamlParser(YamlBackendType.SNAKEYAML);
+    private final JsonDocumentParser jsonParser = new JsonDocumentParser();
+
+    @Benchmark
+    public Map parseYamlString(DocumentState state) throws YamlException {
+        return yamlParser.parseYamlString(state.yaml);
+    }
+
+    @Benchmark
+    public Map parseYamlStringSnakeYaml(DocumentState state) throws YamlException {
+        return snakeYamlParser.parseYamlString(state.yaml);
+    }
+
+    @Benchmark
+    public Map parseJsonString(DocumentState state) throws IOException {
+        return jsonParser.parseJsonString(state.json);
+    }
+}
@@ -0,0 +1,140 @@
+package pl.jenczalik.validator.loadtest;
+
+import pl.jenczalik.validator.benchmark.SyntheticDefinitionGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ważony zestaw dokumentów wysyłanych w teście obciążeniowym.
+ * <p>
+ * Dokumenty tworzone są przez {@link SyntheticDefinitionGenerator}, w trzech rozmiarach:
+ * <p><ul>
+ * <li>small - 10 ścieżek, operacje z treścią żądania i odpowiedzi
+ * <li>medium - 100 ścieżek, z przykładami
+ * <li>large - 500 ścieżek, z przykładami, około 5 MB
+ * </ul><p>
+ * Dokument niepoprawny ma błąd w ostatniej operacji, więc walidacja w trybie domyślnym
+ * przechodzi przez niemal cały dokument, zanim go wykryje.
+ */
+class DocumentMix {
+    static final String DEFAULT = "valid-small=60,invalid-small=20,valid-medium=15,valid-large=4,invalid-large=1";
+
+    private static final String VALID = "valid";
+    private static final String INVALID = "invalid";
+    private static final String VALID_SIZE = "size1: 128";
+    private static final String INVALID_SIZE = "size1: big";
+
+    private final List<Document> documents = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    /**
+     * @param mix Zestaw w postaci "rodzaj=waga,rodzaj=waga", np. "valid-small=6,invalid-large=1"
+     * @return Zestaw dokumentów
+     * @throws IllegalArgumentException Wyjątek rzucany, gdy zestaw jest niepoprawny.
+     */
+    static DocumentMix parse(String mix) {
+        DocumentMix documentMix = new DocumentMix();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry " + entry + " must have the form kind=weight.");
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Mix entry " + entry + " has an incorrect weight.");
+            }
+            if (weight > 0) {
+                documentMix.add(document(parts[0].trim()), weight);
+            }
+        }
+        if (documentMix.documents.isEmpty()) {
+            throw new IllegalArgumentException("Mix " + mix + " contains no documents.");
+        }
+        return documentMix;
+    }
+
+    private static Document document(String kind) {
+        String[] parts = kind.split("-");
+        if (parts.length != 2 || !(VALID.equals(parts[0]) || INVALID.equals(parts[0]))) {
+            throw new IllegalArgumentException("Unknown document kind " + kind + ".");
+        }
+
+        String yaml;
+        switch (parts[1]) {
+            case "small":
+                yaml = SyntheticDefinitionGenerator.generate(10, 2, 0);
+                break;
+            case "medium":
+                yaml = SyntheticDefinitionGenerator.generate(100, 3, 2);
+                break;
+            case "large":
+                yaml = SyntheticDefinitionGenerator.generate(500, 3, 2);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown document kind " + kind + ".");
+        }
+
+        boolean valid = VALID.equals(parts[0]);
+        if (!valid) {
+            int last = yaml.lastIndexOf(VALID_SIZE);
+            yaml = yaml.substring(0, last) + INVALID_SIZE + yaml.substring(last + VALID_SIZE.length());
+        }
+        return new Document(kind, valid, yaml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void add(Document document, int weight) {
+        documents.add(document);
+        totalWeight += weight;
+        cumulativeWeights.add(totalWeight);
+    }
+
+    /**
+     * @return Losowy dokument, z prawdopodobieństwem proporcjonalnym do jego wagi
+     */
+    Document next() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < documents.size(); i++) {
+            if (value < cumulativeWeights.get(i)) {
+                return documents.get(i);
+            }
+        }
+        return documents.get(documents.size() - 1);
+    }
+
+    List<Document> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * Dokument zestawu - jego rodzaj, oczekiwany wynik walidacji i treść w UTF-8.
+     */
+    static class Document {
+        private final String kind;
+        private final boolean valid;
+        private final byte[] content;
+
+        private Document(String kind, boolean valid, byte[] content) {
+            this.kind = kind;
+            this.valid = valid;
+            this.content = content;
+        }
+
+        String getKind() {
+            return kind;
+        }
+
+        boolean isValid() {
+            return valid;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+    }
+}
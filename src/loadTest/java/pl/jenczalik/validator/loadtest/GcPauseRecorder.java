@@ -0,0 +1,64 @@
+package pl.jenczalik.validator.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rejestr przebiegów odśmiecacza pamięci, oparty na powiadomieniach {@link GarbageCollectorMXBean}.
+ * <p>
+ * Czas przebiegu to czas zgłaszany przez JVM dla całej kolekcji. Dla G1 i Parallel GC odpowiada
+ * on pauzie aplikacji; dla kolektorów współbieżnych jest jej górnym oszacowaniem - dokładne pauzy
+ * pokazuje -Xlog:gc.
+ */
+class GcPauseRecorder implements NotificationListener {
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final LatencyRecorder pauses = new LatencyRecorder();
+    private volatile boolean recording;
+
+    GcPauseRecorder() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    void start() {
+        recording = true;
+    }
+
+    /**
+     * @return Czasy przebiegów zarejestrowanych od wywołania {@link #start()}, w nanosekundach
+     */
+    LatencyRecorder.Snapshot stop() {
+        recording = false;
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // słuchacz został już usunięty
+            }
+        }
+        return pauses.snapshot();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!recording || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        pauses.record(info.getGcInfo().getDuration() * 1_000_000);
+    }
+}
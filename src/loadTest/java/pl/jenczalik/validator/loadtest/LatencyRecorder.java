@@ -0,0 +1,72 @@
+package pl.jenczalik.validator.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Rejestr czasów odpowiedzi. Wszystkie próbki przechowywane są w pamięci, a percentyle
+ * wyznaczane na koniec pomiaru z posortowanej tablicy - przy czasach rzędu milisekund
+ * i pomiarach trwających minuty to kilka megabajtów, a wyniki są dokładne.
+ */
+class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+
+    /**
+     * @param nanos Czas odpowiedzi w nanosekundach
+     */
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * @return Migawka zebranych próbek z wyznaczonymi percentylami
+     */
+    synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted);
+    }
+
+    /**
+     * Posortowane próbki czasów odpowiedzi.
+     */
+    static class Snapshot {
+        private final long[] sorted;
+
+        private Snapshot(long[] sorted) {
+            this.sorted = sorted;
+        }
+
+        int getCount() {
+            return sorted.length;
+        }
+
+        /**
+         * @param percentile Percentyl z przedziału (0, 100]
+         * @return Najmniejszy czas, którego nie przekracza podany odsetek próbek, w nanosekundach.
+         *         Dla pustego rejestru zwracane jest 0.
+         */
+        long percentile(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        long max() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        }
+
+        long sum() {
+            long sum = 0;
+            for (long sample : sorted) {
+                sum += sample;
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package pl.jenczalik.validator.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Wynik testu obciążeniowego, zapisywany jako JSON. Czasy podawane są w milisekundach.
+ */
+@Data
+@AllArgsConstructor
+class LoadReport {
+    /**
+     * "closed" - stała liczba równoległych żądań, "open" - stała częstotliwość wysyłania żądań.
+     */
+    private String mode;
+    private int concurrency;
+    private int rate;
+    private long durationMillis;
+
+    /**
+     * Liczba odpowiedzi 200 na sekundę.
+     */
+    private double throughput;
+    private long completed;
+
+    /**
+     * Odpowiedzi 200, których wynik walidacji nie zgadza się z oczekiwanym dla dokumentu.
+     */
+    private long unexpected;
+
+    /**
+     * Żądania odrzucone przez kontrolę obciążenia (429).
+     */
+    private long rejected;
+    private long failed;
+    private Latency latency;
+    private Map<String, Latency> latencyByKind;
+
+    /**
+     * Przebiegi odśmiecacza pamięci - puste, gdy testowana jest aplikacja w innym procesie.
+     */
+    private Latency gcPauses;
+
+    /**
+     * Rozkład czasów w milisekundach.
+     */
+    @Data
+    @AllArgsConstructor
+    static class Latency {
+        private int count;
+        private double p50;
+        private double p99;
+        private double p999;
+        private double max;
+        private double total;
+
+        static Latency of(LatencyRecorder.Snapshot snapshot) {
+            return new Latency(snapshot.getCount(), millis(snapshot.percentile(50)), millis(snapshot.percentile(99)),
+                    millis(snapshot.percentile(99.9)), millis(snapshot.max()), millis(snapshot.sum()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
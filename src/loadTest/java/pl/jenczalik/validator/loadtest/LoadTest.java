@@ -0,0 +1,317 @@
+package pl.jenczalik.validator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.jenczalik.validator.ValidatorApplication;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test obciążeniowy walidacji definicji API.
+ * <p>
+ * Test uruchamia aplikację w tym samym procesie, na losowym porcie, i wysyła do POST /validation
+ * dokumenty z {@link DocumentMix}. Żądania wysyłane są w jednym z dwóch trybów:
+ * <p><ul>
+ * <li>zamkniętym (domyślnie) - stała liczba wątków wysyła kolejne żądanie zaraz po otrzymaniu odpowiedzi,
+ * <li>otwartym (--rate) - żądania wysyłane są ze stałą częstotliwością, niezależnie od czasu odpowiedzi,
+ * a czas odpowiedzi liczony jest od zaplanowanej chwili wysłania. W tym trybie opóźnienia aplikacji
+ * nie zmniejszają liczby wysyłanych żądań, więc percentyle nie są zaniżone przez koordynację z klientem.
+ * </ul><p>
+ * Po rozgrzewce mierzona jest przepustowość, percentyle czasu odpowiedzi (łącznie i dla każdego rodzaju
+ * dokumentu) oraz przebiegi odśmiecacza pamięci. Przebiegi dotyczą całego procesu, a więc obejmują
+ * również alokacje klienta HTTP. Każdy dokument poprzedzony jest komentarzem z numerem żądania,
+ * by wyniki nie pochodziły z pamięci podręcznej, chyba że podano --cache.
+ * <p>
+ * Uruchomienie z zadania Gradle:
+ * <pre>
+ * ./gradlew loadTest --args="--concurrency 16 --duration 60s --report build/load-test.json"
+ * </pre>
+ */
+public class LoadTest {
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_ERRORS = 1;
+    private static final int EXIT_USAGE = 2;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final String VALID_RESULT = "\"validationCode\":\"OK\"";
+
+    private final PrintStream out;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private HttpClient client;
+    private URI uri;
+    private boolean cache;
+
+    public LoadTest(PrintStream out) {
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        System.exit(new LoadTest(System.out).run(args));
+    }
+
+    /**
+     * @param args Argumenty wywołania
+     * @return Kod wyjścia - 0, gdy wszystkie żądania zakończyły się oczekiwanym wynikiem, 1 w przeciwnym razie
+     */
+    public int run(String[] args) {
+        LoadTestOptions options;
+        DocumentMix mix;
+        try {
+            options = LoadTestOptions.parse(args);
+            mix = DocumentMix.parse(options.getMix());
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage());
+            out.println(LoadTestOptions.USAGE);
+            return EXIT_USAGE;
+        }
+        if (options.isHelp()) {
+            out.println(LoadTestOptions.USAGE);
+            return EXIT_OK;
+        }
+
+        ConfigurableApplicationContext application = null;
+        String url = options.getUrl();
+        if (url == null) {
+            application = SpringApplication.run(ValidatorApplication.class, applicationArgs(options.getApplicationArgs()));
+            url = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            uri = URI.create(url + "/validation" + (options.isCollectAll() ? "?collectAll=true" : ""));
+            cache = options.isCache();
+            for (DocumentMix.Document document : mix.getDocuments()) {
+                out.println(String.format("%-16s %,12d bytes", document.getKind(), document.getContent().length));
+            }
+
+            out.println(String.format("Warming up for %d s", options.getWarmup().toSeconds()));
+            run(options, mix, options.getWarmup());
+
+            GcPauseRecorder gcPauses = application == null ? null : new GcPauseRecorder();
+            if (gcPauses != null) {
+                gcPauses.start();
+            }
+            out.println(String.format("Measuring for %d s", options.getDuration().toSeconds()));
+            Statistics statistics = run(options, mix, options.getDuration());
+            LoadReport report = statistics.report(options, gcPauses == null ? null : gcPauses.stop());
+
+            print(report);
+            if (options.getReport() != null) {
+                objectMapper.writeValue(options.getReport().toFile(), report);
+            }
+            return report.getUnexpected() + report.getRejected() + report.getFailed() == 0 ? EXIT_OK : EXIT_ERRORS;
+        } catch (IOException e) {
+            out.println("Could not write report: " + e.getMessage());
+            return EXIT_ERRORS;
+        } finally {
+            if (application != null) {
+                SpringApplication.exit(application);
+            }
+        }
+    }
+
+    /**
+     * Argumenty aplikacji - losowy port i ograniczone logowanie, o ile nie zostały podane.
+     */
+    private static String[] applicationArgs(List<String> args) {
+        List<String> applicationArgs = new ArrayList<>(args);
+        if (args.stream().noneMatch(arg -> arg.startsWith("--server.port="))) {
+            applicationArgs.add("--server.port=0");
+        }
+        if (args.stream().noneMatch(arg -> arg.startsWith("--logging.level.root="))) {
+            applicationArgs.add("--logging.level.root=WARN");
+        }
+        return applicationArgs.toArray(new String[0]);
+    }
+
+    private Statistics run(LoadTestOptions options, DocumentMix mix, Duration duration) {
+        Statistics statistics = new Statistics();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        if (options.getRate() > 0) {
+            runOpen(mix, statistics, start, end, options.getRate());
+        } else {
+            runClosed(mix, statistics, end, options.getConcurrency());
+        }
+        statistics.elapsedNanos = System.nanoTime() - start;
+        return statistics;
+    }
+
+    private void runClosed(DocumentMix mix, Statistics statistics, long end, int concurrency) {
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    DocumentMix.Document document = mix.next();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request(document), HttpResponse.BodyHandlers.ofString());
+                        statistics.record(document, response, System.nanoTime() - start);
+                    } catch (IOException e) {
+                        statistics.failed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }, "load-test-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Load test was interrupted.", e);
+            }
+        }
+    }
+
+    private void runOpen(DocumentMix mix, Statistics statistics, long start, long end, int rate) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (long intended = start; intended < end; intended += interval) {
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            DocumentMix.Document document = mix.next();
+            long scheduled = intended;
+            requests.add(client.sendAsync(request(document), HttpResponse.BodyHandlers.ofString())
+                    .handle((response, exception) -> {
+                        if (exception != null) {
+                            statistics.failed.incrementAndGet();
+                        } else {
+                            statistics.record(document, response, System.nanoTime() - scheduled);
+                        }
+                        return null;
+                    }));
+        }
+
+        try {
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).get(DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            statistics.failed.addAndGet(requests.stream().filter(request -> !request.isDone()).count());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load test was interrupted.", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Load test failed.", e);
+        }
+    }
+
+    private HttpRequest request(DocumentMix.Document document) {
+        byte[] content = document.getContent();
+        HttpRequest.BodyPublisher body;
+        if (cache) {
+            body = HttpRequest.BodyPublishers.ofByteArray(content);
+        } else {
+            byte[] comment = ("# request " + sequence.incrementAndGet() + "\n").getBytes(StandardCharsets.UTF_8);
+            body = HttpRequest.BodyPublishers.fromPublisher(
+                    HttpRequest.BodyPublishers.ofByteArrays(List.of(comment, content)), comment.length + content.length);
+        }
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "text/plain;charset=UTF-8")
+                .POST(body)
+                .build();
+    }
+
+    private void print(LoadReport report) {
+        out.println();
+        out.println(report.getRate() > 0
+                ? String.format("Open loop, %d requests/s, %d s", report.getRate(), report.getDurationMillis() / 1000)
+                : String.format("Closed loop, %d workers, %d s", report.getConcurrency(), report.getDurationMillis() / 1000));
+        out.println(String.format("Throughput: %.1f requests/s, completed: %d, unexpected results: %d, rejected (429): %d, failed: %d",
+                report.getThroughput(), report.getCompleted(), report.getUnexpected(), report.getRejected(), report.getFailed()));
+        out.println();
+        out.println(String.format("%-16s %8s %10s %10s %10s %10s", "Latency [ms]", "count", "p50", "p99", "p99.9", "max"));
+        print("all", report.getLatency());
+        report.getLatencyByKind().forEach(this::print);
+
+        LoadReport.Latency gc = report.getGcPauses();
+        if (gc != null) {
+            out.println();
+            out.println(String.format("GC: %d collections, total %.1f ms (%.2f%% of run time), p99 %.1f ms, max %.1f ms",
+                    gc.getCount(), gc.getTotal(), gc.getTotal() * 100 / report.getDurationMillis(), gc.getP99(), gc.getMax()));
+        }
+    }
+
+    private void print(String name, LoadReport.Latency latency) {
+        out.println(String.format("%-16s %8d %10.2f %10.2f %10.2f %10.2f",
+                name, latency.getCount(), latency.getP50(), latency.getP99(), latency.getP999(), latency.getMax()));
+    }
+
+    /**
+     * Wyniki jednej fazy testu - rozgrzewki lub pomiaru.
+     */
+    private static class Statistics {
+        private final LatencyRecorder all = new LatencyRecorder();
+        private final Map<String, LatencyRecorder> byKind = new LinkedHashMap<>();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong unexpected = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private long elapsedNanos;
+
+        private void record(DocumentMix.Document document, HttpResponse<String> response, long nanos) {
+            if (response.statusCode() == 429) {
+                rejected.incrementAndGet();
+                return;
+            }
+            if (response.statusCode() != 200) {
+                failed.incrementAndGet();
+                return;
+            }
+
+            completed.incrementAndGet();
+            if (response.body().contains(VALID_RESULT) != document.isValid()) {
+                unexpected.incrementAndGet();
+            }
+            all.record(nanos);
+            recorder(document.getKind()).record(nanos);
+        }
+
+        private synchronized LatencyRecorder recorder(String kind) {
+            return byKind.computeIfAbsent(kind, k -> new LatencyRecorder());
+        }
+
+        private synchronized LoadReport report(LoadTestOptions options, LatencyRecorder.Snapshot gcPauses) {
+            Map<String, LoadReport.Latency> latencyByKind = new LinkedHashMap<>();
+            byKind.forEach((kind, recorder) -> latencyByKind.put(kind, LoadReport.Latency.of(recorder.snapshot())));
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+
+            return new LoadReport(
+                    options.getRate() > 0 ? "open" : "closed",
+                    options.getConcurrency(),
+                    options.getRate(),
+                    durationMillis,
+                    completed.get() * 1000.0 / Math.max(durationMillis, 1),
+                    completed.get(),
+                    unexpected.get(),
+                    rejected.get(),
+                    failed.get(),
+                    LoadReport.Latency.of(all.snapshot()),
+                    latencyByKind,
+                    gcPauses == null ? null : LoadReport.Latency.of(gcPauses));
+        }
+    }
+}
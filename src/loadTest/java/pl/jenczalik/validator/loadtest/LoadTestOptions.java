@@ -0,0 +1,129 @@
+package pl.jenczalik.validator.loadtest;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parametry wywołania testu obciążeniowego.
+ */
+@Getter
+class LoadTestOptions {
+    static final String USAGE = "Usage: LoadTest [options] [-- <application arguments>]\n" +
+            "Starts the validator on a local port and drives POST /validation with concurrent requests.\n" +
+            "\n" +
+            "Options:\n" +
+            "  --concurrency <n>   number of workers sending requests back to back (default: 8)\n" +
+            "  --rate <n>          send n requests per second regardless of response times, instead of\n" +
+            "                      back-to-back workers; latency is measured from the intended send time\n" +
+            "  --duration <time>   measured run time, e.g. 60s or 5m (default: 30s)\n" +
+            "  --warmup <time>     run time before measurement starts (default: 10s)\n" +
+            "  --mix <mix>         weighted documents, e.g. valid-small=6,invalid-large=1\n" +
+            "                      kinds: valid|invalid - small|medium|large (default: " + DocumentMix.DEFAULT + ")\n" +
+            "  --collect-all       validate with collectAll=true\n" +
+            "  --cache             send identical documents, so that results may come from the result cache\n" +
+            "  --url <url>         drive an already running instance instead of starting one - GC pauses\n" +
+            "                      are then not reported\n" +
+            "  --report <file>     also write the report as JSON\n" +
+            "  --help              print this message\n" +
+            "\n" +
+            "Arguments after -- are passed to the application, e.g. -- --paths.maxConcurrentValidations=64";
+
+    private int concurrency = 8;
+    private int rate;
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration warmup = Duration.ofSeconds(10);
+    private String mix = DocumentMix.DEFAULT;
+    private boolean collectAll;
+    private boolean cache;
+    private String url;
+    private Path report;
+    private boolean help;
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    /**
+     * @param args Argumenty wywołania
+     * @return Parametry wywołania
+     * @throws IllegalArgumentException Wyjątek rzucany, gdy argumenty są niepoprawne.
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--concurrency":
+                    options.concurrency = positive(value(args, ++i, arg), arg);
+                    break;
+                case "--rate":
+                    options.rate = positive(value(args, ++i, arg), arg);
+                    break;
+                case "--duration":
+                    options.duration = duration(value(args, ++i, arg), arg);
+                    break;
+                case "--warmup":
+                    options.warmup = duration(value(args, ++i, arg), arg);
+                    break;
+                case "--mix":
+                    options.mix = value(args, ++i, arg);
+                    break;
+                case "--collect-all":
+                    options.collectAll = true;
+                    break;
+                case "--cache":
+                    options.cache = true;
+                    break;
+                case "--url":
+                    options.url = value(args, ++i, arg);
+                    break;
+                case "--report":
+                    options.report = Path.of(value(args, ++i, arg));
+                    break;
+                case "--help":
+                    options.help = true;
+                    break;
+                case "--":
+                    options.applicationArgs.addAll(List.of(args).subList(i + 1, args.length));
+                    return options;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg + ".");
+            }
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Option " + option + " requires a value.");
+        }
+        return args[index];
+    }
+
+    private static int positive(String value, String option) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // zgłaszane poniżej
+        }
+        throw new IllegalArgumentException("Option " + option + " requires a positive number, got " + value + ".");
+    }
+
+    private static Duration duration(String value, String option) {
+        try {
+            Duration duration = DurationStyle.detectAndParse(value);
+            if (!duration.isNegative()) {
+                return duration;
+            }
+        } catch (IllegalArgumentException e) {
+            // zgłaszane poniżej
+        }
+        throw new IllegalArgumentException("Option " + option + " requires a duration such as 30s, got " + value + ".");
+    }
+}
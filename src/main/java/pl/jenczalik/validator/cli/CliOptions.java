@@ -0,0 +1,119 @@
+package pl.jenczalik.validator.cli;
+
+import lombok.Getter;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.parser.YamlBackendType;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parametry wywołania walidacji z wiersza poleceń.
+ */
+@Getter
+class CliOptions {
+    static final String USAGE = "Usage: ValidatorCli [options] <file|directory|glob>...\n" +
+            "Validates API definitions (*.yml, *.yaml, *.json) and writes a JSON report.\n" +
+            "\n" +
+            "Options:\n" +
+            "  --specification <file>   specification file (default: specification.yml)\n" +
+            "  --collect-all            collect all errors of each definition instead of the first one\n" +
+            "  --error-budget <n>       maximum number of errors collected per definition (default: 100)\n" +
+            "  --threads <n>            number of worker threads (default: number of processors)\n" +
+            "  --validator-mode <mode>  INTERPRETED or GENERATED (default: GENERATED)\n" +
+            "  --yaml-backend <backend> YAMLBEANS or SNAKEYAML (default: YAMLBEANS)\n" +
+            "  --report <file>          report file (default: standard output)\n" +
+            "  --help                   print this message\n" +
+            "\n" +
+            "Exit codes: 0 - all definitions are valid, 1 - some definitions are invalid,\n" +
+            "2 - incorrect usage or no definitions found, 3 - some files or the report could not be read or written.";
+
+    private String specification = "specification.yml";
+    private boolean collectAll;
+    private int errorBudget = 100;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private ValidatorMode validatorMode = ValidatorMode.GENERATED;
+    private YamlBackendType yamlBackend = YamlBackendType.YAMLBEANS;
+    private Path report;
+    private boolean help;
+    private final List<String> inputs = new ArrayList<>();
+
+    /**
+     * @param args Argumenty wywołania
+     * @return Parametry wywołania
+     * @throws IllegalArgumentException Wyjątek rzucany, gdy argumenty są niepoprawne.
+     */
+    static CliOptions parse(String[] args) {
+        CliOptions options = new CliOptions();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--specification":
+                    options.specification = value(args, ++i, arg);
+                    break;
+                case "--collect-all":
+                    options.collectAll = true;
+                    break;
+                case "--error-budget":
+                    options.errorBudget = positive(value(args, ++i, arg), arg);
+                    break;
+                case "--threads":
+                    options.threads = positive(value(args, ++i, arg), arg);
+                    break;
+                case "--validator-mode":
+                    options.validatorMode = constant(ValidatorMode.class, value(args, ++i, arg), arg);
+                    break;
+                case "--yaml-backend":
+                    options.yamlBackend = constant(YamlBackendType.class, value(args, ++i, arg), arg);
+                    break;
+                case "--report":
+                    options.report = Path.of(value(args, ++i, arg));
+                    break;
+                case "--help":
+                    options.help = true;
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg + ".");
+                    }
+                    options.inputs.add(arg);
+                    break;
+            }
+        }
+
+        if (options.inputs.isEmpty() && !options.help) {
+            throw new IllegalArgumentException("No files, directories or globs given.");
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Option " + option + " requires a value.");
+        }
+        return args[index];
+    }
+
+    private static int positive(String value, String option) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // zgłaszane poniżej
+        }
+        throw new IllegalArgumentException("Option " + option + " requires a positive number, got " + value + ".");
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String value, String option) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Option " + option + " does not accept value " + value + ".");
+        }
+    }
+}
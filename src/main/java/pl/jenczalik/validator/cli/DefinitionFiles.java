@@ -0,0 +1,141 @@
+package pl.jenczalik.validator.cli;
+
+import pl.jenczalik.validator.model.DocumentFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Wyszukiwanie i odczyt plików z definicjami API.
+ */
+class DefinitionFiles {
+    /**
+     * Rozmiar pliku, od którego plik jest mapowany do pamięci, zamiast wczytywany do tablicy na stercie.
+     */
+    static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+    private static final Set<String> EXTENSIONS = Set.of(".yml", ".yaml", ".json");
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private DefinitionFiles() {
+    }
+
+    /**
+     * Metoda wyszukująca pliki wskazane argumentami wywołania. Plik wskazany wprost jest zawsze
+     * walidowany, katalogi przeszukiwane są rekurencyjnie w poszukiwaniu plików *.yml, *.yaml
+     * i *.json, a wzorce glob dopasowywane są do ścieżek plików w katalogu poprzedzającym pierwszy
+     * element wzorca, np. "definitions/**&#47;*.yml".
+     *
+     * @param inputs Pliki, katalogi lub wzorce glob
+     * @return Pliki, w kolejności ścieżek, bez powtórzeń
+     * @throws IOException Wyjątek rzucany, gdy wskazany plik lub katalog nie istnieje albo nie może zostać przeszukany.
+     */
+    static Collection<Path> find(Collection<String> inputs) throws IOException {
+        Set<Path> files = new TreeSet<>();
+        for (String input : inputs) {
+            if (isGlob(input)) {
+                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input);
+                walk(baseDirectory(input), files, matcher::matches);
+                continue;
+            }
+
+            Path path = Path.of(input);
+            if (Files.isDirectory(path)) {
+                walk(path, files, DefinitionFiles::hasDefinitionExtension);
+            } else if (Files.isRegularFile(path)) {
+                files.add(path.normalize());
+            } else {
+                throw new NoSuchFileException(input);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * @param file Plik
+     * @return Format definicji, na podstawie rozszerzenia pliku
+     */
+    static DocumentFormat format(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? DocumentFormat.JSON : DocumentFormat.YAML;
+    }
+
+    /**
+     * Metoda odczytująca zawartość pliku w kodowaniu UTF-8. Pliki mniejsze niż {@link #MAPPING_THRESHOLD}
+     * wczytywane są jednym odczytem, a większe mapowane do pamięci i dekodowane bezpośrednio z mapowania.
+     *
+     * @param file Plik
+     * @return Zawartość pliku
+     * @throws IOException Wyjątek rzucany, gdy plik nie może zostać odczytany.
+     */
+    static String read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is too large.");
+            }
+
+            if (size >= MAPPING_THRESHOLD) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                return StandardCharsets.UTF_8.decode(buffer).toString();
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // odczyt do końca pliku
+            }
+            return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void walk(Path directory, Set<Path> files, Predicate<Path> filter) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new NoSuchFileException(directory.toString());
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(filter)
+                    .forEach(path -> files.add(path.normalize()));
+        }
+    }
+
+    private static boolean hasDefinitionExtension(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && EXTENSIONS.contains(name.substring(dot));
+    }
+
+    private static boolean isGlob(String input) {
+        return input.chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0);
+    }
+
+    /**
+     * @return Katalog złożony z elementów wzorca poprzedzających pierwszy element z symbolami glob
+     */
+    private static Path baseDirectory(String glob) {
+        Path base = glob.startsWith("/") ? Path.of("/") : Path.of("");
+        for (String element : glob.split("/")) {
+            if (isGlob(element)) {
+                break;
+            }
+            if (!element.isEmpty()) {
+                base = base.resolve(element);
+            }
+        }
+        return base;
+    }
+}
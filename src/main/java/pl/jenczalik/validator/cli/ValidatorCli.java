@@ -0,0 +1,252 @@
+package pl.jenczalik.validator.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.model.BulkValidationReport;
+import pl.jenczalik.validator.model.FileValidationResult;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.service.PrimitiveValidator;
+import pl.jenczalik.validator.service.StreamingValidator;
+import pl.jenczalik.validator.service.ValidationService;
+import pl.jenczalik.validator.util.codegen.ValidatorGenerator;
+import pl.jenczalik.validator.util.error.ValidationErrorHandler;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.parser.JsonDocumentParser;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationRegistry;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walidacja plików z definicjami API z wiersza poleceń, bez uruchamiania aplikacji webowej.
+ * <p>
+ * Specyfikacja kompilowana jest raz, a pliki walidowane są równolegle przez pulę wątków.
+ * Wynik zapisywany jest jako raport JSON ({@link BulkValidationReport}), a podsumowanie
+ * wypisywane na standardowe wyjście błędów. Kody wyjścia opisane są w {@link CliOptions#USAGE}.
+ * <p>
+ * Uruchomienie z zadania Gradle:
+ * <pre>
+ * ./gradlew validateDefinitions --args="--collect-all --report report.json definitions"
+ * </pre>
+ * lub z wykonywalnego archiwum aplikacji:
+ * <pre>
+ * java -cp validator.jar -Dloader.main=pl.jenczalik.validator.cli.ValidatorCli \
+ *     org.springframework.boot.loader.PropertiesLauncher definitions/**&#47;*.yml
+ * </pre>
+ */
+public class ValidatorCli {
+    public static final int EXIT_VALID = 0;
+    public static final int EXIT_INVALID = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_IO_ERROR = 3;
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public ValidatorCli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public static void main(String[] args) {
+        System.exit(new ValidatorCli(System.out, System.err).run(args));
+    }
+
+    /**
+     * @param args Argumenty wywołania
+     * @return Kod wyjścia
+     */
+    public int run(String[] args) {
+        CliOptions options;
+        try {
+            options = CliOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(CliOptions.USAGE);
+            return EXIT_USAGE;
+        }
+        if (options.isHelp()) {
+            out.println(CliOptions.USAGE);
+            return EXIT_VALID;
+        }
+
+        Collection<Path> files;
+        try {
+            files = DefinitionFiles.find(options.getInputs());
+        } catch (IOException e) {
+            err.println("Could not list definition files: " + e.getMessage());
+            return EXIT_USAGE;
+        }
+        if (files.isEmpty()) {
+            err.println("No definition files found.");
+            return EXIT_USAGE;
+        }
+
+        Config config = config(options);
+        ValidationService validationService;
+        try {
+            validationService = createValidationService(config);
+        } catch (Exception e) {
+            err.println("Could not load specification " + options.getSpecification() + ": " + e.getMessage());
+            return EXIT_USAGE;
+        }
+
+        BulkValidationReport report = validate(validationService, files, options);
+        try {
+            writeReport(report, options.getReport());
+        } catch (IOException e) {
+            err.println("Could not write report: " + e.getMessage());
+            return EXIT_IO_ERROR;
+        }
+
+        err.println(String.format("Validated %d files in %d ms: %d valid, %d invalid, %d unreadable.",
+                report.getFileCount(), report.getDurationMillis(), report.getValidCount(), report.getInvalidCount(), report.getUnreadableCount()));
+        if (report.getUnreadableCount() > 0) {
+            return EXIT_IO_ERROR;
+        }
+        return report.getInvalidCount() > 0 ? EXIT_INVALID : EXIT_VALID;
+    }
+
+    /**
+     * Metoda walidująca pliki w puli wątków. Wyniki zbierane są w kolejności plików.
+     */
+    private BulkValidationReport validate(ValidationService validationService, Collection<Path> files, CliOptions options) {
+        ValidationOptions validationOptions = options.isCollectAll()
+                ? ValidationOptions.collectAll(options.getErrorBudget())
+                : ValidationOptions.failFast();
+        AtomicInteger unreadable = new AtomicInteger();
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "cli-validation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<FileValidationResult> results = new ArrayList<>(files.size());
+        try {
+            List<Future<FileValidationResult>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> validateFile(validationService, file, validationOptions, unreadable)));
+            }
+            for (Future<FileValidationResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int valid = (int) results.stream().filter(result -> result.getResult().getValidationCode() == ValidationCode.OK).count();
+        int invalid = results.size() - valid - unreadable.get();
+        return new BulkValidationReport(
+                valid == results.size() ? ValidationCode.OK : ValidationCode.EXCEPTION,
+                validationService.getSpecificationVersion(null),
+                results.size(),
+                valid,
+                invalid,
+                unreadable.get(),
+                durationMillis,
+                results);
+    }
+
+    private FileValidationResult validateFile(ValidationService validationService, Path file, ValidationOptions options,
+                                              AtomicInteger unreadable) {
+        String definition;
+        try {
+            definition = DefinitionFiles.read(file);
+        } catch (IOException e) {
+            unreadable.incrementAndGet();
+            return new FileValidationResult(file.toString(),
+                    new ValidationResult(ValidationCode.EXCEPTION, "Could not read file: " + e.getMessage()));
+        }
+        return new FileValidationResult(file.toString(), validationService.validate(definition, DefinitionFiles.format(file), options));
+    }
+
+    private void writeReport(BulkValidationReport report, Path reportFile) throws IOException {
+        if (reportFile == null) {
+            objectMapper.writeValue(new NonClosingOutputStream(out), report);
+            out.println();
+            return;
+        }
+        try (OutputStream output = Files.newOutputStream(reportFile)) {
+            objectMapper.writeValue(output, report);
+        }
+    }
+
+    private static Config config(CliOptions options) {
+        Config config = new Config();
+        config.setSpecification(options.getSpecification());
+        config.setSpecificationReloadInterval(Duration.ZERO);
+        config.setValidatorMode(options.getValidatorMode());
+        config.setYamlBackend(options.getYamlBackend());
+        config.setErrorBudget(options.getErrorBudget());
+        return config;
+    }
+
+    /**
+     * Metoda tworząca serwis walidacji bez kontekstu Springa. Gdy walidator ma być generowany,
+     * metoda czeka na jego wygenerowanie, by wszystkie pliki walidowane były w ten sam sposób.
+     */
+    private static ValidationService createValidationService(Config config) throws Exception {
+        YamlParser yamlParser = new YamlParser(config);
+        ValidationMetrics metrics = new ValidationMetrics(new SimpleMeterRegistry());
+        PrimitiveValidator primitiveValidator = new PrimitiveValidator(metrics);
+        SpecificationRegistry registry = new SpecificationRegistry(
+                yamlParser, new SpecificationCompiler(new ContentHasher(), new RegexCompiler()), config);
+        ValidatorGenerator validatorGenerator = new ValidatorGenerator(config);
+        validatorGenerator.prepare(registry.get(null)).join();
+
+        return new ValidationService(
+                yamlParser,
+                new JsonDocumentParser(config),
+                registry,
+                primitiveValidator,
+                new StreamingValidator(primitiveValidator),
+                validatorGenerator,
+                new ValidationErrorHandler(),
+                metrics,
+                config);
+    }
+
+    /**
+     * Strumień wyjścia, którego zamknięcie przez Jacksona nie zamyka standardowego wyjścia.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
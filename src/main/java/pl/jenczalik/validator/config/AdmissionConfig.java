@@ -0,0 +1,26 @@
+package pl.jenczalik.validator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pl.jenczalik.validator.controller.AdmissionFilter;
+
+/**
+ * Konfiguracja przyjmowania żądań walidacji - {@link AdmissionFilter} obejmuje jedynie ścieżki
+ * kontrolera walidacji. Liczbę jednocześnie wykonywanych walidacji ograniczają kontroler i reaktywny
+ * punkt dostępowy, po odczytaniu treści żądania.
+ */
+@Configuration
+public class AdmissionConfig {
+    public static final String PATH = "/validation/*";
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(Config config, ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionFilter(config, objectMapper));
+        registration.addUrlPatterns(PATH);
+        registration.setName("validationAdmission");
+        return registration;
+    }
+}
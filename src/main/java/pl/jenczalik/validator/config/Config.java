@@ -4,6 +4,15 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.memo.MemoizationMode;
+import pl.jenczalik.validator.util.parser.YamlBackendType;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Obiektowa reprezentacja pliku konfiguracyjnego:
@@ -19,4 +28,247 @@ public class Config {
     @Getter
     @Setter
     private String specification;
+
+    /**
+     * Określa dodatkowe wersje specyfikacji języka - nazwę wersji i nazwę pliku, który ją definiuje.
+     * Specyfikacja określona przez {@link Config#specification} dostępna jest pod nazwą "default".
+     */
+    @Getter
+    @Setter
+    private Map<String, String> specifications = new LinkedHashMap<>();
+
+    /**
+     * Określa, jak często sprawdzane są zmiany plików specyfikacji. Wartość 0 wyłącza przeładowywanie.
+     */
+    @Getter
+    @Setter
+    private Duration specificationReloadInterval = Duration.ofSeconds(5);
+
+    /**
+     * Określa maksymalną liczbę błędów zbieranych w trybie zbierania wszystkich błędów.
+     */
+    @Getter
+    @Setter
+    private int errorBudget = 100;
+
+    /**
+     * Określa liczbę wątków puli walidującej definicje przesłane w jednym żądaniu wsadowym.
+     */
+    @Getter
+    @Setter
+    private int batchParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Określa liczbę wątków puli walidującej równolegle poddrzewa jednej definicji.
+     */
+    @Getter
+    @Setter
+    private int subtreeParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Określa minimalną liczbę pól obiektu lub tablicy, od której - w trybie równoległym -
+     * pola walidowane są równolegle.
+     */
+    @Getter
+    @Setter
+    private int parallelThreshold = 256;
+
+    /**
+     * Określa maksymalną liczbę definicji w jednym żądaniu wsadowym.
+     */
+    @Getter
+    @Setter
+    private int maxBatchSize = 1000;
+
+    /**
+     * Określa maksymalną liczbę wyników walidacji przechowywanych w pamięci podręcznej.
+     */
+    @Getter
+    @Setter
+    private long cacheMaxSize = 10000;
+
+    /**
+     * Określa czas przechowywania wyniku walidacji w pamięci podręcznej.
+     */
+    @Getter
+    @Setter
+    private Duration cacheTtl = Duration.ofMinutes(10);
+
+    /**
+     * Określa maksymalną liczbę definicji przechowywanych na potrzeby walidacji przyrostowej.
+     */
+    @Getter
+    @Setter
+    private long maxDocuments = 1000;
+
+    /**
+     * Określa czas bezczynności, po którym przechowywana definicja jest usuwana.
+     */
+    @Getter
+    @Setter
+    private Duration documentIdleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Określa maksymalny rozmiar treści żądania walidacji, w bajtach - sprawdzany we wszystkich punktach
+     * dostępowych w trakcie odczytu treści. Jest również maksymalnym rozmiarem walidowanego dokumentu.
+     */
+    @Getter
+    @Setter
+    private DataSize maxRequestSize = DataSize.ofMegabytes(10);
+
+    /**
+     * Określa maksymalną głębokość zagnieżdżenia definicji - korzeń definicji ma głębokość 1.
+     */
+    @Getter
+    @Setter
+    private int maxDepth = 64;
+
+    /**
+     * Określa maksymalną liczbę węzłów definicji - kluczy, wartości, obiektów i tablic, wraz z węzłami wskazywanymi przez aliasy.
+     */
+    @Getter
+    @Setter
+    private long maxNodes = 1_000_000;
+
+    /**
+     * Określa maksymalną długość klucza w definicji, w znakach.
+     */
+    @Getter
+    @Setter
+    private int maxKeyLength = 1024;
+
+    /**
+     * Określa maksymalną liczbę walidacji wykonywanych jednocześnie. Żądania ponad limit odrzucane są odpowiedzią 429.
+     */
+    @Getter
+    @Setter
+    private int maxConcurrentValidations = 2 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Określa, jak długo żądanie może czekać na zwolnienie miejsca, zanim zostanie odrzucone.
+     */
+    @Getter
+    @Setter
+    private Duration admissionTimeout = Duration.ofMillis(100);
+
+    /**
+     * Określa czas, po którym klient może ponowić odrzucone żądanie - zwracany w nagłówku Retry-After.
+     */
+    @Getter
+    @Setter
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Określa liczbę wątków walidujących definicje przyjęte przez reaktywny punkt dostępowy.
+     */
+    @Getter
+    @Setter
+    private int reactiveParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Określa implementację odczytu dokumentów YAML.
+     */
+    @Getter
+    @Setter
+    private YamlBackendType yamlBackend = YamlBackendType.YAMLBEANS;
+
+    /**
+     * Określa sposób walidacji definicji API w postaci obiektowej.
+     */
+    @Getter
+    @Setter
+    private ValidatorMode validatorMode = ValidatorMode.INTERPRETED;
+
+    /**
+     * Określa, czy i w jakim zakresie zapamiętywane są wyniki walidacji identycznych poddrzew definicji.
+     */
+    @Getter
+    @Setter
+    private MemoizationMode subtreeMemoization = MemoizationMode.OFF;
+
+    /**
+     * Określa minimalną liczbę pól poddrzewa, którego wynik walidacji jest zapamiętywany.
+     */
+    @Getter
+    @Setter
+    private int memoizationThreshold = 16;
+
+    /**
+     * Określa maksymalną liczbę wyników poddrzew we wspólnej pamięci podręcznej.
+     */
+    @Getter
+    @Setter
+    private long subtreeCacheMaxSize = 100_000;
+
+    /**
+     * Określa liczbę wątków walidujących definicje przesłane jako zadania asynchroniczne.
+     */
+    @Getter
+    @Setter
+    private int jobWorkers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Określa maksymalną liczbę zadań asynchronicznych oczekujących na walidację - kolejne zadania są odrzucane.
+     */
+    @Getter
+    @Setter
+    private int jobQueueSize = 100;
+
+    /**
+     * Określa katalog, w którym przechowywane są zadania asynchroniczne i ich wyniki.
+     */
+    @Getter
+    @Setter
+    private String jobDirectory = Paths.get(System.getProperty("java.io.tmpdir"), "validator-jobs").toString();
+
+    /**
+     * Określa, jak długo przechowywane są wyniki zadań asynchronicznych.
+     */
+    @Getter
+    @Setter
+    private Duration jobResultTtl = Duration.ofHours(1);
+
+    /**
+     * Określa maksymalny czas, przez który żądanie stanu zadania może oczekiwać na jego zakończenie.
+     */
+    @Getter
+    @Setter
+    private Duration maxJobWait = Duration.ofSeconds(30);
+
+    /**
+     * Określa, czy przy uruchomieniu aplikacji rozpoczynane jest nagrywanie Java Flight Recorder
+     * ze zdarzeniami walidacji, według ustawień jfr/validator.jfc.
+     */
+    @Getter
+    @Setter
+    private boolean flightRecording = false;
+
+    /**
+     * Określa, jak długo przechowywane są zdarzenia nagrywania Java Flight Recorder.
+     */
+    @Getter
+    @Setter
+    private Duration flightRecordingMaxAge = Duration.ofHours(1);
+
+    /**
+     * Określa plik, do którego zapisywane jest nagranie Java Flight Recorder przy zatrzymaniu aplikacji.
+     */
+    @Getter
+    @Setter
+    private String flightRecordingFile = Paths.get(System.getProperty("java.io.tmpdir"), "validator.jfr").toString();
+
+    /**
+     * Określa, czy aplikacja ma zakończyć działanie zaraz po uruchomieniu - używane przy przebiegu
+     * treningowym, z którego tworzone jest archiwum AppCDS.
+     */
+    @Getter
+    @Setter
+    private boolean exitAfterStartup = false;
+
+    /**
+     * Określa docelowy czas uruchomienia aplikacji, liczony od startu JVM - przekroczenie zgłaszane jest w logach.
+     */
+    @Getter
+    @Setter
+    private Duration startupTarget = Duration.ofSeconds(5);
 }
@@ -0,0 +1,41 @@
+package pl.jenczalik.validator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import pl.jenczalik.validator.controller.ReactiveValidationHandler;
+
+/**
+ * Konfiguracja reaktywnego punktu dostępowego walidacji.
+ * <p>
+ * Aplikacja działa na stosie servletowym, więc ścieżki WebFlux udostępniane są przez osobny
+ * servlet pod prefiksem {@link #PATH}. {@link ServletHttpHandlerAdapter} odczytuje treść
+ * żądań przez nieblokujące wejście-wyjście servletów, a odpowiedzi serializowane są tym
+ * samym ObjectMapperem, co w kontrolerach.
+ */
+@Configuration
+public class ReactiveConfig {
+    public static final String PATH = "/reactive";
+
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveServlet(ReactiveValidationHandler handler,
+                                                                              ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(new ServletHttpHandlerAdapter(httpHandler), PATH + "/*");
+        registration.setName("reactiveValidation");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+}
@@ -0,0 +1,44 @@
+package pl.jenczalik.validator.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Klasa mierząca czas uruchomienia aplikacji - od startu JVM do gotowości do obsługi żądań.
+ * Czas dłuższy niż {@link Config#getStartupTarget()} zgłaszany jest ostrzeżeniem.
+ * <p>
+ * Gdy włączona jest opcja {@link Config#isExitAfterStartup()}, aplikacja kończy działanie
+ * zaraz po uruchomieniu, co pozwala zebrać listę klas ładowanych podczas startu.
+ */
+@Component
+public class StartupListener implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(StartupListener.class);
+
+    private final Config config;
+
+    public StartupListener(Config config) {
+        this.config = config;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (uptime > config.getStartupTarget().toMillis()) {
+            logger.warn(String.format("Application ready %d ms after JVM start, startup target is %d ms",
+                    uptime, config.getStartupTarget().toMillis()));
+        } else {
+            logger.info(String.format("Application ready %d ms after JVM start", uptime));
+        }
+
+        if (config.isExitAfterStartup()) {
+            logger.info("Exiting after startup");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package pl.jenczalik.validator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+import pl.jenczalik.validator.exception.RequestTooLargeException;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.util.metrics.CountingInputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtr przyjmujący żądania walidacji {@link ValidationController}, zanim ich treść zostanie odczytana.
+ * <p>
+ * Żądanie, którego nagłówek Content-Length przekracza {@link Config#getMaxRequestSize()}, odrzucane
+ * jest odpowiedzią 413. Treść pozostałych żądań - również przesyłanych bez nagłówka Content-Length -
+ * jest zliczana w trakcie odczytu, a przeczytanie bajtu ponad limit przerywa odczyt wyjątkiem
+ * {@link RequestTooLargeException}, na który kontroler odpowiada 413. Filtrowane są jedynie żądania
+ * POST i PATCH - pozostałe nie wykonują walidacji.
+ * Liczbę jednocześnie wykonywanych walidacji ogranicza sam kontroler, dopiero po odczytaniu treści,
+ * aby wolno przesyłający klient nie zajmował miejsca przeznaczonego dla walidacji.
+ *
+ * @see pl.jenczalik.validator.config.AdmissionConfig
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+    private final Config config;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(Config config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) && !HttpMethod.PATCH.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long maxSize = config.getMaxRequestSize().toBytes();
+        if (request.getContentLengthLong() > maxSize) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, new RequestTooLargeException(maxSize).getMessage());
+            return;
+        }
+        chain.doFilter(new LimitedRequest(request, maxSize), response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ValidationResult(ValidationCode.EXCEPTION, message));
+    }
+
+    /**
+     * Żądanie, którego treść można przeczytać najwyżej do podanego rozmiaru.
+     */
+    private static class LimitedRequest extends HttpServletRequestWrapper {
+        private final long maxSize;
+        private ServletInputStream inputStream;
+
+        LimitedRequest(HttpServletRequest request, long maxSize) {
+            super(request);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new LimitedInputStream(super.getInputStream(), maxSize);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            Charset charset = getCharacterEncoding() == null ? StandardCharsets.ISO_8859_1 : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    /**
+     * Strumień treści żądania zliczający przeczytane bajty przez {@link CountingInputStream}.
+     */
+    private static class LimitedInputStream extends ServletInputStream {
+        private final ServletInputStream source;
+        private final CountingInputStream counting;
+        private final long maxSize;
+
+        LimitedInputStream(ServletInputStream source, long maxSize) {
+            this.source = source;
+            this.counting = new CountingInputStream(source, maxSize);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return counting.read();
+            } catch (DocumentLimitExceededException e) {
+                throw new RequestTooLargeException(maxSize);
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                return counting.read(buffer, offset, length);
+            } catch (DocumentLimitExceededException e) {
+                throw new RequestTooLargeException(maxSize);
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return source.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return source.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            source.setReadListener(listener);
+        }
+    }
+}
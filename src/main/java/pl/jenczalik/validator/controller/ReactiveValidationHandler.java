@@ -0,0 +1,165 @@
+package pl.jenczalik.validator.controller;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.config.ReactiveConfig;
+import pl.jenczalik.validator.exception.InvalidPointerException;
+import pl.jenczalik.validator.exception.RequestTooLargeException;
+import pl.jenczalik.validator.exception.TooManyValidationsException;
+import pl.jenczalik.validator.exception.UnknownSpecificationException;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.service.ConcurrencyLimiter;
+import pl.jenczalik.validator.service.ValidationService;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalLong;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+
+/**
+ * Reaktywny punkt dostępowy walidacji, przeznaczony dla wielu jednocześnie przesyłających
+ * klientów.
+ * <p>
+ * Treść żądania odczytywana jest bez blokowania wątku - kolejne fragmenty pobierane są
+ * dopiero, gdy poprzednie zostały przetworzone, a wolno przesyłający klient nie zajmuje
+ * żadnego wątku. Żądanie, którego nagłówek Content-Length przekracza dopuszczalny rozmiar,
+ * odrzucane jest przed odczytaniem treści, a pozostałe - z chwilą przekroczenia rozmiaru.
+ * Walidacja kompletnej definicji wykonywana jest w puli o ograniczonej liczbie wątków,
+ * o ile {@link ConcurrencyLimiter} ma wolne miejsce - miejsce zajmowane jest dopiero po
+ * odczytaniu treści, więc wolno przesyłający klient go nie blokuje.
+ *
+ * @see ReactiveConfig
+ */
+@Component
+public class ReactiveValidationHandler {
+    private static final String SPECIFICATION_HEADER = "X-Specification-Version";
+
+    private final ValidationService validationService;
+    private final ConcurrencyLimiter limiter;
+    private final Config config;
+    private final Scheduler scheduler;
+
+    public ReactiveValidationHandler(ValidationService validationService, ConcurrencyLimiter limiter, Config config) {
+        this.validationService = validationService;
+        this.limiter = limiter;
+        this.config = config;
+        this.scheduler = Schedulers.newParallel("reactive-validation", config.getReactiveParallelism());
+    }
+
+    /**
+     * @return Ścieżki obsługiwane przez reaktywny punkt dostępowy - wraz z prefiksem servletu, który je udostępnia
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route(POST(ReactiveConfig.PATH + "/validation"), this::validate);
+    }
+
+    /**
+     * Metoda służy do walidacji, czy definicja API spełnia syntaktyczne założenia specyfikacji Coapi.
+     * Przyjmuje te same parametry co {@link ValidationController#validate}, z wyjątkiem nagłówka If-None-Match.
+     *
+     * @param request Żądanie z definicją API w formacie YAML, lub JSON gdy taki jest typ treści żądania
+     * @return Wynik walidacji, błąd 413 gdy treść żądania jest zbyt duża, błąd 429 gdy jednocześnie
+     * wykonywanych jest zbyt wiele walidacji, lub błąd 400 gdy wskazana wersja specyfikacji nie istnieje
+     * albo wskaźnik poddrzewa jest niepoprawny.
+     */
+    public Mono<ServerResponse> validate(ServerRequest request) {
+        long maxSize = config.getMaxRequestSize().toBytes();
+        OptionalLong contentLength = request.headers().contentLength();
+        if (contentLength.isPresent() && contentLength.getAsLong() > maxSize) {
+            return error(new RequestTooLargeException(maxSize).getMessage(), HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        ValidationOptions options;
+        try {
+            options = options(request);
+        } catch (UnknownSpecificationException e) {
+            return error(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        DocumentFormat format = request.headers().contentType()
+                .filter(MediaType.APPLICATION_JSON::isCompatibleWith)
+                .map(json -> DocumentFormat.JSON)
+                .orElse(DocumentFormat.YAML);
+
+        return DataBufferUtils.join(request.bodyToFlux(DataBuffer.class), (int) Math.min(maxSize, Integer.MAX_VALUE))
+                .map(this::decode)
+                .defaultIfEmpty("")
+                .publishOn(scheduler)
+                .flatMap(apiDefinition -> validate(apiDefinition, format, options))
+                .onErrorResume(DataBufferLimitException.class,
+                        e -> error(new RequestTooLargeException(maxSize).getMessage(), HttpStatus.PAYLOAD_TOO_LARGE))
+                .onErrorResume(InvalidPointerException.class, e -> error(e.getMessage(), HttpStatus.BAD_REQUEST));
+    }
+
+    private Mono<ServerResponse> validate(String apiDefinition, DocumentFormat format, ValidationOptions options) {
+        if (!limiter.tryAcquire()) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(TooManyValidationsException.retryAfterSeconds(config.getRetryAfter())))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new ValidationResult(ValidationCode.EXCEPTION, new TooManyValidationsException(config.getRetryAfter()).getMessage()));
+        }
+
+        ValidationResult result;
+        try {
+            result = validationService.validate(apiDefinition, format, options);
+        } finally {
+            limiter.release();
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(result);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private String decode(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Metoda budująca ustawienia walidacji, tak jak {@link ValidationController} - parametr
+     * specification ma pierwszeństwo przed nagłówkiem.
+     *
+     * @throws UnknownSpecificationException Wyjątek rzucany, gdy wskazana wersja specyfikacji nie istnieje.
+     */
+    private ValidationOptions options(ServerRequest request) {
+        String specificationName = request.queryParam("specification")
+                .orElse(request.headers().asHttpHeaders().getFirst(SPECIFICATION_HEADER));
+        this.validationService.getSpecificationVersion(specificationName);
+
+        boolean collectAll = request.queryParam("collectAll").map(Boolean::parseBoolean).orElse(false);
+        boolean parallel = request.queryParam("parallel").map(Boolean::parseBoolean).orElse(false);
+        ValidationOptions options = collectAll ? ValidationOptions.collectAll(config.getErrorBudget()) : ValidationOptions.failFast();
+        return options.withSpecification(specificationName).withParallel(parallel).withPointers(request.queryParams().get("pointer"));
+    }
+
+    private Mono<ServerResponse> error(String message, HttpStatus status) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ValidationResult(ValidationCode.EXCEPTION, message));
+    }
+}
@@ -1,36 +1,486 @@
 package pl.jenczalik.validator.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.BatchTooLargeException;
+import pl.jenczalik.validator.exception.DocumentNotFoundException;
+import pl.jenczalik.validator.exception.InvalidPatchException;
+import pl.jenczalik.validator.exception.InvalidPointerException;
+import pl.jenczalik.validator.exception.JobNotFoundException;
+import pl.jenczalik.validator.exception.JobQueueFullException;
+import pl.jenczalik.validator.exception.RequestTooLargeException;
+import pl.jenczalik.validator.exception.TooManyValidationsException;
+import pl.jenczalik.validator.exception.UnknownSpecificationException;
+import pl.jenczalik.validator.model.BatchValidationResult;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.DocumentValidationResult;
+import pl.jenczalik.validator.model.PatchOperation;
+import pl.jenczalik.validator.model.ValidationJob;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
 import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.model.CacheStatistics;
+import pl.jenczalik.validator.service.BatchValidationService;
+import pl.jenczalik.validator.service.CachingValidationService;
+import pl.jenczalik.validator.service.ConcurrencyLimiter;
+import pl.jenczalik.validator.service.DocumentSessionService;
+import pl.jenczalik.validator.service.ValidationJobService;
 import pl.jenczalik.validator.service.ValidationService;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 /**
  * Kontroler obsługujący żądania HTTP, których zawartością jest definicja API
  * do zwalidowania.
+ * <p>
+ * Walidacja wykonywana jest, o ile {@link ConcurrencyLimiter} ma wolne miejsce - w przeciwnym razie
+ * żądanie odrzucane jest odpowiedzią 429 z nagłówkiem Retry-After. Miejsce zajmowane jest dopiero
+ * po odczytaniu treści żądania, więc wolno przesyłający klient go nie blokuje.
  */
 @RestController
 @RequestMapping(value = "/validation")
 public class ValidationController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String JSON_PATCH = "application/json-patch+json";
+    private static final String SPECIFICATION_HEADER = "X-Specification-Version";
+    private static final String POINTER = "pointer";
+
     private ValidationService validationService;
+    private BatchValidationService batchValidationService;
+    private CachingValidationService cachingValidationService;
+    private DocumentSessionService documentSessionService;
+    private ValidationJobService validationJobService;
+    private ConcurrencyLimiter limiter;
+    private Config config;
 
-    public ValidationController(ValidationService validationService) {
+    public ValidationController(ValidationService validationService,
+                                BatchValidationService batchValidationService,
+                                CachingValidationService cachingValidationService,
+                                DocumentSessionService documentSessionService,
+                                ValidationJobService validationJobService,
+                                ConcurrencyLimiter limiter,
+                                Config config) {
         this.validationService = validationService;
+        this.batchValidationService = batchValidationService;
+        this.cachingValidationService = cachingValidationService;
+        this.documentSessionService = documentSessionService;
+        this.validationJobService = validationJobService;
+        this.limiter = limiter;
+        this.config = config;
     }
 
     /**
      * Metoda służy do walidacji, czy definicja API spełnia syntaktyczne założenia specyfikacji Coapi.
+     * <p>
+     * Wyniki walidacji są zapamiętywane, a ich klucz zwracany jest w nagłówku ETag. Klient,
+     * który zna wynik dla danego klucza, może przesłać go w nagłówku If-None-Match - również
+     * bez treści żądania - i otrzymać odpowiedź 304, o ile wynik jest wciąż aktualny. Żądanie
+     * bez treści otrzymuje odpowiedź 412, gdy wynik nie jest już znany, a 400, gdy nie zawiera
+     * nagłówka If-None-Match.
      *
      * @param yamlApiDefinition Definicja API w formacie YAML, stworzona w języku opisu Coapi.
+     * @param ifNoneMatch Klucz wyniku walidacji znanego klientowi.
+     * @param collectAll Czy zebrać wszystkie błędy, zamiast przerwać walidację na pierwszym.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @param parallel Czy walidować równolegle duże obiekty i tablice - przeznaczone dla bardzo dużych definicji.
+     * @param request Żądanie, którego powtarzalny parametr pointer wskazuje - w formacie JSON Pointer, np. "/paths/~1lamps/put" -
+     *                poddrzewa definicji, do których ograniczona jest walidacja. Brak parametru oznacza całą definicję.
      * @return Wynik walidacji. Jeśli nie zakończyła się sukcesem, to określa gdzie znajduje się błąd.
      */
     @PostMapping
-    public ResponseEntity validate(@RequestBody String yamlApiDefinition) {
-        ValidationResult result = this.validationService.validate(yamlApiDefinition);
+    public ResponseEntity validate(@RequestBody(required = false) String yamlApiDefinition,
+                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                   @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                   @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                   @RequestParam(value = "specification", required = false) String specification,
+                                   @RequestParam(value = "parallel", defaultValue = "false") boolean parallel,
+                                   WebRequest request) {
+        return validate(yamlApiDefinition, DocumentFormat.YAML, ifNoneMatch, collectAll, specificationHeader, specification, parallel,
+                pointers(request));
+    }
+
+    /**
+     * Metoda służy do walidacji definicji API przesłanej w formacie JSON. Definicja walidowana
+     * jest względem tej samej specyfikacji co YAML, a parametry i odpowiedzi są takie same jak
+     * w {@link ValidationController#validate(String, String, boolean, String, String, boolean, WebRequest)}.
+     * <p>
+     * Treść jest wymagana - przy opcjonalnej Spring pomija warunek consumes dla żądań bez treści,
+     * przez co pasowałyby do obu metod. Żądania warunkowe bez treści obsługuje metoda dla YAML,
+     * ponieważ sprawdzenie klucza nie zależy od formatu definicji.
+     *
+     * @param jsonApiDefinition Definicja API w formacie JSON, stworzona w języku opisu Coapi.
+     * @param ifNoneMatch Klucz wyniku walidacji znanego klientowi.
+     * @param collectAll Czy zebrać wszystkie błędy, zamiast przerwać walidację na pierwszym.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @param parallel Czy walidować równolegle duże obiekty i tablice - przeznaczone dla bardzo dużych definicji.
+     * @param request Żądanie, którego powtarzalny parametr pointer wskazuje poddrzewa definicji, do których ograniczona jest walidacja.
+     * @return Wynik walidacji. Jeśli nie zakończyła się sukcesem, to określa gdzie znajduje się błąd.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity validateJson(@RequestBody String jsonApiDefinition,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                       @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                       @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                       @RequestParam(value = "specification", required = false) String specification,
+                                       @RequestParam(value = "parallel", defaultValue = "false") boolean parallel,
+                                       WebRequest request) {
+        return validate(jsonApiDefinition, DocumentFormat.JSON, ifNoneMatch, collectAll, specificationHeader, specification, parallel,
+                pointers(request));
+    }
+
+    /**
+     * Wskaźniki odczytywane są bezpośrednio z żądania, ponieważ powiązanie parametru z listą
+     * dzieliłoby pojedynczą wartość na przecinkach, które mogą występować w kluczach.
+     */
+    private List<String> pointers(WebRequest request) {
+        String[] pointers = request.getParameterValues(POINTER);
+        return pointers == null ? List.of() : List.of(pointers);
+    }
+
+    private ResponseEntity validate(String apiDefinition, DocumentFormat format, String ifNoneMatch, boolean collectAll,
+                                    String specificationHeader, String specification, boolean parallel, List<String> pointers) {
+        String knownKey = ifNoneMatch == null ? null : unquote(ifNoneMatch);
+
+        if (apiDefinition == null) {
+            if (knownKey == null) {
+                return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, "Request body is missing."), HttpStatus.BAD_REQUEST);
+            }
+            if (this.cachingValidationService.contains(knownKey)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(quote(knownKey)).build();
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        ValidationOptions options = options(collectAll, specificationHeader, specification).withParallel(parallel).withPointers(pointers);
+        String key = this.cachingValidationService.key(apiDefinition, format, options);
+        if (key.equals(knownKey) && this.cachingValidationService.contains(key)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(quote(key)).build();
+        }
+
+        ValidationResult result = admitted(() -> this.cachingValidationService.validate(key, apiDefinition, format, options));
+        return ResponseEntity.ok().eTag(quote(key)).body(result);
+    }
+
+    /**
+     * Metoda zwracająca statystyki pamięci podręcznej wyników walidacji.
+     *
+     * @return Liczba trafień, chybień, usuniętych wyników i rozmiar pamięci podręcznej.
+     */
+    @GetMapping(value = "/cache")
+    public ResponseEntity cacheStatistics() {
+        CacheStatistics statistics = this.cachingValidationService.getStatistics();
+        return new ResponseEntity<>(statistics, HttpStatus.OK);
+    }
+
+    /**
+     * Metoda zwracająca zarejestrowane wersje specyfikacji.
+     *
+     * @return Nazwy wersji specyfikacji i skróty ich treści.
+     */
+    @GetMapping(value = "/specifications")
+    public ResponseEntity specifications() {
+        return new ResponseEntity<>(this.validationService.getSpecificationVersions(), HttpStatus.OK);
+    }
+
+    /**
+     * Metoda służy do strumieniowej walidacji definicji API - bez wczytywania całej
+     * treści żądania do pamięci. Przeznaczona dla dużych definicji.
+     * <p>
+     * Treść odczytywana jest w trakcie walidacji, więc miejsce w {@link ConcurrencyLimiter}
+     * zajmowane jest przez cały czas jej przesyłania.
+     *
+     * @param yamlApiDefinition Strumień z definicją API w formacie YAML, stworzoną w języku opisu Coapi.
+     * @param collectAll Czy zebrać wszystkie błędy, zamiast przerwać walidację na pierwszym.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @return Wynik walidacji. Jeśli nie zakończyła się sukcesem, to określa gdzie znajduje się błąd.
+     */
+    @PostMapping(value = "/stream")
+    public ResponseEntity validateStream(InputStream yamlApiDefinition,
+                                         @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                         @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                         @RequestParam(value = "specification", required = false) String specification) {
+        ValidationOptions options = options(collectAll, specificationHeader, specification);
+        ValidationResult result = admitted(() -> this.validationService.validateStream(yamlApiDefinition, options));
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
+
+    /**
+     * Metoda służy do walidacji wielu definicji API w jednym żądaniu. Definicje rozdzielone
+     * są znacznikami dokumentów YAML ("---") i walidowane równolegle.
+     *
+     * @param yamlApiDefinitions Definicje API w formacie YAML.
+     * @param collectAll Czy zebrać wszystkie błędy każdej z definicji.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @return Wyniki walidacji każdej z definicji, w kolejności ich występowania.
+     */
+    @PostMapping(value = "/batch")
+    public ResponseEntity validateBatch(@RequestBody String yamlApiDefinitions,
+                                        @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                        @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                        @RequestParam(value = "specification", required = false) String specification) {
+        ValidationOptions options = options(collectAll, specificationHeader, specification);
+        return batch(() -> this.batchValidationService.validateYamlDocuments(yamlApiDefinitions, options));
+    }
+
+    /**
+     * Metoda służy do walidacji wielu definicji API w jednym żądaniu, w formacie NDJSON -
+     * po jednej definicji w linii.
+     *
+     * @param ndjsonApiDefinitions Definicje API w formacie NDJSON.
+     * @param collectAll Czy zebrać wszystkie błędy każdej z definicji.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @return Wyniki walidacji każdej z definicji, w kolejności ich występowania.
+     */
+    @PostMapping(value = "/batch", consumes = NDJSON)
+    public ResponseEntity validateNdjsonBatch(@RequestBody String ndjsonApiDefinitions,
+                                              @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                              @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                              @RequestParam(value = "specification", required = false) String specification) {
+        ValidationOptions options = options(collectAll, specificationHeader, specification);
+        return batch(() -> this.batchValidationService.validateNdjson(ndjsonApiDefinitions, options));
+    }
+
+    /**
+     * Metoda służy do zapamiętania definicji API na potrzeby walidacji przyrostowej.
+     * Definicja jest walidowana w całości, a kolejne zmiany przesyłane są jako JSON Patch.
+     *
+     * @param yamlApiDefinition Definicja API w formacie YAML, stworzona w języku opisu Coapi.
+     * @param collectAll Czy zebrać wszystkie błędy, zamiast zwracać jedynie pierwszy.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @return Identyfikator definicji i wynik walidacji, lub błąd 400 gdy definicja nie jest poprawnym dokumentem YAML.
+     */
+    @PostMapping(value = "/documents")
+    public ResponseEntity createDocument(@RequestBody String yamlApiDefinition,
+                                         @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                         @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                         @RequestParam(value = "specification", required = false) String specification) {
+        ValidationOptions options = options(collectAll, specificationHeader, specification);
+        DocumentValidationResult result = admitted(() -> this.documentSessionService.create(yamlApiDefinition, options));
+        return new ResponseEntity<>(result, result.getDocumentId() == null ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED);
+    }
+
+    /**
+     * Metoda zwracająca wynik walidacji zapamiętanej definicji API.
+     *
+     * @param documentId Identyfikator definicji.
+     * @return Wynik walidacji, lub błąd 404 gdy definicja nie istnieje.
+     */
+    @GetMapping(value = "/documents/{documentId}")
+    public ResponseEntity getDocument(@PathVariable String documentId) {
+        return document(() -> this.documentSessionService.get(documentId));
+    }
+
+    /**
+     * Metoda służy do zmiany zapamiętanej definicji API. Walidowane ponownie są jedynie
+     * zmienione poddrzewa definicji.
+     *
+     * @param documentId Identyfikator definicji.
+     * @param operations Zmiany w formacie JSON Patch.
+     * @return Wynik walidacji definicji po zmianach, błąd 404 gdy definicja nie istnieje,
+     * lub błąd 400 gdy zmiany nie mogą zostać zastosowane.
+     */
+    @PatchMapping(value = "/documents/{documentId}", consumes = {JSON_PATCH, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity patchDocument(@PathVariable String documentId,
+                                        @RequestBody List<PatchOperation> operations) {
+        return document(() -> admitted(() -> this.documentSessionService.patch(documentId, operations)));
+    }
+
+    /**
+     * Metoda usuwająca zapamiętaną definicję API.
+     *
+     * @param documentId Identyfikator definicji.
+     * @return Odpowiedź 204, lub błąd 404 gdy definicja nie istnieje.
+     */
+    @DeleteMapping(value = "/documents/{documentId}")
+    public ResponseEntity deleteDocument(@PathVariable String documentId) {
+        try {
+            this.documentSessionService.delete(documentId);
+            return ResponseEntity.noContent().build();
+        } catch (DocumentNotFoundException e) {
+            return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Metoda służy do asynchronicznej walidacji definicji API - przeznaczona dla definicji, których
+     * walidacja trwa dłużej niż dopuszczalny czas odpowiedzi. Odpowiedź zwracana jest od razu,
+     * a wynik pobierany jest przez {@link ValidationController#getJob(String, long)}.
+     *
+     * @param yamlApiDefinition Definicja API w formacie YAML, stworzona w języku opisu Coapi.
+     * @param collectAll Czy zebrać wszystkie błędy, zamiast przerwać walidację na pierwszym.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @param request Żądanie, którego powtarzalny parametr pointer wskazuje poddrzewa definicji, do których ograniczona jest walidacja.
+     * @return Odpowiedź 202 z przyjętym zadaniem i jego adresem w nagłówku Location, lub błąd 429 gdy kolejka zadań jest pełna.
+     */
+    @PostMapping(value = "/jobs")
+    public ResponseEntity submitJob(@RequestBody String yamlApiDefinition,
+                                    @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                    @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                    @RequestParam(value = "specification", required = false) String specification,
+                                    WebRequest request) {
+        return submitJob(yamlApiDefinition, DocumentFormat.YAML, options(collectAll, specificationHeader, specification).withPointers(pointers(request)));
+    }
+
+    /**
+     * Metoda służy do asynchronicznej walidacji definicji API przesłanej w formacie JSON. Parametry
+     * i odpowiedzi są takie same jak w {@link ValidationController#submitJob(String, boolean, String, String, WebRequest)}.
+     *
+     * @param jsonApiDefinition Definicja API w formacie JSON, stworzona w języku opisu Coapi.
+     * @param collectAll Czy zebrać wszystkie błędy, zamiast przerwać walidację na pierwszym.
+     * @param specificationHeader Nazwa wersji specyfikacji, przekazana w nagłówku.
+     * @param specification Nazwa wersji specyfikacji, przekazana jako parametr.
+     * @param request Żądanie, którego powtarzalny parametr pointer wskazuje poddrzewa definicji, do których ograniczona jest walidacja.
+     * @return Odpowiedź 202 z przyjętym zadaniem i jego adresem w nagłówku Location, lub błąd 429 gdy kolejka zadań jest pełna.
+     */
+    @PostMapping(value = "/jobs", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity submitJsonJob(@RequestBody String jsonApiDefinition,
+                                        @RequestParam(value = "collectAll", defaultValue = "false") boolean collectAll,
+                                        @RequestHeader(value = SPECIFICATION_HEADER, required = false) String specificationHeader,
+                                        @RequestParam(value = "specification", required = false) String specification,
+                                        WebRequest request) {
+        return submitJob(jsonApiDefinition, DocumentFormat.JSON, options(collectAll, specificationHeader, specification).withPointers(pointers(request)));
+    }
+
+    private ResponseEntity submitJob(String apiDefinition, DocumentFormat format, ValidationOptions options) {
+        try {
+            ValidationJob job = this.validationJobService.submit(apiDefinition, format, options);
+            return ResponseEntity.accepted().location(URI.create("/validation/jobs/" + job.getJobId())).body(job);
+        } catch (JobQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(TooManyValidationsException.retryAfterSeconds(config.getRetryAfter())))
+                    .body(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()));
+        }
+    }
+
+    /**
+     * Metoda zwracająca stan zadania walidacji, a po jego zakończeniu - wynik walidacji. Gdy podany
+     * jest czas oczekiwania, odpowiedź wstrzymywana jest do zakończenia zadania, lecz nie dłużej niż
+     * podany czas - bez zajmowania wątku serwera.
+     *
+     * @param jobId Identyfikator zadania.
+     * @param wait Maksymalny czas oczekiwania na zakończenie zadania, w sekundach - domyślnie 0.
+     * @return Stan zadania, lub błąd 404 gdy zadanie nie istnieje albo jego wynik wygasł.
+     */
+    @GetMapping(value = "/jobs/{jobId}")
+    public CompletableFuture<ResponseEntity> getJob(@PathVariable String jobId,
+                                                    @RequestParam(value = "wait", defaultValue = "0") long wait) {
+        try {
+            return this.validationJobService.await(jobId, Duration.ofSeconds(wait))
+                    .<ResponseEntity>thenApply(job -> new ResponseEntity<>(job, HttpStatus.OK));
+        } catch (JobNotFoundException e) {
+            return CompletableFuture.completedFuture(
+                    new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.NOT_FOUND));
+        }
+    }
+
+    private ResponseEntity document(Supplier<DocumentValidationResult> validation) {
+        try {
+            return new ResponseEntity<>(validation.get(), HttpStatus.OK);
+        } catch (DocumentNotFoundException e) {
+            return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.NOT_FOUND);
+        } catch (InvalidPatchException e) {
+            return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private ResponseEntity batch(Supplier<BatchValidationResult> validation) {
+        try {
+            return new ResponseEntity<>(admitted(validation), HttpStatus.OK);
+        } catch (BatchTooLargeException e) {
+            return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+    }
+
+    /**
+     * Metoda wykonująca walidację, o ile {@link ConcurrencyLimiter} ma wolne miejsce. Wywoływana
+     * jest po odczytaniu treści żądania - z wyjątkiem walidacji strumieniowej, w której odczyt
+     * treści jest częścią walidacji.
+     *
+     * @throws TooManyValidationsException Wyjątek rzucany, gdy jednocześnie wykonywanych jest zbyt wiele walidacji.
+     */
+    private <T> T admitted(Supplier<T> validation) {
+        if (!limiter.tryAcquire()) {
+            throw new TooManyValidationsException(config.getRetryAfter());
+        }
+        try {
+            return validation.get();
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private String quote(String key) {
+        return "\"" + key + "\"";
+    }
+
+    private String unquote(String etag) {
+        String value = etag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
+    }
+
+    /**
+     * Metoda budująca ustawienia walidacji. Wersja specyfikacji może zostać wskazana nagłówkiem
+     * lub parametrem żądania - parametr ma pierwszeństwo.
+     *
+     * @throws UnknownSpecificationException Wyjątek rzucany, gdy wskazana wersja specyfikacji nie istnieje.
+     */
+    private ValidationOptions options(boolean collectAll, String specificationHeader, String specification) {
+        String specificationName = specification != null ? specification : specificationHeader;
+        this.validationService.getSpecificationVersion(specificationName);
+
+        ValidationOptions options = collectAll ? ValidationOptions.collectAll(config.getErrorBudget()) : ValidationOptions.failFast();
+        return options.withSpecification(specificationName);
+    }
+
+    @ExceptionHandler(UnknownSpecificationException.class)
+    public ResponseEntity unknownSpecification(UnknownSpecificationException e) {
+        return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TooManyValidationsException.class)
+    public ResponseEntity tooManyValidations(TooManyValidationsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(TooManyValidationsException.retryAfterSeconds(config.getRetryAfter())))
+                .body(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()));
+    }
+
+    @ExceptionHandler(RequestTooLargeException.class)
+    public ResponseEntity requestTooLarge(RequestTooLargeException e) {
+        return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(InvalidPointerException.class)
+    public ResponseEntity invalidPointer(InvalidPointerException e) {
+        return new ResponseEntity<>(new ValidationResult(ValidationCode.EXCEPTION, e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
 }
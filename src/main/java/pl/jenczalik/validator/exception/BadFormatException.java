@@ -0,0 +1,10 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy wartość nie spełnia formatu swojego typu, np. uuid lub uri.
+ */
+public class BadFormatException extends RuntimeException {
+    public BadFormatException(String value, String type) {
+        super(String.format("Value %s does not have the format of type: %s.", value, type));
+    }
+}
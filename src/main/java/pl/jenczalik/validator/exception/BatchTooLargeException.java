@@ -0,0 +1,10 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy żądanie wsadowe zawiera zbyt wiele definicji.
+ */
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int size, int maxSize) {
+        super(String.format("Batch contains %d documents. Maximum batch size is: %d.", size, maxSize));
+    }
+}
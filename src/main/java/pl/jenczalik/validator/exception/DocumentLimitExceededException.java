@@ -0,0 +1,15 @@
+package pl.jenczalik.validator.exception;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+
+/**
+ * Wyjątek rzucany w trakcie parsowania, gdy definicja przekracza jeden z limitów złożoności
+ * dokumentu - rozmiar, głębokość zagnieżdżenia, liczbę węzłów lub długość klucza.
+ * <p>
+ * Rozszerza {@link YamlException}, więc przechodzi przez parsery YAML i JSON bez opakowywania.
+ */
+public class DocumentLimitExceededException extends YamlException {
+    public DocumentLimitExceededException(String limit, long maxValue) {
+        super(String.format("Document exceeds the maximum %s: %d.", limit, maxValue));
+    }
+}
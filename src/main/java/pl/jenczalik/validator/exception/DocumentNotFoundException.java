@@ -0,0 +1,11 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy definicja API o podanym identyfikatorze nie istnieje,
+ * lub została usunięta z powodu braku aktywności.
+ */
+public class DocumentNotFoundException extends RuntimeException {
+    public DocumentNotFoundException(String documentId) {
+        super(String.format("Document %s does not exist or has expired.", documentId));
+    }
+}
@@ -0,0 +1,10 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy zmiana definicji API nie może zostać zastosowana.
+ */
+public class InvalidPatchException extends RuntimeException {
+    public InvalidPatchException(String reason) {
+        super(String.format("Patch could not be applied. %s", reason));
+    }
+}
@@ -0,0 +1,10 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy ścieżka nie jest poprawnym wskaźnikiem JSON Pointer (RFC 6901).
+ */
+public class InvalidPointerException extends RuntimeException {
+    public InvalidPointerException(String pointer) {
+        super(String.format("Pointer %s must be empty or start with '/'.", pointer));
+    }
+}
@@ -0,0 +1,11 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy zadanie walidacji o podanym identyfikatorze nie istnieje,
+ * lub jego wynik został usunięty po upływie czasu przechowywania.
+ */
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String jobId) {
+        super(String.format("Job %s does not exist or has expired.", jobId));
+    }
+}
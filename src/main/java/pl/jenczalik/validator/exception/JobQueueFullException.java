@@ -0,0 +1,13 @@
+package pl.jenczalik.validator.exception;
+
+import java.time.Duration;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy kolejka zadań walidacji jest pełna.
+ */
+public class JobQueueFullException extends RuntimeException {
+    public JobQueueFullException(int queueSize, Duration retryAfter) {
+        super(String.format("Validation job queue is full (%d jobs). Retry after %d seconds.",
+                queueSize, TooManyValidationsException.retryAfterSeconds(retryAfter)));
+    }
+}
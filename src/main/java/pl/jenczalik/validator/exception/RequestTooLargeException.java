@@ -0,0 +1,10 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy treść żądania przekracza dopuszczalny rozmiar.
+ */
+public class RequestTooLargeException extends RuntimeException {
+    public RequestTooLargeException(long maxSize) {
+        super(String.format("Request body exceeds the maximum size of %d bytes.", maxSize));
+    }
+}
@@ -0,0 +1,20 @@
+package pl.jenczalik.validator.exception;
+
+import java.time.Duration;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy jednocześnie wykonywanych jest zbyt wiele walidacji.
+ */
+public class TooManyValidationsException extends RuntimeException {
+    public TooManyValidationsException(Duration retryAfter) {
+        super(String.format("Too many validations in progress. Retry after %d seconds.", retryAfterSeconds(retryAfter)));
+    }
+
+    /**
+     * @param retryAfter Czas, po którym można ponowić żądanie
+     * @return Czas w pełnych sekundach, zaokrąglony w górę - w postaci wymaganej przez nagłówek Retry-After
+     */
+    public static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
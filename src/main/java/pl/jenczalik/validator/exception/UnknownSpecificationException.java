@@ -0,0 +1,10 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy żądana wersja specyfikacji nie jest zarejestrowana.
+ */
+public class UnknownSpecificationException extends RuntimeException {
+    public UnknownSpecificationException(String name) {
+        super(String.format("Specification %s is not registered.", name));
+    }
+}
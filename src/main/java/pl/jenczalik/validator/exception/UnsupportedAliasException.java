@@ -0,0 +1,11 @@
+package pl.jenczalik.validator.exception;
+
+/**
+ * Wyjątek rzucany w przypadku, gdy alias wskazuje na wartość, której nie da się
+ * zwalidować bez budowania struktury obiektowej dokumentu.
+ */
+public class UnsupportedAliasException extends RuntimeException {
+    public UnsupportedAliasException(String anchor) {
+        super(String.format("Alias *%s must refer to a scalar value in streaming validation.", anchor));
+    }
+}
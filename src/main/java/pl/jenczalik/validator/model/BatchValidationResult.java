@@ -0,0 +1,28 @@
+package pl.jenczalik.validator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Obiekt zawierający wyniki walidacji wszystkich definicji z żądania wsadowego,
+ * w kolejności ich występowania w żądaniu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidationResult {
+    /**
+     * {@link ValidationCode#OK} jeśli wszystkie definicje są poprawne.
+     */
+    private ValidationCode validationCode;
+    private int documentCount;
+    private List<ValidationResult> results;
+
+    public static BatchValidationResult of(List<ValidationResult> results) {
+        boolean allValid = results.stream().allMatch(result -> result.getValidationCode() == ValidationCode.OK);
+        return new BatchValidationResult(allValid ? ValidationCode.OK : ValidationCode.EXCEPTION, results.size(), results);
+    }
+}
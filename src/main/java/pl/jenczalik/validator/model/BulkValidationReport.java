@@ -0,0 +1,32 @@
+package pl.jenczalik.validator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Raport walidacji wielu plików z definicjami API, w kolejności ścieżek plików.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkValidationReport {
+    /**
+     * {@link ValidationCode#OK} jeśli wszystkie pliki zostały odczytane i zawierają poprawne definicje.
+     */
+    private ValidationCode validationCode;
+
+    /**
+     * Wersja specyfikacji, względem której walidowane były definicje.
+     */
+    private String specificationVersion;
+
+    private int fileCount;
+    private int validCount;
+    private int invalidCount;
+    private int unreadableCount;
+    private long durationMillis;
+    private List<FileValidationResult> results;
+}
@@ -0,0 +1,18 @@
+package pl.jenczalik.validator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Obiekt zawierający statystyki pamięci podręcznej wyników walidacji.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long size;
+}
@@ -0,0 +1,8 @@
+package pl.jenczalik.validator.model;
+
+/**
+ * Enum z formatami, w których mogą być przesyłane definicje API.
+ */
+public enum DocumentFormat {
+    YAML, JSON
+}
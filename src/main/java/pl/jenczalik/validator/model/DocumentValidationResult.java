@@ -0,0 +1,22 @@
+package pl.jenczalik.validator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Obiekt zawierający wynik walidacji definicji API przechowywanej na serwerze,
+ * wraz z jej identyfikatorem.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DocumentValidationResult {
+    /**
+     * Identyfikator definicji, lub null jeśli definicja nie mogła zostać zapamiętana.
+     */
+    private String documentId;
+    private ValidationResult result;
+}
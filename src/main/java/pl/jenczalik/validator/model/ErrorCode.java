@@ -0,0 +1,95 @@
+package pl.jenczalik.validator.model;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import pl.jenczalik.validator.exception.BadFormatException;
+import pl.jenczalik.validator.exception.BadNumberFormatException;
+import pl.jenczalik.validator.exception.BadTypeException;
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+import pl.jenczalik.validator.exception.ExcessiveObjectPresentException;
+import pl.jenczalik.validator.exception.NoMatchWithRegexException;
+import pl.jenczalik.validator.exception.NullValueException;
+import pl.jenczalik.validator.exception.NumberTooLargeException;
+import pl.jenczalik.validator.exception.RequiredObjectNotPresentException;
+import pl.jenczalik.validator.exception.UnsupportedAliasException;
+
+/**
+ * Enum z rodzajami błędów wykrywanych w trakcie walidacji.
+ */
+public enum ErrorCode {
+    REQUIRED_OBJECT_NOT_PRESENT,
+    EXCESSIVE_OBJECT_PRESENT,
+    NULL_VALUE,
+    BAD_TYPE,
+    NO_MATCH_WITH_REGEX,
+    BAD_NUMBER_FORMAT,
+    NUMBER_TOO_LARGE,
+    BAD_FORMAT,
+    UNSUPPORTED_ALIAS,
+    LIMIT_EXCEEDED,
+    MALFORMED_DOCUMENT;
+
+    /**
+     * @return Klasa wyjątku, którym błąd danego rodzaju zgłaszany jest w trybie domyślnym.
+     */
+    public Class<? extends Exception> getExceptionType() {
+        switch (this) {
+            case REQUIRED_OBJECT_NOT_PRESENT:
+                return RequiredObjectNotPresentException.class;
+            case EXCESSIVE_OBJECT_PRESENT:
+                return ExcessiveObjectPresentException.class;
+            case NULL_VALUE:
+                return NullValueException.class;
+            case BAD_TYPE:
+                return BadTypeException.class;
+            case NO_MATCH_WITH_REGEX:
+                return NoMatchWithRegexException.class;
+            case BAD_NUMBER_FORMAT:
+                return BadNumberFormatException.class;
+            case NUMBER_TOO_LARGE:
+                return NumberTooLargeException.class;
+            case BAD_FORMAT:
+                return BadFormatException.class;
+            case UNSUPPORTED_ALIAS:
+                return UnsupportedAliasException.class;
+            case LIMIT_EXCEEDED:
+                return DocumentLimitExceededException.class;
+            default:
+                return YamlException.class;
+        }
+    }
+
+    /**
+     * Metoda budująca czytelny opis błędu danego rodzaju.
+     *
+     * @param key Klucz pola, którego dotyczy błąd
+     * @param expected Wartość oczekiwana
+     * @param actual Wartość rzeczywista
+     * @return Opis błędu
+     */
+    public String describe(String key, String expected, String actual) {
+        switch (this) {
+            case REQUIRED_OBJECT_NOT_PRESENT:
+                return String.format("Required object %s is not present.", expected);
+            case EXCESSIVE_OBJECT_PRESENT:
+                return String.format("Excessive object %s is present.", actual);
+            case NULL_VALUE:
+                return String.format("Null value at key: %s", key);
+            case BAD_TYPE:
+                return String.format("Object %s is of bad type. Required type is: %s. Actual type is: %s", key, expected, actual);
+            case NO_MATCH_WITH_REGEX:
+                return String.format("Object %s does not match %s regex pattern.", actual, expected);
+            case BAD_NUMBER_FORMAT:
+                return String.format("Value %s has incorrect type. Required type is: %s.", actual, expected);
+            case NUMBER_TOO_LARGE:
+                return String.format("Number %s is too large for it's type: %s", actual, expected);
+            case BAD_FORMAT:
+                return String.format("Value %s does not have the format of type: %s.", actual, expected);
+            case UNSUPPORTED_ALIAS:
+                return String.format("Alias *%s must refer to a scalar value in streaming validation.", actual);
+            case LIMIT_EXCEEDED:
+                return actual;
+            default:
+                return String.format("Document could not be processed: %s", actual);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package pl.jenczalik.validator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Obiekt zawierający wynik walidacji definicji API zapisanej w pliku.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileValidationResult {
+    private String file;
+
+    /**
+     * Wynik walidacji - gdy plik nie mógł zostać odczytany, wynik ma kod {@link ValidationCode#EXCEPTION}
+     * i opis błędu odczytu.
+     */
+    private ValidationResult result;
+}
@@ -0,0 +1,33 @@
+package pl.jenczalik.validator.model;
+
+/**
+ * Enum ze stanami asynchronicznego zadania walidacji.
+ */
+public enum JobStatus {
+    /**
+     * Zadanie oczekuje w kolejce na wolny wątek.
+     */
+    QUEUED,
+
+    /**
+     * Definicja jest walidowana.
+     */
+    RUNNING,
+
+    /**
+     * Walidacja została zakończona - wynik dostępny jest w zadaniu.
+     */
+    COMPLETED,
+
+    /**
+     * Walidacja nie została zakończona, np. z powodu ponownego uruchomienia aplikacji.
+     */
+    FAILED;
+
+    /**
+     * @return Czy stan zadania nie może się już zmienić.
+     */
+    public boolean isFinal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,26 @@
+package pl.jenczalik.validator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pojedyncza operacja zmiany definicji API, w formacie JSON Patch (RFC 6902).
+ * <p>
+ * Obsługiwane operacje to "add", "remove", "replace", "move", "copy" i "test".
+ * Ścieżki zapisywane są w formacie JSON Pointer (RFC 6901).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchOperation {
+    private String op;
+    private String path;
+
+    /**
+     * Ścieżka źródłowa - wymagana jedynie dla operacji "move" i "copy".
+     */
+    private String from;
+
+    private Object value;
+}
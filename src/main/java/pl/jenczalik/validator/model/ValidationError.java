@@ -0,0 +1,59 @@
+package pl.jenczalik.validator.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+/**
+ * Obiekt zawierający informacje o pojedynczym błędzie walidacji.
+ * <p>
+ * Ścieżka przechowywana jest w postaci {@link ValidationPath}, więc jej tekstowa
+ * postać budowana jest dopiero przy serializacji odpowiedzi.
+ */
+public class ValidationError {
+    @Getter
+    private final ErrorCode code;
+
+    private final ValidationPath path;
+
+    /**
+     * Klucz pola, którego dotyczy błąd, lub null gdy błąd dotyczy całego obiektu.
+     */
+    @Getter
+    private final String key;
+
+    @Getter
+    private final String expected;
+
+    @Getter
+    private final String actual;
+
+    public ValidationError(ErrorCode code, ValidationPath path, String key, String expected, String actual) {
+        this.code = code;
+        this.path = path;
+        this.key = key;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * @return Ścieżka do obiektu, w którym wykryto błąd.
+     */
+    public String getPath() {
+        return path.toString();
+    }
+
+    /**
+     * @return Ścieżka do obiektu, w którym wykryto błąd, w postaci obiektowej.
+     */
+    @JsonIgnore
+    public ValidationPath getLocation() {
+        return path;
+    }
+
+    /**
+     * @return Czytelny opis błędu.
+     */
+    public String getMessage() {
+        return code.describe(key, expected, actual);
+    }
+}
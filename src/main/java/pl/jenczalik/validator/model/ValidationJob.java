@@ -0,0 +1,46 @@
+package pl.jenczalik.validator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Obiekt zawierający stan asynchronicznego zadania walidacji, a po jego zakończeniu - wynik walidacji.
+ * <p>
+ * Zadania zapisywane są na dysku, więc wynik przechowywany jest w postaci drzewa JSON - tej samej,
+ * w której {@link ValidationResult} zwracany jest przez synchroniczny punkt dostępowy.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ValidationJob {
+    private String jobId;
+    private JobStatus status;
+
+    /**
+     * Czas przyjęcia zadania, w milisekundach od początku epoki.
+     */
+    private long submittedAt;
+
+    /**
+     * Czas zakończenia zadania, w milisekundach od początku epoki, lub null gdy zadanie nie zostało zakończone.
+     */
+    private Long completedAt;
+
+    /**
+     * Wynik walidacji - obecny jedynie w stanie {@link JobStatus#COMPLETED}.
+     */
+    private JsonNode result;
+
+    /**
+     * Przyczyna niepowodzenia - obecna jedynie w stanie {@link JobStatus#FAILED}.
+     */
+    private String message;
+
+    public static ValidationJob queued(String jobId, long submittedAt) {
+        return new ValidationJob(jobId, JobStatus.QUEUED, submittedAt, null, null, null);
+    }
+}
@@ -0,0 +1,82 @@
+package pl.jenczalik.validator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Obiekt zawierający ustawienia pojedynczego wywołania walidacji.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationOptions {
+    /**
+     * Maksymalna liczba zbieranych błędów. Wartość 0 oznacza przerwanie walidacji
+     * na pierwszym błędzie, zgłoszonym w postaci wyjątku.
+     */
+    private int errorBudget;
+
+    /**
+     * Nazwa wersji specyfikacji, względem której walidowana jest definicja.
+     * Wartość null oznacza specyfikację domyślną.
+     */
+    private String specification;
+
+    /**
+     * Czy obiekty i tablice o dużej liczbie pól mogą być walidowane równolegle.
+     */
+    private boolean parallel;
+
+    /**
+     * Ścieżki w formacie JSON Pointer, wskazujące poddrzewa definicji, które mają zostać zwalidowane.
+     * Pusta lista oznacza walidację całej definicji.
+     */
+    private List<String> pointers = List.of();
+
+    public ValidationOptions(int errorBudget, String specification, boolean parallel) {
+        this(errorBudget, specification, parallel, List.of());
+    }
+
+    public static ValidationOptions failFast() {
+        return new ValidationOptions(0, null, false);
+    }
+
+    public static ValidationOptions collectAll(int errorBudget) {
+        return new ValidationOptions(Math.max(1, errorBudget), null, false);
+    }
+
+    /**
+     * @param specification Nazwa wersji specyfikacji
+     * @return Kopia ustawień, wskazująca na zadaną wersję specyfikacji.
+     */
+    public ValidationOptions withSpecification(String specification) {
+        return new ValidationOptions(errorBudget, specification, parallel, pointers);
+    }
+
+    /**
+     * @param parallel Czy walidować równolegle duże obiekty i tablice
+     * @return Kopia ustawień, z włączoną lub wyłączoną walidacją równoległą.
+     */
+    public ValidationOptions withParallel(boolean parallel) {
+        return new ValidationOptions(errorBudget, specification, parallel, pointers);
+    }
+
+    /**
+     * @param pointers Ścieżki w formacie JSON Pointer, lub null dla całej definicji
+     * @return Kopia ustawień, ograniczająca walidację do wskazanych poddrzew.
+     */
+    public ValidationOptions withPointers(List<String> pointers) {
+        return new ValidationOptions(errorBudget, specification, parallel, pointers == null ? List.of() : List.copyOf(pointers));
+    }
+
+    public boolean isSelective() {
+        return !pointers.isEmpty();
+    }
+
+    public boolean isCollectAll() {
+        return errorBudget > 0;
+    }
+}
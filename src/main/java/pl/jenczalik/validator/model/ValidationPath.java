@@ -0,0 +1,122 @@
+package pl.jenczalik.validator.model;
+
+import pl.jenczalik.validator.exception.InvalidPointerException;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Niemutowalna ścieżka do miejsca w definicji API, w którym prowadzona jest walidacja.
+ * <p>
+ * Każdy element ścieżki przechowuje jedynie klucz i referencję do rodzica, dzięki czemu
+ * wejście w obiekt-dziecko nie kopiuje ścieżki, a tekstowa postać ścieżki budowana
+ * jest dopiero w momencie jej wyświetlenia - czyli w praktyce tylko w przypadku błędu.
+ */
+public final class ValidationPath {
+
+    private static final String ROOT = "root";
+    private static final String SEPARATOR = " -> ";
+
+    private static final ValidationPath ROOT_PATH = new ValidationPath(null, null, 0);
+
+    private final ValidationPath parent;
+    private final String key;
+    private final int depth;
+
+    private ValidationPath(ValidationPath parent, String key, int depth) {
+        this.parent = parent;
+        this.key = key;
+        this.depth = depth;
+    }
+
+    /**
+     * @return Pusta ścieżka, wskazująca na korzeń definicji API.
+     */
+    public static ValidationPath root() {
+        return ROOT_PATH;
+    }
+
+    /**
+     * @param pointer Ścieżka w formacie JSON Pointer (RFC 6901), np. "/paths/~1lamps/get"
+     * @return Ścieżka o kluczach wskaźnika, np. paths -&gt; /lamps -&gt; get. Pusty wskaźnik oznacza korzeń.
+     * @throws InvalidPointerException Wyjątek rzucany, gdy wskaźnik nie jest pusty i nie zaczyna się od "/".
+     */
+    public static ValidationPath fromPointer(String pointer) {
+        if (pointer == null || (!pointer.isEmpty() && !pointer.startsWith("/"))) {
+            throw new InvalidPointerException(pointer);
+        }
+
+        ValidationPath path = ROOT_PATH;
+        if (pointer.isEmpty()) {
+            return path;
+        }
+        for (String token : pointer.substring(1).split("/", -1)) {
+            path = path.child(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return path;
+    }
+
+    /**
+     * @param key Klucz obiektu-dziecka
+     * @return Ścieżka do obiektu-dziecka o zadanym kluczu.
+     */
+    public ValidationPath child(String key) {
+        return new ValidationPath(this, key, depth + 1);
+    }
+
+    /**
+     * @return Ścieżka do obiektu-rodzica. Dla korzenia zwracany jest korzeń.
+     */
+    public ValidationPath getParent() {
+        return parent == null ? this : parent;
+    }
+
+    /**
+     * @return Klucz ostatniego elementu ścieżki, lub null dla korzenia.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return Liczba elementów ścieżki.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isRoot() {
+        return parent == null;
+    }
+
+    /**
+     * @return Klucze kolejnych elementów ścieżki, począwszy od korzenia.
+     */
+    public List<String> getKeys() {
+        String[] keys = new String[depth];
+        ValidationPath current = this;
+        for (int i = depth - 1; i >= 0; i--) {
+            keys[i] = current.key;
+            current = current.parent;
+        }
+        return Arrays.asList(keys);
+    }
+
+    /**
+     * @return Ścieżka w postaci "klucz -> klucz -> klucz", lub "root" dla korzenia.
+     */
+    @Override
+    public String toString() {
+        if (isRoot()) {
+            return ROOT;
+        }
+
+        Deque<String> keys = new ArrayDeque<>(depth);
+        for (ValidationPath current = this; !current.isRoot(); current = current.parent) {
+            keys.addFirst(current.key);
+        }
+        return String.join(SEPARATOR, keys);
+    }
+}
@@ -1,19 +1,32 @@
 package pl.jenczalik.validator.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Obiekt zawierający informacje o wyniku walidacji.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ValidationResult {
     private ValidationCode validationCode;
     private String validationMessage;
 
+    /**
+     * Lista wszystkich wykrytych błędów - wypełniana jedynie w trybie zbierania błędów.
+     */
+    private List<ValidationError> errors;
+
+    public ValidationResult(ValidationCode validationCode, String validationMessage) {
+        this(validationCode, validationMessage, null);
+    }
+
     public static ValidationResult ok() {
         ValidationResult result =  new ValidationResult();
         result.setValidationCode(ValidationCode.OK);
@@ -0,0 +1,21 @@
+package pl.jenczalik.validator.model.specification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Skompilowana specyfikacja modelu języka wraz z jej wersją.
+ */
+@Getter
+@AllArgsConstructor
+public class CompiledSpecification {
+    /**
+     * Wersja specyfikacji - skrót jej treści, zmieniający się przy każdej zmianie specyfikacji.
+     */
+    private final String version;
+
+    /**
+     * Węzeł-korzeń, którego dziećmi są obiekty najwyższego poziomu specyfikacji.
+     */
+    private final SpecificationNode root;
+}
@@ -0,0 +1,59 @@
+package pl.jenczalik.validator.model.specification;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum z typami węzłów, które mogą wystąpić w specyfikacji modelu języka.
+ */
+public enum NodeType {
+    OBJECT("object"),
+    ARRAY("array"),
+    STRING("string"),
+    INTEGER("integer"),
+    UNSIGNED_INTEGER("unsignedInteger"),
+    BOOLEAN("boolean"),
+    /**
+     * Typ spoza języka specyfikacji - wartość węzła musi być skalarem. Jeśli typ zarejestrowany
+     * jest w {@link pl.jenczalik.validator.util.type.PrimitiveTypes}, np. uuid, wartość sprawdzana jest przez ten typ.
+     */
+    UNKNOWN("unknown");
+
+    private static final Map<String, NodeType> BY_NAME = new HashMap<>();
+
+    static {
+        for (NodeType type : values()) {
+            BY_NAME.put(type.name, type);
+        }
+    }
+
+    private final String name;
+
+    NodeType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return Nazwa typu, w postaci w jakiej występuje w pliku specyfikacji.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Czy węzeł tego typu posiada węzły-dzieci.
+     */
+    public boolean isContainer() {
+        return this == OBJECT || this == ARRAY;
+    }
+
+    /**
+     * Metoda zamieniająca nazwę typu ze specyfikacji na wartość enuma.
+     *
+     * @param name Nazwa typu
+     * @return Typ węzła, lub {@link NodeType#UNKNOWN} gdy nazwa nie jest rozpoznana.
+     */
+    public static NodeType fromName(String name) {
+        return BY_NAME.getOrDefault(name, UNKNOWN);
+    }
+}
@@ -0,0 +1,111 @@
+package pl.jenczalik.validator.model.specification;
+
+import lombok.Getter;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+import pl.jenczalik.validator.util.type.PrimitiveType;
+import pl.jenczalik.validator.util.type.PrimitiveTypes;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Niemutowalny węzeł skompilowanej specyfikacji modelu języka.
+ * <p>
+ * Węzeł przechowuje wszystkie informacje potrzebne do walidacji odpowiadającego mu
+ * fragmentu definicji API, wyliczone jednorazowo podczas kompilacji specyfikacji -
+ * typ, zbiory wymaganych i dozwolonych pól, skompilowane wyrażenia regularne oraz węzły-dzieci.
+ */
+@Getter
+public class SpecificationNode {
+    /**
+     * Nazwa węzła, tj. klucz pod którym występuje w specyfikacji.
+     */
+    private final String name;
+
+    /**
+     * Typ węzła.
+     */
+    private final NodeType type;
+
+    /**
+     * Nazwa typu w postaci zapisanej w specyfikacji, używana w komunikatach o błędach.
+     */
+    private final String typeName;
+
+    /**
+     * Typ z rejestru {@link PrimitiveTypes}, którym sprawdzana jest wartość prymitywu, lub null.
+     */
+    private final PrimitiveType primitiveType;
+
+    /**
+     * Czy węzeł jest wymagany w obiekcie-rodzicu.
+     */
+    private final boolean required;
+
+    /**
+     * Wyrażenie regularne, które musi spełniać nazwa elementu tablicy, lub null.
+     */
+    private final SpecificationPattern nameRegex;
+
+    /**
+     * Wyrażenie regularne, które musi spełniać wartość stringa, lub null.
+     */
+    private final SpecificationPattern valueRegex;
+
+    /**
+     * Węzły-dzieci, w kolejności występowania w specyfikacji.
+     */
+    private final Map<String, SpecificationNode> children;
+
+    /**
+     * Zbiór nazw wymaganych węzłów-dzieci.
+     */
+    private final Set<String> requiredFields;
+
+    /**
+     * Zbiór nazw dozwolonych węzłów-dzieci.
+     */
+    private final Set<String> allowedFields;
+
+    /**
+     * Węzeł opisujący elementy tablicy, tj. pierwsze dziecko węzła typu tablica, lub null.
+     */
+    private final SpecificationNode element;
+
+    public SpecificationNode(String name,
+                             String typeName,
+                             boolean required,
+                             SpecificationPattern nameRegex,
+                             SpecificationPattern valueRegex,
+                             Map<String, SpecificationNode> children) {
+        this.name = name;
+        this.type = NodeType.fromName(typeName);
+        this.typeName = typeName;
+        this.primitiveType = PrimitiveTypes.get(typeName);
+        this.required = required;
+        this.nameRegex = nameRegex;
+        this.valueRegex = valueRegex;
+        this.children = Collections.unmodifiableMap(new LinkedHashMap<>(children));
+
+        Set<String> requiredFields = new LinkedHashSet<>();
+        for (SpecificationNode child : children.values()) {
+            if (child.isRequired()) {
+                requiredFields.add(child.getName());
+            }
+        }
+        this.requiredFields = Collections.unmodifiableSet(requiredFields);
+        this.allowedFields = this.children.keySet();
+        this.element = this.children.isEmpty() ? null : this.children.values().iterator().next();
+    }
+
+    /**
+     * @param key Nazwa węzła-dziecka
+     * @return Węzeł-dziecko o zadanej nazwie, lub null jeśli taki nie istnieje.
+     */
+    public SpecificationNode getChild(String key) {
+        return children.get(key);
+    }
+}
@@ -0,0 +1,125 @@
+package pl.jenczalik.validator.service;
+
+import org.springframework.stereotype.Service;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.BatchTooLargeException;
+import pl.jenczalik.validator.model.BatchValidationResult;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.util.parser.YamlParser;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Klasa, której przeznaczeniem jest walidacja wielu definicji API przesłanych w jednym żądaniu.
+ * <p>
+ * Definicje walidowane są równolegle, w ograniczonej puli fork-join, a wyniki zwracane są
+ * w kolejności występowania definicji w żądaniu.
+ */
+@Service
+public class BatchValidationService {
+
+    private final ValidationService validationService;
+    private final YamlParser yamlParser;
+    private final ForkJoinPool pool;
+    private final int maxBatchSize;
+
+    public BatchValidationService(ValidationService validationService, YamlParser yamlParser, Config config) {
+        this.validationService = validationService;
+        this.yamlParser = yamlParser;
+        this.pool = new ForkJoinPool(Math.max(1, config.getBatchParallelism()));
+        this.maxBatchSize = config.getMaxBatchSize();
+    }
+
+    /**
+     * Metoda walidująca definicje API zapisane jako wiele dokumentów YAML.
+     *
+     * @param yamlApiDefinitions Definicje API rozdzielone znacznikami "---"
+     * @param options Ustawienia walidacji każdej z definicji
+     * @return Wyniki walidacji
+     *
+     * @throws BatchTooLargeException Wyjątek rzucany w przypadku, gdy definicji jest zbyt wiele
+     */
+    public BatchValidationResult validateYamlDocuments(String yamlApiDefinitions, ValidationOptions options) {
+        return validateAll(yamlParser.splitDocuments(yamlApiDefinitions), DocumentFormat.YAML, options);
+    }
+
+    /**
+     * Metoda walidująca definicje API zapisane w formacie NDJSON - po jednej definicji w linii.
+     * Każda linia parsowana jest jako JSON, a nie YAML - np. dozwolone w JSON "\/" nie jest
+     * poprawną sekwencją w YAML.
+     *
+     * @param ndjsonApiDefinitions Definicje API, każda w osobnej linii
+     * @param options Ustawienia walidacji każdej z definicji
+     * @return Wyniki walidacji
+     *
+     * @throws BatchTooLargeException Wyjątek rzucany w przypadku, gdy definicji jest zbyt wiele
+     */
+    public BatchValidationResult validateNdjson(String ndjsonApiDefinitions, ValidationOptions options) {
+        List<String> documents = new ArrayList<>();
+        for (String line : ndjsonApiDefinitions.split("\\r?\\n")) {
+            if (!line.isBlank()) {
+                documents.add(line);
+            }
+        }
+        return validateAll(documents, DocumentFormat.JSON, options);
+    }
+
+    private BatchValidationResult validateAll(List<String> documents, DocumentFormat format, ValidationOptions options) {
+        if (documents.size() > maxBatchSize) {
+            throw new BatchTooLargeException(documents.size(), maxBatchSize);
+        }
+
+        ValidationResult[] results = new ValidationResult[documents.size()];
+        pool.invoke(new BatchValidationTask(documents, format, options, results, 0, documents.size()));
+        return BatchValidationResult.of(Arrays.asList(results));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Zadanie walidujące przedział definicji. Przedziały dłuższe niż jedna definicja
+     * są dzielone na połowy, walidowane równolegle.
+     */
+    private class BatchValidationTask extends RecursiveAction {
+        private final List<String> documents;
+        private final DocumentFormat format;
+        private final ValidationOptions options;
+        private final ValidationResult[] results;
+        private final int from;
+        private final int to;
+
+        private BatchValidationTask(List<String> documents, DocumentFormat format, ValidationOptions options,
+                                    ValidationResult[] results, int from, int to) {
+            this.documents = documents;
+            this.format = format;
+            this.options = options;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    results[from] = validationService.validate(documents.get(from), format, options);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchValidationTask(documents, format, options, results, from, middle),
+                    new BatchValidationTask(documents, format, options, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package pl.jenczalik.validator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.UnknownSpecificationException;
+import pl.jenczalik.validator.model.CacheStatistics;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.specification.SpecificationChangedEvent;
+
+/**
+ * Klasa, której przeznaczeniem jest zapamiętywanie wyników walidacji identycznych definicji API.
+ * <p>
+ * Wyniki adresowane są skrótem treści definicji, wersji specyfikacji i ustawień walidacji -
+ * ten sam skrót zwracany jest klientowi jako ETag. Zmiana specyfikacji zmienia skrót definicji
+ * przesłanych ponownie, ale żądanie warunkowe bez treści sprawdza jedynie obecność klucza -
+ * dlatego po każdym przeładowaniu specyfikacji wszystkie zapamiętane wyniki są usuwane.
+ * <p>
+ * Wynik zapamiętywany jest wraz z wersją specyfikacji, względem której został wyliczony, a wynik
+ * innej wersji niż bieżąca traktowany jest jak nieobecny - również wtedy, gdy walidacja trwająca
+ * w chwili przeładowania zapamięta go już po usunięciu wyników.
+ */
+@Service
+public class CachingValidationService {
+    private static final Logger logger = LoggerFactory.getLogger(CachingValidationService.class);
+
+    private final ValidationService validationService;
+    private final ContentHasher contentHasher;
+    private final Cache<String, CachedResult> cache;
+
+    public CachingValidationService(ValidationService validationService, ContentHasher contentHasher, Config config) {
+        this.validationService = validationService;
+        this.contentHasher = contentHasher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getCacheMaxSize())
+                .expireAfterWrite(config.getCacheTtl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Metoda wyliczająca klucz wyniku walidacji, zwracany klientowi jako ETag.
+     *
+     * @param yamlApiDefinition Definicja API
+     * @param options Ustawienia walidacji
+     * @return Klucz wyniku walidacji
+     */
+    public String key(String yamlApiDefinition, ValidationOptions options) {
+        return key(yamlApiDefinition, DocumentFormat.YAML, options);
+    }
+
+    /**
+     * Metoda wyliczająca klucz wyniku walidacji definicji API w zadanym formacie.
+     * Ta sama treść w różnych formatach ma różne klucze.
+     *
+     * @param apiDefinition Definicja API
+     * @param format Format definicji
+     * @param options Ustawienia walidacji
+     * @return Klucz wyniku walidacji
+     */
+    public String key(String apiDefinition, DocumentFormat format, ValidationOptions options) {
+        return key(apiDefinition, format, options, validationService.getSpecification(options.getSpecification()));
+    }
+
+    private String key(String apiDefinition, DocumentFormat format, ValidationOptions options, CompiledSpecification specification) {
+        return contentHasher.hash(
+                specification.getVersion(),
+                String.valueOf(options.getErrorBudget()),
+                format.name(),
+                String.join("\n", options.getPointers()),
+                apiDefinition);
+    }
+
+    /**
+     * Metoda zwracająca zapamiętany wynik walidacji, lub walidująca definicję API
+     * i zapamiętująca wynik.
+     *
+     * @param key Klucz wyniku walidacji
+     * @param yamlApiDefinition Definicja API
+     * @param options Ustawienia walidacji
+     * @return Rezultat walidacji
+     */
+    public ValidationResult validate(String key, String yamlApiDefinition, ValidationOptions options) {
+        return validate(key, yamlApiDefinition, DocumentFormat.YAML, options);
+    }
+
+    /**
+     * Metoda zwracająca zapamiętany wynik walidacji, lub walidująca definicję API w zadanym
+     * formacie i zapamiętująca wynik.
+     * <p>
+     * Specyfikacja pobierana jest raz i ta sama wersja służy do walidacji i zapamiętania wyniku.
+     * Gdy klucz wyliczono dla innej wersji - specyfikację przeładowano po jego wyliczeniu - definicja
+     * jest walidowana, lecz wynik nie jest zapamiętywany pod nieaktualnym kluczem.
+     *
+     * @param key Klucz wyniku walidacji, wyliczony dla tego samego formatu
+     * @param apiDefinition Definicja API
+     * @param format Format definicji
+     * @param options Ustawienia walidacji
+     * @return Rezultat walidacji
+     */
+    public ValidationResult validate(String key, String apiDefinition, DocumentFormat format, ValidationOptions options) {
+        CompiledSpecification specification = validationService.getSpecification(options.getSpecification());
+        // brak wyniku z funkcji ładującej oznacza, że nic nie zostaje zapamiętane
+        CachedResult cached = cache.get(key, ignored -> key.equals(key(apiDefinition, format, options, specification))
+                ? new CachedResult(options.getSpecification(), specification.getVersion(),
+                        validationService.validate(apiDefinition, format, options, specification))
+                : null);
+        if (cached != null && cached.getVersion().equals(specification.getVersion())) {
+            return cached.getResult();
+        }
+        return validationService.validate(apiDefinition, format, options, specification);
+    }
+
+    /**
+     * @param key Klucz wyniku walidacji
+     * @return Czy wynik walidacji o zadanym kluczu jest zapamiętany i dotyczy bieżącej wersji specyfikacji
+     */
+    public boolean contains(String key) {
+        CachedResult cached = cache.asMap().get(key);
+        if (cached == null) {
+            return false;
+        }
+        if (!cached.getVersion().equals(currentVersion(cached.getSpecification()))) {
+            cache.asMap().remove(key, cached);
+            return false;
+        }
+        return true;
+    }
+
+    private String currentVersion(String specificationName) {
+        try {
+            return validationService.getSpecificationVersion(specificationName);
+        } catch (UnknownSpecificationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Metoda usuwająca wszystkie zapamiętane wyniki - wywoływana przy zmianie specyfikacji.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Metoda wywoływana po przeładowaniu specyfikacji - wyniki są usuwane bez względu na to,
+     * której wersji specyfikacji dotyczyły.
+     *
+     * @param event Zdarzenie zmiany specyfikacji
+     */
+    @EventListener
+    public void onSpecificationChanged(SpecificationChangedEvent event) {
+        logger.info(String.format("Specification %s changed, invalidating cached validation results", event.getName()));
+        invalidateAll();
+    }
+
+    public CacheStatistics getStatistics() {
+        CacheStats stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    /**
+     * Wynik walidacji wraz z wersją specyfikacji, względem której został wyliczony.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class CachedResult {
+        /**
+         * Nazwa wersji specyfikacji, lub null dla specyfikacji domyślnej.
+         */
+        private final String specification;
+
+        /**
+         * Skrót treści specyfikacji.
+         */
+        private final String version;
+
+        private final ValidationResult result;
+    }
+}
@@ -0,0 +1,58 @@
+package pl.jenczalik.validator.service;
+
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ogranicznik liczby walidacji wykonywanych jednocześnie, stojący przed {@link ValidationService}.
+ * <p>
+ * Żądanie, które nie otrzyma miejsca w czasie {@link Config#getAdmissionTimeout()}, jest odrzucane,
+ * zamiast czekać w kolejce - nadmiarowe żądania nie wydłużają więc czasu odpowiedzi pozostałych.
+ */
+@Component
+public class ConcurrencyLimiter {
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long admissionTimeoutNanos;
+    private final ValidationMetrics metrics;
+
+    public ConcurrencyLimiter(Config config, ValidationMetrics metrics) {
+        this.maxConcurrent = Math.max(1, config.getMaxConcurrentValidations());
+        this.permits = new Semaphore(maxConcurrent);
+        this.admissionTimeoutNanos = config.getAdmissionTimeout().toNanos();
+        this.metrics = metrics;
+        metrics.registerActiveValidations(this::getActive);
+    }
+
+    /**
+     * Metoda zajmująca miejsce dla walidacji. Każde zajęte miejsce musi zostać zwolnione przez {@link #release()}.
+     *
+     * @return Czy miejsce zostało zajęte - jeśli nie, żądanie powinno zostać odrzucone.
+     */
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        metrics.recordRejection();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return Liczba walidacji wykonywanych w danej chwili
+     */
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -0,0 +1,41 @@
+package pl.jenczalik.validator.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import pl.jenczalik.validator.model.ValidationOptions;
+
+import java.util.Map;
+
+/**
+ * Definicja API przechowywana na potrzeby walidacji przyrostowej, wraz ze stanem
+ * walidacji jej poddrzew.
+ * <p>
+ * Dostęp do sesji musi być synchronizowany na jej instancji - definicja zmieniana jest w miejscu.
+ */
+class DocumentSession {
+    @Getter
+    private final String id;
+
+    @Getter
+    private final Map<String, Object> document;
+
+    @Getter
+    private final ValidationOptions options;
+
+    /**
+     * Wersja specyfikacji, względem której wyliczono stan - po jej zmianie konieczna jest pełna walidacja.
+     */
+    @Getter
+    @Setter
+    private String specificationVersion;
+
+    @Getter
+    @Setter
+    private SubtreeState state;
+
+    DocumentSession(String id, Map<String, Object> document, ValidationOptions options) {
+        this.id = id;
+        this.document = document;
+        this.options = options;
+    }
+}
@@ -0,0 +1,238 @@
+package pl.jenczalik.validator.service;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.DocumentNotFoundException;
+import pl.jenczalik.validator.model.DocumentValidationResult;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.PatchOperation;
+import pl.jenczalik.validator.model.ValidationError;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationPath;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.model.specification.NodeType;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.error.ValidationErrorHandler;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.patch.JsonPatchApplier;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Klasa, której przeznaczeniem jest przyrostowa walidacja definicji API przechowywanych na serwerze.
+ * <p>
+ * Po zapamiętaniu definicji, klient przesyła jedynie zmiany w formacie JSON Patch. Po ich
+ * zastosowaniu walidowane są ponownie tylko zmienione pola wraz z ich poddrzewami, oraz
+ * zbiory pól obiektów, które je zawierają - stan walidacji pozostałych poddrzew jest zachowywany.
+ * <p>
+ * Przechowywana jest ograniczona liczba definicji, a definicje nieużywane przez określony
+ * czas są usuwane. Po przeładowaniu specyfikacji definicja walidowana jest ponownie w całości.
+ */
+@Service
+public class DocumentSessionService {
+    private static final ValidationOptions ALL_ERRORS = ValidationOptions.collectAll(Integer.MAX_VALUE);
+
+    private final ValidationService validationService;
+    private final YamlParser yamlParser;
+    private final JsonPatchApplier patchApplier;
+    private final ValidationErrorHandler errorHandler;
+    private final Cache<String, DocumentSession> sessions;
+
+    public DocumentSessionService(ValidationService validationService,
+                                  YamlParser yamlParser,
+                                  JsonPatchApplier patchApplier,
+                                  ValidationErrorHandler errorHandler,
+                                  Config config) {
+        this.validationService = validationService;
+        this.yamlParser = yamlParser;
+        this.patchApplier = patchApplier;
+        this.errorHandler = errorHandler;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(config.getMaxDocuments())
+                .expireAfterAccess(config.getDocumentIdleTimeout())
+                .build();
+    }
+
+    /**
+     * Metoda zapamiętująca definicję API i wykonująca jej pełną walidację.
+     *
+     * @param yamlApiDefinition Definicja API
+     * @param options Ustawienia walidacji, używane dla wszystkich kolejnych wyników
+     * @return Identyfikator definicji i rezultat walidacji. Jeśli definicja nie jest poprawnym
+     * dokumentem YAML, nie jest zapamiętywana, a identyfikator jest pusty.
+     */
+    public DocumentValidationResult create(String yamlApiDefinition, ValidationOptions options) {
+        Map<String, Object> document;
+        try {
+            document = this.yamlParser.parseYamlString(yamlApiDefinition);
+        } catch (YamlException e) {
+            return new DocumentValidationResult(null, toResult(e, options));
+        }
+
+        CompiledSpecification specification = validationService.getSpecification(options.getSpecification());
+        DocumentSession session = new DocumentSession(UUID.randomUUID().toString(),
+                document == null ? new LinkedHashMap<>() : document, options);
+
+        synchronized (session) {
+            validateDocument(session, specification);
+            sessions.put(session.getId(), session);
+            return new DocumentValidationResult(session.getId(), toResult(session));
+        }
+    }
+
+    /**
+     * @param documentId Identyfikator definicji
+     * @return Rezultat walidacji definicji w jej bieżącej postaci
+     * @throws DocumentNotFoundException Wyjątek rzucany, gdy definicja nie istnieje.
+     */
+    public DocumentValidationResult get(String documentId) {
+        DocumentSession session = getSession(documentId);
+
+        synchronized (session) {
+            revalidateIfSpecificationChanged(session, getSpecification(session));
+            return new DocumentValidationResult(documentId, toResult(session));
+        }
+    }
+
+    /**
+     * Metoda stosująca zmiany do definicji API i walidująca ponownie zmienione poddrzewa.
+     *
+     * @param documentId Identyfikator definicji
+     * @param operations Zmiany w formacie JSON Patch
+     * @return Rezultat walidacji definicji po zmianach
+     * @throws DocumentNotFoundException Wyjątek rzucany, gdy definicja nie istnieje.
+     * @throws pl.jenczalik.validator.exception.InvalidPatchException Wyjątek rzucany, gdy zmiany nie mogą
+     * zostać zastosowane - definicja pozostaje wtedy niezmieniona.
+     */
+    public DocumentValidationResult patch(String documentId, List<PatchOperation> operations) {
+        DocumentSession session = getSession(documentId);
+
+        synchronized (session) {
+            List<List<String>> changedPaths = patchApplier.apply(session.getDocument(), operations);
+            CompiledSpecification specification = getSpecification(session);
+
+            if (!revalidateIfSpecificationChanged(session, specification)) {
+                for (List<String> changedPath : changedPaths) {
+                    if (changedPath.isEmpty()) {
+                        validateDocument(session, specification);
+                        break;
+                    }
+                    revalidateField(session, specification, changedPath);
+                }
+            }
+            return new DocumentValidationResult(documentId, toResult(session));
+        }
+    }
+
+    /**
+     * @param documentId Identyfikator definicji
+     * @throws DocumentNotFoundException Wyjątek rzucany, gdy definicja nie istnieje.
+     */
+    public void delete(String documentId) {
+        if (sessions.asMap().remove(documentId) == null) {
+            throw new DocumentNotFoundException(documentId);
+        }
+    }
+
+    private DocumentSession getSession(String documentId) {
+        DocumentSession session = sessions.getIfPresent(documentId);
+        if (session == null) {
+            throw new DocumentNotFoundException(documentId);
+        }
+        return session;
+    }
+
+    private CompiledSpecification getSpecification(DocumentSession session) {
+        return validationService.getSpecification(session.getOptions().getSpecification());
+    }
+
+    private void validateDocument(DocumentSession session, CompiledSpecification specification) {
+        ValidationContext context = new ValidationContext(ALL_ERRORS);
+        validationService.validateDocument(session.getDocument(), specification, context);
+
+        session.setState(SubtreeState.of(context.getErrors()));
+        session.setSpecificationVersion(specification.getVersion());
+    }
+
+    private boolean revalidateIfSpecificationChanged(DocumentSession session, CompiledSpecification specification) {
+        if (specification.getVersion().equals(session.getSpecificationVersion())) {
+            return false;
+        }
+        validateDocument(session, specification);
+        return true;
+    }
+
+    /**
+     * Metoda walidująca ponownie zmienione pole wraz z jego poddrzewem, oraz zbiór pól
+     * obiektu, który je zawiera.
+     * <p>
+     * Jeśli zmienione pole znajduje się wewnątrz poddrzewa, które nie podlega walidacji -
+     * np. wewnątrz pola nadmiarowego lub wartości o niepoprawnym typie - stan walidacji
+     * nie ulega zmianie.
+     *
+     * @param session Sesja definicji
+     * @param specification Specyfikacja, względem której walidowana jest definicja
+     * @param changedPath Ścieżka zmienionego pola
+     */
+    private void revalidateField(DocumentSession session, CompiledSpecification specification, List<String> changedPath) {
+        List<String> parentPath = changedPath.subList(0, changedPath.size() - 1);
+        String key = changedPath.get(changedPath.size() - 1);
+
+        Object container = session.getDocument();
+        SpecificationNode node = specification.getRoot();
+        ValidationPath path = ValidationPath.root();
+
+        for (String parentKey : parentPath) {
+            node = node.getType() == NodeType.ARRAY ? node.getElement() : node.getChild(parentKey);
+            if (node == null || !node.getType().isContainer()) {
+                return;
+            }
+
+            container = ((Map<String, ?>) container).get(parentKey);
+            if (!(container instanceof Map)) {
+                return;
+            }
+            path = path.child(parentKey);
+        }
+
+        Map<String, ?> parent = (Map<String, ?>) container;
+        SubtreeState state = session.getState().descend(parentPath);
+        state.clearFieldErrors();
+        state.clearKey(key);
+
+        ValidationContext context = new ValidationContext(ALL_ERRORS, path);
+        validationService.validateFields(parent, node, context);
+        if (parent.containsKey(key)) {
+            validationService.validateField(key, parent.get(key), node, context);
+        }
+        context.getErrors().forEach(session.getState()::add);
+    }
+
+    private ValidationResult toResult(DocumentSession session) {
+        List<ValidationError> errors = new ArrayList<>();
+        session.getState().collect(session.getDocument(), errors);
+
+        ValidationOptions options = session.getOptions();
+        if (options.isCollectAll()) {
+            boolean budgetExhausted = errors.size() > options.getErrorBudget();
+            return errorHandler.handleErrors(budgetExhausted ? errors.subList(0, options.getErrorBudget()) : errors, budgetExhausted);
+        }
+        return errors.isEmpty() ? ValidationResult.ok() : errorHandler.handleError(errors.get(0));
+    }
+
+    private ValidationResult toResult(YamlException e, ValidationOptions options) {
+        if (options.isCollectAll()) {
+            ValidationError error = new ValidationError(ErrorCode.MALFORMED_DOCUMENT, ValidationPath.root(), null, null, e.getMessage());
+            return errorHandler.handleErrors(List.of(error), false);
+        }
+        return errorHandler.handleException(e, ValidationPath.root().toString());
+    }
+}
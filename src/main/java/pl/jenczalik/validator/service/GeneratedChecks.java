@@ -0,0 +1,87 @@
+package pl.jenczalik.validator.service;
+
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.util.codegen.GeneratedValidator;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+import pl.jenczalik.validator.util.type.PrimitiveTypes;
+
+/**
+ * Stan walidacji udostępniany wygenerowanemu walidatorowi - przekazuje zgłaszane błędy
+ * do kontekstu walidacji, a walidację prymitywów do {@link PrimitiveValidator}, dzięki czemu
+ * błędy i metryki są takie same, jak w walidacji interpretowanej.
+ */
+class GeneratedChecks implements GeneratedValidator.Checks {
+    private final ValidationContext context;
+    private final PrimitiveValidator primitiveValidator;
+
+    GeneratedChecks(ValidationContext context, PrimitiveValidator primitiveValidator) {
+        this.context = context;
+        this.primitiveValidator = primitiveValidator;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return context.isFinished();
+    }
+
+    @Override
+    public void countNode() {
+        context.countNode();
+    }
+
+    @Override
+    public void enter(String key) {
+        context.enter(key);
+    }
+
+    @Override
+    public void leave() {
+        context.leave();
+    }
+
+    @Override
+    public void requiredFieldMissing(String field) {
+        context.report(ErrorCode.REQUIRED_OBJECT_NOT_PRESENT, null, field, null);
+    }
+
+    @Override
+    public void excessiveField(String field) {
+        context.report(ErrorCode.EXCESSIVE_OBJECT_PRESENT, null, null, field);
+    }
+
+    @Override
+    public void nullValue(String key, String typeName) {
+        context.report(ErrorCode.NULL_VALUE, key, typeName, null);
+    }
+
+    @Override
+    public void badType(String key, String typeName, Object value) {
+        context.report(ErrorCode.BAD_TYPE, key, typeName, value.getClass().getTypeName());
+    }
+
+    @Override
+    public boolean isBoolean(String value) {
+        return primitiveValidator.isBoolean(value);
+    }
+
+    @Override
+    public boolean matches(String value, SpecificationPattern pattern, String typeName) {
+        return primitiveValidator.matches(value, pattern, typeName, context);
+    }
+
+    @Override
+    public void noMatch(String key, String regex, String value) {
+        context.report(ErrorCode.NO_MATCH_WITH_REGEX, key, regex, value);
+    }
+
+    @Override
+    public void validateType(String key, String value, String typeName) {
+        report(primitiveValidator.validateType(value, PrimitiveTypes.get(typeName)), key, typeName, value);
+    }
+
+    private void report(ErrorCode error, String key, String typeName, String value) {
+        if (error != null) {
+            context.report(error, key, typeName, value);
+        }
+    }
+}
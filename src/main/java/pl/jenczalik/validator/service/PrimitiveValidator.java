@@ -0,0 +1,174 @@
+package pl.jenczalik.validator.service;
+
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.specification.NodeType;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.jfr.RegexEvent;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+import pl.jenczalik.validator.util.type.PrimitiveType;
+import pl.jenczalik.validator.util.type.PrimitiveTypes;
+
+/**
+ * Klasa, której przeznaczeniem jest walidacja wartości prymitywów - wspólna
+ * dla wszystkich sposobów przechodzenia po definicji API.
+ * <p>
+ * Metody walidujące nie rzucają wyjątków - zwracają rodzaj wykrytego błędu,
+ * lub null gdy wartość jest poprawna.
+ */
+@Component
+public class PrimitiveValidator {
+
+    private static final String TRUE = "true";
+    private static final String FALSE = "false";
+
+    private final ValidationMetrics metrics;
+
+    public PrimitiveValidator(ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Metoda wywoływana w celu walidacji prymitywu w definicji API w oparciu o model języka.
+     * <p>
+     * Walidacja prymitywu polega na sprawdzeniu, czy jego wartość zgodna jest
+     * z typem który go definiuje.
+     *
+     * @param value Wartość prymitywu
+     * @param node Skompilowany węzeł modelu języka opisujący prymityw
+     * @return Rodzaj błędu, lub null gdy wartość jest poprawna
+     *
+     * @see PrimitiveValidator#validateString(String, SpecificationNode) Wywołanie metody walidującej string
+     * <p>
+     * @see PrimitiveValidator#validateType(String, PrimitiveType) Wywołanie metody walidującej prymityw typu z rejestru
+     */
+    public ErrorCode validatePrimitive(String value, SpecificationNode node) {
+        switch (node.getType()) {
+            case STRING:
+                return validateString(value, node);
+
+            default:
+                return validateType(value, node.getPrimitiveType());
+        }
+    }
+
+    /**
+     * Metoda wywoływana w celu walidacji stringa
+     * <p>
+     * Walidacja stringa polega na sprawdzeniu, czy jego wartość spełnia wymagania
+     * wyrażenia regularnego, o ile takie występuje.
+     *
+     * @param string String
+     * @param node Skompilowany węzeł modelu języka opisujący string
+     * @return {@link ErrorCode#NO_MATCH_WITH_REGEX}, lub null gdy wartość jest poprawna
+     */
+    public ErrorCode validateString(String string, SpecificationNode node) {
+        if(node.getValueRegex() != null && !matches(string, node.getValueRegex())) {
+            return ErrorCode.NO_MATCH_WITH_REGEX;
+        }
+        return null;
+    }
+
+    /**
+     * Metoda wywoływana w celu walidacji wartości typu zarejestrowanego w {@link PrimitiveTypes},
+     * np. integer, unsignedInteger lub uuid.
+     *
+     * @param value Wartość
+     * @param type Typ prymitywu, lub null gdy typ nie jest zarejestrowany - wartość nie jest wtedy sprawdzana
+     * @return Rodzaj błędu zgłoszony przez typ, lub null gdy wartość jest poprawna
+     */
+    public ErrorCode validateType(String value, PrimitiveType type) {
+        return type == null ? null : type.check(value);
+    }
+
+    /**
+     * Metoda wywoływana w celu walidacji wartości w oparciu o wyrażenie regularne.
+     *
+     * @param value Wartość
+     * @param regex Skompilowane wyrażenie regularne
+     * @return Czy wartość spełnia regułę wyrażenia regularnego
+     */
+    public boolean matches(String value, SpecificationPattern regex) {
+        long start = System.nanoTime();
+        boolean matches = regex.matches(value);
+        metrics.recordRegex(regex.pattern(), System.nanoTime() - start);
+        return matches;
+    }
+
+    /**
+     * Metoda dopasowująca wartość do wyrażenia regularnego w trakcie walidacji definicji - czas
+     * dopasowania zapisywany jest dodatkowo jako zdarzenie JFR, o ile jest ono włączone.
+     *
+     * @param value Wartość lub nazwa pola
+     * @param regex Skompilowane wyrażenie regularne
+     * @param typeName Nazwa typu węzła specyfikacji, do którego należy wyrażenie
+     * @param context Kontekst bieżącego wywołania walidacji
+     * @return Czy wartość spełnia regułę wyrażenia regularnego
+     */
+    boolean matches(String value, SpecificationPattern regex, String typeName, ValidationContext context) {
+        RegexEvent event = new RegexEvent();
+        event.begin();
+        boolean matches = matches(value, regex);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setLocation(context.getPath().toString(), typeName, context.getDocumentSize());
+            event.setOutcome(regex.pattern(), value.length(), matches);
+            event.commit();
+        }
+        return matches;
+    }
+
+    /**
+     * Metoda sprawdzająca, czy wartość reprezentuje typ boolean.
+     *
+     * @param value Wartość
+     * @return Czy wartość jest równa "true" lub "false", bez względu na wielkość liter
+     */
+    public boolean isBoolean(String value) {
+        return TRUE.equalsIgnoreCase(value) || FALSE.equalsIgnoreCase(value);
+    }
+
+    /**
+     * Metoda walidująca prymityw i zgłaszająca ewentualny błąd do kontekstu walidacji.
+     *
+     * @param key Klucz prymitywu
+     * @param value Wartość prymitywu
+     * @param node Skompilowany węzeł modelu języka opisujący prymityw
+     * @param context Kontekst bieżącego wywołania walidacji
+     * @return Czy wartość jest poprawna
+     */
+    boolean validatePrimitive(String key, String value, SpecificationNode node, ValidationContext context) {
+        ErrorCode error;
+        if (node.getType() == NodeType.STRING) {
+            boolean matches = node.getValueRegex() == null || matches(value, node.getValueRegex(), node.getTypeName(), context);
+            error = matches ? null : ErrorCode.NO_MATCH_WITH_REGEX;
+        } else {
+            error = validateType(value, node.getPrimitiveType());
+        }
+        if (error == null) {
+            return true;
+        }
+
+        String expected = error == ErrorCode.NO_MATCH_WITH_REGEX ? node.getValueRegex().pattern() : node.getTypeName();
+        context.report(error, key, expected, value);
+        return false;
+    }
+
+    /**
+     * Metoda walidująca nazwę elementu tablicy i zgłaszająca ewentualny błąd do kontekstu walidacji.
+     *
+     * @param key Nazwa elementu tablicy
+     * @param elementNode Skompilowany węzeł modelu języka opisujący elementy tablicy
+     * @param context Kontekst bieżącego wywołania walidacji
+     * @return Czy nazwa jest poprawna
+     */
+    boolean validateName(String key, SpecificationNode elementNode, ValidationContext context) {
+        if (elementNode.getNameRegex() == null || matches(key, elementNode.getNameRegex(), elementNode.getTypeName(), context)) {
+            return true;
+        }
+
+        context.report(ErrorCode.NO_MATCH_WITH_REGEX, key, elementNode.getNameRegex().pattern(), key);
+        return false;
+    }
+}
@@ -0,0 +1,357 @@
+package pl.jenczalik.validator.service;
+
+import com.esotericsoftware.yamlbeans.parser.AliasEvent;
+import com.esotericsoftware.yamlbeans.parser.Event;
+import com.esotericsoftware.yamlbeans.parser.EventType;
+import com.esotericsoftware.yamlbeans.parser.Parser;
+import com.esotericsoftware.yamlbeans.parser.ScalarEvent;
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.specification.NodeType;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.parser.DocumentLimits;
+import pl.jenczalik.validator.util.specification.SpecificationCompiler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Klasa walidująca definicję API bezpośrednio na podstawie zdarzeń parsera YAML,
+ * bez budowania struktury obiektowej dokumentu.
+ * <p>
+ * Walidator przechodzi po skompilowanej specyfikacji w miarę napływania zdarzeń i w jednym
+ * przebiegu sprawdza nadmiarowe i wymagane pola, typy, wyrażenia regularne oraz wartości
+ * prymitywów. Pamięć zajmowana w trakcie walidacji zależy od głębokości zagnieżdżenia
+ * dokumentu, a nie od jego rozmiaru.
+ * <p>
+ * Kolejność wykrywania błędów różni się od walidacji drzewa - pole nadmiarowe wykrywane jest
+ * w momencie odczytania klucza, a brak pola wymaganego dopiero na końcu obiektu.
+ * <p>
+ * Limity złożoności dokumentu sprawdzane są dla każdego zdarzenia, również w pomijanych
+ * poddrzewach, według tych samych zasad co w parserach budujących drzewo dokumentu.
+ */
+@Component
+public class StreamingValidator {
+
+    private static final String NULL = "null";
+
+    private static final String STRING_TYPE = String.class.getTypeName();
+    private static final String MAP_TYPE = LinkedHashMap.class.getTypeName();
+    private static final String LIST_TYPE = ArrayList.class.getTypeName();
+
+    private final PrimitiveValidator primitiveValidator;
+
+    public StreamingValidator(PrimitiveValidator primitiveValidator) {
+        this.primitiveValidator = primitiveValidator;
+    }
+
+    /**
+     * Metoda walidująca pierwszy dokument ze strumienia zdarzeń parsera.
+     *
+     * @param parser Parser zdarzeń YAML
+     * @param specification Skompilowany korzeń modelu języka
+     * @param context Kontekst bieżącego wywołania walidacji
+     * @param limits Limity złożoności dokumentu
+     * @throws DocumentLimitExceededException Wyjątek rzucany, gdy dokument przekracza jeden z limitów.
+     */
+    void validate(Parser parser, SpecificationNode specification, ValidationContext context, DocumentLimits limits)
+            throws DocumentLimitExceededException {
+        Deque<Frame> frames = new ArrayDeque<>();
+        Map<String, String> scalarAnchors = new HashMap<>();
+        LimitTracker limitTracker = new LimitTracker(limits);
+        int skippedDepth = 0;
+
+        for (Event event = parser.getNextEvent(); event != null && !context.isFinished(); event = parser.getNextEvent()) {
+            limitTracker.onEvent(event);
+            if (skippedDepth > 0) {
+                skippedDepth += depthChange(event);
+                continue;
+            }
+
+            switch (event.type) {
+                case MAPPING_START:
+                    if (frames.isEmpty()) {
+                        frames.push(new Frame(specification));
+                    } else {
+                        Frame child = enterMapping(frames.peek(), context);
+                        if (child == null) {
+                            skippedDepth = 1;
+                        } else {
+                            frames.push(child);
+                        }
+                    }
+                    break;
+
+                case MAPPING_END:
+                    Frame finished = frames.pop();
+                    finished.validateForRequiredFields(context);
+                    if (frames.isEmpty()) {
+                        return;
+                    }
+                    context.leave();
+                    break;
+
+                case SEQUENCE_START:
+                    skippedDepth = 1;
+                    if (frames.isEmpty()) {
+                        context.report(ErrorCode.BAD_TYPE, SpecificationCompiler.ROOT, NodeType.OBJECT.getName(), LIST_TYPE);
+                        return;
+                    }
+                    Frame frame = frames.peek();
+                    if (frame.key == null) {
+                        context.report(ErrorCode.BAD_TYPE, frame.node.getName(), STRING_TYPE, LIST_TYPE);
+                    } else if (!frame.skipValue) {
+                        String key = frame.key;
+                        context.report(ErrorCode.BAD_TYPE, key, frame.childNode(key).getTypeName(), LIST_TYPE);
+                    }
+                    frame.takeKey();
+                    break;
+
+                case SCALAR:
+                    ScalarEvent scalar = (ScalarEvent) event;
+                    String value = isNull(scalar) ? null : scalar.value;
+                    if (scalar.anchor != null) {
+                        scalarAnchors.put(scalar.anchor, value);
+                    }
+                    if (frames.isEmpty()) {
+                        context.report(ErrorCode.BAD_TYPE, SpecificationCompiler.ROOT, NodeType.OBJECT.getName(), STRING_TYPE);
+                        return;
+                    }
+                    onScalar(frames.peek(), scalar.value, value, context);
+                    break;
+
+                case ALIAS:
+                    String anchor = ((AliasEvent) event).anchor;
+                    if (frames.isEmpty() || !scalarAnchors.containsKey(anchor)) {
+                        context.report(ErrorCode.UNSUPPORTED_ALIAS, null, null, anchor);
+                        return;
+                    }
+                    String aliased = scalarAnchors.get(anchor);
+                    onScalar(frames.peek(), aliased, aliased, context);
+                    break;
+
+                case STREAM_END:
+                    new Frame(specification).validateForRequiredFields(context);
+                    return;
+
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Metoda wywoływana w przypadku napotkania początku mapy będącej wartością pola.
+     *
+     * @param parent Ramka obiektu-rodzica
+     * @param context Kontekst bieżącego wywołania walidacji
+     * @return Ramka nowego obiektu, lub null gdy mapa powinna zostać pominięta
+     */
+    private Frame enterMapping(Frame parent, ValidationContext context) {
+        if (parent.key == null) {
+            context.report(ErrorCode.BAD_TYPE, parent.node.getName(), STRING_TYPE, MAP_TYPE);
+            return null;
+        }
+
+        boolean skipped = parent.skipValue;
+        String key = parent.takeKey();
+        if (skipped) {
+            return null;
+        }
+
+        SpecificationNode node = parent.childNode(key);
+        if (!node.getType().isContainer()) {
+            context.report(ErrorCode.BAD_TYPE, key, node.getTypeName(), MAP_TYPE);
+            return null;
+        }
+
+        context.enter(key);
+        return new Frame(node);
+    }
+
+    /**
+     * Metoda wywoływana w przypadku napotkania skalara - klucza lub wartości pola.
+     *
+     * @param frame Ramka bieżącego obiektu
+     * @param raw Skalar w postaci odczytanej z dokumentu
+     * @param value Wartość skalara, lub null dla wartości pustej
+     * @param context Kontekst bieżącego wywołania walidacji
+     */
+    private void onScalar(Frame frame, String raw, String value, ValidationContext context) {
+        if (frame.key == null) {
+            onKey(frame, raw, context);
+            return;
+        }
+
+        boolean skipped = frame.skipValue;
+        String key = frame.takeKey();
+        if (skipped) {
+            return;
+        }
+
+        SpecificationNode node = frame.childNode(key);
+
+        if (value == null) {
+            context.report(ErrorCode.NULL_VALUE, key, node.getTypeName(), null);
+            return;
+        }
+
+        switch (node.getType()) {
+            case OBJECT:
+            case ARRAY:
+                context.report(ErrorCode.BAD_TYPE, key, node.getTypeName(), STRING_TYPE);
+                break;
+
+            case BOOLEAN:
+                if (!primitiveValidator.isBoolean(value)) {
+                    context.report(ErrorCode.BAD_TYPE, key, node.getTypeName(), STRING_TYPE);
+                }
+                break;
+
+            default:
+                primitiveValidator.validatePrimitive(key, value, node, context);
+                break;
+        }
+    }
+
+    /**
+     * Metoda wywoływana w przypadku odczytania klucza pola. Wartość pola nadmiarowego
+     * jest pomijana.
+     *
+     * @param frame Ramka bieżącego obiektu
+     * @param key Klucz
+     * @param context Kontekst bieżącego wywołania walidacji
+     */
+    private void onKey(Frame frame, String key, ValidationContext context) {
+        frame.key = key;
+        context.countNode();
+
+        if (frame.node.getType() == NodeType.ARRAY) {
+            primitiveValidator.validateName(key, frame.node.getElement(), context);
+        } else if (!frame.node.getAllowedFields().contains(key)) {
+            context.report(ErrorCode.EXCESSIVE_OBJECT_PRESENT, null, null, key);
+            frame.skipValue = true;
+        } else if (frame.node.getRequiredFields().contains(key)) {
+            frame.presentRequiredFields.add(key);
+        }
+    }
+
+    private int depthChange(Event event) {
+        switch (event.type) {
+            case MAPPING_START:
+            case SEQUENCE_START:
+                return 1;
+            case MAPPING_END:
+            case SEQUENCE_END:
+                return -1;
+            default:
+                return 0;
+        }
+    }
+
+    private boolean isNull(ScalarEvent scalar) {
+        return scalar.value == null || (scalar.style == 0 && NULL.equals(scalar.value));
+    }
+
+    /**
+     * Miejsce w otwartej mapie lub sekwencji, w którym pojawi się kolejny węzeł.
+     */
+    private enum Slot {
+        KEY, VALUE, ELEMENT
+    }
+
+    /**
+     * Stan limitów złożoności - liczba węzłów oraz, dla każdej otwartej mapy i sekwencji, czy kolejny
+     * skalar jest kluczem. Śledzi wszystkie zdarzenia, niezależnie od ramek walidowanych obiektów.
+     */
+    private static class LimitTracker {
+        private final DocumentLimits.Counter counter;
+        private final Deque<Slot> slots = new ArrayDeque<>();
+
+        private LimitTracker(DocumentLimits limits) {
+            this.counter = limits.counter();
+        }
+
+        private void onEvent(Event event) throws DocumentLimitExceededException {
+            switch (event.type) {
+                case MAPPING_START:
+                case SEQUENCE_START:
+                case SCALAR:
+                case ALIAS:
+                    counter.node(slots.size() + 1);
+                    Slot slot = slots.peek();
+                    if (slot == Slot.KEY) {
+                        if (event.type == EventType.SCALAR) {
+                            counter.key(((ScalarEvent) event).value);
+                        }
+                        slots.pop();
+                        slots.push(Slot.VALUE);
+                    } else if (slot == Slot.VALUE) {
+                        slots.pop();
+                        slots.push(Slot.KEY);
+                    }
+                    if (event.type == EventType.MAPPING_START) {
+                        slots.push(Slot.KEY);
+                    } else if (event.type == EventType.SEQUENCE_START) {
+                        slots.push(Slot.ELEMENT);
+                    }
+                    break;
+
+                case MAPPING_END:
+                case SEQUENCE_END:
+                    slots.pop();
+                    break;
+
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Stan walidacji pojedynczego, otwartego obiektu lub tablicy.
+     */
+    private static class Frame {
+        private final SpecificationNode node;
+        private final Set<String> presentRequiredFields;
+        private String key;
+        private boolean skipValue;
+
+        private Frame(SpecificationNode node) {
+            this.node = node;
+            this.presentRequiredFields = new HashSet<>();
+        }
+
+        private SpecificationNode childNode(String key) {
+            return node.getType() == NodeType.ARRAY ? node.getElement() : node.getChild(key);
+        }
+
+        /**
+         * @return Klucz pola, którego wartość jest właśnie odczytywana
+         */
+        private String takeKey() {
+            String current = key;
+            key = null;
+            skipValue = false;
+            return current;
+        }
+
+        private void validateForRequiredFields(ValidationContext context) {
+            if (node.getType() == NodeType.ARRAY || presentRequiredFields.size() == node.getRequiredFields().size()) {
+                return;
+            }
+            for (String requiredField : node.getRequiredFields()) {
+                if (!presentRequiredFields.contains(requiredField)) {
+                    context.report(ErrorCode.REQUIRED_OBJECT_NOT_PRESENT, null, requiredField, null);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package pl.jenczalik.validator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import pl.jenczalik.validator.model.ValidationError;
+import pl.jenczalik.validator.model.ValidationPath;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.memo.SubtreeFingerprint;
+import pl.jenczalik.validator.util.memo.SubtreeHasher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wyniki walidacji poddrzew zapamiętane w trakcie walidacji jednej definicji API.
+ * <p>
+ * Wynik poddrzewa adresowany jest węzłem specyfikacji i skrótem struktury poddrzewa, więc
+ * identyczne bloki - np. te same sekcje content pod wieloma ścieżkami - walidowane są raz.
+ * Zapamiętywane są błędy ze ścieżkami względnymi, a przy ponownym użyciu zgłaszane są
+ * ze ścieżką bieżącej kopii, w tej samej kolejności, co przy pełnej walidacji.
+ * <p>
+ * Zapamiętywane są jedynie wyniki pełne - poddrzewa, których walidacji nie przerwał limit błędów
+ * ani pierwszy błąd w trybie domyślnym. Gdy dostępna jest wspólna pamięć podręczna,
+ * wyniki zapisywane są również w niej. Instancja nie jest współdzielona pomiędzy wątkami.
+ */
+class SubtreeMemo {
+    private final SubtreeHasher hasher;
+    private final Cache<Key, Outcome> sharedOutcomes;
+    private final int threshold;
+    private final Map<Object, SubtreeFingerprint> fingerprints = new IdentityHashMap<>();
+    private final Map<Key, Outcome> outcomes = new HashMap<>();
+
+    /**
+     * @param hasher Klasa wyliczająca skróty poddrzew
+     * @param sharedOutcomes Wspólna pamięć podręczna wyników, lub null
+     * @param threshold Minimalna liczba pól poddrzewa, którego wynik jest zapamiętywany
+     */
+    SubtreeMemo(SubtreeHasher hasher, Cache<Key, Outcome> sharedOutcomes, int threshold) {
+        this.hasher = hasher;
+        this.sharedOutcomes = sharedOutcomes;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param container Obiekt lub tablica w definicji API
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt lub tablicę
+     * @return Klucz wyniku poddrzewa, lub null gdy poddrzewo jest zbyt małe, by zapamiętywać jego wynik.
+     */
+    Key key(Map<String, ?> container, SpecificationNode node) {
+        SubtreeFingerprint fingerprint = hasher.fingerprint(container, fingerprints);
+        return fingerprint.getNodes() < threshold ? null : new Key(node, fingerprint);
+    }
+
+    /**
+     * @param key Klucz wyniku poddrzewa
+     * @return Zapamiętany wynik poddrzewa, lub null
+     */
+    Outcome get(Key key) {
+        Outcome outcome = outcomes.get(key);
+        if (outcome == null && sharedOutcomes != null) {
+            outcome = sharedOutcomes.getIfPresent(key);
+            if (outcome != null) {
+                outcomes.put(key, outcome);
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Metoda zapamiętująca wynik poddrzewa.
+     *
+     * @param key Klucz wyniku poddrzewa
+     * @param errors Błędy zgłoszone w poddrzewie, ze ścieżkami bezwzględnymi
+     * @param nodes Liczba pól odwiedzonych w poddrzewie
+     * @param subtreePath Ścieżka do korzenia poddrzewa
+     */
+    void put(Key key, List<ValidationError> errors, int nodes, ValidationPath subtreePath) {
+        List<ValidationError> relativeErrors = new ArrayList<>(errors.size());
+        for (ValidationError error : errors) {
+            List<String> keys = error.getLocation().getKeys();
+            ValidationPath relativePath = ValidationPath.root();
+            for (String relativeKey : keys.subList(subtreePath.getDepth(), keys.size())) {
+                relativePath = relativePath.child(relativeKey);
+            }
+            relativeErrors.add(new ValidationError(error.getCode(), relativePath, error.getKey(), error.getExpected(), error.getActual()));
+        }
+
+        Outcome outcome = new Outcome(relativeErrors, nodes);
+        outcomes.put(key, outcome);
+        if (sharedOutcomes != null) {
+            sharedOutcomes.put(key, outcome);
+        }
+    }
+
+    /**
+     * Klucz wyniku poddrzewa - węzeł specyfikacji, porównywany według tożsamości, i skrót poddrzewa.
+     * Przeładowanie specyfikacji tworzy nowe węzły, więc wyniki poprzedniej wersji nie są używane.
+     */
+    static final class Key {
+        private final SpecificationNode node;
+        private final SubtreeFingerprint fingerprint;
+
+        private Key(SpecificationNode node, SubtreeFingerprint fingerprint) {
+            this.node = node;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return node == other.node && fingerprint.equals(other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(node) + fingerprint.hashCode();
+        }
+    }
+
+    /**
+     * Wynik walidacji poddrzewa - błędy ze ścieżkami względem jego korzenia i liczba odwiedzonych pól.
+     */
+    static final class Outcome {
+        private final List<ValidationError> errors;
+        private final int nodes;
+
+        private Outcome(List<ValidationError> errors, int nodes) {
+            this.errors = errors;
+            this.nodes = nodes;
+        }
+
+        List<ValidationError> getErrors() {
+            return errors;
+        }
+
+        int getNodes() {
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package pl.jenczalik.validator.service;
+
+import pl.jenczalik.validator.model.ValidationError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stan walidacji poddrzewa przechowywanej definicji API - błędy wykryte w obiekcie
+ * lub tablicy, pogrupowane tak, by można je było wymienić po zmianie jednego pola.
+ * <p>
+ * Błędy dotyczące całego obiektu (brak wymaganego pola, pole nadmiarowe) przechowywane są
+ * osobno od błędów poszczególnych pól, a błędy wewnątrz wartości pól - w stanach
+ * poddrzew-dzieci. Dzięki temu złożenie wszystkich błędów w kolejności pól definicji
+ * daje tę samą listę, co pełna walidacja.
+ */
+class SubtreeState {
+    private final List<ValidationError> fieldErrors = new ArrayList<>();
+    private final Map<String, List<ValidationError>> keyErrors = new HashMap<>();
+    private final Map<String, SubtreeState> children = new HashMap<>();
+
+    /**
+     * Metoda tworząca stan całej definicji na podstawie błędów zebranych w pełnej walidacji.
+     *
+     * @param errors Błędy zebrane w pełnej walidacji
+     * @return Stan korzenia definicji
+     */
+    static SubtreeState of(List<ValidationError> errors) {
+        SubtreeState root = new SubtreeState();
+        errors.forEach(root::add);
+        return root;
+    }
+
+    /**
+     * Metoda zapisująca błąd w stanie poddrzewa wskazanego przez jego ścieżkę.
+     * Wywoływana jedynie na stanie korzenia definicji.
+     *
+     * @param error Błąd walidacji
+     */
+    void add(ValidationError error) {
+        SubtreeState state = descend(error.getLocation().getKeys());
+
+        if (error.getKey() == null) {
+            state.fieldErrors.add(error);
+        } else {
+            state.keyErrors.computeIfAbsent(error.getKey(), key -> new ArrayList<>()).add(error);
+        }
+    }
+
+    /**
+     * @param keys Klucze kolejnych poddrzew
+     * @return Stan poddrzewa o zadanej ścieżce, tworzony w razie potrzeby.
+     */
+    SubtreeState descend(List<String> keys) {
+        SubtreeState state = this;
+        for (String key : keys) {
+            state = state.children.computeIfAbsent(key, ignored -> new SubtreeState());
+        }
+        return state;
+    }
+
+    /**
+     * Metoda usuwająca błędy dotyczące całego obiektu.
+     */
+    void clearFieldErrors() {
+        fieldErrors.clear();
+    }
+
+    /**
+     * Metoda usuwająca błędy pola o zadanym kluczu, wraz z błędami w jego wartości.
+     *
+     * @param key Klucz pola
+     */
+    void clearKey(String key) {
+        keyErrors.remove(key);
+        children.remove(key);
+    }
+
+    /**
+     * Metoda zbierająca wszystkie błędy poddrzewa, w kolejności pól definicji.
+     *
+     * @param container Obiekt lub tablica w definicji API, której dotyczy stan
+     * @param errors Lista, do której dopisywane są błędy
+     */
+    void collect(Map<String, ?> container, List<ValidationError> errors) {
+        errors.addAll(fieldErrors);
+
+        for (Map.Entry<String, ?> entry : container.entrySet()) {
+            errors.addAll(keyErrors.getOrDefault(entry.getKey(), Collections.emptyList()));
+
+            SubtreeState child = children.get(entry.getKey());
+            if (child != null && entry.getValue() instanceof Map) {
+                child.collect((Map<String, ?>) entry.getValue(), errors);
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package pl.jenczalik.validator.service;
+
+import pl.jenczalik.validator.exception.BadFormatException;
+import pl.jenczalik.validator.exception.BadNumberFormatException;
+import pl.jenczalik.validator.exception.BadTypeException;
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+import pl.jenczalik.validator.exception.ExcessiveObjectPresentException;
+import pl.jenczalik.validator.exception.NoMatchWithRegexException;
+import pl.jenczalik.validator.exception.NullValueException;
+import pl.jenczalik.validator.exception.NumberTooLargeException;
+import pl.jenczalik.validator.exception.RequiredObjectNotPresentException;
+import pl.jenczalik.validator.exception.UnsupportedAliasException;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.ValidationError;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationPath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kontekst pojedynczego wywołania walidacji.
+ * <p>
+ * Przechowuje cały stan zmieniający się w trakcie walidacji jednej definicji API,
+ * dzięki czemu {@link ValidationService} pozostaje bezstanowy i może obsługiwać
+ * równoległe żądania. Instancja kontekstu nie jest współdzielona pomiędzy wątkami.
+ * <p>
+ * Kontekst decyduje też o sposobie zgłaszania błędów - w trybie domyślnym pierwszy błąd
+ * zgłaszany jest wyjątkiem, a w trybie zbierania błędów są one zapisywane w liście,
+ * bez tworzenia wyjątków, aż do wyczerpania limitu.
+ */
+class ValidationContext {
+    private final int errorBudget;
+    private final String specification;
+    private final boolean parallel;
+    private final List<ValidationError> errors;
+    private ValidationPath path;
+    private boolean finished;
+    private int nodeCount;
+    private long documentSize;
+    private SubtreeMemo memo;
+
+    ValidationContext() {
+        this(ValidationOptions.failFast());
+    }
+
+    ValidationContext(ValidationOptions options) {
+        this(options, ValidationPath.root());
+    }
+
+    /**
+     * @param options Ustawienia walidacji
+     * @param path Ścieżka, od której rozpoczyna się walidacja - używana przy walidacji fragmentu definicji
+     */
+    ValidationContext(ValidationOptions options, ValidationPath path) {
+        this.errorBudget = options.getErrorBudget();
+        this.specification = options.getSpecification();
+        this.parallel = options.isParallel();
+        this.errors = options.isCollectAll() ? new ArrayList<>() : Collections.emptyList();
+        this.path = path;
+    }
+
+    /**
+     * Metoda wywoływana przy wejściu do obiektu-dziecka.
+     *
+     * @param key Klucz obiektu-dziecka
+     */
+    void enter(String key) {
+        path = path.child(key);
+    }
+
+    /**
+     * Metoda wywoływana przy wyjściu z obiektu-dziecka.
+     */
+    void leave() {
+        path = path.getParent();
+    }
+
+    /**
+     * Metoda wywoływana przy odwiedzeniu każdego pola definicji - na potrzeby metryk.
+     */
+    void countNode() {
+        nodeCount++;
+    }
+
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return Rozmiar walidowanej definicji, lub 0 gdy nie jest znany - na potrzeby zdarzeń JFR.
+     */
+    long getDocumentSize() {
+        return documentSize;
+    }
+
+    void setDocumentSize(long documentSize) {
+        this.documentSize = documentSize;
+    }
+
+    /**
+     * @return Zapamiętane wyniki poddrzew bieżącej definicji, lub null gdy wyniki nie są zapamiętywane.
+     */
+    SubtreeMemo getMemo() {
+        return memo;
+    }
+
+    void setMemo(SubtreeMemo memo) {
+        this.memo = memo;
+    }
+
+    /**
+     * @return Ścieżka do miejsca, w którym aktualnie prowadzona jest walidacja.
+     */
+    ValidationPath getPath() {
+        return path;
+    }
+
+    /**
+     * Metoda zgłaszająca błąd wykryty w bieżącym obiekcie.
+     *
+     * @param code Rodzaj błędu
+     * @param key Klucz pola, którego dotyczy błąd, lub null
+     * @param expected Wartość oczekiwana
+     * @param actual Wartość rzeczywista
+     *
+     * @throws RuntimeException Wyjątek odpowiadający rodzajowi błędu - jedynie w trybie domyślnym
+     */
+    void report(ErrorCode code, String key, String expected, String actual) {
+        if (errorBudget == 0) {
+            throw toException(code, key, expected, actual);
+        }
+
+        // błąd ponad limit nie jest zapisywany - dopiero on oznacza, że walidacja została przerwana
+        if (errors.size() >= errorBudget) {
+            finished = true;
+            return;
+        }
+        errors.add(new ValidationError(code, path, key, expected, actual));
+    }
+
+    /**
+     * Metoda zapisująca błąd uniemożliwiający dalszą walidację, np. niepoprawny format YAML.
+     * Wywoływana jedynie w trybie zbierania błędów.
+     *
+     * @param e Wyjątek, który przerwał walidację
+     */
+    void reportFailure(Exception e) {
+        ErrorCode code = e instanceof DocumentLimitExceededException ? ErrorCode.LIMIT_EXCEEDED : ErrorCode.MALFORMED_DOCUMENT;
+        errors.add(new ValidationError(code, path, null, null, e.getMessage()));
+        finished = true;
+    }
+
+    /**
+     * Metoda zgłaszająca zapamiętany wynik poddrzewa, którego korzeniem jest bieżący obiekt -
+     * błędy zgłaszane są tak, jakby poddrzewo zostało zwalidowane w bieżącym miejscu definicji.
+     *
+     * @param outcome Zapamiętany wynik poddrzewa
+     *
+     * @throws RuntimeException Wyjątek odpowiadający pierwszemu błędowi - jedynie w trybie domyślnym
+     */
+    void replay(SubtreeMemo.Outcome outcome) {
+        nodeCount += outcome.getNodes();
+
+        ValidationPath subtreePath = path;
+        for (ValidationError error : outcome.getErrors()) {
+            if (finished) {
+                break;
+            }
+            for (String key : error.getLocation().getKeys()) {
+                enter(key);
+            }
+            report(error.getCode(), error.getKey(), error.getExpected(), error.getActual());
+            path = subtreePath;
+        }
+    }
+
+    /**
+     * @return Czy walidacja powinna zostać przerwana - gdy po wyczerpaniu limitu zgłoszony został kolejny,
+     * pominięty błąd, lub gdy walidację przerwał błąd dokumentu. Definicja z liczbą błędów równą limitowi
+     * jest walidowana w całości.
+     */
+    boolean isFinished() {
+        return finished;
+    }
+
+    boolean isCollectAll() {
+        return errorBudget > 0;
+    }
+
+    boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Metoda tworząca kontekst dla fragmentu bieżącego obiektu, walidowanego w innym wątku.
+     * Kontekst rozpoczyna się w bieżącym miejscu definicji, a jego limit błędów równy jest
+     * liczbie błędów, które można jeszcze zgłosić.
+     *
+     * @return Kontekst fragmentu
+     */
+    ValidationContext fork() {
+        int remainingBudget = errorBudget == 0 ? 0 : Math.max(1, errorBudget - errors.size());
+        ValidationContext fork = new ValidationContext(new ValidationOptions(remainingBudget, specification, parallel), path);
+        fork.documentSize = documentSize;
+        return fork;
+    }
+
+    /**
+     * Metoda dołączająca błędy zebrane w kontekście fragmentu, z zachowaniem limitu błędów.
+     * Konteksty fragmentów dołączane są w kolejności pól, więc wynik jest taki sam,
+     * jak przy walidacji sekwencyjnej.
+     *
+     * @param fork Kontekst fragmentu
+     */
+    void join(ValidationContext fork) {
+        nodeCount += fork.nodeCount;
+
+        for (ValidationError error : fork.errors) {
+            if (errors.size() >= errorBudget) {
+                finished = true;
+                return;
+            }
+            errors.add(error);
+        }
+        // fragment pominął błąd ponad swój limit, równy liczbie błędów, które można było jeszcze zgłosić
+        finished |= fork.finished;
+    }
+
+    /**
+     * Metoda przekazująca błąd, który przerwał walidację fragmentu, wraz z miejscem jego wystąpienia.
+     *
+     * @param failure Wyjątek zgłoszony w trakcie walidacji fragmentu
+     * @param failurePath Ścieżka do miejsca, w którym został zgłoszony
+     */
+    void fail(RuntimeException failure, ValidationPath failurePath) {
+        path = failurePath;
+        throw failure;
+    }
+
+    List<ValidationError> getErrors() {
+        return errors;
+    }
+
+    private RuntimeException toException(ErrorCode code, String key, String expected, String actual) {
+        switch (code) {
+            case REQUIRED_OBJECT_NOT_PRESENT:
+                return new RequiredObjectNotPresentException(expected);
+            case EXCESSIVE_OBJECT_PRESENT:
+                return new ExcessiveObjectPresentException(actual);
+            case NULL_VALUE:
+                return new NullValueException(key);
+            case BAD_TYPE:
+                return new BadTypeException(key, expected, actual);
+            case NO_MATCH_WITH_REGEX:
+                return new NoMatchWithRegexException(actual, expected);
+            case BAD_NUMBER_FORMAT:
+                return new BadNumberFormatException(actual, expected);
+            case NUMBER_TOO_LARGE:
+                return new NumberTooLargeException(actual, expected);
+            case BAD_FORMAT:
+                return new BadFormatException(actual, expected);
+            case UNSUPPORTED_ALIAS:
+                return new UnsupportedAliasException(actual);
+            default:
+                return new IllegalStateException(code.describe(key, expected, actual));
+        }
+    }
+}
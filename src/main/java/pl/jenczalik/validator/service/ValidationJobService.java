@@ -0,0 +1,228 @@
+package pl.jenczalik.validator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.JobNotFoundException;
+import pl.jenczalik.validator.exception.JobQueueFullException;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.JobStatus;
+import pl.jenczalik.validator.model.ValidationJob;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.util.job.JobStore;
+
+import javax.annotation.PreDestroy;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Klasa, której przeznaczeniem jest asynchroniczna walidacja definicji API - np. bardzo dużych,
+ * których synchroniczna walidacja przekraczałaby limit czasu odpowiedzi.
+ * <p>
+ * Przyjęte zadanie otrzymuje identyfikator i oczekuje w kolejce o ograniczonej długości na jeden
+ * z wątków puli - gdy kolejka jest pełna, zadanie jest odrzucane. Stan zadania i wynik walidacji
+ * zapisywane są w {@link JobStore}, więc zakończone zadania dostępne są również po ponownym
+ * uruchomieniu aplikacji. W pamięci przechowywane są jedynie zadania niezakończone oraz zakończone,
+ * których nie udało się zapisać - ich zapis ponawiany jest okresowo, a do tego czasu stan zadania
+ * zwracany jest z pamięci, nie z nieaktualnego zapisu. Zadania przerwane przez zatrzymanie
+ * aplikacji oznaczane są przy kolejnym uruchomieniu jako nieudane.
+ */
+@Service
+public class ValidationJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ValidationJobService.class);
+
+    private static final String INTERRUPTED = "Job was interrupted by a restart of the service.";
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final ValidationService validationService;
+    private final JobStore store;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ActiveJob> activeJobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService purger;
+    private final int queueSize;
+    private final Duration retryAfter;
+    private final Duration maxWait;
+    private final long resultTtlMillis;
+
+    public ValidationJobService(ValidationService validationService, JobStore store, Config config) {
+        this.validationService = validationService;
+        this.store = store;
+        this.queueSize = Math.max(1, config.getJobQueueSize());
+        this.retryAfter = config.getRetryAfter();
+        this.maxWait = config.getMaxJobWait();
+        this.resultTtlMillis = config.getJobResultTtl().toMillis();
+
+        int failed = store.failUnfinished(INTERRUPTED);
+        if (failed > 0) {
+            logger.info(String.format("Marked %d jobs interrupted by the previous shutdown as failed", failed));
+        }
+
+        int threads = Math.max(1, config.getJobWorkers());
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> daemon(runnable, "validation-job"));
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "validation-job-purger"));
+        this.purger.scheduleWithFixedDelay(this::purge, 0, PURGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Metoda przyjmująca definicję API do walidacji w tle.
+     *
+     * @param apiDefinition Definicja API
+     * @param format Format definicji
+     * @param options Ustawienia walidacji
+     * @return Przyjęte zadanie, w stanie {@link JobStatus#QUEUED}
+     * @throws JobQueueFullException Wyjątek rzucany, gdy kolejka zadań jest pełna.
+     */
+    public ValidationJob submit(String apiDefinition, DocumentFormat format, ValidationOptions options) {
+        ValidationJob job = ValidationJob.queued(UUID.randomUUID().toString(), System.currentTimeMillis());
+        ActiveJob activeJob = new ActiveJob(job);
+
+        // zadanie zapisywane jest przed uruchomieniem, by jego wynik nie został nadpisany stanem początkowym
+        store.save(job);
+        activeJobs.put(job.getJobId(), activeJob);
+        try {
+            workers.execute(() -> run(activeJob, apiDefinition, format, options));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getJobId());
+            store.delete(job.getJobId());
+            throw new JobQueueFullException(queueSize, retryAfter);
+        }
+        return activeJob.snapshot();
+    }
+
+    /**
+     * @param jobId Identyfikator zadania
+     * @return Bieżący stan zadania, wraz z wynikiem, gdy zadanie zostało zakończone
+     * @throws JobNotFoundException Wyjątek rzucany, gdy zadanie nie istnieje lub jego wynik wygasł.
+     */
+    public ValidationJob get(String jobId) {
+        ActiveJob activeJob = activeJobs.get(jobId);
+        if (activeJob != null) {
+            return activeJob.snapshot();
+        }
+        return store.load(jobId).orElseThrow(() -> new JobNotFoundException(jobId));
+    }
+
+    /**
+     * Metoda oczekująca na zakończenie zadania, bez blokowania wątku wywołującego.
+     *
+     * @param jobId Identyfikator zadania
+     * @param timeout Maksymalny czas oczekiwania - ograniczany do {@link Config#getMaxJobWait()}
+     * @return Stan zadania po jego zakończeniu, lub bieżący stan po upływie czasu oczekiwania
+     * @throws JobNotFoundException Wyjątek rzucany, gdy zadanie nie istnieje lub jego wynik wygasł.
+     */
+    public CompletableFuture<ValidationJob> await(String jobId, Duration timeout) {
+        ActiveJob activeJob = activeJobs.get(jobId);
+        Duration wait = timeout.compareTo(maxWait) > 0 ? maxWait : timeout;
+        if (activeJob == null || wait.isNegative() || wait.isZero()) {
+            return CompletableFuture.completedFuture(get(jobId));
+        }
+
+        // kopia jest kończona po upływie czasu, bez wpływu na zadanie i innych oczekujących
+        return activeJob.completion.copy()
+                .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(completed -> completed != null ? completed : activeJob.snapshot());
+    }
+
+    /**
+     * Metoda ponawiająca zapis zakończonych zadań, których wyniku nie udało się zapisać, i usuwająca
+     * zadania, których czas przechowywania upłynął. Zadanie niezapisane usuwane jest z pamięci po
+     * zapisie, lub gdy upłynie czas przechowywania jego wyniku.
+     */
+    void purge() {
+        long expiredBefore = System.currentTimeMillis() - resultTtlMillis;
+        for (ActiveJob activeJob : activeJobs.values()) {
+            ValidationJob completed = activeJob.completion.getNow(null);
+            if (completed != null && (completed.getCompletedAt() < expiredBefore || save(completed))) {
+                activeJobs.remove(completed.getJobId(), activeJob);
+            }
+        }
+        store.purgeExpired();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        purger.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(ActiveJob activeJob, String apiDefinition, DocumentFormat format, ValidationOptions options) {
+        activeJob.status = JobStatus.RUNNING;
+
+        ValidationJob job = activeJob.snapshot();
+        try {
+            ValidationResult result = validationService.validate(apiDefinition, format, options);
+            job.setStatus(JobStatus.COMPLETED);
+            job.setResult(objectMapper.valueToTree(result));
+        } catch (RuntimeException e) {
+            logger.warn(String.format("Validation job %s failed", job.getJobId()), e);
+            job.setStatus(JobStatus.FAILED);
+            job.setMessage(e.getMessage());
+        }
+        job.setCompletedAt(System.currentTimeMillis());
+
+        boolean saved = save(job);
+        activeJob.completion.complete(job);
+        // zadanie niezapisane pozostaje w pamięci - na dysku jest jedynie jego stan początkowy
+        if (saved) {
+            activeJobs.remove(job.getJobId());
+        }
+    }
+
+    /**
+     * @return Czy zadanie zostało zapisane
+     */
+    private boolean save(ValidationJob job) {
+        try {
+            store.save(job);
+            return true;
+        } catch (UncheckedIOException e) {
+            logger.warn(String.format("Result of validation job %s could not be saved", job.getJobId()), e);
+            return false;
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Zadanie niezakończone - jego bieżący stan i zakończenie, na które oczekują klienci.
+     */
+    private static class ActiveJob {
+        private final String jobId;
+        private final long submittedAt;
+        private final CompletableFuture<ValidationJob> completion = new CompletableFuture<>();
+        private volatile JobStatus status;
+
+        private ActiveJob(ValidationJob job) {
+            this.jobId = job.getJobId();
+            this.submittedAt = job.getSubmittedAt();
+            this.status = job.getStatus();
+        }
+
+        private ValidationJob snapshot() {
+            ValidationJob completed = completion.getNow(null);
+            if (completed != null) {
+                return completed;
+            }
+            return new ValidationJob(jobId, status, submittedAt, null, null, null);
+        }
+    }
+}
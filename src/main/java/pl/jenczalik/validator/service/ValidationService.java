@@ -1,29 +1,48 @@
 package pl.jenczalik.validator.service;
 
-import com.esotericsoftware.yamlbeans.YamlException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import pl.jenczalik.validator.exception.BadNumberFormatException;
-import pl.jenczalik.validator.exception.BadTypeException;
-import pl.jenczalik.validator.exception.ExcessiveObjectPresentException;
-import pl.jenczalik.validator.exception.NoMatchWithRegexException;
-import pl.jenczalik.validator.exception.NullValueException;
-import pl.jenczalik.validator.exception.NumberTooLargeException;
-import pl.jenczalik.validator.exception.RequiredObjectNotPresentException;
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+import pl.jenczalik.validator.exception.RequestTooLargeException;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.ValidationError;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationPath;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.model.specification.NodeType;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.codegen.GeneratedValidator;
+import pl.jenczalik.validator.util.codegen.ValidatorGenerator;
 import pl.jenczalik.validator.util.error.ValidationErrorHandler;
+import pl.jenczalik.validator.util.jfr.DocumentValidationEvent;
+import pl.jenczalik.validator.util.jfr.ParseEvent;
+import pl.jenczalik.validator.util.jfr.SubtreeValidationEvent;
+import pl.jenczalik.validator.util.memo.MemoizationMode;
+import pl.jenczalik.validator.util.memo.SubtreeHasher;
+import pl.jenczalik.validator.util.metrics.CountingInputStream;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.parser.DocumentLimits;
+import pl.jenczalik.validator.util.parser.JsonDocumentParser;
 import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.specification.SpecificationRegistry;
 import pl.jenczalik.validator.config.Config;
 import pl.jenczalik.validator.model.ValidationResult;
 
-import java.io.FileNotFoundException;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Klasa, której przeznaczeniem jest walidacja prymitywów, tablic i obiektów,
@@ -32,41 +51,114 @@ import java.util.stream.Collectors;
 @Service
 public class ValidationService {
 
-    private static final String ROOT = "root";
-
-    private static final String TYPE = "type";
-    private static final String REQUIRED = "required";
-
-    private static final String TYPE_OBJECT = "object";
-    private static final String TYPE_ARRAY = "array";
-    private static final String TYPE_STRING = "string";
-    private static final String TYPE_INTEGER = "integer";
-    private static final String TYPE_UNSIGNED_INTEGER = "unsignedInteger";
-    private static final String TYPE_BOOLEAN = "boolean";
-
-    private static final String CHILDREN = "children";
-    private static final String VALUE_REGEX = "valueRegex";
-    private static final String NAME_REGEX = "nameRegex";
-
-    private static final String TRUE = "true";
-    private static final String FALSE = "false";
-
-    private static final Logger logger = LoggerFactory.getLogger(ValidationService.class);
     private final YamlParser yamlParser;
+    private final JsonDocumentParser jsonParser;
     private final ValidationErrorHandler errorHandler;
-    private final Map specificationConfig;
-    private final List<String> parents;
+    private final PrimitiveValidator primitiveValidator;
+    private final StreamingValidator streamingValidator;
+    private final SpecificationRegistry specificationRegistry;
+    private final ValidatorGenerator validatorGenerator;
+    private final ValidationMetrics metrics;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final long maxStreamSize;
+    private final DocumentLimits streamLimits;
+    private final MemoizationMode memoizationMode;
+    private final int memoizationThreshold;
+    private final SubtreeHasher subtreeHasher;
+    private final Cache<SubtreeMemo.Key, SubtreeMemo.Outcome> subtreeOutcomes;
 
     @Autowired
     public ValidationService(YamlParser yamlParser,
-                             Config config,
-                             ValidationErrorHandler errorHandler) throws YamlException, FileNotFoundException {
+                             JsonDocumentParser jsonParser,
+                             SpecificationRegistry specificationRegistry,
+                             PrimitiveValidator primitiveValidator,
+                             StreamingValidator streamingValidator,
+                             ValidatorGenerator validatorGenerator,
+                             ValidationErrorHandler errorHandler,
+                             ValidationMetrics metrics,
+                             Config config) {
         this.yamlParser = yamlParser;
+        this.jsonParser = jsonParser;
+        this.metrics = metrics;
+        this.pool = new ForkJoinPool(Math.max(1, config.getSubtreeParallelism()));
+        this.parallelThreshold = Math.max(2, config.getParallelThreshold());
+        this.maxStreamSize = config.getMaxRequestSize().toBytes();
+        this.streamLimits = DocumentLimits.of(config);
+        this.memoizationMode = config.getSubtreeMemoization();
+        this.memoizationThreshold = Math.max(1, config.getMemoizationThreshold());
+        this.subtreeHasher = new SubtreeHasher(memoizationThreshold);
+        this.subtreeOutcomes = memoizationMode == MemoizationMode.SHARED
+                ? Caffeine.newBuilder().maximumSize(config.getSubtreeCacheMaxSize()).build()
+                : null;
+        this.specificationRegistry = specificationRegistry;
+        this.primitiveValidator = primitiveValidator;
+        this.streamingValidator = streamingValidator;
+        this.validatorGenerator = validatorGenerator;
         this.errorHandler = errorHandler;
 
-        String specificationFileName = config.getSpecification();
-        this.specificationConfig = this.yamlParser.parseYamlFile(specificationFileName);
-        this.parents = new ArrayList<>();
+        for (String specificationName : specificationRegistry.getVersions().keySet()) {
+            validatorGenerator.prepare(specificationRegistry.get(specificationName));
+        }
+    }
+
+    /**
+     * @param specificationName Nazwa wersji specyfikacji, lub null dla specyfikacji domyślnej
+     * @return Wersja specyfikacji, względem której walidowane są definicje.
+     * @throws pl.jenczalik.validator.exception.UnknownSpecificationException Wyjątek rzucany, gdy wersja o podanej nazwie nie istnieje.
+     */
+    public String getSpecificationVersion(String specificationName) {
+        return specificationRegistry.get(specificationName).getVersion();
+    }
+
+    /**
+     * @return Nazwy wszystkich zarejestrowanych wersji specyfikacji i skróty ich treści.
+     */
+    public Map<String, String> getSpecificationVersions() {
+        return specificationRegistry.getVersions();
+    }
+
+    /**
+     * @param specificationName Nazwa wersji specyfikacji, lub null dla specyfikacji domyślnej
+     * @return Skompilowana specyfikacja, względem której walidowane są definicje.
+     */
+    CompiledSpecification getSpecification(String specificationName) {
+        return specificationRegistry.get(specificationName);
+    }
+
+    /**
+     * Metoda walidująca całą definicję API, której stan zbierany jest w przekazanym kontekście.
+     * <p>
+     * Gdy dla specyfikacji dostępny jest wygenerowany walidator, a walidacja nie jest równoległa
+     * ani nie korzysta z zapamiętanych wyników poddrzew, definicja walidowana jest wygenerowanym
+     * walidatorem - z tym samym wynikiem.
+     *
+     * @param apiDefinition Definicja API
+     * @param specification Specyfikacja, względem której walidowana jest definicja
+     * @param context Kontekst wywołania walidacji
+     * @see ValidatorGenerator
+     */
+    void validateDocument(Map<String, ?> apiDefinition, CompiledSpecification specification, ValidationContext context) {
+        Optional<GeneratedValidator> generated = context.isParallel() || context.getMemo() != null
+                ? Optional.empty()
+                : validatorGenerator.get(specification);
+        if (generated.isPresent()) {
+            generated.get().validate(apiDefinition, new GeneratedChecks(context, primitiveValidator));
+        } else {
+            validateObject(apiDefinition, specification.getRoot(), context);
+        }
+    }
+
+    /**
+     * Metoda wywoływana z kontrolera, w celu walidacji poprawności definicji API.
+     * Walidacja przerywana jest na pierwszym wykrytym błędzie.
+     *
+     * @param yamlApiDefinition Definicja API
+     * @return Rezultat walidacji
+     * @see ValidationService#validate(String, ValidationOptions) Metoda wywoływana przez tę metodę.
+     */
+    public ValidationResult validate(String yamlApiDefinition) {
+        return validate(yamlApiDefinition, ValidationOptions.failFast());
     }
 
     /**
@@ -74,27 +166,271 @@ public class ValidationService {
      * <p>
      * W trakcie walidacji śledzone jest, w którym miejscu definicji prowadzona jest
      * aktualnie walidacja, dzięki czemu w przypadku wykrycia błędu, pokazywana jest
-     * ścieżka do miejsca w którym wystąpił błąd.
+     * ścieżka do miejsca w którym wystąpił błąd. Stan walidacji przechowywany jest
+     * w kontekście tworzonym dla każdego wywołania, więc metoda może być wywoływana
+     * współbieżnie.
+     * <p>
+     * Specyfikacja pobierana jest z rejestru raz, na początku walidacji - jej przeładowanie
+     * w trakcie walidacji nie ma wpływu na wynik.
      *
      * @param yamlApiDefinition Definicja API
+     * @param options Ustawienia walidacji
      * @return Rezultat walidacji
-     * @see ValidationService#validateObject(Map, Map) Metoda wywoływana przez tę metodę.
+     * @see ValidationService#validate(String, DocumentFormat, ValidationOptions) Metoda wywoływana przez tę metodę.
      */
-    public ValidationResult validate(String yamlApiDefinition) {
+    public ValidationResult validate(String yamlApiDefinition, ValidationOptions options) {
+        return validate(yamlApiDefinition, DocumentFormat.YAML, options);
+    }
+
+    /**
+     * Metoda wywoływana z kontrolera, w celu walidacji poprawności definicji API w zadanym formacie.
+     * <p>
+     * Definicja w formacie JSON zamieniana jest na tę samą postać obiektową co YAML,
+     * więc jest walidowana względem tej samej specyfikacji i daje te same błędy.
+     * <p>
+     * Gdy ustawienia wskazują poddrzewa definicji ({@link ValidationOptions#getPointers()}),
+     * walidowane są jedynie te poddrzewa - pozostała część definicji jest tylko parsowana.
+     *
+     * @param apiDefinition Definicja API
+     * @param format Format definicji
+     * @param options Ustawienia walidacji
+     * @return Rezultat walidacji
+     * @throws pl.jenczalik.validator.exception.InvalidPointerException Wyjątek rzucany, gdy jedna ze wskazanych ścieżek nie jest poprawnym wskaźnikiem.
+     * @see ValidationService#validateObject(Map, SpecificationNode, ValidationContext) Metoda wywoływana przez tę metodę.
+     */
+    public ValidationResult validate(String apiDefinition, DocumentFormat format, ValidationOptions options) {
+        return validate(apiDefinition, format, options, getSpecification(options.getSpecification()));
+    }
 
+    /**
+     * Metoda walidująca definicję API względem podanej specyfikacji - pobranej z rejestru przez wywołującego,
+     * np. aby wynik odpowiadał wersji specyfikacji, dla której wyliczono jego klucz.
+     *
+     * @param apiDefinition Definicja API
+     * @param format Format definicji
+     * @param options Ustawienia walidacji
+     * @param specification Specyfikacja, względem której walidowana jest definicja
+     * @return Rezultat walidacji
+     */
+    ValidationResult validate(String apiDefinition, DocumentFormat format, ValidationOptions options,
+                              CompiledSpecification specification) {
+        List<List<String>> subtrees = toSubtrees(options.getPointers());
+        ValidationContext context = createContext(options);
+        context.setDocumentSize(apiDefinition == null ? 0 : apiDefinition.length());
+        DocumentValidationEvent event = new DocumentValidationEvent();
+        event.begin();
+
+        boolean failed = false;
         try {
-            Map<String, ?> apiDefinition = this.yamlParser.parseYamlString(yamlApiDefinition);
+            long start = System.nanoTime();
+            Map<String, ?> document = parse(apiDefinition, format, specification, context);
+            long parsed = System.nanoTime();
+            metrics.recordParse(parsed - start);
+
+            if (subtrees.isEmpty() || subtrees.contains(List.of())) {
+                validateDocument(document, specification, context);
+            } else {
+                validateSubtrees(document, specification.getRoot(), subtrees, context);
+            }
+            metrics.recordValidation(ValidationMetrics.TREE, System.nanoTime() - parsed);
 
-            logger.info("Validation started");
-            validateObject(apiDefinition, specificationConfig);
-            logger.info("Validation ended");
+            return toResult(context);
+        } catch (Exception e) {
+            failed = true;
+            return toResult(context, e);
+        } finally {
+            metrics.recordDocument(context.getDocumentSize(), context.getNodeCount());
+            commit(event, ValidationMetrics.TREE, specification, context, failed);
+        }
+    }
 
-            return ValidationResult.ok();
+    /**
+     * Metoda parsująca definicję API do postaci obiektowej i zapisująca czas parsowania jako zdarzenie JFR,
+     * o ile zdarzenie jest włączone.
+     */
+    private Map<String, ?> parse(String apiDefinition, DocumentFormat format, CompiledSpecification specification,
+                                 ValidationContext context) throws IOException {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        Map<String, ?> document = format == DocumentFormat.JSON
+                ? this.jsonParser.parseJsonString(apiDefinition)
+                : this.yamlParser.parseYamlString(apiDefinition);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setLocation(context.getPath().toString(), specification.getRoot().getTypeName(), context.getDocumentSize());
+            event.setFormat(format.name().toLowerCase());
+            event.commit();
+        }
+        return document;
+    }
+
+    /**
+     * Metoda zapisująca zdarzenie JFR walidacji całej definicji, o ile zdarzenie jest włączone.
+     *
+     * @param event Rozpoczęte zdarzenie
+     * @param mode Sposób walidacji - {@link ValidationMetrics#TREE} lub {@link ValidationMetrics#STREAM}
+     * @param specification Specyfikacja, względem której walidowana była definicja
+     * @param context Kontekst zakończonego wywołania walidacji
+     * @param failed Czy walidację przerwał wyjątek
+     */
+    private void commit(DocumentValidationEvent event, String mode, CompiledSpecification specification,
+                        ValidationContext context, boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            int errors = context.isCollectAll() ? context.getErrors().size() : failed ? 1 : 0;
+            event.setLocation(ValidationPath.root().toString(), specification.getRoot().getTypeName(), context.getDocumentSize());
+            event.setOutcome(mode, specification.getVersion(), context.getNodeCount(), errors);
+            event.commit();
+        }
+    }
+
+    /**
+     * Metoda tworząca kontekst walidacji definicji w postaci obiektowej. Wyniki poddrzew zapamiętywane są
+     * jedynie przy walidacji sekwencyjnej - przy równoległej każde poddrzewo walidowane jest we własnym kontekście.
+     *
+     * @param options Ustawienia walidacji
+     * @return Kontekst wywołania walidacji
+     * @see Config#getSubtreeMemoization()
+     */
+    private ValidationContext createContext(ValidationOptions options) {
+        ValidationContext context = new ValidationContext(options);
+        if (memoizationMode != MemoizationMode.OFF && !options.isParallel()) {
+            context.setMemo(new SubtreeMemo(subtreeHasher, subtreeOutcomes, memoizationThreshold));
+        }
+        return context;
+    }
+
+    /**
+     * Metoda zamieniająca wskaźniki na listy kluczy. Pomijane są wskaźniki powtórzone oraz wskazujące
+     * na wnętrze poddrzewa innego wskaźnika, więc żadne pole nie jest walidowane dwukrotnie.
+     *
+     * @param pointers Ścieżki w formacie JSON Pointer
+     * @return Klucze kolejnych poddrzew, w kolejności wskaźników
+     */
+    private List<List<String>> toSubtrees(List<String> pointers) {
+        List<List<String>> paths = new ArrayList<>(pointers.size());
+        for (String pointer : pointers) {
+            paths.add(ValidationPath.fromPointer(pointer).getKeys());
+        }
+
+        List<List<String>> subtrees = new ArrayList<>(paths.size());
+        for (List<String> path : paths) {
+            boolean covered = paths.stream().anyMatch(other -> other.size() < path.size() && path.subList(0, other.size()).equals(other));
+            if (!covered && !subtrees.contains(path)) {
+                subtrees.add(path);
+            }
+        }
+        return subtrees;
+    }
+
+    /**
+     * Metoda walidująca jedynie wskazane poddrzewa definicji API.
+     * <p>
+     * Dla każdego poddrzewa odnajdywany jest - równolegle w definicji i w specyfikacji - obiekt,
+     * który zawiera wskazane pole. Walidowana jest obecność i dopuszczalność tego pola, a następnie
+     * całe jego poddrzewo, z tymi samymi ścieżkami błędów, co przy walidacji całej definicji.
+     * Gdy któregoś z pól na ścieżce brakuje w definicji lub nie jest ono obiektem albo tablicą,
+     * walidowane jest właśnie to pole - wskazane poddrzewo nie może wtedy istnieć.
+     *
+     * @param apiDefinition Definicja API
+     * @param root Korzeń specyfikacji
+     * @param subtrees Klucze kolejnych poddrzew
+     * @param context Kontekst bieżącego wywołania walidacji
+     */
+    private void validateSubtrees(Map<String, ?> apiDefinition, SpecificationNode root, List<List<String>> subtrees,
+                                  ValidationContext context) {
+        for (List<String> keys : subtrees) {
+            if (context.isFinished()) {
+                return;
+            }
+
+            Map<String, ?> container = apiDefinition;
+            SpecificationNode node = root;
+            int entered = 0;
+            for (String key : keys) {
+                SpecificationNode childNode = node.getType() == NodeType.ARRAY ? node.getElement() : node.getChild(key);
+                Object value = container.get(key);
+                if (entered == keys.size() - 1 || childNode == null || !childNode.getType().isContainer() || !(value instanceof Map)) {
+                    validateSubtreeField(key, container, node, context);
+                    break;
+                }
+
+                context.enter(key);
+                entered++;
+                container = (Map<String, ?>) value;
+                node = childNode;
+            }
+            for (int i = 0; i < entered; i++) {
+                context.leave();
+            }
+        }
+    }
+
+    private void validateSubtreeField(String key, Map<String, ?> container, SpecificationNode node, ValidationContext context) {
+        boolean present = container.containsKey(key);
+        if (node.getType() == NodeType.OBJECT) {
+            validateForRequiredFields(container.keySet(), node.getRequiredFields().contains(key) ? Set.of(key) : Set.of(), context);
+            if (present) {
+                validateForExcessiveFields(Set.of(key), node.getAllowedFields(), context);
+            }
+        }
+        if (present) {
+            validateField(key, container.get(key), node, context);
+        }
+    }
+
+    /**
+     * Metoda wywoływana z kontrolera, w celu strumieniowej walidacji poprawności definicji API.
+     * Walidacja przerywana jest na pierwszym wykrytym błędzie.
+     *
+     * @param yamlApiDefinition Strumień z definicją API
+     * @return Rezultat walidacji
+     * @see ValidationService#validateStream(InputStream, ValidationOptions) Metoda wywoływana przez tę metodę.
+     */
+    public ValidationResult validateStream(InputStream yamlApiDefinition) {
+        return validateStream(yamlApiDefinition, ValidationOptions.failFast());
+    }
+
+    /**
+     * Metoda wywoływana z kontrolera, w celu strumieniowej walidacji poprawności definicji API.
+     * <p>
+     * Definicja nie jest zamieniana na strukturę obiektową - walidacja odbywa się
+     * w jednym przebiegu, na podstawie zdarzeń parsera odczytywanych ze strumienia.
+     * Ze strumienia czytanych jest co najwyżej {@link Config#getMaxRequestSize()} bajtów, a głębokość
+     * zagnieżdżenia, liczba węzłów i długość kluczy ograniczone są tak samo, jak przy parsowaniu definicji.
+     *
+     * @param yamlApiDefinition Strumień z definicją API
+     * @param options Ustawienia walidacji
+     * @return Rezultat walidacji
+     * @see StreamingValidator Klasa walidująca strumień zdarzeń.
+     */
+    public ValidationResult validateStream(InputStream yamlApiDefinition, ValidationOptions options) {
+        CompiledSpecification specification = getSpecification(options.getSpecification());
+        ValidationContext context = new ValidationContext(options);
+
+        CountingInputStream input = new CountingInputStream(yamlApiDefinition, maxStreamSize);
+        DocumentValidationEvent event = new DocumentValidationEvent();
+        event.begin();
+
+        boolean failed = false;
+        try {
+            long start = System.nanoTime();
+            streamingValidator.validate(this.yamlParser.createEventParser(input), specification.getRoot(), context, streamLimits);
+            metrics.recordValidation(ValidationMetrics.STREAM, System.nanoTime() - start);
+
+            return toResult(context);
+        } catch (RequestTooLargeException e) {
+            // limit treści żądania sprawdzany w trakcie jej odczytu - odpowiedzią nie jest wynik walidacji
+            failed = true;
+            throw e;
         } catch (Exception e) {
-            String parents = this.parents.isEmpty() ? ROOT : String.join(" -> ", this.parents);
-            return this.errorHandler.handleException(e, parents);
+            failed = true;
+            // parser zdarzeń opakowuje wyjątki strumienia, więc przekroczenie limitu rozpoznawane jest po liczniku
+            return toResult(context, input.isLimitExceeded() ? new DocumentLimitExceededException("size in bytes", maxStreamSize) : e);
         } finally {
-            parents.clear();
+            metrics.recordDocument(input.getCount(), context.getNodeCount());
+            context.setDocumentSize(input.getCount());
+            commit(event, ValidationMetrics.STREAM, specification, context, failed);
         }
     }
 
@@ -113,62 +449,22 @@ public class ValidationService {
      * </ul><p>
      *
      * @param apiDefinition Definicja API
-     * @param config Model języka
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt
+     * @param context Kontekst bieżącego wywołania walidacji
      *
-     * @throws BadTypeException Wyjątek rzucany w przypadku złego typu obiektu-dziecka
-     *
-     * @see ValidationService#validateForRequiredFields(Set, Set) Wywołanie metody walidującej obowiązkowe pola
-     * <p>
-     * @see ValidationService#validateForExcessiveFields(Set, Set) Wywołanie metody walidującej nadmiarowe pola
-     * <p>
-     * @see ValidationService#validateForNull(Map, String) Wywołanie metody walidującej wartości null
-     * <p>
-     * @see ValidationService#validateType(Object, String) Wywołanie metody walidującej zgodność typu
-     * <p>
-     * @see ValidationService#validateObject(Map, Map) Rekurencyjne wywołanie metody walidującej obiekt
+     * @see ValidationService#validateForRequiredFields(Set, Set, ValidationContext) Wywołanie metody walidującej obowiązkowe pola
      * <p>
-     * @see ValidationService#validateArray(Map, Map) Rekurencyjne wywołanie metody walidującej tablicę
+     * @see ValidationService#validateForExcessiveFields(Set, Set, ValidationContext) Wywołanie metody walidującej nadmiarowe pola
      * <p>
-     * @see ValidationService#validatePrimitive(String, Map, String) Wywołanie metody walidującej prymityw
+     * @see ValidationService#validateField(String, Object, SpecificationNode, ValidationContext) Wywołanie metody walidującej pole
      */
-    private void validateObject(Map apiDefinition, Map config) {
-        Set<String> requiredFields = fetchRequiredFields(config);
-        Set<String> allowedFields = fetchAllowedFields(config);
+    private void validateObject(Map<String, ?> apiDefinition, SpecificationNode node, ValidationContext context) {
         Set<String> apiDefinitionKeys = apiDefinition.keySet();
 
-        validateForRequiredFields(apiDefinitionKeys, requiredFields);
-        validateForExcessiveFields(apiDefinitionKeys, allowedFields);
+        validateForRequiredFields(apiDefinitionKeys, node.getRequiredFields(), context);
+        validateForExcessiveFields(apiDefinitionKeys, node.getAllowedFields(), context);
 
-        for (String currentKey : apiDefinitionKeys) {
-            logger.info(String.format("Object: %s", currentKey));
-
-            String type = (String) ((Map) config.get(currentKey)).get(TYPE);
-
-            validateForNull(apiDefinition, currentKey);
-
-            try {
-                validateType(apiDefinition.get(currentKey), type);
-            } catch (BadTypeException e) {
-                throw new BadTypeException(currentKey, type, e.getBadType());
-            }
-
-            switch (type) {
-                case TYPE_OBJECT:
-                    parents.add(currentKey);
-                    validateObject((Map) apiDefinition.get(currentKey), (Map) ((Map) config.get(currentKey)).get(CHILDREN));
-                    break;
-
-                case TYPE_ARRAY:
-                    parents.add(currentKey);
-                    validateArray((Map) apiDefinition.get(currentKey), (Map) ((Map) config.get(currentKey)).get(CHILDREN));
-                    break;
-
-                default:
-                    validatePrimitive((String) apiDefinition.get(currentKey), (Map) config.get(currentKey), type);
-                    break;
-            }
-            parents.remove(currentKey);
-        }
+        validateChildren(apiDefinition, node, context);
     }
 
     /**
@@ -186,164 +482,248 @@ public class ValidationService {
      * </ul><p>
      *
      * @param array Tablica
-     * @param config Model języka
-     *
-     * @throws BadTypeException Wyjątek rzucany w przypadku złego typu obiektu - elementu tablicy
+     * @param node Skompilowany węzeł modelu języka opisujący tablicę
+     * @param context Kontekst bieżącego wywołania walidacji
      *
-     * @see ValidationService#validateForNull(Map, String) Wywołanie metody walidującej wartości null
-     * <p>
-     * @see ValidationService#validateType(Object, String) Wywołanie metody walidującej zgodność typu
-     * <p>
-     * @see ValidationService#validateByRegex(String, String) Wywołanie metody walidującej zgodność z wyrażeniem regularnym
-     * <p>
-     * @see ValidationService#validateObject(Map, Map) Rekurencyjne wywołanie metody walidującej obiekt
-     * <p>
-     * @see ValidationService#validateArray(Map, Map) Rekurencyjne wywołanie metody walidującej tablicę
+     * @see ValidationService#validateField(String, Object, SpecificationNode, ValidationContext) Wywołanie metody walidującej element
+     */
+    private void validateArray(Map<String, ?> array, SpecificationNode node, ValidationContext context) {
+        validateChildren(array, node, context);
+    }
+
+    /**
+     * Metoda wywoływana w celu walidacji wszystkich pól obiektu lub elementów tablicy.
      * <p>
-     * @see ValidationService#validatePrimitive(String, Map, String) Wywołanie metody walidującej prymityw
+     * Pola walidowane są sekwencyjnie, chyba że włączony jest tryb równoległy, a liczba pól
+     * przekracza próg - wtedy walidowane są przez zadania fork-join.
+     *
+     * @param container Obiekt lub tablica w definicji API
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt lub tablicę
+     * @param context Kontekst bieżącego wywołania walidacji
      */
-    private void validateArray(Map<String, ?> array, Map config) {
-        for (String currentKey : array.keySet()) {
-            logger.info(String.format("Array: %s", currentKey));
+    private void validateChildren(Map<String, ?> container, SpecificationNode node, ValidationContext context) {
+        if (context.isParallel() && container.size() >= parallelThreshold) {
+            validateChildrenInParallel(container, node, context);
+            return;
+        }
 
-            Map arrayObjectConfigLayer = (Map) config.get(config.keySet().iterator().next());
+        for (String currentKey : container.keySet()) {
+            if (context.isFinished()) {
+                return;
+            }
 
-            validateForNull(array, currentKey); // TODO What if array has only not-required fields? Could allow null probably
+            validateField(currentKey, container.get(currentKey), node, context);
+        }
+    }
 
-            if(arrayObjectConfigLayer.get(NAME_REGEX) != null) {
-                validateByRegex(currentKey, (String) arrayObjectConfigLayer.get(NAME_REGEX));
+    /**
+     * Metoda walidująca pola obiektu lub elementy tablicy równolegle.
+     * <p>
+     * Pola dzielone są na przedziały, walidowane we własnych kontekstach. Wyniki łączone są
+     * w kolejności pól, więc zgłaszany jest ten sam pierwszy błąd - wraz z jego ścieżką - i ta
+     * sama lista błędów, co przy walidacji sekwencyjnej. W trybie domyślnym przedziały
+     * położone za przedziałem, w którym wystąpił błąd, przerywają walidację.
+     *
+     * @param container Obiekt lub tablica w definicji API
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt lub tablicę
+     * @param context Kontekst bieżącego wywołania walidacji
+     */
+    private void validateChildrenInParallel(Map<String, ?> container, SpecificationNode node, ValidationContext context) {
+        List<String> keys = new ArrayList<>(container.keySet());
+        int leafSize = Math.max(parallelThreshold / 2, keys.size() / (pool.getParallelism() * 4));
+        SubtreeValidationTask task = new SubtreeValidationTask(
+                container, keys, node, context, new AtomicInteger(Integer.MAX_VALUE), leafSize, 0, keys.size());
+
+        List<SubtreeResult> results = ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+        for (SubtreeResult result : results) {
+            context.join(result.context);
+            if (result.failure != null) {
+                context.fail(result.failure, result.context.getPath());
             }
+            if (context.isFinished()) {
+                return;
+            }
+        }
+    }
 
-            String type = (String) arrayObjectConfigLayer.get(TYPE);
+    /**
+     * Metoda wywoływana w celu walidacji pojedynczego pola obiektu lub elementu tablicy,
+     * wraz z całym poddrzewem będącym jego wartością.
+     * <p>
+     * Pola obiektu nieobecne w modelu języka są pomijane - zgłaszane są jako nadmiarowe
+     * przez walidację obiektu. Dla elementów tablicy sprawdzana jest dodatkowo zgodność
+     * nazwy z wyrażeniem regularnym.
+     *
+     * @param key Klucz pola
+     * @param value Wartość pola
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt lub tablicę zawierającą pole
+     * @param context Kontekst bieżącego wywołania walidacji
+     *
+     * @see ValidationService#validateForNull(String, Object, SpecificationNode, ValidationContext) Wywołanie metody walidującej wartości null
+     * <p>
+     * @see PrimitiveValidator#validateName(String, SpecificationNode, ValidationContext) Wywołanie metody walidującej zgodność z wyrażeniem regularnym
+     * <p>
+     * @see ValidationService#validateValue(String, Object, SpecificationNode, ValidationContext) Wywołanie metody walidującej wartość pola
+     */
+    void validateField(String key, Object value, SpecificationNode node, ValidationContext context) {
+        context.countNode();
 
-            try {
-                validateType(array.get(currentKey), type);
-            } catch (BadTypeException e) {
-                if(String.class.toString().equals(e.getBadType())) // TODO works?
-                throw new BadTypeException(currentKey, type, e.getBadType());
+        if (node.getType() == NodeType.ARRAY) {
+            SpecificationNode elementNode = node.getElement();
+
+            if (!validateForNull(key, value, elementNode, context)) { // TODO What if array has only not-required fields? Could allow null probably
+                return;
             }
 
-            switch (type) {
-                case TYPE_OBJECT:
-                    parents.add(currentKey);
-                    validateObject((Map) array.get(currentKey), (Map) arrayObjectConfigLayer.get(CHILDREN));
-                    break;
+            primitiveValidator.validateName(key, elementNode, context);
+            validateValue(key, value, elementNode, context);
+            return;
+        }
 
-                case TYPE_ARRAY:
-                    parents.add(currentKey);
-                    validateArray((Map) array.get(currentKey), (Map) arrayObjectConfigLayer.get(CHILDREN));
-                    break;
+        SpecificationNode childNode = node.getChild(key);
+        if (childNode == null) {
+            return;
+        }
 
-                default:
-                    validatePrimitive((String) array.get(currentKey), config, type);
-                    break;
-            }
-            parents.remove(currentKey);
+        if (validateForNull(key, value, childNode, context)) {
+            validateValue(key, value, childNode, context);
         }
     }
 
     /**
-     * Metoda wywoływana w celu walidacji prymitywu w definicji API w oparciu o model języka.
-     * <p>
-     * Walidacja prymitywu polega na sprawdzeniu, czy jego wartość zgodna jest
-     * z typem który go definiuje.
+     * Metoda wywoływana w celu walidacji zbioru pól obiektu - obecności wymaganych pól
+     * i braku pól nadmiarowych. Dla tablic nie wykonuje żadnej walidacji.
      *
-     * @param value Wartość prymitywu
-     * @param config Model języka
-     *               
-     * @see ValidationService#validateString(String, Map) Wywołanie metody walidującej string
-     * <p>
-     * @see ValidationService#validateInteger(String) Wywołanie metody walidującej integer
-     * <p>
-     * @see ValidationService#validateUnsignedInteger(String) Wywołanie metody walidującej unsigned integer
+     * @param container Obiekt lub tablica w definicji API
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt lub tablicę
+     * @param context Kontekst bieżącego wywołania walidacji
      */
-    private void validatePrimitive(String value, Map config, String type) {
-        if (TYPE_STRING.equals(type)) {
-            validateString(value, config);
-        } else if (TYPE_INTEGER.equals(type)) {
-            validateInteger(value);
-        } else if (TYPE_UNSIGNED_INTEGER.equals(type)) {
-            validateUnsignedInteger(value);
+    void validateFields(Map<String, ?> container, SpecificationNode node, ValidationContext context) {
+        if (node.getType() == NodeType.OBJECT) {
+            validateForRequiredFields(container.keySet(), node.getRequiredFields(), context);
+            validateForExcessiveFields(container.keySet(), node.getAllowedFields(), context);
         }
     }
 
     /**
-     * Metoda wywoływana w celu walidacji stringa
+     * Metoda wywoływana w celu walidacji wartości pola obiektu lub elementu tablicy.
      * <p>
-     * Walidacja stringa polega na sprawdzeniu, czy jego wartość spełnia wymagania
-     * wyrażenia regularnego, o ile takie występuje.
+     * Po sprawdzeniu zgodności typu, w zależności od niego, jest wywoływana jedna z trzech metod -
+     * <p><ul>
+     * <li>Walidacja obiektu
+     * <li>Walidacja tablicy
+     * <li>Walidacja prymitywu
+     * </ul><p>
      *
-     * @param string String
-     * @param config Model języka
+     * @param key Klucz pola
+     * @param value Wartość pola
+     * @param node Skompilowany węzeł modelu języka opisujący pole
+     * @param context Kontekst bieżącego wywołania walidacji
      *
-     * @see ValidationService#validateByRegex(String, String) Wywołanie metody walidującej wyrażenie regularne
+     * @see ValidationService#validateType(String, Object, SpecificationNode, ValidationContext) Wywołanie metody walidującej zgodność typu
+     * <p>
+     * @see ValidationService#validateObject(Map, SpecificationNode, ValidationContext) Rekurencyjne wywołanie metody walidującej obiekt
+     * <p>
+     * @see ValidationService#validateArray(Map, SpecificationNode, ValidationContext) Rekurencyjne wywołanie metody walidującej tablicę
+     * <p>
+     * @see PrimitiveValidator#validatePrimitive(String, String, SpecificationNode, ValidationContext) Wywołanie metody walidującej prymityw
      */
-    private void validateString(String string, Map config) {
-        if(config.get(VALUE_REGEX) != null) {
-            validateByRegex(string, (String) config.get(VALUE_REGEX));
+    private void validateValue(String key, Object value, SpecificationNode node, ValidationContext context) {
+        if (!validateType(key, value, node, context)) {
+            return;
+        }
+
+        switch (node.getType()) {
+            case OBJECT:
+            case ARRAY:
+                context.enter(key);
+                validateSubtree((Map<String, ?>) value, node, context);
+                context.leave();
+                break;
+
+            default:
+                primitiveValidator.validatePrimitive(key, (String) value, node, context);
+                break;
         }
     }
 
     /**
-     * Metoda wywoływana w celu walidacji integera.
-     * <p>
-     * Walidacja integera polega na sprawdzeniu, czy nie jest on zbyt wielki,
-     * oraz czy spełnia format liczbowy.
-     *
-     * @param value Integer
+     * Metoda walidująca poddrzewo i zapisująca czas jego walidacji jako zdarzenie JFR - zdarzenie
+     * zapisywane jest jedynie, gdy jest włączone, a walidacja trwała dłużej niż jego próg.
      *
-     * @throws NumberTooLargeException Wyjątek rzucany w przypadku, gdy liczba jest zbyt wielka
-     * @throws BadNumberFormatException Wyjątek rzucany w przypadku, gdy zadany integer nie ma formatu liczbowego
+     * @param container Obiekt lub tablica w definicji API
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt lub tablicę
+     * @param context Kontekst bieżącego wywołania walidacji
      */
-    private void validateInteger(String value) {
-        try {
-            long number = Long.parseLong(value);
-            if(number > Integer.MAX_VALUE) {
-                throw new NumberTooLargeException(value, TYPE_INTEGER);
-            }
-        } catch (NumberFormatException e) {
-            throw new BadNumberFormatException(value, TYPE_INTEGER);
+    private void validateSubtree(Map<String, ?> container, SpecificationNode node, ValidationContext context) {
+        SubtreeValidationEvent event = new SubtreeValidationEvent();
+        event.begin();
+        int nodesBefore = context.getNodeCount();
+        validateContainer(container, node, context);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setLocation(context.getPath().toString(), node.getTypeName(), context.getDocumentSize());
+            event.setNodes(context.getNodeCount() - nodesBefore);
+            event.commit();
         }
     }
 
     /**
-     * Metoda wywoływana w celu walidacji unsigned integera.
+     * Metoda wywoływana w celu walidacji obiektu lub tablicy, będących wartością bieżącego pola.
      * <p>
-     * Walidacja integera polega na sprawdzeniu, czy nie jest on zbyt wielki,
-     * czy spełnia format liczbowy, oraz czy nie jest zbyt wielki.
+     * Gdy wyniki poddrzew są zapamiętywane, a wynik identycznego poddrzewa opisanego tym samym węzłem
+     * modelu języka jest już znany, poddrzewo nie jest walidowane - zgłaszane są zapamiętane błędy,
+     * ze ścieżkami bieżącego poddrzewa. W przeciwnym razie wynik pełnej walidacji jest zapamiętywany.
      *
-     * @param value Unsigned integer
+     * @param container Obiekt lub tablica w definicji API
+     * @param node Skompilowany węzeł modelu języka opisujący obiekt lub tablicę
+     * @param context Kontekst bieżącego wywołania walidacji
      *
-     * @throws NumberTooLargeException Wyjątek rzucany w przypadku, gdy liczba jest zbyt wielka
-     * @throws BadNumberFormatException Wyjątek rzucany w przypadku, gdy liczba nie spełnia
-     * formatu liczbowego, lub gdy jest mniejsza od zera
+     * @see SubtreeMemo
      */
-    private void validateUnsignedInteger(String value) {
-        try {
-            long number = Long.parseLong(value);
-            if(number > Integer.MAX_VALUE) {
-                throw new NumberTooLargeException(value, TYPE_UNSIGNED_INTEGER);
-            }
-        } catch (NumberFormatException e) {
-            throw new BadNumberFormatException(value, TYPE_UNSIGNED_INTEGER);
+    private void validateContainer(Map<String, ?> container, SpecificationNode node, ValidationContext context) {
+        SubtreeMemo memo = context.getMemo();
+        SubtreeMemo.Key memoKey = memo == null ? null : memo.key(container, node);
+        if (memoKey == null) {
+            validateContainerFields(container, node, context);
+            return;
+        }
+
+        SubtreeMemo.Outcome outcome = memo.get(memoKey);
+        metrics.recordMemoization(outcome != null);
+        if (outcome != null) {
+            context.replay(outcome);
+            return;
         }
-        if(Integer.parseInt(value) < 0) {
-            throw new BadNumberFormatException(value, TYPE_UNSIGNED_INTEGER);
+
+        int errorsBefore = context.getErrors().size();
+        int nodesBefore = context.getNodeCount();
+        validateContainerFields(container, node, context);
+        if (!context.isFinished()) {
+            List<ValidationError> errors = context.getErrors();
+            memo.put(memoKey, errors.subList(errorsBefore, errors.size()), context.getNodeCount() - nodesBefore, context.getPath());
+        }
+    }
+
+    private void validateContainerFields(Map<String, ?> container, SpecificationNode node, ValidationContext context) {
+        if (node.getType() == NodeType.OBJECT) {
+            validateObject(container, node, context);
+        } else {
+            validateArray(container, node, context);
         }
     }
 
     /**
      * Metoda wywoływana w celu walidacji zbioru pól pod kątem ich wymaganej obecności.
-
+     *
      * @param fields Pola
      * @param requiredFields Wymagane pola
-     *
-     * @throws RequiredObjectNotPresentException Wyjątek rzucany w przypadku, gdy brakuje wymaganego obiektu
+     * @param context Kontekst bieżącego wywołania walidacji
      */
-    private void validateForRequiredFields(Set<String> fields, Set<String> requiredFields) {
+    private void validateForRequiredFields(Set<String> fields, Set<String> requiredFields, ValidationContext context) {
         for(String requiredField : requiredFields) {
             if (!fields.contains(requiredField)) {
-                throw new RequiredObjectNotPresentException(requiredField);
+                context.report(ErrorCode.REQUIRED_OBJECT_NOT_PRESENT, null, requiredField, null);
             }
         }
     }
@@ -353,108 +733,161 @@ public class ValidationService {
      *
      * @param fields Pola
      * @param allowedFields Dozwolone pola
-     *
-     * @throws ExcessiveObjectPresentException Wyjątek rzucany w przypadku, gdy obecne jest nadmiarowe pole
+     * @param context Kontekst bieżącego wywołania walidacji
      */
-    private void validateForExcessiveFields(Set<String> fields, Set<String> allowedFields) {
+    private void validateForExcessiveFields(Set<String> fields, Set<String> allowedFields, ValidationContext context) {
         for(String field: fields) {
             if(!allowedFields.contains(field)) {
-                throw new ExcessiveObjectPresentException(field);
+                context.report(ErrorCode.EXCESSIVE_OBJECT_PRESENT, null, null, field);
             }
         }
     }
 
-    /**
-     * Metoda wywoływana w celu walidacji wartości w oparciu o wyrażenie regularne.
-     * 
-     * @param value Wartość
-     * @param regex Wyrażenie regularne
-     *              
-     * @throws NoMatchWithRegexException Wyjątek rzucany w przypadku, gdy wartość nie spełnia reguły wyrażenia regularnego
-     */
-    private void validateByRegex(String value, String regex) {
-        if(!value.matches(regex)) {
-            throw new NoMatchWithRegexException(value, regex);
-        }
-    }
-
     /**
      * Metoda wywoływana w celu walidacji, czy wartość jest nullem
      *
-     * @param apiDefinition Wycinek definicji API
      * @param key Klucz do walidowanej wartości
-     *
-     * @throws NullValueException Wyjątek rzucany w przypadku, gdy pod kluczem kryje się wartość null
+     * @param value Walidowana wartość
+     * @param node Skompilowany węzeł modelu języka opisujący wartość
+     * @param context Kontekst bieżącego wywołania walidacji
+     * @return Czy wartość jest różna od null
      */
-    private void validateForNull(Map apiDefinition, String key) {
-        if(apiDefinition.get(key) == null) {
-            throw new NullValueException(key);
+    private boolean validateForNull(String key, Object value, SpecificationNode node, ValidationContext context) {
+        if(value == null) {
+            context.report(ErrorCode.NULL_VALUE, key, node.getTypeName(), null);
+            return false;
         }
+        return true;
     }
 
     /**
      * Metoda wywoływana w celu walidacji, czy typ obiektu jest zgodny z deklarowanym.
+     * <p>
+     * Obiekty i tablice muszą być mapami, boolean musi mieć wartość "true" lub "false",
+     * a wszystkie pozostałe typy muszą być skalarami.
      *
-     * @param object Walidowany obiekt
-     * @param type Deklarowany typ
-     *
-     * @see ValidationService#validateType(Object, Class) Wywołanie metody walidującą zgodność obiektu z konkretnym typem
+     * @param key Klucz do walidowanej wartości
+     * @param value Walidowany obiekt
+     * @param node Skompilowany węzeł modelu języka opisujący wartość
+     * @param context Kontekst bieżącego wywołania walidacji
+     * @return Czy typ obiektu jest zgodny z deklarowanym
      */
-    private void validateType(Object object, String type) {
-        switch (type) {
-            case TYPE_STRING:
-                validateType(object, String.class);
-                break;
+    private boolean validateType(String key, Object value, SpecificationNode node, ValidationContext context) {
+        NodeType type = node.getType();
+        boolean valid;
+
+        if (type.isContainer()) {
+            valid = value instanceof Map;
+        } else if (type == NodeType.BOOLEAN) {
+            valid = primitiveValidator.isBoolean(value.toString());
+        } else {
+            valid = value instanceof String;
+        }
 
-            case TYPE_BOOLEAN:
-                validateType(object, Boolean.class);
-                break;
+        if (!valid) {
+            context.report(ErrorCode.BAD_TYPE, key, node.getTypeName(), value.getClass().getTypeName());
+        }
+        return valid;
+    }
 
-            case TYPE_OBJECT:
-            case TYPE_ARRAY:
-                validateType(object, Map.class);
-                break;
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private ValidationResult toResult(ValidationContext context) {
+        if (context.isCollectAll()) {
+            recordViolations(context);
+            return this.errorHandler.handleErrors(context.getErrors(), context.isFinished());
         }
+        return ValidationResult.ok();
     }
 
-    /**
-     * Metoda wywoływana w celu walidacji, czy typ obiektu jest zgodny z konkretnym typem.
-     *
-     * @param object Walidowany obiekt
-     * @param clazz Konkretny typ
-     *
-     * @throws BadTypeException Wyjątek rzucany w przypadku, gdy typ obiektu nie jest zgodny z konkretnym typem
-     */
-    private void validateType(Object object, Class clazz) {
-        if(Boolean.class.equals(clazz)) {
-            String string = object.toString();
-            if(!TRUE.equalsIgnoreCase(string) && !FALSE.equalsIgnoreCase(string)) {
-                throw new BadTypeException(object.getClass());
-            }
-        } else if(!clazz.isInstance(object)) {
-            throw new BadTypeException(object.getClass());
+    private ValidationResult toResult(ValidationContext context, Exception e) {
+        if (context.isCollectAll()) {
+            context.reportFailure(e);
+            recordViolations(context);
+            return this.errorHandler.handleErrors(context.getErrors(), false);
+        }
+        metrics.recordViolation(e.getClass().getSimpleName());
+        return this.errorHandler.handleException(e, context.getPath().toString());
+    }
+
+    private void recordViolations(ValidationContext context) {
+        for (ValidationError error : context.getErrors()) {
+            metrics.recordViolation(error.getCode().getExceptionType().getSimpleName());
         }
     }
 
     /**
-     * Pomocnicza metoda wyciągająca zbiór wymaganych pól ze specyfikacji modelu języka.
-     *
-     * @param config Specyfikacja modelu języka
-     * @return Zbiór wymaganych pól
+     * Wynik walidacji przedziału pól - kontekst przedziału i wyjątek, który przerwał walidację.
      */
-    private Set<String> fetchRequiredFields(Map<String, ?> config) {
-        return config.entrySet().stream()
-                .filter(entry -> TRUE.equals(((Map) entry.getValue()).get(REQUIRED)))
-                .map(Map.Entry::getKey).collect(Collectors.toSet());
+    private static class SubtreeResult {
+        private final ValidationContext context;
+        private final RuntimeException failure;
+
+        private SubtreeResult(ValidationContext context, RuntimeException failure) {
+            this.context = context;
+            this.failure = failure;
+        }
     }
 
     /**
-     * Pomocnicza metoda wyciągająca zbiór dozwolonych pól ze specyfikacji modelu języka.
-     *
-     * @param config Specyfikacja modelu języka
-     * @return Zbiór dozwolonych pól
+     * Zadanie walidujące przedział pól obiektu lub elementów tablicy. Przedziały dłuższe niż
+     * zadany rozmiar są dzielone na połowy, walidowane równolegle. Zwraca wyniki przedziałów
+     * w kolejności pól.
      */
-    private Set<String> fetchAllowedFields(Map<String, ?> config) {
-        return new HashSet<>(config.keySet());
+    private class SubtreeValidationTask extends RecursiveTask<List<SubtreeResult>> {
+        private final Map<String, ?> container;
+        private final List<String> keys;
+        private final SpecificationNode node;
+        private final ValidationContext parent;
+        private final AtomicInteger firstFailure;
+        private final int leafSize;
+        private final int from;
+        private final int to;
+
+        private SubtreeValidationTask(Map<String, ?> container, List<String> keys, SpecificationNode node, ValidationContext parent,
+                                      AtomicInteger firstFailure, int leafSize, int from, int to) {
+            this.container = container;
+            this.keys = keys;
+            this.node = node;
+            this.parent = parent;
+            this.firstFailure = firstFailure;
+            this.leafSize = leafSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SubtreeResult> compute() {
+            if (to - from <= leafSize) {
+                return List.of(validateRange());
+            }
+
+            int middle = (from + to) >>> 1;
+            SubtreeValidationTask left = new SubtreeValidationTask(container, keys, node, parent, firstFailure, leafSize, from, middle);
+            SubtreeValidationTask right = new SubtreeValidationTask(container, keys, node, parent, firstFailure, leafSize, middle, to);
+            invokeAll(left, right);
+
+            List<SubtreeResult> results = new ArrayList<>(left.join());
+            results.addAll(right.join());
+            return results;
+        }
+
+        private SubtreeResult validateRange() {
+            ValidationContext context = parent.fork();
+
+            try {
+                for (int i = from; i < to && !context.isFinished() && firstFailure.get() > from; i++) {
+                    String key = keys.get(i);
+                    validateField(key, container.get(key), node, context);
+                }
+                return new SubtreeResult(context, null);
+            } catch (RuntimeException e) {
+                firstFailure.accumulateAndGet(from, Math::min);
+                return new SubtreeResult(context, e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
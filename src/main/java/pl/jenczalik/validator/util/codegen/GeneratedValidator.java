@@ -0,0 +1,58 @@
+package pl.jenczalik.validator.util.codegen;
+
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+
+import java.util.Map;
+
+/**
+ * Walidator definicji API wygenerowany dla jednej, konkretnej specyfikacji modelu języka.
+ * <p>
+ * Implementacje tworzone są w trakcie działania aplikacji przez {@link ValidatorGenerator} -
+ * każdy węzeł specyfikacji zamieniany jest na osobną metodę, z nazwami pól, typami i komunikatami
+ * zapisanymi jako stałe. Wygenerowany kod zależy jedynie od tego interfejsu
+ * i {@link SpecificationPattern}, a cały stan walidacji przekazywany jest przez {@link Checks}.
+ */
+public interface GeneratedValidator {
+
+    /**
+     * Metoda walidująca całą definicję API.
+     *
+     * @param document Definicja API w postaci obiektowej
+     * @param checks Stan bieżącego wywołania walidacji
+     */
+    void validate(Map<String, ?> document, Checks checks);
+
+    /**
+     * Operacje, które wygenerowany kod wykonuje na stanie walidacji - zgłaszanie błędów,
+     * śledzenie ścieżki oraz walidacja prymitywów wspólna z walidacją interpretowaną.
+     */
+    interface Checks {
+
+        /**
+         * @return Czy walidacja powinna zostać przerwana, z powodu wyczerpania limitu błędów.
+         */
+        boolean isFinished();
+
+        void countNode();
+
+        void enter(String key);
+
+        void leave();
+
+        void requiredFieldMissing(String field);
+
+        void excessiveField(String field);
+
+        void nullValue(String key, String typeName);
+
+        void badType(String key, String typeName, Object value);
+
+        boolean isBoolean(String value);
+
+        boolean matches(String value, SpecificationPattern pattern, String typeName);
+
+        void noMatch(String key, String regex, String value);
+
+        void validateType(String key, String value, String typeName);
+    }
+}
@@ -0,0 +1,208 @@
+package pl.jenczalik.validator.util.codegen;
+
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Kompilator kodu źródłowego Java do klas ładowanych w pamięci.
+ * <p>
+ * Ścieżka klas kompilatora zawiera jedynie klasy platformy oraz typy, od których zależy
+ * wygenerowany kod - odczytywane jako zasoby class loadera aplikacji, więc kompilacja działa
+ * również wtedy, gdy aplikacja uruchomiona jest z wykonywalnego archiwum. Każda kompilacja
+ * ładowana jest własnym class loaderem, dzięki czemu klasy nieużywanych wersji specyfikacji
+ * mogą zostać usunięte z pamięci.
+ */
+class InMemoryCompiler {
+
+    /**
+     * Typy aplikacji dostępne dla kompilowanego kodu.
+     */
+    private static final List<Class<?>> API = List.of(GeneratedValidator.class, GeneratedValidator.Checks.class, SpecificationPattern.class);
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    private final ClassLoader classLoader = InMemoryCompiler.class.getClassLoader();
+
+    /**
+     * @return Czy kompilator jest dostępny - nie jest, gdy aplikacja działa na środowisku uruchomieniowym bez modułu jdk.compiler.
+     */
+    boolean isAvailable() {
+        return compiler != null;
+    }
+
+    /**
+     * @param className Pełna nazwa kompilowanej klasy
+     * @param source Kod źródłowy klasy
+     * @return Skompilowana klasa
+     * @throws IllegalStateException Wyjątek rzucany, gdy kompilator nie jest dostępny lub kompilacja się nie powiodła.
+     */
+    Class<?> compile(String className, String source) {
+        if (compiler == null) {
+            throw new IllegalStateException("Java compiler is not available in this runtime.");
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> classes = new HashMap<>();
+
+        try (StandardJavaFileManager standardManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            standardManager.setLocation(StandardLocation.CLASS_PATH, List.of());
+            JavaFileManager fileManager = new MemoryFileManager(standardManager, classes);
+
+            JavaFileObject sourceFile = new SourceFile(className, source);
+            boolean compiled = compiler.getTask(null, fileManager, diagnostics, List.of("-proc:none", "-Xlint:none"), null, List.of(sourceFile)).call();
+            if (!compiled) {
+                throw new IllegalStateException("Compilation of " + className + " failed: " + describe(diagnostics));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Compilation of " + className + " failed.", e);
+        }
+
+        try {
+            return new MemoryClassLoader(classLoader, classes).loadClass(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Compiled class " + className + " could not be loaded.", e);
+        }
+    }
+
+    private static String describe(DiagnosticCollector<JavaFileObject> diagnostics) {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> "line " + diagnostic.getLineNumber() + ": " + diagnostic.getMessage(null))
+                .collect(Collectors.joining("; "));
+    }
+
+    private static URI uri(String name, JavaFileObject.Kind kind) {
+        return URI.create("memory:///" + name.replace('.', '/') + kind.extension);
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceFile(String className, String source) {
+            super(uri(className, Kind.SOURCE), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * Plik klasy aplikacji, od której zależy kompilowany kod, odczytywany z zasobów class loadera.
+     */
+    private class ApiClassFile extends SimpleJavaFileObject {
+        private final String binaryName;
+
+        private ApiClassFile(Class<?> type) {
+            super(uri(type.getName(), Kind.CLASS), Kind.CLASS);
+            this.binaryName = type.getName();
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException {
+            InputStream input = classLoader.getResourceAsStream(binaryName.replace('.', '/') + Kind.CLASS.extension);
+            if (input == null) {
+                throw new IOException("Class file of " + binaryName + " not found.");
+            }
+            return input;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream content;
+
+        private ClassFile(String className, ByteArrayOutputStream content) {
+            super(uri(className, Kind.CLASS), Kind.CLASS);
+            this.content = content;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return content;
+        }
+    }
+
+    private class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> classes;
+
+        private MemoryFileManager(StandardJavaFileManager fileManager, Map<String, ByteArrayOutputStream> classes) {
+            super(fileManager);
+            this.classes = classes;
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds,
+                                             boolean recurse) throws IOException {
+            if (location != StandardLocation.CLASS_PATH || !kinds.contains(JavaFileObject.Kind.CLASS)) {
+                return super.list(location, packageName, kinds, recurse);
+            }
+
+            List<JavaFileObject> files = new ArrayList<>();
+            for (Class<?> type : API) {
+                if (type.getPackageName().equals(packageName)) {
+                    files.add(new ApiClassFile(type));
+                }
+            }
+            return files;
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            if (file instanceof ApiClassFile) {
+                return ((ApiClassFile) file).binaryName;
+            }
+            return super.inferBinaryName(location, file);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            classes.put(className, content);
+            return new ClassFile(className, content);
+        }
+    }
+
+    private static class MemoryClassLoader extends ClassLoader {
+        private final Map<String, ByteArrayOutputStream> classes;
+
+        private MemoryClassLoader(ClassLoader parent, Map<String, ByteArrayOutputStream> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            ByteArrayOutputStream content = classes.get(name);
+            if (content == null) {
+                throw new ClassNotFoundException(name);
+            }
+            byte[] bytes = content.toByteArray();
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package pl.jenczalik.validator.util.codegen;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Klasa generująca walidatory dla skompilowanych specyfikacji.
+ * <p>
+ * Walidator generowany jest w tle, przy pierwszym użyciu danej specyfikacji - do tego czasu, a także
+ * gdy wygenerowanie walidatora się nie powiedzie, np. z powodu braku kompilatora w środowisku
+ * uruchomieniowym, specyfikacja walidowana jest w sposób interpretowany. Walidator przechowywany jest
+ * tak długo, jak specyfikacja jest w użyciu - po przeładowaniu specyfikacji walidator jej poprzedniej
+ * wersji może zostać usunięty z pamięci wraz ze swoją klasą.
+ *
+ * @see ValidatorSourceGenerator
+ */
+@Component
+public class ValidatorGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(ValidatorGenerator.class);
+
+    private final boolean enabled;
+    private final ValidatorSourceGenerator sourceGenerator = new ValidatorSourceGenerator();
+    private final InMemoryCompiler compiler = new InMemoryCompiler();
+    private final LoadingCache<CompiledSpecification, CompletableFuture<Optional<GeneratedValidator>>> validators;
+
+    public ValidatorGenerator(Config config) {
+        this.enabled = config.getValidatorMode() == ValidatorMode.GENERATED;
+        this.validators = Caffeine.newBuilder()
+                .weakKeys()
+                .build(specification -> CompletableFuture.supplyAsync(() -> tryGenerate(specification)));
+    }
+
+    /**
+     * Metoda nie czeka na wygenerowanie walidatora - rozpoczyna je, jeśli walidator nie był jeszcze generowany.
+     *
+     * @param specification Skompilowana specyfikacja
+     * @return Walidator wygenerowany dla specyfikacji, lub pusty, gdy walidacja ma być interpretowana.
+     */
+    public Optional<GeneratedValidator> get(CompiledSpecification specification) {
+        return prepare(specification).getNow(Optional.empty());
+    }
+
+    /**
+     * Metoda rozpoczynająca generowanie walidatora dla specyfikacji, jeśli nie był jeszcze generowany.
+     *
+     * @param specification Skompilowana specyfikacja
+     * @return Walidator, dostępny po jego wygenerowaniu - pusty, gdy walidacja ma być interpretowana.
+     */
+    public CompletableFuture<Optional<GeneratedValidator>> prepare(CompiledSpecification specification) {
+        return enabled ? validators.get(specification) : CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    /**
+     * @param specification Skompilowana specyfikacja
+     * @return Kod źródłowy walidatora dla specyfikacji
+     */
+    public String generateSource(CompiledSpecification specification) {
+        return sourceGenerator.generate(specification).getSource();
+    }
+
+    /**
+     * Metoda generująca i kompilująca walidator dla specyfikacji.
+     *
+     * @param specification Skompilowana specyfikacja
+     * @return Walidator
+     * @throws IllegalStateException Wyjątek rzucany, gdy kompilator nie jest dostępny lub kompilacja się nie powiodła.
+     */
+    public GeneratedValidator generate(CompiledSpecification specification) {
+        ValidatorSourceGenerator.GeneratedSource source = sourceGenerator.generate(specification);
+        Class<?> validatorClass = compiler.compile(source.getClassName(), source.getSource());
+
+        try {
+            return (GeneratedValidator) validatorClass.getConstructor(SpecificationPattern[].class)
+                    .newInstance((Object) source.getPatterns());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Generated validator could not be instantiated.", e);
+        }
+    }
+
+    private Optional<GeneratedValidator> tryGenerate(CompiledSpecification specification) {
+        if (!compiler.isAvailable()) {
+            logger.warn(String.format("Java compiler is not available, specification %s will be validated without a generated validator",
+                    specification.getVersion()));
+            return Optional.empty();
+        }
+
+        try {
+            long start = System.nanoTime();
+            GeneratedValidator validator = generate(specification);
+            logger.info(String.format("Validator for specification %s generated in %d ms",
+                    specification.getVersion(), (System.nanoTime() - start) / 1_000_000));
+            return Optional.of(validator);
+        } catch (RuntimeException e) {
+            logger.warn(String.format("Validator for specification %s could not be generated", specification.getVersion()), e);
+            return Optional.empty();
+        }
+    }
+}
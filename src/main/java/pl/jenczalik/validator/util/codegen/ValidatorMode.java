@@ -0,0 +1,18 @@
+package pl.jenczalik.validator.util.codegen;
+
+/**
+ * Sposoby walidacji definicji API w postaci obiektowej.
+ */
+public enum ValidatorMode {
+    /**
+     * Przechodzenie po drzewie skompilowanej specyfikacji - sposób domyślny.
+     */
+    INTERPRETED,
+
+    /**
+     * Walidator wygenerowany dla specyfikacji w postaci klasy Java. Dopóki walidator nie został
+     * wygenerowany, gdy jego wygenerowanie nie jest możliwe, lub gdy włączona jest walidacja
+     * równoległa, używana jest walidacja interpretowana.
+     */
+    GENERATED
+}
@@ -0,0 +1,325 @@
+package pl.jenczalik.validator.util.codegen;
+
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.model.specification.NodeType;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generator kodu źródłowego walidatora dla skompilowanej specyfikacji.
+ * <p>
+ * Dla każdego węzła specyfikacji generowana jest metoda sprawdzająca typ wartości, a dla obiektów
+ * i tablic - metoda walidująca ich pola. Wymagane pola sprawdzane są kolejno, pola dozwolone
+ * i przejście do węzłów-dzieci rozpoznawane są instrukcją switch na kluczu, a typ każdego węzła
+ * znany jest w chwili generowania - wygenerowany kod nie zawiera wyszukiwania w mapach
+ * węzłów ani rozgałęzień na typie węzła.
+ * <p>
+ * Kolejność sprawdzeń i zgłaszanych błędów jest taka sama, jak w walidacji interpretowanej.
+ */
+class ValidatorSourceGenerator {
+    static final String PACKAGE = "pl.jenczalik.validator.generated";
+    static final String CLASS_NAME = "SpecificationValidator";
+
+    private static final String INDENT = "    ";
+
+    /**
+     * Wygenerowany kod źródłowy wraz z wyrażeniami regularnymi, które przyjmuje konstruktor klasy.
+     */
+    static class GeneratedSource {
+        private final String source;
+        private final List<SpecificationPattern> patterns;
+
+        private GeneratedSource(String source, List<SpecificationPattern> patterns) {
+            this.source = source;
+            this.patterns = patterns;
+        }
+
+        String getClassName() {
+            return PACKAGE + "." + CLASS_NAME;
+        }
+
+        String getSource() {
+            return source;
+        }
+
+        SpecificationPattern[] getPatterns() {
+            return patterns.toArray(new SpecificationPattern[0]);
+        }
+    }
+
+    /**
+     * @param specification Skompilowana specyfikacja
+     * @return Kod źródłowy klasy implementującej {@link GeneratedValidator}, z konstruktorem
+     * przyjmującym tablicę wyrażeń regularnych
+     */
+    GeneratedSource generate(CompiledSpecification specification) {
+        return new Generation().generate(specification);
+    }
+
+    /**
+     * Stan pojedynczego generowania - kolejne numery metod i zebrane wyrażenia regularne.
+     */
+    private static class Generation {
+        private final StringBuilder methods = new StringBuilder();
+        private final List<SpecificationPattern> patterns = new ArrayList<>();
+        private int nodeCount;
+
+        private GeneratedSource generate(CompiledSpecification specification) {
+            int root = containerMethod(specification.getRoot(), "");
+
+            StringBuilder source = new StringBuilder()
+                    .append("package ").append(PACKAGE).append(";\n\n")
+                    .append("import java.util.Map;\n")
+                    .append("import ").append(GeneratedValidator.class.getName()).append(";\n")
+                    .append("import ").append(SpecificationPattern.class.getName()).append(";\n\n")
+                    .append("/**\n * Walidator specyfikacji w wersji ").append(specification.getVersion()).append(".\n */\n")
+                    .append("@SuppressWarnings(\"unchecked\")\n")
+                    .append("public final class ").append(CLASS_NAME).append(" implements GeneratedValidator {\n");
+            for (int i = 0; i < patterns.size(); i++) {
+                source.append(INDENT).append("private final SpecificationPattern pattern").append(i).append(";\n");
+            }
+            source.append('\n').append(INDENT).append("public ").append(CLASS_NAME).append("(SpecificationPattern[] patterns) {\n");
+            for (int i = 0; i < patterns.size(); i++) {
+                source.append(INDENT).append(INDENT).append("pattern").append(i).append(" = patterns[").append(i).append("];\n");
+            }
+            source.append(INDENT).append("}\n\n")
+                    .append(INDENT).append("@Override\n")
+                    .append(INDENT).append("public void validate(Map<String, ?> document, Checks checks) {\n")
+                    .append(INDENT).append(INDENT).append("container").append(root).append("(document, checks);\n")
+                    .append(INDENT).append("}\n")
+                    .append(methods)
+                    .append("}\n");
+            return new GeneratedSource(source.toString(), patterns);
+        }
+
+        /**
+         * Metoda generująca walidację pól obiektu lub elementów tablicy.
+         *
+         * @return Numer wygenerowanej metody
+         */
+        private int containerMethod(SpecificationNode node, String path) {
+            int id = nodeCount++;
+            List<String> children = new ArrayList<>();
+            List<Integer> childIds = new ArrayList<>();
+            SpecificationNode element = node.getType() == NodeType.ARRAY ? node.getElement() : null;
+            int elementId = element == null ? -1 : valueMethod(element, path + "/" + element.getName());
+            if (node.getType() == NodeType.OBJECT) {
+                for (SpecificationNode child : node.getChildren().values()) {
+                    children.add(child.getName());
+                    childIds.add(valueMethod(child, path + "/" + child.getName()));
+                }
+            }
+
+            StringBuilder method = new StringBuilder();
+            line(method, 0, "");
+            line(method, 0, "// " + comment(path.isEmpty() ? "/" : path));
+            line(method, 0, "private void container" + id + "(Map<String, ?> value, Checks checks) {");
+
+            if (node.getType() == NodeType.OBJECT) {
+                for (String required : node.getRequiredFields()) {
+                    line(method, 1, "if (!value.containsKey(" + literal(required) + ")) {");
+                    line(method, 2, "checks.requiredFieldMissing(" + literal(required) + ");");
+                    line(method, 1, "}");
+                }
+                line(method, 1, "for (String key : value.keySet()) {");
+                line(method, 2, "if (!allowed" + id + "(key)) {");
+                line(method, 3, "checks.excessiveField(key);");
+                line(method, 2, "}");
+                line(method, 1, "}");
+            }
+
+            line(method, 1, "for (String key : value.keySet()) {");
+            line(method, 2, "if (checks.isFinished()) {");
+            line(method, 3, "return;");
+            line(method, 2, "}");
+            line(method, 2, "checks.countNode();");
+            if (node.getType() == NodeType.OBJECT) {
+                objectField(method, children, childIds, node);
+            } else {
+                arrayElement(method, element, elementId);
+            }
+            line(method, 1, "}");
+            line(method, 0, "}");
+
+            if (node.getType() == NodeType.OBJECT) {
+                line(method, 0, "");
+                line(method, 0, "private static boolean allowed" + id + "(String key) {");
+                line(method, 1, "if (key == null) {");
+                line(method, 2, "return false;");
+                line(method, 1, "}");
+                line(method, 1, "switch (key) {");
+                for (String child : children) {
+                    line(method, 2, "case " + literal(child) + ":");
+                }
+                if (!children.isEmpty()) {
+                    line(method, 3, "return true;");
+                }
+                line(method, 2, "default:");
+                line(method, 3, "return false;");
+                line(method, 1, "}");
+                line(method, 0, "}");
+            }
+
+            methods.append(method);
+            return id;
+        }
+
+        private void objectField(StringBuilder method, List<String> children, List<Integer> childIds, SpecificationNode node) {
+            if (children.isEmpty()) {
+                return;
+            }
+            line(method, 2, "if (key == null) {");
+            line(method, 3, "continue;");
+            line(method, 2, "}");
+            line(method, 2, "switch (key) {");
+            for (int i = 0; i < children.size(); i++) {
+                SpecificationNode child = node.getChild(children.get(i));
+                line(method, 3, "case " + literal(children.get(i)) + ": {");
+                line(method, 4, "Object child = value.get(key);");
+                line(method, 4, "if (child == null) {");
+                line(method, 5, "checks.nullValue(key, " + literal(child.getTypeName()) + ");");
+                line(method, 4, "} else {");
+                line(method, 5, "value" + childIds.get(i) + "(key, child, checks);");
+                line(method, 4, "}");
+                line(method, 4, "break;");
+                line(method, 3, "}");
+            }
+            line(method, 2, "}");
+        }
+
+        private void arrayElement(StringBuilder method, SpecificationNode element, int elementId) {
+            line(method, 2, "Object child = value.get(key);");
+            if (element == null) {
+                line(method, 2, "throw new NullPointerException(\"Array specification has no element node\");");
+                return;
+            }
+            line(method, 2, "if (child == null) {");
+            line(method, 3, "checks.nullValue(key, " + literal(element.getTypeName()) + ");");
+            line(method, 3, "continue;");
+            line(method, 2, "}");
+            if (element.getNameRegex() != null) {
+                String pattern = pattern(element.getNameRegex());
+                line(method, 2, "if (!checks.matches(key, " + pattern + ", " + literal(element.getTypeName()) + ")) {");
+                line(method, 3, "checks.noMatch(key, " + literal(element.getNameRegex().pattern()) + ", key);");
+                line(method, 2, "}");
+            }
+            line(method, 2, "value" + elementId + "(key, child, checks);");
+        }
+
+        /**
+         * Metoda generująca walidację typu i wartości pola opisanego węzłem.
+         *
+         * @return Numer wygenerowanej metody
+         */
+        private int valueMethod(SpecificationNode node, String path) {
+            int container = node.getType().isContainer() ? containerMethod(node, path) : -1;
+            int id = nodeCount++;
+            String typeName = literal(node.getTypeName());
+
+            StringBuilder method = new StringBuilder();
+            line(method, 0, "");
+            line(method, 0, "// " + comment(path) + ": " + comment(node.getTypeName()));
+            line(method, 0, "private void value" + id + "(String key, Object value, Checks checks) {");
+
+            switch (node.getType()) {
+                case OBJECT:
+                case ARRAY:
+                    badType(method, "!(value instanceof Map)", typeName);
+                    line(method, 1, "checks.enter(key);");
+                    line(method, 1, "container" + container + "((Map<String, ?>) value, checks);");
+                    line(method, 1, "checks.leave();");
+                    break;
+
+                case BOOLEAN:
+                    badType(method, "!checks.isBoolean(value.toString())", typeName);
+                    break;
+
+                case STRING:
+                    badType(method, "!(value instanceof String)", typeName);
+                    if (node.getValueRegex() != null) {
+                        line(method, 1, "if (!checks.matches((String) value, " + pattern(node.getValueRegex()) + ", " + typeName + ")) {");
+                        line(method, 2, "checks.noMatch(key, " + literal(node.getValueRegex().pattern()) + ", (String) value);");
+                        line(method, 1, "}");
+                    }
+                    break;
+
+                default:
+                    badType(method, "!(value instanceof String)", typeName);
+                    if (node.getPrimitiveType() != null) {
+                        line(method, 1, "checks.validateType(key, (String) value, " + typeName + ");");
+                    }
+                    break;
+            }
+            line(method, 0, "}");
+
+            methods.append(method);
+            return id;
+        }
+
+        private void badType(StringBuilder method, String condition, String typeName) {
+            line(method, 1, "if (" + condition + ") {");
+            line(method, 2, "checks.badType(key, " + typeName + ", value);");
+            line(method, 2, "return;");
+            line(method, 1, "}");
+        }
+
+        private String pattern(SpecificationPattern pattern) {
+            patterns.add(pattern);
+            return "pattern" + (patterns.size() - 1);
+        }
+
+        private static void line(StringBuilder method, int indent, String line) {
+            if (!line.isEmpty()) {
+                method.append(INDENT.repeat(indent + 1)).append(line);
+            }
+            method.append('\n');
+        }
+
+        /**
+         * Znaki sterujące zapisywane są jako sekwencje ósemkowe, a nie jako sekwencje Unicode, które
+         * zamieniane są na znaki przed analizą składni - np. znak nowej linii zakończyłby literał.
+         *
+         * @return Wartość w postaci literału Java, lub null
+         */
+        private static String literal(String value) {
+            if (value == null) {
+                return "null";
+            }
+
+            StringBuilder literal = new StringBuilder("\"");
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    literal.append('\\').append(c);
+                } else if (c < 0x20 || c == 0x7f) {
+                    literal.append(String.format("\\%03o", (int) c));
+                } else if (c > 0x7f) {
+                    literal.append(String.format("\\u%04x", (int) c));
+                } else {
+                    literal.append(c);
+                }
+            }
+            return literal.append('"').toString();
+        }
+
+        /**
+         * @return Wartość do umieszczenia w komentarzu - znaki spoza ASCII, sterujące i ukośnik wsteczny,
+         * który mógłby rozpocząć sekwencję Unicode, zastępowane są znakiem "?"
+         */
+        private static String comment(String value) {
+            if (value == null) {
+                return "null";
+            }
+
+            StringBuilder comment = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                comment.append(c < 0x20 || c > 0x7e || c == '\\' ? '?' : c);
+            }
+            return comment.toString();
+        }
+    }
+}
@@ -2,8 +2,11 @@ package pl.jenczalik.validator.util.error;
 
 import org.springframework.stereotype.Component;
 import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationError;
 import pl.jenczalik.validator.model.ValidationResult;
 
+import java.util.List;
+
 /**
  * Klasa służąca do obsługi błędów wykrywanych w trakcie walidacji.
  */
@@ -13,4 +16,35 @@ public class ValidationErrorHandler {
         String parentInfo = String.format("Validation error at object: %s. ", parent);
         return new ValidationResult(ValidationCode.EXCEPTION, parentInfo + e.getMessage());
     }
+
+    /**
+     * Metoda budująca wynik walidacji w trybie domyślnym na podstawie pierwszego błędu,
+     * w tym samym formacie co {@link ValidationErrorHandler#handleException(Exception, String)}.
+     *
+     * @param error Pierwszy wykryty błąd
+     * @return Wynik walidacji
+     */
+    public ValidationResult handleError(ValidationError error) {
+        String parentInfo = String.format("Validation error at object: %s. ", error.getPath());
+        return new ValidationResult(ValidationCode.EXCEPTION, parentInfo + error.getMessage());
+    }
+
+    /**
+     * Metoda budująca wynik walidacji w trybie zbierania błędów.
+     *
+     * @param errors Zebrane błędy
+     * @param budgetExhausted Czy walidacja została przerwana z powodu wyczerpania limitu błędów
+     * @return Wynik walidacji
+     */
+    public ValidationResult handleErrors(List<ValidationError> errors, boolean budgetExhausted) {
+        if (errors.isEmpty()) {
+            return ValidationResult.ok();
+        }
+
+        String message = String.format("Found %d validation errors.", errors.size());
+        if (budgetExhausted) {
+            message += " Error budget exhausted, validation stopped early.";
+        }
+        return new ValidationResult(ValidationCode.EXCEPTION, message, errors);
+    }
 }
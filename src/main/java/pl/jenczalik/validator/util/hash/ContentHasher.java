@@ -0,0 +1,52 @@
+package pl.jenczalik.validator.util.hash;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Klasa wyliczająca skróty treści, służące do adresowania wyników walidacji.
+ * <p>
+ * Używany jest SHA-256 - skrót wskazuje wynik walidacji, który może zostać zwrócony
+ * bez ponownego przesłania dokumentu, więc kolizje muszą być praktycznie niemożliwe.
+ */
+@Component
+public class ContentHasher {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Metoda wyliczająca skrót z kolejnych fragmentów treści.
+     *
+     * @param parts Fragmenty treści
+     * @return Skrót w postaci szesnastkowej
+     */
+    public String hash(String... parts) {
+        MessageDigest digest = newDigest();
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,41 @@
+package pl.jenczalik.validator.util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Zdarzenie walidacji całej definicji API, łącznie z jej parsowaniem - w walidacji strumieniowej
+ * oba etapy wykonywane są jednocześnie, więc czas parsowania definicji w postaci obiektowej
+ * opisuje osobne zdarzenie {@link ParseEvent}.
+ */
+@Name("pl.jenczalik.validator.DocumentValidation")
+@Label("Document Validation")
+@Description("Validation of a whole API definition against the specification")
+public class DocumentValidationEvent extends ValidationEvent {
+    @Label("Mode")
+    @Description("tree or stream")
+    private String mode;
+
+    @Label("Specification Version")
+    private String specification;
+
+    @Label("Visited Nodes")
+    private int nodes;
+
+    @Label("Errors")
+    private int errors;
+
+    /**
+     * @param mode Sposób walidacji - tree lub stream
+     * @param specification Wersja specyfikacji
+     * @param nodes Liczba odwiedzonych pól definicji
+     * @param errors Liczba zebranych błędów - w trybie domyślnym 0 lub 1
+     */
+    public void setOutcome(String mode, String specification, int nodes, int errors) {
+        this.mode = mode;
+        this.specification = specification;
+        this.nodes = nodes;
+        this.errors = errors;
+    }
+}
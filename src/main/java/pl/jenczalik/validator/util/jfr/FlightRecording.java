@@ -0,0 +1,79 @@
+package pl.jenczalik.validator.util.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.config.Config;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Klasa rozpoczynająca nagrywanie Java Flight Recorder ze zdarzeniami walidacji, gdy włącza je
+ * {@link Config#isFlightRecording()}.
+ * <p>
+ * Nagrywanie używa ustawień "default" JDK, uzupełnionych o ustawienia zdarzeń walidacji z dołączonego
+ * pliku jfr/validator.jfc. Nagranie zapisywane jest do pliku przy zatrzymaniu aplikacji - w trakcie
+ * działania można je zrzucić poleceniem jcmd JFR.dump name=validator.
+ */
+@Component
+@Lazy(false)
+public class FlightRecording {
+    public static final String NAME = "validator";
+    public static final String SETTINGS = "/jfr/validator.jfc";
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecording.class);
+
+    private final Recording recording;
+
+    public FlightRecording(Config config) throws IOException, ParseException {
+        if (!config.isFlightRecording()) {
+            this.recording = null;
+            return;
+        }
+
+        this.recording = new Recording(settings());
+        this.recording.setName(NAME);
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(config.getFlightRecordingMaxAge());
+        this.recording.setDumpOnExit(true);
+        this.recording.setDestination(Paths.get(config.getFlightRecordingFile()));
+        this.recording.start();
+        logger.info(String.format("Started flight recording to %s", config.getFlightRecordingFile()));
+    }
+
+    /**
+     * @return Ustawienia "default" JDK połączone z ustawieniami zdarzeń walidacji
+     */
+    public static Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStream stream = FlightRecording.class.getResourceAsStream(SETTINGS)) {
+            if (stream == null) {
+                throw new IOException(String.format("Flight recorder settings %s not found", SETTINGS));
+            }
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+        }
+        return settings;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+        }
+    }
+}
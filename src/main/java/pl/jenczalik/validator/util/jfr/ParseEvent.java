@@ -0,0 +1,20 @@
+package pl.jenczalik.validator.util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Zdarzenie parsowania definicji API do postaci obiektowej.
+ */
+@Name("pl.jenczalik.validator.Parse")
+@Label("Definition Parse")
+@Description("Parsing of an API definition into an object tree")
+public class ParseEvent extends ValidationEvent {
+    @Label("Format")
+    private String format;
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+}
@@ -0,0 +1,28 @@
+package pl.jenczalik.validator.util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Zdarzenie dopasowania wartości lub nazwy pola do wyrażenia regularnego ze specyfikacji.
+ */
+@Name("pl.jenczalik.validator.RegexEvaluation")
+@Label("Regex Evaluation")
+@Description("Matching of a value or field name against a specification pattern")
+public class RegexEvent extends ValidationEvent {
+    @Label("Pattern")
+    private String pattern;
+
+    @Label("Input Length")
+    private int inputLength;
+
+    @Label("Matched")
+    private boolean matched;
+
+    public void setOutcome(String pattern, int inputLength, boolean matched) {
+        this.pattern = pattern;
+        this.inputLength = inputLength;
+        this.matched = matched;
+    }
+}
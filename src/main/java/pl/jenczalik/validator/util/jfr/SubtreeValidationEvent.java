@@ -0,0 +1,24 @@
+package pl.jenczalik.validator.util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Zdarzenie walidacji obiektu lub tablicy wraz z całym poddrzewem. Zapisywane są jedynie poddrzewa,
+ * których walidacja trwała dłużej niż próg - również zagnieżdżone, więc wolne miejsce definicji
+ * widoczne jest jako ciąg zdarzeń o coraz dłuższych ścieżkach.
+ */
+@Name("pl.jenczalik.validator.SubtreeValidation")
+@Label("Subtree Validation")
+@Description("Validation of an object or array subtree that took longer than the threshold")
+@Threshold("20 ms")
+public class SubtreeValidationEvent extends ValidationEvent {
+    @Label("Visited Nodes")
+    private int nodes;
+
+    public void setNodes(int nodes) {
+        this.nodes = nodes;
+    }
+}
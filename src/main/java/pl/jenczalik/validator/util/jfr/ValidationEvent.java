@@ -0,0 +1,48 @@
+package pl.jenczalik.validator.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Wspólne pola zdarzeń Java Flight Recorder zapisywanych w trakcie walidacji.
+ * <p>
+ * Zdarzenia są domyślnie wyłączone - włącza je nagrywanie z ustawieniami validator.jfc
+ * (zob. {@link FlightRecording}). Zdarzenie tworzone jest przed mierzonym fragmentem, a jego pola
+ * wypełniane dopiero, gdy {@link Event#shouldCommit()} potwierdzi, że zostanie zapisane - przy
+ * wyłączonym zdarzeniu nie jest budowana ścieżka ani żadna inna wartość.
+ * <p>
+ * Pola są chronione, a nie prywatne - JFR pomija prywatne pola klas nadrzędnych zdarzenia.
+ */
+@Category({"Coapi", "Validator"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class ValidationEvent extends Event {
+    @Label("Path")
+    protected String path;
+
+    @Label("Node Type")
+    protected String nodeType;
+
+    /**
+     * Rozmiar definicji - liczba znaków, lub bajtów odczytanych ze strumienia. W trakcie walidacji
+     * strumieniowej rozmiar nie jest jeszcze znany, więc zdarzenia poddrzew i wyrażeń mają wartość 0.
+     */
+    @Label("Document Size")
+    @DataAmount
+    protected long documentSize;
+
+    /**
+     * @param path Ścieżka do miejsca w definicji, którego dotyczy zdarzenie
+     * @param nodeType Nazwa typu węzła specyfikacji opisującego to miejsce
+     * @param documentSize Rozmiar definicji
+     */
+    public void setLocation(String path, String nodeType, long documentSize) {
+        this.path = path;
+        this.nodeType = nodeType;
+        this.documentSize = documentSize;
+    }
+}
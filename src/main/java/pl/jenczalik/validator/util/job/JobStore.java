@@ -0,0 +1,188 @@
+package pl.jenczalik.validator.util.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.model.JobStatus;
+import pl.jenczalik.validator.model.ValidationJob;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Magazyn zadań walidacji na dysku lokalnym - każde zadanie zapisywane jest w osobnym pliku JSON,
+ * nazwanym jego identyfikatorem.
+ * <p>
+ * Plik zapisywany jest w całości pod nazwą tymczasową i przenoszony w miejsce docelowe, więc
+ * przerwanie zapisu nie pozostawia niekompletnego zadania. Zadania starsze niż
+ * {@link Config#getJobResultTtl()}, liczony od ostatniego zapisu, traktowane są jako nieistniejące
+ * i usuwane przez {@link #purgeExpired()}. Wyniki nie są przechowywane w pamięci, więc jej zużycie
+ * nie zależy od liczby przechowywanych wyników.
+ */
+@Component
+public class JobStore {
+    private static final Logger logger = LoggerFactory.getLogger(JobStore.class);
+
+    private static final String EXTENSION = ".json";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+    private final long ttlMillis;
+
+    @Autowired
+    public JobStore(Config config) throws IOException {
+        this(Paths.get(config.getJobDirectory()), config.getJobResultTtl());
+    }
+
+    public JobStore(Path directory, Duration ttl) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Metoda zapisująca zadanie - zastępuje poprzedni stan zadania o tym samym identyfikatorze.
+     *
+     * @param job Zadanie walidacji
+     * @throws UncheckedIOException Wyjątek rzucany, gdy zadanie nie może zostać zapisane.
+     */
+    public void save(ValidationJob job) {
+        Path file = file(job.getJobId());
+        Path temporary = directory.resolve(job.getJobId() + TEMPORARY_EXTENSION);
+        try {
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                objectMapper.writeValue(output, job);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not save job %s", job.getJobId()), e);
+        }
+    }
+
+    /**
+     * @param jobId Identyfikator zadania
+     * @return Zadanie, lub pusty gdy zadanie nie istnieje, jego czas przechowywania upłynął,
+     * albo identyfikator nie jest poprawnym UUID.
+     */
+    public Optional<ValidationJob> load(String jobId) {
+        if (!isValidId(jobId)) {
+            return Optional.empty();
+        }
+        return read(file(jobId));
+    }
+
+    /**
+     * @param jobId Identyfikator zadania
+     */
+    public void delete(String jobId) {
+        try {
+            Files.deleteIfExists(file(jobId));
+        } catch (IOException e) {
+            logger.warn(String.format("Could not delete job %s", jobId), e);
+        }
+    }
+
+    /**
+     * Metoda oznaczająca jako nieudane zadania, które nie zostały zakończone - wywoływana przy
+     * uruchomieniu, gdy zadania poprzedniego uruchomienia nie mogą już zostać zakończone.
+     *
+     * @param message Przyczyna niepowodzenia, zapisywana w zadaniach
+     * @return Liczba oznaczonych zadań
+     */
+    public int failUnfinished(String message) {
+        int failed = 0;
+        for (Path file : files()) {
+            Optional<ValidationJob> job = read(file);
+            if (job.isPresent() && !job.get().getStatus().isFinal()) {
+                ValidationJob unfinished = job.get();
+                unfinished.setStatus(JobStatus.FAILED);
+                unfinished.setCompletedAt(System.currentTimeMillis());
+                unfinished.setMessage(message);
+                save(unfinished);
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Metoda usuwająca zadania, których czas przechowywania upłynął, oraz pozostałości
+     * przerwanych zapisów.
+     *
+     * @return Liczba usuniętych plików
+     */
+    public int purgeExpired() {
+        long expiredBefore = System.currentTimeMillis() - ttlMillis;
+        int purged = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                boolean ours = name.endsWith(EXTENSION) || name.endsWith(TEMPORARY_EXTENSION);
+                if (ours && lastModified(file) < expiredBefore && Files.deleteIfExists(file)) {
+                    purged++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn(String.format("Could not purge expired jobs from %s", directory), e);
+        }
+        return purged;
+    }
+
+    private Optional<ValidationJob> read(Path file) {
+        try {
+            if (lastModified(file) < System.currentTimeMillis() - ttlMillis) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(file.toFile(), ValidationJob.class));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.warn(String.format("Could not read job from %s", file), e);
+            return Optional.empty();
+        }
+    }
+
+    private List<Path> files() {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            List<Path> files = new ArrayList<>();
+            stream.forEach(files::add);
+            return files;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not list jobs in %s", directory), e);
+        }
+    }
+
+    private Path file(String jobId) {
+        return directory.resolve(jobId + EXTENSION);
+    }
+
+    private static long lastModified(Path file) throws IOException {
+        return Files.getLastModifiedTime(file).toMillis();
+    }
+
+    /**
+     * Identyfikator jest częścią nazwy pliku, więc akceptowane są jedynie identyfikatory w postaci UUID.
+     */
+    private static boolean isValidId(String jobId) {
+        try {
+            return jobId != null && UUID.fromString(jobId).toString().equals(jobId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package pl.jenczalik.validator.util.memo;
+
+/**
+ * Sposoby zapamiętywania wyników walidacji powtarzających się poddrzew definicji API.
+ */
+public enum MemoizationMode {
+    /**
+     * Każde poddrzewo walidowane jest w całości - sposób domyślny.
+     */
+    OFF,
+
+    /**
+     * Wyniki poddrzew zapamiętywane są na czas walidacji jednej definicji.
+     */
+    REQUEST,
+
+    /**
+     * Wyniki poddrzew zapamiętywane są dodatkowo we wspólnej pamięci podręcznej o ograniczonym
+     * rozmiarze, z której korzystają kolejne żądania.
+     */
+    SHARED
+}
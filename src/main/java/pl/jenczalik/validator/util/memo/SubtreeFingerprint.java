@@ -0,0 +1,54 @@
+package pl.jenczalik.validator.util.memo;
+
+import lombok.Getter;
+
+/**
+ * Skrót struktury poddrzewa definicji API - kluczy, wartości i ich kolejności - wraz z liczbą jego pól.
+ * <p>
+ * Poddrzewa o równych skrótach uznawane są za identyczne. Skrót ma 128 bitów, więc przypadkowa
+ * kolizja jest praktycznie niemożliwa, a ziarno losowane przy starcie aplikacji uniemożliwia
+ * przygotowanie kolizji z wyprzedzeniem.
+ *
+ * @see SubtreeHasher
+ */
+public final class SubtreeFingerprint {
+    private final long high;
+    private final long low;
+
+    /**
+     * Liczba pól poddrzewa - wszystkich kluczy obiektów i elementów tablic, na każdym poziomie.
+     */
+    @Getter
+    private final int nodes;
+
+    SubtreeFingerprint(long high, long low, int nodes) {
+        this.high = high;
+        this.low = low;
+        this.nodes = nodes;
+    }
+
+    long getHigh() {
+        return high;
+    }
+
+    long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SubtreeFingerprint)) {
+            return false;
+        }
+        SubtreeFingerprint other = (SubtreeFingerprint) o;
+        return high == other.high && low == other.low && nodes == other.nodes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high);
+    }
+}
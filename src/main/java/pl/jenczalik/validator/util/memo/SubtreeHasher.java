@@ -0,0 +1,117 @@
+package pl.jenczalik.validator.util.memo;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Klasa wyliczająca skróty struktury poddrzew definicji API w postaci obiektowej.
+ * <p>
+ * Skrót wyliczany jest w jednym przejściu po poddrzewie, dwiema niezależnymi funkcjami mieszającymi
+ * z losowym ziarnem. Skróty poddrzew, które mają co najmniej zadaną liczbę pól, zapisywane są
+ * w przekazanej mapie, więc wyliczenie skrótu całej definicji wylicza przy okazji skróty
+ * wszystkich jej dużych poddrzew - każde pole haszowane jest tylko raz.
+ */
+public class SubtreeHasher {
+    private static final long MAP = 0x4d41500000000001L;
+    private static final long LIST = 0x4c49535400000002L;
+    private static final long NULL = 0x4e554c4c00000003L;
+    private static final long STRING = 0x5354520000000004L;
+    private static final long OTHER = 0x4f54480000000005L;
+    private static final long HIGH_MULTIPLIER = 0x9e3779b97f4a7c15L;
+    private static final long LOW_MULTIPLIER = 0xc2b2ae3d27d4eb4fL;
+
+    private final long highSeed;
+    private final long lowSeed;
+    private final int threshold;
+
+    /**
+     * @param threshold Minimalna liczba pól poddrzewa, którego skrót zapisywany jest w mapie skrótów
+     */
+    public SubtreeHasher(int threshold) {
+        SecureRandom random = new SecureRandom();
+        this.highSeed = random.nextLong();
+        this.lowSeed = random.nextLong();
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param value Poddrzewo definicji - obiekt lub tablica
+     * @param computed Skróty wyliczone wcześniej w tej samej definicji, według tożsamości poddrzewa
+     * @return Skrót poddrzewa
+     */
+    public SubtreeFingerprint fingerprint(Object value, Map<Object, SubtreeFingerprint> computed) {
+        SubtreeFingerprint known = computed.get(value);
+        if (known != null) {
+            return known;
+        }
+
+        Accumulator accumulator = new Accumulator(highSeed, lowSeed);
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            accumulator.add(MAP ^ map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                accumulator.add(entry.getKey(), computed);
+                accumulator.add(entry.getValue(), computed);
+                accumulator.nodes++;
+            }
+        } else {
+            List<?> list = (List<?>) value;
+            accumulator.add(LIST ^ list.size());
+            for (Object element : list) {
+                accumulator.add(element, computed);
+                accumulator.nodes++;
+            }
+        }
+
+        SubtreeFingerprint fingerprint = new SubtreeFingerprint(accumulator.high, accumulator.low, accumulator.nodes);
+        if (fingerprint.getNodes() >= threshold) {
+            computed.put(value, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Stan wyliczania skrótu jednego poddrzewa.
+     */
+    private class Accumulator {
+        private long high;
+        private long low;
+        private int nodes;
+
+        private Accumulator(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        private void add(Object value, Map<Object, SubtreeFingerprint> computed) {
+            if (value == null) {
+                add(NULL);
+            } else if (value instanceof String) {
+                addString(STRING, (String) value);
+            } else if (value instanceof Map || value instanceof List) {
+                SubtreeFingerprint child = fingerprint(value, computed);
+                add(child.getHigh());
+                add(child.getLow());
+                nodes += child.getNodes();
+            } else {
+                // typ skalara wpływa na wynik walidacji, więc jest częścią skrótu
+                addString(OTHER, value.getClass().getName());
+                addString(OTHER, value.toString());
+            }
+        }
+
+        private void addString(long tag, String value) {
+            add(tag ^ value.length());
+            for (int i = 0; i < value.length(); i++) {
+                high = (high ^ value.charAt(i)) * HIGH_MULTIPLIER;
+                low = Long.rotateLeft(low + value.charAt(i), 29) * LOW_MULTIPLIER;
+            }
+        }
+
+        private void add(long value) {
+            high = Long.rotateLeft((high ^ value) * HIGH_MULTIPLIER, 31);
+            low = Long.rotateLeft(low + value * LOW_MULTIPLIER, 27) * HIGH_MULTIPLIER;
+        }
+    }
+}
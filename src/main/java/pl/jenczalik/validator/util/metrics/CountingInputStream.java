@@ -0,0 +1,80 @@
+package pl.jenczalik.validator.util.metrics;
+
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Strumień zliczający przeczytane bajty - używany do pomiaru rozmiaru definicji
+ * walidowanych strumieniowo.
+ * <p>
+ * Strumień z limitem rzuca {@link DocumentLimitExceededException} z chwilą przeczytania
+ * bajtu ponad limit, więc zbyt duża definicja nie jest czytana do końca.
+ */
+public class CountingInputStream extends FilterInputStream {
+    private final long limit;
+    private long count;
+
+    public CountingInputStream(InputStream in) {
+        this(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param in Strumień źródłowy
+     * @param limit Maksymalna liczba bajtów, którą można przeczytać ze strumienia
+     */
+    public CountingInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int result = super.read();
+        if (result != -1) {
+            count(1);
+        }
+        return result;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int result = super.read(buffer, offset, length);
+        if (result > 0) {
+            count(result);
+        }
+        return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Czy przeczytano więcej bajtów, niż pozwala limit
+     */
+    public boolean isLimitExceeded() {
+        return count > limit;
+    }
+
+    private void count(long bytes) throws DocumentLimitExceededException {
+        count += bytes;
+        if (count > limit) {
+            throw new DocumentLimitExceededException("size in bytes", limit);
+        }
+    }
+}
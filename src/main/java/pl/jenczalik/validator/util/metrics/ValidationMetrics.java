@@ -0,0 +1,153 @@
+package pl.jenczalik.validator.util.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Metryki walidacji, publikowane przez Micrometer.
+ * <p><ul>
+ * <li>validator.parse - czas parsowania YAML do postaci obiektowej (histogram)
+ * <li>validator.validate - czas walidacji, z tagiem mode: tree lub stream (histogram)
+ * <li>validator.violations - liczba wykrytych błędów, z tagiem type: nazwa klasy wyjątku
+ * <li>validator.document.size - rozmiar definicji w znakach (tree) lub bajtach (stream) (histogram)
+ * <li>validator.document.nodes - liczba pól definicji odwiedzonych w trakcie walidacji (histogram)
+ * <li>validator.regex - czas dopasowania wyrażenia regularnego, z tagiem pattern
+ * <li>validator.admission.active - liczba walidacji wykonywanych w danej chwili
+ * <li>validator.admission.rejected - liczba żądań odrzuconych z powodu przekroczenia limitu jednoczesnych walidacji
+ * <li>validator.memoization - liczba wyszukań zapamiętanych wyników poddrzew, z tagiem result: hit lub miss
+ * </ul><p>
+ * Liczniki i timery z tagami zależnymi od danych są zapamiętywane, więc ścieżka walidacji
+ * nie przeszukuje rejestru metryk przy każdym wywołaniu.
+ */
+@Component
+public class ValidationMetrics {
+    public static final String PARSE = "validator.parse";
+    public static final String VALIDATE = "validator.validate";
+    public static final String VIOLATIONS = "validator.violations";
+    public static final String DOCUMENT_SIZE = "validator.document.size";
+    public static final String DOCUMENT_NODES = "validator.document.nodes";
+    public static final String REGEX = "validator.regex";
+    public static final String ADMISSION_ACTIVE = "validator.admission.active";
+    public static final String ADMISSION_REJECTED = "validator.admission.rejected";
+    public static final String MEMOIZATION = "validator.memoization";
+
+    public static final String TREE = "tree";
+    public static final String STREAM = "stream";
+
+    private final MeterRegistry registry;
+    private final Timer parseTimer;
+    private final Map<String, Timer> validationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> violationCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> regexTimers = new ConcurrentHashMap<>();
+    private final DistributionSummary documentSize;
+    private final DistributionSummary documentNodes;
+    private final Counter admissionRejected;
+    private final Counter memoizationHits;
+    private final Counter memoizationMisses;
+
+    public ValidationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.parseTimer = Timer.builder(PARSE)
+                .description("Time spent parsing YAML into an object tree")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.documentSize = DistributionSummary.builder(DOCUMENT_SIZE)
+                .description("Size of validated definitions")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.documentNodes = DistributionSummary.builder(DOCUMENT_NODES)
+                .description("Number of fields visited while validating a definition")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.admissionRejected = Counter.builder(ADMISSION_REJECTED)
+                .description("Number of requests rejected because too many validations were in progress")
+                .register(registry);
+        this.memoizationHits = memoizationCounter("hit");
+        this.memoizationMisses = memoizationCounter("miss");
+    }
+
+    private Counter memoizationCounter(String result) {
+        return Counter.builder(MEMOIZATION)
+                .description("Number of lookups of memoized subtree validation results")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public void recordParse(long nanos) {
+        parseTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param mode Sposób walidacji - {@link #TREE} lub {@link #STREAM}
+     * @param nanos Czas walidacji
+     */
+    public void recordValidation(String mode, long nanos) {
+        validationTimers.computeIfAbsent(mode, ignored -> Timer.builder(VALIDATE)
+                .description("Time spent validating a definition against the specification")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param size Rozmiar definicji
+     * @param nodes Liczba odwiedzonych pól definicji
+     */
+    public void recordDocument(long size, int nodes) {
+        documentSize.record(size);
+        documentNodes.record(nodes);
+    }
+
+    /**
+     * @param type Nazwa klasy wyjątku odpowiadającego błędowi
+     */
+    public void recordViolation(String type) {
+        violationCounters.computeIfAbsent(type, ignored -> Counter.builder(VIOLATIONS)
+                .description("Number of detected violations")
+                .tag("type", type)
+                .register(registry))
+                .increment();
+    }
+
+    /**
+     * @param regex Wyrażenie regularne ze specyfikacji
+     * @param nanos Czas dopasowania
+     */
+    public void recordRegex(String regex, long nanos) {
+        regexTimers.computeIfAbsent(regex, pattern -> Timer.builder(REGEX)
+                .description("Time spent matching a specification pattern")
+                .tag("pattern", pattern)
+                .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param active Źródło liczby walidacji wykonywanych w danej chwili
+     */
+    public void registerActiveValidations(Supplier<Number> active) {
+        Gauge.builder(ADMISSION_ACTIVE, active)
+                .description("Number of validations in progress")
+                .register(registry);
+    }
+
+    public void recordRejection() {
+        admissionRejected.increment();
+    }
+
+    /**
+     * @param hit Czy wynik poddrzewa był zapamiętany
+     */
+    public void recordMemoization(boolean hit) {
+        (hit ? memoizationHits : memoizationMisses).increment();
+    }
+}
@@ -0,0 +1,131 @@
+package pl.jenczalik.validator.util.parser;
+
+import lombok.Getter;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+
+/**
+ * Limity złożoności dokumentu, sprawdzane w trakcie parsowania - zanim dokument zostanie
+ * w całości zbudowany w pamięci i zanim rozpocznie się jego walidacja.
+ * <p>
+ * Węzłem jest każdy klucz, skalar, mapa i sekwencja. Głębokość korzenia dokumentu wynosi 1.
+ * Alias liczony jest tak, jakby wskazywane poddrzewo zostało w jego miejscu skopiowane -
+ * dokument zbudowany z zagnieżdżonych aliasów nie omija więc limitu liczby węzłów.
+ */
+@Getter
+public class DocumentLimits {
+    private static final DocumentLimits UNLIMITED =
+            new DocumentLimits(Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final long maxBytes;
+    private final int maxDepth;
+    private final long maxNodes;
+    private final int maxKeyLength;
+
+    public DocumentLimits(long maxBytes, int maxDepth, long maxNodes, int maxKeyLength) {
+        this.maxBytes = maxBytes;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    /**
+     * @return Limity, których nie da się przekroczyć - używane przy odczycie plików specyfikacji.
+     */
+    public static DocumentLimits unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * @param config Konfiguracja aplikacji
+     * @return Limity z konfiguracji - maksymalny rozmiar dokumentu równy jest maksymalnemu rozmiarowi treści żądania.
+     */
+    public static DocumentLimits of(Config config) {
+        return new DocumentLimits(config.getMaxRequestSize().toBytes(), config.getMaxDepth(),
+                config.getMaxNodes(), config.getMaxKeyLength());
+    }
+
+    /**
+     * @param size Rozmiar dokumentu
+     * @throws DocumentLimitExceededException Wyjątek rzucany, gdy dokument jest zbyt duży.
+     */
+    public void checkSize(long size) throws DocumentLimitExceededException {
+        if (size > maxBytes) {
+            throw new DocumentLimitExceededException("size in bytes", maxBytes);
+        }
+    }
+
+    /**
+     * Metoda sprawdzająca rozmiar tekstu dokumentu w bajtach kodowania UTF-8, bez kodowania go.
+     *
+     * @param document Tekst dokumentu
+     * @throws DocumentLimitExceededException Wyjątek rzucany, gdy dokument jest zbyt duży.
+     */
+    public void checkSize(String document) throws DocumentLimitExceededException {
+        // znak zajmuje od 1 do 3 bajtów, więc rozmiar trzeba policzyć jedynie pomiędzy tymi granicami
+        if ((long) document.length() * 3 <= maxBytes) {
+            return;
+        }
+        checkSize(document.length() > maxBytes ? document.length() : utf8Length(document));
+    }
+
+    /**
+     * Każda połowa pary zastępczej liczona jest jako 2 bajty - cała para zajmuje w UTF-8 4 bajty.
+     */
+    private static long utf8Length(String document) {
+        long length = 0;
+        for (int i = 0; i < document.length(); i++) {
+            char c = document.charAt(i);
+            length += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+        }
+        return length;
+    }
+
+    /**
+     * @return Licznik węzłów pojedynczego parsowanego dokumentu
+     */
+    public Counter counter() {
+        return new Counter();
+    }
+
+    /**
+     * Licznik węzłów dokumentu, tworzony dla każdego parsowania.
+     */
+    public class Counter {
+        private long nodes;
+
+        /**
+         * @param depth Głębokość węzła
+         */
+        public void node(int depth) throws DocumentLimitExceededException {
+            nodes(1, depth);
+        }
+
+        /**
+         * @param count Liczba węzłów - większa od 1 dla aliasu wskazującego mapę lub sekwencję
+         * @param deepest Głębokość najgłębszego z węzłów
+         */
+        void nodes(long count, int deepest) throws DocumentLimitExceededException {
+            if (deepest > maxDepth) {
+                throw new DocumentLimitExceededException("depth", maxDepth);
+            }
+            nodes += count;
+            if (nodes > maxNodes) {
+                throw new DocumentLimitExceededException("number of nodes", maxNodes);
+            }
+        }
+
+        /**
+         * @param key Klucz mapy
+         */
+        public void key(Object key) throws DocumentLimitExceededException {
+            if (key instanceof String && ((String) key).length() > maxKeyLength) {
+                throw new DocumentLimitExceededException("key length", maxKeyLength);
+            }
+        }
+
+        long getNodes() {
+            return nodes;
+        }
+    }
+}
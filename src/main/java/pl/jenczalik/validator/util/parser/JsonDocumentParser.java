@@ -0,0 +1,144 @@
+package pl.jenczalik.validator.util.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.util.metrics.CountingInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser dla formatu JSON.
+ * <p>
+ * Dokument odczytywany jest strumieniowym parserem Jacksona i zamieniany na tę samą postać
+ * obiektową, którą zwraca {@link YamlParser} - obiekty jako mapy, tablice jako listy, a liczby
+ * i wartości logiczne jako ich zapis tekstowy - dzięki czemu jest walidowany tak samo jak YAML.
+ * <p>
+ * Limity złożoności dokumentu ({@link DocumentLimits}) sprawdzane są przy każdym tokenie,
+ * tak samo jak dla YAML - klucz pola jest osobnym węzłem.
+ */
+@Component
+public class JsonDocumentParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final DocumentLimits limits;
+
+    public JsonDocumentParser() {
+        this(DocumentLimits.unlimited());
+    }
+
+    public JsonDocumentParser(DocumentLimits limits) {
+        this.limits = limits;
+    }
+
+    @Autowired
+    public JsonDocumentParser(Config config) {
+        this(DocumentLimits.of(config));
+    }
+
+    /**
+     * Metoda służąca do marshallingu zawartości tekstu w formacie JSON do postaci obiektowej.
+     *
+     * @param json Tekst w formacie JSON.
+     * @return Mapa zawierająca strukturę obiektów zawartych w tekście.
+     * @throws IOException Wyjątek rzucany, gdy zawartość dokumentu nie spełnia założeń formatu JSON
+     * lub gdy dokument nie jest obiektem, a także gdy przekracza limity złożoności - rozmiar sprawdzany
+     * jest w bajtach kodowania UTF-8, przed rozpoczęciem parsowania.
+     */
+    public Map<String, Object> parseJsonString(String json) throws IOException {
+        limits.checkSize(json);
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Metoda służąca do marshallingu zawartości strumienia w formacie JSON do postaci obiektowej.
+     *
+     * @param json Strumień z zawartością w formacie JSON.
+     * @return Mapa zawierająca strukturę obiektów zawartych w strumieniu.
+     * @throws IOException Wyjątek rzucany, gdy zawartość dokumentu nie spełnia założeń formatu JSON
+     * lub gdy dokument nie jest obiektem, a także gdy przekracza limity złożoności.
+     */
+    public Map<String, Object> parseJson(InputStream json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(new CountingInputStream(json, limits.getMaxBytes()))) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Metoda budująca strukturę obiektową z kolejnych tokenów parsera, bez rekurencji -
+     * głębokość zagnieżdżenia dokumentu nie jest ograniczona rozmiarem stosu.
+     */
+    private Map<String, Object> read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Document root must be a JSON object.");
+        }
+
+        DocumentLimits.Counter counter = limits.counter();
+        counter.node(1);
+        Map<String, Object> root = new LinkedHashMap<>();
+        Deque<Object> containers = new ArrayDeque<>();
+        containers.push(root);
+        String key = null;
+
+        while (!containers.isEmpty()) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of document.");
+            }
+
+            Object value;
+            switch (token) {
+                case FIELD_NAME:
+                    key = parser.getCurrentName();
+                    counter.node(containers.size() + 1);
+                    counter.key(key);
+                    continue;
+                case END_OBJECT:
+                case END_ARRAY:
+                    containers.pop();
+                    continue;
+                case START_OBJECT:
+                    value = new LinkedHashMap<String, Object>();
+                    break;
+                case START_ARRAY:
+                    value = new ArrayList<>();
+                    break;
+                case VALUE_NULL:
+                    value = null;
+                    break;
+                default:
+                    value = parser.getText();
+                    break;
+            }
+
+            counter.node(containers.size() + 1);
+            Object container = containers.peek();
+            if (container instanceof Map) {
+                ((Map<String, Object>) container).put(key, value);
+            } else {
+                ((List<Object>) container).add(value);
+            }
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                containers.push(value);
+            }
+        }
+
+        if (parser.nextToken() != null) {
+            throw new JsonParseException(parser, "Unexpected content after the document.");
+        }
+        return root;
+    }
+}
@@ -0,0 +1,215 @@
+package pl.jenczalik.validator.util.parser;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Odczyt dokumentu z niskopoziomowych zdarzeń parsera SnakeYAML.
+ * <p>
+ * Struktura budowana jest bezpośrednio ze zdarzeń, bez pośredniego grafu węzłów i bez
+ * rozpoznawania typów skalarów. Semantyka odpowiada {@link YamlBeansBackend}: null
+ * oznacza wyłącznie pustą wartość niecytowaną, klucz "&lt;&lt;" scala mapy (jawne klucze mają
+ * pierwszeństwo), końcowy znak nowej linii bloku "|" lub "&gt;" jest pomijany, a znaczniki
+ * spoza standardowego zestawu YAML są błędem. Znaczniki standardowe nie zmieniają typu
+ * wartości - skalar zawsze jest tekstem.
+ * <p>
+ * Limity złożoności sprawdzane są przy każdym zdarzeniu. Dla kotwic zapamiętywany jest rozmiar
+ * i wysokość poddrzewa, z którymi liczony jest każdy alias.
+ */
+class SnakeYamlBackend implements YamlBackend {
+    private static final String MERGE_KEY = "<<";
+    private static final String STANDARD_TAG_PREFIX = "tag:yaml.org,2002:";
+    private static final String NON_SPECIFIC_TAG = "!";
+
+    @Override
+    public Map<String, Object> read(Reader yaml, DocumentLimits limits) throws YamlException {
+        try {
+            return readDocument(new ParserImpl(new StreamReader(yaml)), limits.counter());
+        } catch (YAMLException e) {
+            throw new YamlException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Metoda budująca strukturę pierwszego dokumentu strumienia, bez rekurencji - głębokość
+     * zagnieżdżenia dokumentu nie jest ograniczona rozmiarem stosu. Pozostałe dokumenty nie są czytane.
+     */
+    private Map<String, Object> readDocument(Parser parser, DocumentLimits.Counter counter) throws YamlException {
+        parser.getEvent();
+        if (parser.checkEvent(Event.ID.StreamEnd)) {
+            return null;
+        }
+        parser.getEvent();
+
+        Event first = parser.peekEvent();
+        if (first instanceof ScalarEvent && toScalar((ScalarEvent) first) == null) {
+            return null;
+        }
+        if (!first.is(Event.ID.MappingStart)) {
+            throw new YamlException("Document root must be a mapping: " + first.getStartMark());
+        }
+
+        Map<String, Object> anchors = new HashMap<>();
+        Map<String, Subtree> anchorSubtrees = new HashMap<>();
+        Deque<Frame> frames = new ArrayDeque<>();
+        while (true) {
+            Event event = parser.getEvent();
+            int depth = frames.size() + 1;
+            Object value;
+
+            if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+                Frame frame = frames.pop();
+                value = frame.container;
+                if (frame.anchor != null) {
+                    anchorSubtrees.put(frame.anchor, new Subtree(counter.getNodes() - frame.nodesBefore, frame.deepest - frames.size() - 1));
+                }
+                if (frames.isEmpty()) {
+                    return (Map<String, Object>) value;
+                }
+                frames.peek().deepest = Math.max(frames.peek().deepest, frame.deepest);
+            } else if (event.is(Event.ID.MappingStart) || event.is(Event.ID.SequenceStart)) {
+                checkTag(((CollectionStartEvent) event).getTag(), event);
+                counter.node(depth);
+                Object container = event.is(Event.ID.MappingStart) ? new LinkedHashMap<>() : new ArrayList<>();
+                anchor(anchors, (NodeEvent) event, container);
+                frames.push(new Frame(container, ((NodeEvent) event).getAnchor(), counter.getNodes(), depth));
+                continue;
+            } else if (event.is(Event.ID.Scalar)) {
+                counter.node(depth);
+                frames.peek().deepest = Math.max(frames.peek().deepest, depth);
+                value = toScalar((ScalarEvent) event);
+                anchor(anchors, (NodeEvent) event, value);
+            } else if (event.is(Event.ID.Alias)) {
+                String anchor = ((AliasEvent) event).getAnchor();
+                if (!anchors.containsKey(anchor)) {
+                    throw new YamlException("Unknown anchor: " + anchor);
+                }
+                Subtree subtree = anchorSubtrees.getOrDefault(anchor, Subtree.SCALAR);
+                counter.nodes(subtree.nodes + 1, depth + subtree.height);
+                frames.peek().deepest = Math.max(frames.peek().deepest, depth + subtree.height);
+                value = anchors.get(anchor);
+            } else {
+                throw new YamlException("Unexpected event: " + event);
+            }
+
+            frames.peek().add(value, counter);
+        }
+    }
+
+    private Object toScalar(ScalarEvent event) throws YamlException {
+        checkTag(event.getTag(), event);
+        String value = event.getValue();
+        DumperOptions.ScalarStyle style = event.getScalarStyle();
+
+        if (style == DumperOptions.ScalarStyle.PLAIN && value.isEmpty()) {
+            return null;
+        }
+        if ((style == DumperOptions.ScalarStyle.LITERAL || style == DumperOptions.ScalarStyle.FOLDED)
+                && value.endsWith("\n") && !value.endsWith("\n\n")) {
+            return value.substring(0, value.length() - 1);
+        }
+        return value;
+    }
+
+    private void checkTag(String tag, Event event) throws YamlException {
+        if (tag != null && !tag.equals(NON_SPECIFIC_TAG) && !tag.startsWith(STANDARD_TAG_PREFIX)) {
+            throw new YamlException("Unsupported tag " + tag + ": " + event.getStartMark());
+        }
+    }
+
+    private void anchor(Map<String, Object> anchors, NodeEvent event, Object value) {
+        if (event.getAnchor() != null) {
+            anchors.put(event.getAnchor(), value);
+        }
+    }
+
+    /**
+     * Rozmiar i wysokość poddrzewa - bez korzenia poddrzewa, który liczony jest osobno.
+     */
+    private static class Subtree {
+        private static final Subtree SCALAR = new Subtree(0, 0);
+
+        private final long nodes;
+        private final int height;
+
+        private Subtree(long nodes, int height) {
+            this.nodes = nodes;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Otwarta mapa lub sekwencja, wraz z kluczem oczekującym na wartość.
+     */
+    private static class Frame {
+        private final Object container;
+        private final String anchor;
+        private final long nodesBefore;
+        private int deepest;
+        private Object key;
+        private boolean hasKey;
+
+        private Frame(Object container, String anchor, long nodesBefore, int depth) {
+            this.container = container;
+            this.anchor = anchor;
+            this.nodesBefore = nodesBefore;
+            this.deepest = depth;
+        }
+
+        private void add(Object value, DocumentLimits.Counter counter) throws YamlException {
+            if (container instanceof List) {
+                ((List<Object>) container).add(value);
+            } else if (!hasKey) {
+                counter.key(value);
+                key = value;
+                hasKey = true;
+            } else {
+                put((Map<Object, Object>) container, key, value);
+                hasKey = false;
+            }
+        }
+
+        private static void put(Map<Object, Object> map, Object key, Object value) throws YamlException {
+            if (!MERGE_KEY.equals(key)) {
+                map.put(key, value);
+            } else if (value instanceof Map) {
+                merge(map, (Map<?, ?>) value);
+            } else if (value instanceof List) {
+                for (Object element : (List<?>) value) {
+                    if (!(element instanceof Map)) {
+                        throw new YamlException("Expected a mapping for merge key, found: " + element);
+                    }
+                    merge(map, (Map<?, ?>) element);
+                }
+            } else {
+                throw new YamlException("Expected a mapping or a sequence of mappings for merge key, found: " + value);
+            }
+        }
+
+        private static void merge(Map<Object, Object> map, Map<?, ?> source) {
+            source.forEach((key, value) -> {
+                if (!map.containsKey(key)) {
+                    map.put(key, value);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pl.jenczalik.validator.util.parser;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Implementacja odczytu dokumentu YAML do postaci obiektowej, używana przez {@link YamlParser}.
+ * <p>
+ * Każda implementacja zwraca tę samą postać - mapy jako {@link java.util.LinkedHashMap},
+ * sekwencje jako listy, a skalary jako tekst - tak, by wynik walidacji nie zależał od
+ * wybranej implementacji.
+ *
+ * @see YamlBackendType
+ */
+public interface YamlBackend {
+
+    /**
+     * Metoda odczytująca pierwszy dokument ze strumienia.
+     *
+     * @param yaml Strumień z zawartością w formacie YAML.
+     * @param limits Limity złożoności dokumentu, sprawdzane w trakcie odczytu.
+     * @return Mapa zawierająca strukturę obiektów dokumentu lub null, gdy dokument jest pusty.
+     * @throws YamlException Wyjątek rzucany, gdy zawartość dokumentu nie spełnia założeń formatu YAML
+     * lub gdy dokument nie jest mapą. Przekroczenie limitu zgłaszane jest wyjątkiem
+     * {@link pl.jenczalik.validator.exception.DocumentLimitExceededException}.
+     */
+    Map<String, Object> read(Reader yaml, DocumentLimits limits) throws YamlException;
+}
@@ -0,0 +1,28 @@
+package pl.jenczalik.validator.util.parser;
+
+import java.util.function.Supplier;
+
+/**
+ * Dostępne implementacje odczytu dokumentów YAML.
+ */
+public enum YamlBackendType {
+    /**
+     * Biblioteka YamlBeans - implementacja domyślna.
+     */
+    YAMLBEANS(YamlBeansBackend::new),
+
+    /**
+     * Niskopoziomowe zdarzenia parsera SnakeYAML - szybsza implementacja, alokująca mniej pamięci.
+     */
+    SNAKEYAML(SnakeYamlBackend::new);
+
+    private final Supplier<YamlBackend> factory;
+
+    YamlBackendType(Supplier<YamlBackend> factory) {
+        this.factory = factory;
+    }
+
+    public YamlBackend create() {
+        return factory.get();
+    }
+}
@@ -0,0 +1,89 @@
+package pl.jenczalik.validator.util.parser;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import com.esotericsoftware.yamlbeans.YamlReader;
+
+import java.io.Reader;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Odczyt dokumentu biblioteką YamlBeans - implementacja domyślna.
+ */
+class YamlBeansBackend implements YamlBackend {
+
+    @Override
+    public Map<String, Object> read(Reader yaml, DocumentLimits limits) throws YamlException {
+        return new LimitedYamlReader(yaml, limits).read(LinkedHashMap.class);
+    }
+
+    /**
+     * Czytnik sprawdzający limity złożoności przy odczycie każdego klucza i każdej wartości.
+     * <p>
+     * YamlBeans zwraca dla aliasu ten sam obiekt, który został odczytany przy kotwicy, bez
+     * ponownego odczytu jego zawartości. Dlatego dla każdej mapy i sekwencji zapamiętywany jest
+     * rozmiar i wysokość jej poddrzewa - wartość, która nie zawiera żadnego nowego węzła,
+     * a jest zapamiętanym poddrzewem, jest aliasem i liczona jest z rozmiarem tego poddrzewa.
+     */
+    private static class LimitedYamlReader extends YamlReader {
+        private final DocumentLimits.Counter counter;
+        private final Map<Object, Subtree> subtrees = new IdentityHashMap<>();
+        private int depth;
+        private int deepest;
+
+        private LimitedYamlReader(Reader reader, DocumentLimits limits) {
+            super(reader);
+            this.counter = limits.counter();
+        }
+
+        @Override
+        protected Object readValue(Class type, Class elementType, Class defaultType) throws YamlException {
+            depth++;
+            counter.node(depth);
+            long nodesBefore = counter.getNodes();
+            int outerDeepest = deepest;
+            deepest = depth;
+            try {
+                Object value = super.readValue(type, elementType, defaultType);
+
+                Subtree alias = counter.getNodes() == nodesBefore ? subtrees.get(value) : null;
+                if (alias != null) {
+                    counter.nodes(alias.nodes, depth + alias.height);
+                    deepest = depth + alias.height;
+                } else if (value instanceof Map || value instanceof Collection) {
+                    checkKeys(value);
+                    if (counter.getNodes() > nodesBefore) {
+                        subtrees.put(value, new Subtree(counter.getNodes() - nodesBefore, deepest - depth));
+                    }
+                }
+                return value;
+            } finally {
+                deepest = Math.max(outerDeepest, deepest);
+                depth--;
+            }
+        }
+
+        private void checkKeys(Object container) throws YamlException {
+            if (container instanceof Map) {
+                for (Object key : ((Map<?, ?>) container).keySet()) {
+                    counter.key(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rozmiar i wysokość poddrzewa - bez korzenia poddrzewa, który liczony jest osobno.
+     */
+    private static class Subtree {
+        private final long nodes;
+        private final int height;
+
+        private Subtree(long nodes, int height) {
+            this.nodes = nodes;
+            this.height = height;
+        }
+    }
+}
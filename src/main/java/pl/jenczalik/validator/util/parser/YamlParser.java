@@ -1,25 +1,64 @@
 package pl.jenczalik.validator.util.parser;
 
 import com.esotericsoftware.yamlbeans.YamlException;
-import com.esotericsoftware.yamlbeans.YamlReader;
+import com.esotericsoftware.yamlbeans.parser.Parser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.config.Config;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.util.LinkedHashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * Parser dla formatu YAML.
+ * <p>
+ * Odczyt dokumentów do postaci obiektowej wykonywany jest przez implementację wybraną
+ * w konfiguracji ({@link Config#getYamlBackend()}). Parser zdarzeń zawsze korzysta z biblioteki YamlBeans.
+ * <p>
+ * Odczyt definicji do postaci obiektowej sprawdza limity złożoności dokumentu ({@link DocumentLimits}).
+ * Parser tworzony bez konfiguracji nie ogranicza dokumentów, a pliki aplikacji - np. specyfikacje -
+ * odczytywane są bez limitów.
  */
 @Component
 public class YamlParser {
-    private ClassLoader classLoader;
+    private static final String DOCUMENT_START = "---";
+    private static final String DOCUMENT_END = "...";
+    private static final String FILE_PROTOCOL = "file";
+
+    private final ClassLoader classLoader;
+    private final YamlBackend backend;
+    private final DocumentLimits limits;
 
     public YamlParser() {
-        classLoader = YamlParser.class.getClassLoader();
+        this(YamlBackendType.YAMLBEANS);
+    }
+
+    public YamlParser(YamlBackendType backendType) {
+        this(backendType, DocumentLimits.unlimited());
+    }
+
+    public YamlParser(YamlBackendType backendType, DocumentLimits limits) {
+        this.classLoader = YamlParser.class.getClassLoader();
+        this.backend = backendType.create();
+        this.limits = limits;
+    }
+
+    @Autowired
+    public YamlParser(Config config) {
+        this(config.getYamlBackend(), DocumentLimits.of(config));
     }
 
     /**
@@ -31,19 +70,147 @@ public class YamlParser {
      * @throws FileNotFoundException Wyjąetk rzucany, gdy plik nie został znaleziony.
      */
     public Map parseYamlFile(String filename) throws YamlException, FileNotFoundException {
-        var file = new File(Objects.requireNonNull(classLoader.getResource(filename)).getFile());
-        YamlReader reader = new YamlReader(new FileReader(file));
-        return reader.read(LinkedHashMap.class);
+        Reader reader = new InputStreamReader(openFile(filename), StandardCharsets.UTF_8);
+        try {
+            return backend.read(reader, DocumentLimits.unlimited());
+        } finally {
+            close(reader);
+        }
+    }
+
+    /**
+     * Metoda odczytująca treść pliku - najpierw z systemu plików, a następnie z zasobów aplikacji.
+     *
+     * @param filename Ścieżka lub nazwa pliku.
+     * @return Treść pliku, kodowanego w UTF-8.
+     * @throws IOException Wyjątek rzucany, gdy plik nie został znaleziony lub nie może zostać odczytany.
+     */
+    public String readFile(String filename) throws IOException {
+        try (InputStream input = openFile(filename)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Metoda wyszukująca plik - najpierw w systemie plików, a następnie w zasobach aplikacji.
+     *
+     * @param filename Ścieżka lub nazwa pliku.
+     * @return Plik, lub null gdy plik jest zasobem wewnątrz archiwum aplikacji - jego treść można wtedy
+     * odczytać jedynie przez {@link #readFile(String)}.
+     * @throws FileNotFoundException Wyjąetk rzucany, gdy plik nie został znaleziony.
+     */
+    public File resolveFile(String filename) throws FileNotFoundException {
+        var file = new File(filename);
+        if (file.isFile()) {
+            return file;
+        }
+
+        URL resource = classLoader.getResource(filename);
+        if (resource == null) {
+            throw new FileNotFoundException(filename);
+        }
+        if (!FILE_PROTOCOL.equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(resource.toURI());
+        } catch (URISyntaxException e) {
+            return new File(resource.getFile());
+        }
+    }
+
+    private InputStream openFile(String filename) throws FileNotFoundException {
+        var file = new File(filename);
+        if (file.isFile()) {
+            return new FileInputStream(file);
+        }
+
+        InputStream resource = classLoader.getResourceAsStream(filename);
+        if (resource == null) {
+            throw new FileNotFoundException(filename);
+        }
+        return resource;
     }
 
     /**
      * Metoda służąca do marshallingu zawartości tekstu w formacie YAML do postaci obiektowej.
      * @param yaml Tekst w formacie YAML.
      * @return Mapa zawierająca strukturę obiektów zawartych w tekście.
-     * @throws YamlException Wyjątek rzucany, gdy zawartość dokumentu nie spełnia założeń formatu YAML.
+     * @throws YamlException Wyjątek rzucany, gdy zawartość dokumentu nie spełnia założeń formatu YAML
+     * lub przekracza limity złożoności - rozmiar sprawdzany jest w bajtach kodowania UTF-8, przed rozpoczęciem parsowania.
      */
     public Map parseYamlString(String yaml) throws YamlException {
-        YamlReader reader = new YamlReader(yaml);
-        return reader.read(LinkedHashMap.class);
+        return parseYamlString(yaml, limits);
+    }
+
+    /**
+     * Metoda służąca do marshallingu zawartości tekstu w formacie YAML do postaci obiektowej, z podanymi limitami.
+     * @param yaml Tekst w formacie YAML.
+     * @param limits Limity złożoności dokumentu.
+     * @return Mapa zawierająca strukturę obiektów zawartych w tekście.
+     * @throws YamlException Wyjątek rzucany, gdy zawartość dokumentu nie spełnia założeń formatu YAML
+     * lub przekracza limity złożoności.
+     */
+    public Map parseYamlString(String yaml, DocumentLimits limits) throws YamlException {
+        limits.checkSize(yaml);
+        return backend.read(new StringReader(yaml), limits);
+    }
+
+    /**
+     * Metoda tworząca parser zdarzeń dla strumienia w formacie YAML.
+     * <p>
+     * W odróżnieniu od pozostałych metod, parser nie buduje struktury obiektowej dokumentu,
+     * a jedynie zwraca kolejne zdarzenia (początek mapy, skalar, koniec mapy itd.)
+     * w miarę czytania strumienia.
+     *
+     * @param yaml Strumień z zawartością w formacie YAML, kodowany w UTF-8.
+     * @return Parser zdarzeń.
+     */
+    public Parser createEventParser(InputStream yaml) {
+        return new Parser(new BufferedReader(new InputStreamReader(yaml, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Metoda dzieląca tekst zawierający wiele dokumentów YAML na pojedyncze dokumenty.
+     * <p>
+     * Dokumenty rozdzielane są znacznikami "---" oraz "..." rozpoczynającymi linię.
+     * Dokumenty puste są pomijane.
+     *
+     * @param yaml Tekst w formacie YAML, zawierający jeden lub więcej dokumentów.
+     * @return Lista dokumentów, w kolejności występowania w tekście.
+     */
+    public List<String> splitDocuments(String yaml) {
+        List<String> documents = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String line : yaml.split("\\r?\\n", -1)) {
+            if (isMarker(line, DOCUMENT_START) || isMarker(line, DOCUMENT_END)) {
+                addDocument(documents, current);
+                current.setLength(0);
+                current.append(line.substring(DOCUMENT_START.length()).trim()).append('\n');
+            } else {
+                current.append(line).append('\n');
+            }
+        }
+        addDocument(documents, current);
+        return documents;
+    }
+
+    private void close(Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            // plik został już wczytany
+        }
+    }
+
+    private boolean isMarker(String line, String marker) {
+        return line.startsWith(marker) && (line.length() == marker.length() || Character.isWhitespace(line.charAt(marker.length())));
+    }
+
+    private void addDocument(List<String> documents, StringBuilder document) {
+        if (!document.toString().isBlank()) {
+            documents.add(document.toString());
+        }
     }
 }
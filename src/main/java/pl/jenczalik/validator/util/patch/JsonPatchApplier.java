@@ -0,0 +1,289 @@
+package pl.jenczalik.validator.util.patch;
+
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.exception.InvalidPatchException;
+import pl.jenczalik.validator.exception.InvalidPointerException;
+import pl.jenczalik.validator.model.PatchOperation;
+import pl.jenczalik.validator.model.ValidationPath;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Klasa stosująca zmiany w formacie JSON Patch (RFC 6902) do definicji API
+ * w postaci obiektowej.
+ * <p>
+ * Zmiany stosowane są w miejscu, bez kopiowania definicji. Jeśli którakolwiek z operacji
+ * nie może zostać wykonana, wszystkie wcześniejsze operacje są wycofywane, więc definicja
+ * pozostaje niezmieniona.
+ * <p>
+ * Wartości przekazane w zmianach zamieniane są na postać zwracaną przez parser YAML -
+ * skalary na tekst, obiekty na mapy z zachowaniem kolejności kluczy.
+ */
+@Component
+public class JsonPatchApplier {
+    private static final String APPEND = "-";
+
+    /**
+     * Metoda stosująca zmiany do definicji API.
+     *
+     * @param document Definicja API - modyfikowana w miejscu
+     * @param operations Lista operacji, wykonywanych w kolejności
+     * @return Ścieżki wszystkich zmienionych pól, w postaci list kluczy. Pusta lista oznacza całą definicję.
+     * @throws InvalidPatchException Wyjątek rzucany, gdy którakolwiek z operacji nie może zostać wykonana.
+     */
+    public List<List<String>> apply(Map<String, Object> document, List<PatchOperation> operations) {
+        Deque<Runnable> undoLog = new ArrayDeque<>();
+        List<List<String>> changedPaths = new ArrayList<>();
+
+        try {
+            for (PatchOperation operation : operations) {
+                apply(document, operation, undoLog, changedPaths);
+            }
+        } catch (InvalidPatchException e) {
+            undoLog.forEach(Runnable::run);
+            throw e;
+        }
+        return changedPaths;
+    }
+
+    private void apply(Map<String, Object> document, PatchOperation operation, Deque<Runnable> undoLog, List<List<String>> changedPaths) {
+        if (operation.getOp() == null) {
+            throw new InvalidPatchException("Operation is missing.");
+        }
+
+        List<String> path = parsePointer(operation.getPath());
+
+        switch (operation.getOp()) {
+            case "add":
+                add(document, path, toDocumentValue(operation.getValue()), undoLog);
+                changedPaths.add(path);
+                break;
+
+            case "remove":
+                remove(document, path, undoLog);
+                changedPaths.add(path);
+                break;
+
+            case "replace":
+                replace(document, path, toDocumentValue(operation.getValue()), undoLog);
+                changedPaths.add(path);
+                break;
+
+            case "move":
+                List<String> from = parsePointer(operation.getFrom());
+                if (path.size() > from.size() && path.subList(0, from.size()).equals(from)) {
+                    throw new InvalidPatchException(String.format("Cannot move %s into itself.", operation.getFrom()));
+                }
+                Object moved = get(document, from);
+                remove(document, from, undoLog);
+                add(document, path, moved, undoLog);
+                changedPaths.add(from);
+                changedPaths.add(path);
+                break;
+
+            case "copy":
+                Object copied = copy(get(document, parsePointer(operation.getFrom())));
+                add(document, path, copied, undoLog);
+                changedPaths.add(path);
+                break;
+
+            case "test":
+                if (!Objects.equals(get(document, path), toDocumentValue(operation.getValue()))) {
+                    throw new InvalidPatchException(String.format("Test failed at %s.", operation.getPath()));
+                }
+                break;
+
+            default:
+                throw new InvalidPatchException(String.format("Unsupported operation: %s.", operation.getOp()));
+        }
+    }
+
+    private void add(Map<String, Object> document, List<String> path, Object value, Deque<Runnable> undoLog) {
+        if (path.isEmpty()) {
+            replaceDocument(document, value, undoLog);
+            return;
+        }
+
+        Object parent = get(document, path.subList(0, path.size() - 1));
+        String key = path.get(path.size() - 1);
+
+        if (parent instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) parent;
+            if (map.containsKey(key)) {
+                Object previous = map.put(key, value);
+                undoLog.push(() -> map.put(key, previous));
+            } else {
+                map.put(key, value);
+                undoLog.push(() -> map.remove(key));
+            }
+        } else if (parent instanceof List) {
+            List<Object> list = (List<Object>) parent;
+            int index = APPEND.equals(key) ? list.size() : index(list, key, list.size());
+            list.add(index, value);
+            undoLog.push(() -> list.remove(index));
+        } else {
+            throw new InvalidPatchException(String.format("Cannot add a member to a scalar at %s.", toPointer(path)));
+        }
+    }
+
+    private void remove(Map<String, Object> document, List<String> path, Deque<Runnable> undoLog) {
+        if (path.isEmpty()) {
+            throw new InvalidPatchException("Cannot remove the whole document.");
+        }
+
+        Object parent = get(document, path.subList(0, path.size() - 1));
+        String key = path.get(path.size() - 1);
+
+        if (parent instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) parent;
+            if (!map.containsKey(key)) {
+                throw new InvalidPatchException(String.format("Path %s does not exist.", toPointer(path)));
+            }
+            int position = new ArrayList<>(map.keySet()).indexOf(key);
+            Object previous = map.remove(key);
+            undoLog.push(() -> insert(map, position, key, previous));
+        } else if (parent instanceof List) {
+            List<Object> list = (List<Object>) parent;
+            int index = index(list, key, list.size() - 1);
+            Object previous = list.remove(index);
+            undoLog.push(() -> list.add(index, previous));
+        } else {
+            throw new InvalidPatchException(String.format("Path %s does not exist.", toPointer(path)));
+        }
+    }
+
+    private void replace(Map<String, Object> document, List<String> path, Object value, Deque<Runnable> undoLog) {
+        if (path.isEmpty()) {
+            replaceDocument(document, value, undoLog);
+            return;
+        }
+
+        get(document, path);
+        Object parent = get(document, path.subList(0, path.size() - 1));
+        String key = path.get(path.size() - 1);
+
+        if (parent instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) parent;
+            Object previous = map.put(key, value);
+            undoLog.push(() -> map.put(key, previous));
+        } else {
+            List<Object> list = (List<Object>) parent;
+            int index = index(list, key, list.size() - 1);
+            Object previous = list.set(index, value);
+            undoLog.push(() -> list.set(index, previous));
+        }
+    }
+
+    private void replaceDocument(Map<String, Object> document, Object value, Deque<Runnable> undoLog) {
+        if (!(value instanceof Map)) {
+            throw new InvalidPatchException("Document must be an object.");
+        }
+
+        Map<String, Object> previous = new LinkedHashMap<>(document);
+        document.clear();
+        document.putAll((Map<String, Object>) value);
+        undoLog.push(() -> {
+            document.clear();
+            document.putAll(previous);
+        });
+    }
+
+    private Object get(Map<String, Object> document, List<String> path) {
+        Object current = document;
+
+        for (int i = 0; i < path.size(); i++) {
+            String key = path.get(i);
+
+            if (current instanceof Map && ((Map<?, ?>) current).containsKey(key)) {
+                current = ((Map<?, ?>) current).get(key);
+            } else if (current instanceof List) {
+                List<?> list = (List<?>) current;
+                current = list.get(index(list, key, list.size() - 1));
+            } else {
+                throw new InvalidPatchException(String.format("Path %s does not exist.", toPointer(path.subList(0, i + 1))));
+            }
+        }
+        return current;
+    }
+
+    private int index(List<?> list, String key, int maxIndex) {
+        try {
+            int index = Integer.parseInt(key);
+            if (index >= 0 && index <= maxIndex) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // obsłużone poniżej
+        }
+        throw new InvalidPatchException(String.format("Invalid index %s for a list of size %d.", key, list.size()));
+    }
+
+    /**
+     * Metoda wstawiająca pole na zadaną pozycję mapy - używana przy wycofywaniu usunięcia,
+     * tak by kolejność pól, a więc i kolejność zgłaszanych błędów, nie uległa zmianie.
+     */
+    private void insert(Map<String, Object> map, int position, String key, Object value) {
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(map.entrySet());
+        map.clear();
+
+        for (int i = 0; i < entries.size(); i++) {
+            if (i == position) {
+                map.put(key, value);
+            }
+            map.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        map.putIfAbsent(key, value);
+    }
+
+    /**
+     * Metoda zamieniająca ścieżkę w formacie JSON Pointer na listę kluczy.
+     *
+     * @param pointer Ścieżka, np. "/paths/~1lamps/get"
+     * @return Lista kluczy, np. ["paths", "/lamps", "get"]. Pusta lista oznacza całą definicję.
+     */
+    public List<String> parsePointer(String pointer) {
+        if (pointer == null) {
+            throw new InvalidPatchException("Path is missing.");
+        }
+        try {
+            return ValidationPath.fromPointer(pointer).getKeys();
+        } catch (InvalidPointerException e) {
+            throw new InvalidPatchException(String.format("Path %s must start with '/'.", pointer));
+        }
+    }
+
+    private String toPointer(List<String> path) {
+        StringBuilder pointer = new StringBuilder();
+        for (String key : path) {
+            pointer.append('/').append(key.replace("~", "~0").replace("/", "~1"));
+        }
+        return pointer.toString();
+    }
+
+    private Object toDocumentValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, child) -> map.put(String.valueOf(key), toDocumentValue(child)));
+            return map;
+        }
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            ((List<?>) value).forEach(child -> list.add(toDocumentValue(child)));
+            return list;
+        }
+        return value.toString();
+    }
+
+    private Object copy(Object value) {
+        return value instanceof Map || value instanceof List ? toDocumentValue(value) : value;
+    }
+}
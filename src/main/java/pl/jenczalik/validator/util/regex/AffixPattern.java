@@ -0,0 +1,46 @@
+package pl.jenczalik.validator.util.regex;
+
+/**
+ * Wyrażenie regularne postaci literał, prefiks.*, .*sufiks lub prefiks.*sufiks,
+ * np. \/.* - dopasowywane przez porównanie początku i końca wartości oraz sprawdzenie,
+ * że środek nie zawiera znaków końca linii.
+ */
+class AffixPattern extends SpecificationPattern {
+
+    private final String prefix;
+    private final String suffix;
+    private final boolean anyMiddle;
+
+    AffixPattern(String pattern, String prefix, String suffix, boolean anyMiddle) {
+        super(pattern);
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.anyMiddle = anyMiddle;
+    }
+
+    @Override
+    public boolean matches(CharSequence input) {
+        int length = input.length();
+        int middleEnd = length - suffix.length();
+        if (anyMiddle ? middleEnd < prefix.length() : middleEnd != prefix.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (input.charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (input.charAt(middleEnd + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        for (int i = prefix.length(); i < middleEnd; i++) {
+            if (!CharClass.ANY.test(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
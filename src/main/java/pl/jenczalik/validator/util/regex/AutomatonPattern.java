@@ -0,0 +1,190 @@
+package pl.jenczalik.validator.util.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wyrażenie regularne dopasowywane przez symulację automatu niedeterministycznego
+ * (konstrukcja Thompsona) - wszystkie możliwe stany automatu śledzone są równolegle,
+ * więc czas dopasowania jest proporcjonalny do iloczynu długości wartości i rozmiaru
+ * automatu, bez nawrotów.
+ * <p>
+ * Wartości zawierające znaki spoza BMP przekazywane są do {@link BudgetedPattern} -
+ * {@link java.util.regex.Pattern} dopasowuje je jako pojedyncze znaki, a automat jako pary.
+ */
+class AutomatonPattern extends SpecificationPattern {
+
+    /**
+     * Maksymalny rozmiar automatu - większe wyrażenia dopasowywane są przez {@link BudgetedPattern}.
+     */
+    static final int MAX_STATES = 1000;
+
+    private static final int CHAR = 0;
+    private static final int SPLIT = 1;
+    private static final int JUMP = 2;
+    private static final int MATCH = 3;
+
+    private final int[] operations;
+    private final CharClass[] charClasses;
+    private final int[] targets;
+    private final int[] alternativeTargets;
+    private final BudgetedPattern fallback;
+
+    AutomatonPattern(String pattern, RegexNode node, BudgetedPattern fallback) throws UnsupportedRegexException {
+        super(pattern);
+        this.fallback = fallback;
+
+        Builder builder = new Builder();
+        builder.emit(node);
+        builder.add(MATCH, null, 0, 0);
+
+        int size = builder.operations.size();
+        this.operations = new int[size];
+        this.charClasses = new CharClass[size];
+        this.targets = new int[size];
+        this.alternativeTargets = new int[size];
+        for (int state = 0; state < size; state++) {
+            operations[state] = builder.operations.get(state);
+            charClasses[state] = builder.charClasses.get(state);
+            targets[state] = builder.targets.get(state);
+            alternativeTargets[state] = builder.alternativeTargets.get(state);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence input) {
+        int size = operations.length;
+        int[] current = new int[size];
+        int[] next = new int[size];
+        int[] visited = new int[size];
+        int generation = 1;
+        int currentCount = addState(current, 0, 0, visited, generation);
+
+        for (int index = 0; index < input.length(); index++) {
+            char c = input.charAt(index);
+            if (Character.isSurrogate(c)) {
+                return fallback.matches(input);
+            }
+
+            generation++;
+            int nextCount = 0;
+            for (int i = 0; i < currentCount; i++) {
+                int state = current[i];
+                if (operations[state] == CHAR && charClasses[state].test(c)) {
+                    nextCount = addState(next, nextCount, state + 1, visited, generation);
+                }
+            }
+            if (nextCount == 0) {
+                return false;
+            }
+
+            int[] swap = current;
+            current = next;
+            next = swap;
+            currentCount = nextCount;
+        }
+
+        for (int i = 0; i < currentCount; i++) {
+            if (operations[current[i]] == MATCH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Metoda dodająca stan do zbioru bieżących stanów wraz ze stanami osiągalnymi z niego bez czytania znaku.
+     *
+     * @return Nowa liczba stanów w zbiorze
+     */
+    private int addState(int[] states, int count, int state, int[] visited, int generation) {
+        if (visited[state] == generation) {
+            return count;
+        }
+        visited[state] = generation;
+
+        switch (operations[state]) {
+            case JUMP:
+                return addState(states, count, targets[state], visited, generation);
+            case SPLIT:
+                count = addState(states, count, targets[state], visited, generation);
+                return addState(states, count, alternativeTargets[state], visited, generation);
+            default:
+                states[count] = state;
+                return count + 1;
+        }
+    }
+
+    /**
+     * Kompilator drzewa składniowego do listy stanów automatu. Stan CHAR przechodzi
+     * do stanu następnego, SPLIT do obu wskazanych, a JUMP do wskazanego.
+     */
+    private static class Builder {
+        private final List<Integer> operations = new ArrayList<>();
+        private final List<CharClass> charClasses = new ArrayList<>();
+        private final List<Integer> targets = new ArrayList<>();
+        private final List<Integer> alternativeTargets = new ArrayList<>();
+
+        private void emit(RegexNode node) throws UnsupportedRegexException {
+            if (node instanceof RegexNode.Char) {
+                add(CHAR, ((RegexNode.Char) node).charClass, 0, 0);
+            } else if (node instanceof RegexNode.Sequence) {
+                for (RegexNode item : ((RegexNode.Sequence) node).items) {
+                    emit(item);
+                }
+            } else if (node instanceof RegexNode.Alternation) {
+                emitAlternation(((RegexNode.Alternation) node).alternatives);
+            } else {
+                emitRepeat((RegexNode.Repeat) node);
+            }
+        }
+
+        private void emitAlternation(List<RegexNode> alternatives) throws UnsupportedRegexException {
+            List<Integer> jumps = new ArrayList<>();
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                int split = add(SPLIT, null, operations.size() + 1, 0);
+                emit(alternatives.get(i));
+                jumps.add(add(JUMP, null, 0, 0));
+                alternativeTargets.set(split, operations.size());
+            }
+            emit(alternatives.get(alternatives.size() - 1));
+            for (int jump : jumps) {
+                targets.set(jump, operations.size());
+            }
+        }
+
+        private void emitRepeat(RegexNode.Repeat repeat) throws UnsupportedRegexException {
+            for (int i = 0; i < repeat.min; i++) {
+                emit(repeat.node);
+            }
+
+            if (repeat.max == RegexNode.Repeat.UNBOUNDED) {
+                int split = add(SPLIT, null, operations.size() + 1, 0);
+                emit(repeat.node);
+                add(JUMP, null, split, 0);
+                alternativeTargets.set(split, operations.size());
+                return;
+            }
+
+            List<Integer> splits = new ArrayList<>();
+            for (int i = repeat.min; i < repeat.max; i++) {
+                splits.add(add(SPLIT, null, operations.size() + 1, 0));
+                emit(repeat.node);
+            }
+            for (int split : splits) {
+                alternativeTargets.set(split, operations.size());
+            }
+        }
+
+        private int add(int operation, CharClass charClass, int target, int alternativeTarget) throws UnsupportedRegexException {
+            if (operations.size() >= MAX_STATES) {
+                throw new UnsupportedRegexException("pattern too large");
+            }
+            operations.add(operation);
+            charClasses.add(charClass);
+            targets.add(target);
+            alternativeTargets.add(alternativeTarget);
+            return operations.size() - 1;
+        }
+    }
+}
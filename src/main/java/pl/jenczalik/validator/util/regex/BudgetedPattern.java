@@ -0,0 +1,73 @@
+package pl.jenczalik.validator.util.regex;
+
+import java.util.regex.Pattern;
+
+/**
+ * Wyrażenie regularne dopasowywane przez {@link Pattern} z limitem kroków.
+ * <p>
+ * Używane dla wyrażeń spoza składni obsługiwanej przez {@link AutomatonPattern}.
+ * Każdy odczyt znaku przez silnik wyrażeń regularnych liczony jest jako krok - po
+ * przekroczeniu limitu, proporcjonalnego do długości wartości, dopasowanie jest
+ * przerywane i wartość uznawana jest za niespełniającą wyrażenia. Ogranicza to czas
+ * dopasowania wyrażeń podatnych na katastrofalne nawroty.
+ */
+class BudgetedPattern extends SpecificationPattern {
+
+    private final Pattern compiled;
+    private final int stepsPerCharacter;
+
+    BudgetedPattern(Pattern compiled, int stepsPerCharacter) {
+        super(compiled.pattern());
+        this.compiled = compiled;
+        this.stepsPerCharacter = stepsPerCharacter;
+    }
+
+    @Override
+    public boolean matches(CharSequence input) {
+        long budget = (long) stepsPerCharacter * (input.length() + 1);
+        try {
+            return compiled.matcher(new BudgetedCharSequence(input, budget)).matches();
+        } catch (BudgetExceededException e) {
+            return false;
+        }
+    }
+
+    private static class BudgetedCharSequence implements CharSequence {
+        private final CharSequence input;
+        private long budget;
+
+        private BudgetedCharSequence(CharSequence input, long budget) {
+            this.input = input;
+            this.budget = budget;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (--budget < 0) {
+                throw new BudgetExceededException();
+            }
+            return input.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return input.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return input.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return input.toString();
+        }
+    }
+
+    private static class BudgetExceededException extends RuntimeException {
+        private BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
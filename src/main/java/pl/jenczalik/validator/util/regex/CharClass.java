@@ -0,0 +1,68 @@
+package pl.jenczalik.validator.util.regex;
+
+import java.util.Arrays;
+
+/**
+ * Zbiór znaków dopasowywanych przez pojedynczy element wyrażenia regularnego,
+ * zapisany jako lista przedziałów, opcjonalnie zanegowana.
+ */
+final class CharClass {
+
+    /**
+     * Odpowiednik '.' - dowolny znak poza znakami końca linii.
+     */
+    static final CharClass ANY = new CharClass(new char[]{'\n', '\n', '\r', '\r', '\u0085', '\u0085', '\u2028', '\u2029'}, true);
+
+    static final CharClass DIGIT = new CharClass(new char[]{'0', '9'}, false);
+    static final CharClass SPACE = new CharClass(new char[]{'\t', '\r', ' ', ' '}, false);
+    static final CharClass WORD = new CharClass(new char[]{'0', '9', 'A', 'Z', '_', '_', 'a', 'z'}, false);
+
+    /**
+     * Kolejne pary granic przedziałów, włącznie.
+     */
+    private final char[] ranges;
+    private final boolean negated;
+
+    CharClass(char[] ranges, boolean negated) {
+        this.ranges = ranges;
+        this.negated = negated;
+    }
+
+    static CharClass literal(char c) {
+        return new CharClass(new char[]{c, c}, false);
+    }
+
+    boolean test(char c) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (c >= ranges[i] && c <= ranges[i + 1]) {
+                return !negated;
+            }
+        }
+        return negated;
+    }
+
+    CharClass negate() {
+        return new CharClass(ranges, !negated);
+    }
+
+    /**
+     * @return Czy klasa dopasowuje dokładnie jeden znak
+     */
+    boolean isLiteral() {
+        return !negated && ranges.length == 2 && ranges[0] == ranges[1];
+    }
+
+    char getLiteral() {
+        return ranges[0];
+    }
+
+    /**
+     * @param other Klasa dołączana do bieżącej - żadna z klas nie może być zanegowana
+     * @return Suma zbiorów znaków obu klas
+     */
+    CharClass union(CharClass other) {
+        char[] union = Arrays.copyOf(ranges, ranges.length + other.ranges.length);
+        System.arraycopy(other.ranges, 0, union, ranges.length, other.ranges.length);
+        return new CharClass(union, false);
+    }
+}
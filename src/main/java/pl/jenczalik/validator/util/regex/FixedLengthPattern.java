@@ -0,0 +1,49 @@
+package pl.jenczalik.validator.util.regex;
+
+import java.util.List;
+
+/**
+ * Wyrażenie regularne będące alternatywą sekwencji pojedynczych znaków, np. ([245]\.\d\d)|(default) -
+ * dopasowywane przez porównanie kolejnych znaków wartości z sekwencjami o tej samej długości.
+ * <p>
+ * Wartości zawierające znaki spoza BMP przekazywane są do {@link BudgetedPattern}.
+ */
+class FixedLengthPattern extends SpecificationPattern {
+
+    private final List<CharClass[]> alternatives;
+    private final BudgetedPattern fallback;
+
+    FixedLengthPattern(String pattern, List<CharClass[]> alternatives, BudgetedPattern fallback) {
+        super(pattern);
+        this.alternatives = alternatives;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean matches(CharSequence input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (Character.isSurrogate(input.charAt(i))) {
+                return fallback.matches(input);
+            }
+        }
+
+        for (CharClass[] alternative : alternatives) {
+            if (matches(input, alternative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(CharSequence input, CharClass[] alternative) {
+        if (input.length() != alternative.length) {
+            return false;
+        }
+        for (int i = 0; i < alternative.length; i++) {
+            if (!alternative[i].test(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
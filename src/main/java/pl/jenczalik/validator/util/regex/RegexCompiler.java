@@ -0,0 +1,114 @@
+package pl.jenczalik.validator.util.regex;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Kompilator wyrażeń regularnych ze specyfikacji modelu języka.
+ * <p>
+ * Składnia i znaczenie wyrażeń są takie same jak w {@link Pattern}, jednak dopasowanie
+ * wykonywane jest przez najprostszy mechanizm, który daje ten sam wynik:
+ * <p><ul>
+ * <li>literały oraz wyrażenia postaci prefiks.* i .*sufiks - przez porównanie znaków ({@link AffixPattern})
+ * <li>alternatywy sekwencji pojedynczych znaków - przez porównanie znaków z każdą sekwencją ({@link FixedLengthPattern})
+ * <li>pozostałe wyrażenia w obsługiwanym podzbiorze składni - przez automat, w czasie liniowym ({@link AutomatonPattern})
+ * <li>wyrażenia z odwołaniami wstecznymi, asercjami itp. - przez {@link Pattern} z limitem kroków ({@link BudgetedPattern})
+ * </ul>
+ */
+@Component
+public class RegexCompiler {
+
+    /**
+     * Limit kroków silnika {@link Pattern} na znak dopasowywanej wartości.
+     */
+    public static final int STEPS_PER_CHARACTER = 256;
+
+    /**
+     * Metoda kompilująca wyrażenie regularne.
+     *
+     * @param regex Wyrażenie regularne
+     * @return Skompilowane wyrażenie regularne
+     * @throws java.util.regex.PatternSyntaxException Wyjątek rzucany, gdy wyrażenie jest niepoprawne składniowo.
+     */
+    public SpecificationPattern compile(String regex) {
+        BudgetedPattern fallback = new BudgetedPattern(Pattern.compile(regex), STEPS_PER_CHARACTER);
+        try {
+            RegexNode node = RegexParser.parse(regex);
+
+            SpecificationPattern affix = toAffixPattern(regex, node);
+            if (affix != null) {
+                return affix;
+            }
+            List<CharClass[]> alternatives = toFixedLengthAlternatives(node);
+            if (alternatives != null) {
+                return new FixedLengthPattern(regex, alternatives, fallback);
+            }
+            return new AutomatonPattern(regex, node, fallback);
+        } catch (UnsupportedRegexException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * @return Wyrażenie postaci literał, prefiks.*, .*sufiks lub prefiks.*sufiks, lub null gdy wyrażenie ma inną postać.
+     */
+    private SpecificationPattern toAffixPattern(String regex, RegexNode node) {
+        List<RegexNode> items = items(node);
+        if (items == null) {
+            return null;
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        StringBuilder suffix = new StringBuilder();
+        boolean anyMiddle = false;
+        for (RegexNode item : items) {
+            if (item instanceof RegexNode.Repeat && ((RegexNode.Repeat) item).isAnyString() && !anyMiddle) {
+                anyMiddle = true;
+            } else if (item instanceof RegexNode.Char && ((RegexNode.Char) item).charClass.isLiteral()) {
+                (anyMiddle ? suffix : prefix).append(((RegexNode.Char) item).charClass.getLiteral());
+            } else {
+                return null;
+            }
+        }
+        return new AffixPattern(regex, prefix.toString(), suffix.toString(), anyMiddle);
+    }
+
+    /**
+     * @return Alternatywy jako sekwencje klas znaków, lub null gdy któraś z alternatyw nie ma stałej długości.
+     */
+    private List<CharClass[]> toFixedLengthAlternatives(RegexNode node) {
+        List<RegexNode> alternatives = node instanceof RegexNode.Alternation
+                ? ((RegexNode.Alternation) node).alternatives : List.of(node);
+
+        List<CharClass[]> sequences = new ArrayList<>();
+        for (RegexNode alternative : alternatives) {
+            List<RegexNode> items = items(alternative);
+            if (items == null) {
+                return null;
+            }
+
+            CharClass[] sequence = new CharClass[items.size()];
+            for (int i = 0; i < sequence.length; i++) {
+                if (!(items.get(i) instanceof RegexNode.Char)) {
+                    return null;
+                }
+                sequence[i] = ((RegexNode.Char) items.get(i)).charClass;
+            }
+            sequences.add(sequence);
+        }
+        return sequences;
+    }
+
+    /**
+     * @return Elementy sekwencji, lub null gdy węzeł jest alternatywą.
+     */
+    private List<RegexNode> items(RegexNode node) {
+        if (node instanceof RegexNode.Sequence) {
+            return ((RegexNode.Sequence) node).items;
+        }
+        return node instanceof RegexNode.Alternation ? null : List.of(node);
+    }
+}
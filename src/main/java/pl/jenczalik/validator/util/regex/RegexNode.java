@@ -0,0 +1,68 @@
+package pl.jenczalik.validator.util.regex;
+
+import java.util.List;
+
+/**
+ * Węzeł drzewa składniowego wyrażenia regularnego, w podzbiorze składni obsługiwanym
+ * przez {@link RegexParser}. Grupy nie są reprezentowane osobno - dopasowanie dotyczy
+ * całej wartości, więc ich zawartość wystarcza.
+ */
+abstract class RegexNode {
+
+    /**
+     * Pojedynczy znak z zadanej klasy.
+     */
+    static final class Char extends RegexNode {
+        final CharClass charClass;
+
+        Char(CharClass charClass) {
+            this.charClass = charClass;
+        }
+    }
+
+    /**
+     * Sekwencja węzłów - pusta sekwencja dopasowuje pustą wartość.
+     */
+    static final class Sequence extends RegexNode {
+        final List<RegexNode> items;
+
+        Sequence(List<RegexNode> items) {
+            this.items = items;
+        }
+    }
+
+    /**
+     * Alternatywa co najmniej dwóch węzłów.
+     */
+    static final class Alternation extends RegexNode {
+        final List<RegexNode> alternatives;
+
+        Alternation(List<RegexNode> alternatives) {
+            this.alternatives = alternatives;
+        }
+    }
+
+    /**
+     * Powtórzenie węzła od min do max razy, gdzie max równe {@link #UNBOUNDED} oznacza brak ograniczenia.
+     */
+    static final class Repeat extends RegexNode {
+        static final int UNBOUNDED = -1;
+
+        final RegexNode node;
+        final int min;
+        final int max;
+
+        Repeat(RegexNode node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * @return Czy węzeł jest odpowiednikiem '.*'
+         */
+        boolean isAnyString() {
+            return min == 0 && max == UNBOUNDED && node instanceof Char && ((Char) node).charClass == CharClass.ANY;
+        }
+    }
+}
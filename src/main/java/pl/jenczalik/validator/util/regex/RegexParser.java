@@ -0,0 +1,254 @@
+package pl.jenczalik.validator.util.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser podzbioru składni {@link java.util.regex.Pattern}, który daje się dopasować
+ * w czasie liniowym - literały, klasy znaków, '.', \d \s \w wraz z negacjami, grupy,
+ * alternatywy oraz kwantyfikatory * + ? i {n,m}. Znaki '^' i '$' dozwolone są
+ * jedynie na początku i końcu alternatyw najwyższego poziomu, gdzie nie mają znaczenia
+ * przy dopasowaniu całej wartości.
+ * <p>
+ * Parser zakłada, że wyrażenie jest składniowo poprawne - zostało już skompilowane przez
+ * {@link java.util.regex.Pattern}. Każda inna konstrukcja powoduje rzucenie {@link UnsupportedRegexException}.
+ */
+class RegexParser {
+
+    /**
+     * Maksymalna krotność powtórzenia {n,m} - większe powtórzenia rozwijane byłyby do zbyt dużych automatów.
+     */
+    static final int MAX_REPETITION = 100;
+
+    private final String regex;
+    private int position;
+    private int depth;
+
+    private RegexParser(String regex) {
+        this.regex = regex;
+    }
+
+    static RegexNode parse(String regex) throws UnsupportedRegexException {
+        RegexParser parser = new RegexParser(regex);
+        RegexNode node = parser.parseAlternation();
+        if (parser.position != regex.length()) {
+            throw new UnsupportedRegexException(regex.substring(parser.position));
+        }
+        return node;
+    }
+
+    private RegexNode parseAlternation() throws UnsupportedRegexException {
+        List<RegexNode> alternatives = new ArrayList<>();
+        alternatives.add(parseSequence());
+        while (peek() == '|') {
+            position++;
+            alternatives.add(parseSequence());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new RegexNode.Alternation(alternatives);
+    }
+
+    private RegexNode parseSequence() throws UnsupportedRegexException {
+        List<RegexNode> items = new ArrayList<>();
+        int start = position;
+        while (!atEnd() && peek() != '|' && peek() != ')') {
+            char c = regex.charAt(position);
+            if (c == '^' || c == '$') {
+                parseAnchor(c, position == start);
+                continue;
+            }
+
+            RegexNode item = parseQuantifier(parseAtom());
+            if (item instanceof RegexNode.Sequence) {
+                items.addAll(((RegexNode.Sequence) item).items);
+            } else {
+                items.add(item);
+            }
+        }
+        return items.size() == 1 ? items.get(0) : new RegexNode.Sequence(items);
+    }
+
+    private void parseAnchor(char anchor, boolean first) throws UnsupportedRegexException {
+        position++;
+        boolean last = atEnd() || peek() == '|';
+        if (depth > 0 || (anchor == '^' ? !first : !last)) {
+            throw new UnsupportedRegexException(String.valueOf(anchor));
+        }
+    }
+
+    private RegexNode parseAtom() throws UnsupportedRegexException {
+        char c = regex.charAt(position++);
+        switch (c) {
+            case '(':
+                if (peek() == '?') {
+                    if (position + 1 >= regex.length() || regex.charAt(position + 1) != ':') {
+                        throw new UnsupportedRegexException("(?");
+                    }
+                    position += 2;
+                }
+                depth++;
+                RegexNode group = parseAlternation();
+                depth--;
+                position++;
+                return group;
+
+            case '[':
+                return new RegexNode.Char(parseClass());
+
+            case '.':
+                return new RegexNode.Char(CharClass.ANY);
+
+            case '\\':
+                return new RegexNode.Char(parseEscape(false));
+
+            default:
+                return new RegexNode.Char(literal(c));
+        }
+    }
+
+    private RegexNode parseQuantifier(RegexNode node) throws UnsupportedRegexException {
+        int min;
+        int max;
+        switch (peek()) {
+            case '*':
+                min = 0;
+                max = RegexNode.Repeat.UNBOUNDED;
+                break;
+            case '+':
+                min = 1;
+                max = RegexNode.Repeat.UNBOUNDED;
+                break;
+            case '?':
+                min = 0;
+                max = 1;
+                break;
+            case '{':
+                return parseBoundedQuantifier(node);
+            default:
+                return node;
+        }
+        position++;
+        parseQuantifierMode();
+        return new RegexNode.Repeat(node, min, max);
+    }
+
+    private RegexNode parseBoundedQuantifier(RegexNode node) throws UnsupportedRegexException {
+        int end = regex.indexOf('}', position);
+        String[] bounds = regex.substring(position + 1, end).split(",", -1);
+        position = end + 1;
+        parseQuantifierMode();
+
+        int min = parseBound(bounds[0]);
+        int max = bounds.length == 1 ? min
+                : bounds[1].isEmpty() ? RegexNode.Repeat.UNBOUNDED : parseBound(bounds[1]);
+        return new RegexNode.Repeat(node, min, max);
+    }
+
+    private int parseBound(String bound) throws UnsupportedRegexException {
+        if (bound.length() > 3 || Integer.parseInt(bound) > MAX_REPETITION) {
+            throw new UnsupportedRegexException("{" + bound + "}");
+        }
+        return Integer.parseInt(bound);
+    }
+
+    /**
+     * Kwantyfikatory leniwe dopasowują przy dopasowaniu całej wartości te same wartości
+     * co zachłanne, natomiast zaborcze - nie, więc nie są obsługiwane.
+     */
+    private void parseQuantifierMode() throws UnsupportedRegexException {
+        if (peek() == '?') {
+            position++;
+        } else if (peek() == '+') {
+            throw new UnsupportedRegexException("possessive quantifier");
+        }
+    }
+
+    private CharClass parseClass() throws UnsupportedRegexException {
+        boolean negated = peek() == '^';
+        if (negated) {
+            position++;
+        }
+        if (peek() == ']') {
+            throw new UnsupportedRegexException("[]");
+        }
+
+        CharClass charClass = null;
+        while (peek() != ']') {
+            char c = regex.charAt(position++);
+            CharClass item;
+            if (c == '[' || (c == '&' && peek() == '&')) {
+                throw new UnsupportedRegexException("nested class");
+            } else if (c == '\\') {
+                item = parseEscape(true);
+            } else {
+                item = literal(c);
+            }
+
+            if (item.isLiteral() && peek() == '-' && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                position++;
+                char to = regex.charAt(position++);
+                CharClass upper = to == '\\' ? parseEscape(true) : literal(to);
+                if (!upper.isLiteral()) {
+                    throw new UnsupportedRegexException("range");
+                }
+                item = new CharClass(new char[]{item.getLiteral(), upper.getLiteral()}, false);
+            }
+            charClass = charClass == null ? item : charClass.union(item);
+        }
+        position++;
+        return negated ? charClass.negate() : charClass;
+    }
+
+    /**
+     * @param inClass Czy sekwencja występuje wewnątrz klasy znaków - zanegowane klasy nie mogą być tam łączone
+     */
+    private CharClass parseEscape(boolean inClass) throws UnsupportedRegexException {
+        char c = regex.charAt(position++);
+        switch (c) {
+            case 'd':
+                return CharClass.DIGIT;
+            case 's':
+                return CharClass.SPACE;
+            case 'w':
+                return CharClass.WORD;
+            case 'D':
+            case 'S':
+            case 'W':
+                if (inClass) {
+                    throw new UnsupportedRegexException("\\" + c);
+                }
+                return (c == 'D' ? CharClass.DIGIT : c == 'S' ? CharClass.SPACE : CharClass.WORD).negate();
+            case 't':
+                return CharClass.literal('\t');
+            case 'n':
+                return CharClass.literal('\n');
+            case 'r':
+                return CharClass.literal('\r');
+            case 'f':
+                return CharClass.literal('\f');
+            case 'a':
+                return CharClass.literal('\u0007');
+            case 'e':
+                return CharClass.literal('\u001B');
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw new UnsupportedRegexException("\\" + c);
+                }
+                return literal(c);
+        }
+    }
+
+    private CharClass literal(char c) throws UnsupportedRegexException {
+        if (Character.isSurrogate(c)) {
+            throw new UnsupportedRegexException("supplementary character");
+        }
+        return CharClass.literal(c);
+    }
+
+    private char peek() {
+        return atEnd() ? 0 : regex.charAt(position);
+    }
+
+    private boolean atEnd() {
+        return position >= regex.length();
+    }
+}
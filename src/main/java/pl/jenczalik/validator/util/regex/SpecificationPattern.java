@@ -0,0 +1,37 @@
+package pl.jenczalik.validator.util.regex;
+
+/**
+ * Skompilowane wyrażenie regularne ze specyfikacji modelu języka.
+ * <p>
+ * Dopasowanie zawsze dotyczy całej wartości, jak w {@link java.util.regex.Matcher#matches()},
+ * a jego czas jest ograniczony liniowo względem długości wartości - niezależnie od tego,
+ * którego silnika używa dana implementacja.
+ *
+ * @see RegexCompiler
+ */
+public abstract class SpecificationPattern {
+
+    private final String pattern;
+
+    protected SpecificationPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * @param input Wartość
+     * @return Czy cała wartość spełnia wyrażenie regularne
+     */
+    public abstract boolean matches(CharSequence input);
+
+    /**
+     * @return Wyrażenie regularne w postaci zapisanej w specyfikacji
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,12 @@
+package pl.jenczalik.validator.util.regex;
+
+/**
+ * Wyjątek rzucany przez {@link RegexParser}, gdy wyrażenie regularne używa konstrukcji
+ * spoza obsługiwanego podzbioru składni - np. odwołań wstecznych lub asercji.
+ * Takie wyrażenie dopasowywane jest przez {@link java.util.regex.Pattern} z limitem kroków.
+ */
+class UnsupportedRegexException extends Exception {
+    UnsupportedRegexException(String construct) {
+        super(construct, null, false, false);
+    }
+}
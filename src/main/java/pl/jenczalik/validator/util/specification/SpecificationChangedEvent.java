@@ -0,0 +1,27 @@
+package pl.jenczalik.validator.util.specification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Zdarzenie publikowane przez {@link SpecificationRegistry} po podmianie wersji specyfikacji
+ * na nowo wczytaną - np. w celu usunięcia wyników walidacji wyliczonych dla poprzedniej wersji.
+ */
+@Getter
+@AllArgsConstructor
+public class SpecificationChangedEvent {
+    /**
+     * Nazwa wersji specyfikacji.
+     */
+    private final String name;
+
+    /**
+     * Skrót treści poprzedniej wersji specyfikacji.
+     */
+    private final String previousVersion;
+
+    /**
+     * Skrót treści nowej wersji specyfikacji.
+     */
+    private final String version;
+}
@@ -0,0 +1,114 @@
+package pl.jenczalik.validator.util.specification;
+
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.model.specification.NodeType;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Kompilator specyfikacji modelu języka.
+ * <p>
+ * Zamienia surową, sparsowaną z pliku YAML specyfikację w drzewo niemutowalnych węzłów,
+ * dzięki czemu walidacja nie musi przy każdym żądaniu ponownie wyliczać zbiorów pól
+ * ani kompilować wyrażeń regularnych.
+ */
+@Component
+public class SpecificationCompiler {
+
+    public static final String ROOT = "root";
+
+    private static final String TYPE = "type";
+    private static final String REQUIRED = "required";
+    private static final String CHILDREN = "children";
+    private static final String VALUE_REGEX = "valueRegex";
+    private static final String NAME_REGEX = "nameRegex";
+
+    private static final String TRUE = "true";
+
+    private final ContentHasher contentHasher;
+    private final RegexCompiler regexCompiler;
+    private final SpecificationSnapshot snapshot;
+
+    public SpecificationCompiler(ContentHasher contentHasher, RegexCompiler regexCompiler) {
+        this.contentHasher = contentHasher;
+        this.regexCompiler = regexCompiler;
+        this.snapshot = new SpecificationSnapshot(regexCompiler);
+    }
+
+    /**
+     * Metoda kompilująca specyfikację modelu języka.
+     * <p>
+     * Wersja specyfikacji wyliczana jest jako skrót jej sparsowanej treści.
+     *
+     * @param specification Specyfikacja w postaci sparsowanej z pliku YAML.
+     * @return Skompilowana specyfikacja
+     */
+    public CompiledSpecification compile(Map<String, ?> specification) {
+        SpecificationNode root = new SpecificationNode(ROOT, NodeType.OBJECT.getName(), true, null, null, compileChildren(specification));
+        return new CompiledSpecification(contentHasher.hash(specification.toString()), root);
+    }
+
+    /**
+     * Metoda zapisująca skompilowaną specyfikację w postaci binarnej.
+     *
+     * @param specification Skompilowana specyfikacja
+     * @param source Treść pliku, z którego specyfikacja została skompilowana
+     * @param output Strumień, do którego zapisany zostanie snapshot
+     * @see SpecificationSnapshot
+     */
+    public void writeSnapshot(CompiledSpecification specification, String source, OutputStream output) throws IOException {
+        snapshot.write(specification, contentHasher.hash(source), output);
+    }
+
+    /**
+     * Metoda odczytująca skompilowaną specyfikację z postaci binarnej, bez parsowania pliku specyfikacji.
+     *
+     * @param input Strumień zawierający snapshot
+     * @param source Aktualna treść pliku specyfikacji
+     * @return Skompilowana specyfikacja, lub pusta, gdy snapshot nie odpowiada treści pliku.
+     */
+    public Optional<CompiledSpecification> readSnapshot(InputStream input, String source) throws IOException {
+        return snapshot.read(input, contentHasher.hash(source));
+    }
+
+    /**
+     * Metoda kompilująca pojedynczy węzeł specyfikacji wraz z jego dziećmi.
+     *
+     * @param name Nazwa węzła
+     * @param config Specyfikacja węzła
+     * @return Skompilowany węzeł
+     */
+    private SpecificationNode compileNode(String name, Map<String, ?> config) {
+        return new SpecificationNode(
+                name,
+                (String) config.get(TYPE),
+                TRUE.equals(config.get(REQUIRED)),
+                compilePattern(config.get(NAME_REGEX)),
+                compilePattern(config.get(VALUE_REGEX)),
+                compileChildren((Map<String, ?>) config.get(CHILDREN)));
+    }
+
+    private Map<String, SpecificationNode> compileChildren(Map<String, ?> children) {
+        Map<String, SpecificationNode> compiled = new LinkedHashMap<>();
+        if (children != null) {
+            for (Map.Entry<String, ?> child : children.entrySet()) {
+                compiled.put(child.getKey(), compileNode(child.getKey(), (Map<String, ?>) child.getValue()));
+            }
+        }
+        return compiled;
+    }
+
+    private SpecificationPattern compilePattern(Object regex) {
+        return regex == null ? null : regexCompiler.compile((String) regex);
+    }
+}
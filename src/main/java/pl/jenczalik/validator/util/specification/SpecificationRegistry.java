@@ -0,0 +1,224 @@
+package pl.jenczalik.validator.util.specification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.UnknownSpecificationException;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.util.parser.DocumentLimits;
+import pl.jenczalik.validator.util.parser.YamlParser;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejestr skompilowanych wersji specyfikacji modelu języka.
+ * <p>
+ * Każda wersja ma nazwę i plik, z którego jest wczytywana. Pliki sprawdzane są w tle,
+ * a zmieniona specyfikacja jest kompilowana i podmieniana w jednym kroku - walidacje
+ * w toku dokańczane są na wersji, którą pobrały na początku, więc przeładowanie
+ * nie blokuje żadnego żądania. Jeśli nowa wersja pliku nie daje się wczytać,
+ * używana jest nadal poprzednia.
+ * <p>
+ * Jeśli w zasobach aplikacji znajduje się snapshot specyfikacji ({@link SpecificationSnapshot})
+ * utworzony z tej samej treści pliku, specyfikacja odczytywana jest ze snapshotu, bez parsowania
+ * pliku YAML. Pliki będące zasobami wewnątrz archiwum aplikacji nie są przeładowywane.
+ * <p>
+ * Rejestr tworzony jest zawsze podczas uruchomienia, również przy leniwej inicjalizacji
+ * komponentów - niepoprawna specyfikacja zatrzymuje start aplikacji, a nie pierwsze żądanie.
+ */
+@Component
+@Lazy(false)
+public class SpecificationRegistry {
+    public static final String DEFAULT = "default";
+
+    private static final Logger logger = LoggerFactory.getLogger(SpecificationRegistry.class);
+
+    private final YamlParser yamlParser;
+    private final SpecificationCompiler specificationCompiler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService reloader;
+
+    /**
+     * Niemutowalna mapa wersji - podmieniana w całości przy każdym przeładowaniu.
+     */
+    private volatile Map<String, RegisteredSpecification> specifications;
+
+    /**
+     * Konstruktor używany poza kontekstem Springa - zmiany specyfikacji nie są nigdzie publikowane.
+     */
+    public SpecificationRegistry(YamlParser yamlParser, SpecificationCompiler specificationCompiler, Config config)
+            throws IOException {
+        this(yamlParser, specificationCompiler, config, event -> { });
+    }
+
+    /**
+     * @param eventPublisher Obiekt publikujący {@link SpecificationChangedEvent} po każdej podmianie wersji specyfikacji
+     */
+    @Autowired
+    public SpecificationRegistry(YamlParser yamlParser, SpecificationCompiler specificationCompiler, Config config,
+                                 ApplicationEventPublisher eventPublisher) throws IOException {
+        this.yamlParser = yamlParser;
+        this.specificationCompiler = specificationCompiler;
+        this.eventPublisher = eventPublisher;
+
+        Map<String, RegisteredSpecification> specifications = new LinkedHashMap<>();
+        specifications.put(DEFAULT, load(config.getSpecification()));
+        for (Map.Entry<String, String> entry : config.getSpecifications().entrySet()) {
+            specifications.put(entry.getKey(), load(entry.getValue()));
+        }
+        this.specifications = Collections.unmodifiableMap(specifications);
+
+        this.reloader = scheduleReload(config.getSpecificationReloadInterval());
+    }
+
+    /**
+     * @param name Nazwa wersji specyfikacji, lub null dla specyfikacji domyślnej
+     * @return Skompilowana specyfikacja
+     * @throws UnknownSpecificationException Wyjątek rzucany, gdy wersja o podanej nazwie nie istnieje.
+     */
+    public CompiledSpecification get(String name) {
+        RegisteredSpecification specification = specifications.get(name == null ? DEFAULT : name);
+        if (specification == null) {
+            throw new UnknownSpecificationException(name);
+        }
+        return specification.compiled;
+    }
+
+    /**
+     * @return Nazwy zarejestrowanych wersji specyfikacji i skróty ich treści.
+     */
+    public Map<String, String> getVersions() {
+        Map<String, String> versions = new LinkedHashMap<>();
+        specifications.forEach((name, specification) -> versions.put(name, specification.compiled.getVersion()));
+        return versions;
+    }
+
+    /**
+     * Metoda sprawdzająca, czy pliki specyfikacji zostały zmienione, i wczytująca zmienione wersje.
+     * Wywoływana cyklicznie w tle. Plik, którego nie udało się wczytać, sprawdzany jest
+     * ponownie dopiero po kolejnej zmianie.
+     * <p>
+     * Po podmianie wersji publikowane jest {@link SpecificationChangedEvent} dla każdej specyfikacji,
+     * której treść się zmieniła - dopiero wtedy, gdy nowa wersja jest już widoczna dla walidacji.
+     */
+    public synchronized void reload() {
+        Map<String, RegisteredSpecification> current = specifications;
+        Map<String, RegisteredSpecification> reloaded = new LinkedHashMap<>(current);
+        boolean changed = false;
+        List<SpecificationChangedEvent> events = new ArrayList<>();
+
+        for (Map.Entry<String, RegisteredSpecification> entry : current.entrySet()) {
+            RegisteredSpecification specification = entry.getValue();
+            if (specification.file == null) {
+                continue;
+            }
+            long lastModified = specification.file.lastModified();
+            if (lastModified == specification.lastModified) {
+                continue;
+            }
+
+            changed = true;
+            try {
+                RegisteredSpecification loaded = load(specification.filename);
+                reloaded.put(entry.getKey(), loaded);
+                String previousVersion = specification.compiled.getVersion();
+                if (!previousVersion.equals(loaded.compiled.getVersion())) {
+                    events.add(new SpecificationChangedEvent(entry.getKey(), previousVersion, loaded.compiled.getVersion()));
+                }
+                logger.info(String.format("Specification %s reloaded, version: %s", entry.getKey(), loaded.compiled.getVersion()));
+            } catch (Exception e) {
+                logger.warn(String.format("Specification %s could not be reloaded, keeping version: %s",
+                        entry.getKey(), specification.compiled.getVersion()), e);
+                reloaded.put(entry.getKey(), new RegisteredSpecification(
+                        specification.filename, specification.file, lastModified, specification.compiled));
+            }
+        }
+
+        if (changed) {
+            specifications = Collections.unmodifiableMap(reloaded);
+        }
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    private RegisteredSpecification load(String filename) throws IOException {
+        File file = yamlParser.resolveFile(filename);
+        long lastModified = file == null ? 0 : file.lastModified();
+        String source = yamlParser.readFile(filename);
+
+        Optional<CompiledSpecification> snapshot = loadSnapshot(filename, source);
+        CompiledSpecification compiled = snapshot.isPresent()
+                ? snapshot.get()
+                : specificationCompiler.compile(yamlParser.parseYamlString(source, DocumentLimits.unlimited()));
+        return new RegisteredSpecification(filename, file, lastModified, compiled);
+    }
+
+    private Optional<CompiledSpecification> loadSnapshot(String filename, String source) {
+        InputStream input = SpecificationRegistry.class.getClassLoader().getResourceAsStream(filename + SpecificationSnapshot.SUFFIX);
+        if (input == null) {
+            return Optional.empty();
+        }
+
+        try (input) {
+            Optional<CompiledSpecification> snapshot = specificationCompiler.readSnapshot(input, source);
+            if (snapshot.isEmpty()) {
+                logger.info(String.format("Snapshot of specification %s does not match the file, parsing the file", filename));
+            }
+            return snapshot;
+        } catch (IOException e) {
+            logger.warn(String.format("Snapshot of specification %s could not be read, parsing the file", filename), e);
+            return Optional.empty();
+        }
+    }
+
+    private ScheduledExecutorService scheduleReload(Duration interval) {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            return null;
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "specification-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::reload, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    private static class RegisteredSpecification {
+        private final String filename;
+        private final File file;
+        private final long lastModified;
+        private final CompiledSpecification compiled;
+
+        private RegisteredSpecification(String filename, File file, long lastModified, CompiledSpecification compiled) {
+            this.filename = filename;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.compiled = compiled;
+        }
+    }
+}
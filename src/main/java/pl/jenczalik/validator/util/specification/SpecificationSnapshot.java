@@ -0,0 +1,139 @@
+package pl.jenczalik.validator.util.specification;
+
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Binarny zapis skompilowanej specyfikacji, tworzony podczas budowania aplikacji.
+ * <p>
+ * Zapis zawiera drzewo węzłów specyfikacji wraz z jej wersją oraz skrótem treści pliku źródłowego.
+ * Odczyt nie wymaga parsowania pliku YAML - wystarczy porównać skrót treści pliku ze skrótem
+ * zapisanym w snapshocie. Wyrażenia regularne zapisywane są w postaci tekstowej i kompilowane
+ * przy odczycie.
+ * <p>
+ * Snapshot dla pliku "specification.yml" zapisywany jest jako zasób "specification.yml.snapshot"
+ * przez zadanie Gradle specificationSnapshot, które uruchamia {@link #main(String[])}.
+ */
+public class SpecificationSnapshot {
+    public static final String SUFFIX = ".snapshot";
+
+    private static final int MAGIC = 0x53504543;
+    private static final int FORMAT_VERSION = 1;
+
+    private final RegexCompiler regexCompiler;
+
+    SpecificationSnapshot(RegexCompiler regexCompiler) {
+        this.regexCompiler = regexCompiler;
+    }
+
+    /**
+     * Metoda tworząca snapshot specyfikacji.
+     *
+     * @param args Ścieżka pliku specyfikacji i ścieżka pliku, do którego zapisany zostanie snapshot
+     * @throws IOException Wyjątek rzucany, gdy specyfikacja nie może zostać odczytana lub snapshot zapisany.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: SpecificationSnapshot <specification file> <snapshot file>");
+        }
+
+        YamlParser yamlParser = new YamlParser();
+        SpecificationCompiler compiler = new SpecificationCompiler(new ContentHasher(), new RegexCompiler());
+        String source = yamlParser.readFile(args[0]);
+        CompiledSpecification specification = compiler.compile(yamlParser.parseYamlString(source));
+
+        Path snapshot = Path.of(args[1]).toAbsolutePath();
+        Files.createDirectories(snapshot.getParent());
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(snapshot))) {
+            compiler.writeSnapshot(specification, source, output);
+        }
+    }
+
+    /**
+     * @param specification Skompilowana specyfikacja
+     * @param sourceDigest Skrót treści pliku, z którego specyfikacja została skompilowana
+     * @param output Strumień, do którego zapisany zostanie snapshot
+     */
+    void write(CompiledSpecification specification, String sourceDigest, OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeUTF(sourceDigest);
+        data.writeUTF(specification.getVersion());
+        writeNode(data, specification.getRoot());
+        data.flush();
+    }
+
+    /**
+     * @param input Strumień zawierający snapshot
+     * @param sourceDigest Skrót aktualnej treści pliku specyfikacji
+     * @return Skompilowana specyfikacja, lub pusta, gdy snapshot powstał z innej treści pliku lub w innym formacie.
+     */
+    Optional<CompiledSpecification> read(InputStream input, String sourceDigest) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION || !data.readUTF().equals(sourceDigest)) {
+            return Optional.empty();
+        }
+        String version = data.readUTF();
+        return Optional.of(new CompiledSpecification(version, readNode(data)));
+    }
+
+    private void writeNode(DataOutputStream data, SpecificationNode node) throws IOException {
+        data.writeUTF(node.getName());
+        writeNullable(data, node.getTypeName());
+        data.writeBoolean(node.isRequired());
+        writeNullable(data, node.getNameRegex() == null ? null : node.getNameRegex().pattern());
+        writeNullable(data, node.getValueRegex() == null ? null : node.getValueRegex().pattern());
+        data.writeInt(node.getChildren().size());
+        for (SpecificationNode child : node.getChildren().values()) {
+            writeNode(data, child);
+        }
+    }
+
+    private SpecificationNode readNode(DataInputStream data) throws IOException {
+        String name = data.readUTF();
+        String typeName = readNullable(data);
+        boolean required = data.readBoolean();
+        SpecificationPattern nameRegex = compile(readNullable(data));
+        SpecificationPattern valueRegex = compile(readNullable(data));
+
+        int childCount = data.readInt();
+        Map<String, SpecificationNode> children = new LinkedHashMap<>();
+        for (int i = 0; i < childCount; i++) {
+            SpecificationNode child = readNode(data);
+            children.put(child.getName(), child);
+        }
+        return new SpecificationNode(name, typeName, required, nameRegex, valueRegex, children);
+    }
+
+    private SpecificationPattern compile(String regex) {
+        return regex == null ? null : regexCompiler.compile(regex);
+    }
+
+    private static void writeNullable(DataOutputStream data, String value) throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) {
+            data.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+}
@@ -0,0 +1,263 @@
+package pl.jenczalik.validator.util.type;
+
+import pl.jenczalik.validator.model.ErrorCode;
+
+/**
+ * Wbudowane typy prymitywów. Sprawdzenie każdego z nich to pojedyncze przejście po znakach
+ * wartości, bez tworzenia obiektów i bez wyjątków.
+ */
+public enum BuiltInType implements PrimitiveType {
+    /**
+     * Liczba całkowita z zakresu typu int, ze znakiem lub bez.
+     */
+    INTEGER("integer") {
+        @Override
+        public ErrorCode check(String value) {
+            long number = parseInteger(value);
+            if (number == BAD_INTEGER) {
+                return ErrorCode.BAD_NUMBER_FORMAT;
+            }
+            return number > Integer.MAX_VALUE ? ErrorCode.NUMBER_TOO_LARGE : null;
+        }
+    },
+
+    /**
+     * Nieujemna liczba całkowita nie większa od {@link Integer#MAX_VALUE}.
+     */
+    UNSIGNED_INTEGER("unsignedInteger") {
+        @Override
+        public ErrorCode check(String value) {
+            long number = parseInteger(value);
+            if (number == BAD_INTEGER || number < 0) {
+                return ErrorCode.BAD_NUMBER_FORMAT;
+            }
+            return number > Integer.MAX_VALUE ? ErrorCode.NUMBER_TOO_LARGE : null;
+        }
+    },
+
+    /**
+     * UUID w postaci tekstowej, np. "123e4567-e89b-12d3-a456-426614174000", bez względu na wielkość liter.
+     */
+    UUID("uuid") {
+        @Override
+        public ErrorCode check(String value) {
+            if (value.length() != 36) {
+                return ErrorCode.BAD_FORMAT;
+            }
+            for (int i = 0; i < 36; i++) {
+                char c = value.charAt(i);
+                boolean valid = i == 8 || i == 13 || i == 18 || i == 23 ? c == '-' : isHexDigit(c);
+                if (!valid) {
+                    return ErrorCode.BAD_FORMAT;
+                }
+            }
+            return null;
+        }
+    },
+
+    /**
+     * Kod odpowiedzi CoAP w postaci "c.dd" (RFC 7252), np. "2.05" lub "4.04" - klasa 2, 4 lub 5
+     * i szczegół od 00 do 31.
+     */
+    COAP_CODE("coapCode") {
+        @Override
+        public ErrorCode check(String value) {
+            if (value.length() != 4 || value.charAt(1) != '.') {
+                return ErrorCode.BAD_FORMAT;
+            }
+            char codeClass = value.charAt(0);
+            char tens = value.charAt(2);
+            char units = value.charAt(3);
+            if ((codeClass != '2' && codeClass != '4' && codeClass != '5') || !isDigit(tens) || !isDigit(units)) {
+                return ErrorCode.BAD_FORMAT;
+            }
+            return (tens - '0') * 10 + (units - '0') <= 31 ? null : ErrorCode.BAD_FORMAT;
+        }
+    },
+
+    /**
+     * Odwołanie URI (RFC 3986) - bezwzględne, np. "coap://example.com/lamps", lub względne,
+     * np. "example.com/licence.md". Dozwolone są wyłącznie znaki ASCII dopuszczone przez RFC,
+     * a "%" musi poprzedzać dwie cyfry szesnastkowe.
+     */
+    URI("uri") {
+        @Override
+        public ErrorCode check(String value) {
+            int length = value.length();
+            if (length == 0) {
+                return ErrorCode.BAD_FORMAT;
+            }
+
+            boolean scheme = isAlpha(value.charAt(0));
+            boolean firstSegment = true;
+            boolean fragment = false;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c == ':' && firstSegment) {
+                    if (!scheme) {
+                        return ErrorCode.BAD_FORMAT;
+                    }
+                    firstSegment = false;
+                } else if (c == '/' || c == '?' || c == '#') {
+                    firstSegment = false;
+                    if (c == '#') {
+                        if (fragment) {
+                            return ErrorCode.BAD_FORMAT;
+                        }
+                        fragment = true;
+                    }
+                } else if (c == '%') {
+                    if (i + 2 >= length || !isHexDigit(value.charAt(i + 1)) || !isHexDigit(value.charAt(i + 2))) {
+                        return ErrorCode.BAD_FORMAT;
+                    }
+                    scheme = false;
+                    i += 2;
+                } else if (!isUriCharacter(c)) {
+                    return ErrorCode.BAD_FORMAT;
+                } else if (!isAlpha(c) && !isDigit(c) && c != '+' && c != '-' && c != '.') {
+                    scheme = false;
+                }
+            }
+            return null;
+        }
+    },
+
+    /**
+     * Adres e-mail w postaci "część-lokalna@domena". Część lokalna składa się ze znaków dozwolonych
+     * bez cudzysłowów (RFC 5322) i kropek, które nie mogą występować na jej początku, końcu ani obok
+     * siebie. Domena musi mieć co najmniej dwie etykiety, złożone z liter, cyfr i myślników.
+     */
+    EMAIL("email") {
+        @Override
+        public ErrorCode check(String value) {
+            int at = value.lastIndexOf('@');
+            if (at <= 0 || at > MAX_LOCAL_PART || value.length() > MAX_EMAIL) {
+                return ErrorCode.BAD_FORMAT;
+            }
+
+            char previous = '.';
+            for (int i = 0; i < at; i++) {
+                char c = value.charAt(i);
+                if (c == '.' ? previous == '.' : !isAtext(c)) {
+                    return ErrorCode.BAD_FORMAT;
+                }
+                previous = c;
+            }
+            if (previous == '.') {
+                return ErrorCode.BAD_FORMAT;
+            }
+
+            int labels = 0;
+            int labelStart = at + 1;
+            for (int i = labelStart; i <= value.length(); i++) {
+                if (i == value.length() || value.charAt(i) == '.') {
+                    int labelLength = i - labelStart;
+                    if (labelLength == 0 || labelLength > MAX_LABEL
+                            || value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                        return ErrorCode.BAD_FORMAT;
+                    }
+                    labels++;
+                    labelStart = i + 1;
+                } else if (!isDomainCharacter(value.charAt(i))) {
+                    return ErrorCode.BAD_FORMAT;
+                }
+            }
+            return labels >= 2 ? null : ErrorCode.BAD_FORMAT;
+        }
+    };
+
+    /**
+     * Wynik {@link #parseInteger(String)} dla wartości, która nie jest liczbą z zakresu typu long.
+     */
+    private static final long BAD_INTEGER = Long.MIN_VALUE;
+    private static final int MAX_LOCAL_PART = 64;
+    private static final int MAX_LABEL = 63;
+    private static final int MAX_EMAIL = 254;
+    private static final String ATEXT_SYMBOLS = "!#$%&'*+-/=?^_`{|}~";
+    private static final String URI_SYMBOLS = "-._~:/?#[]@!$&'()*+,;=";
+
+    private final String name;
+
+    BuiltInType(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Metoda odczytująca liczbę całkowitą bez tworzenia wyjątków.
+     * <p>
+     * Akceptowany format jest zgodny z {@link Long#parseLong(String)} - liczby spoza
+     * zakresu typu long traktowane są jako niepoprawne.
+     *
+     * @param value Wartość
+     * @return Liczba ograniczona do przedziału [Integer.MIN_VALUE - 1, Integer.MAX_VALUE + 1],
+     * lub {@link #BAD_INTEGER} gdy wartość nie jest liczbą
+     */
+    private static long parseInteger(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return BAD_INTEGER;
+        }
+
+        int index = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return BAD_INTEGER;
+            }
+            negative = first == '-';
+            index = 1;
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        for (; index < length; index++) {
+            int digit = Character.digit(value.charAt(index), 10);
+            if (digit < 0 || result < multiplicationLimit) {
+                return BAD_INTEGER;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return BAD_INTEGER;
+            }
+            result -= digit;
+        }
+
+        long number = negative ? result : -result;
+        return Math.max(Integer.MIN_VALUE - 1L, Math.min(number, Integer.MAX_VALUE + 1L));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isUriCharacter(char c) {
+        return isAlpha(c) || isDigit(c) || URI_SYMBOLS.indexOf(c) >= 0;
+    }
+
+    private static boolean isAtext(char c) {
+        return isAlpha(c) || isDigit(c) || ATEXT_SYMBOLS.indexOf(c) >= 0;
+    }
+
+    /**
+     * Znaki etykiety domeny - litery i cyfry ASCII, myślnik, a także litery spoza ASCII
+     * dla domen międzynarodowych.
+     */
+    private static boolean isDomainCharacter(char c) {
+        return isAlpha(c) || isDigit(c) || c == '-' || (c >= 128 && Character.isLetterOrDigit(c));
+    }
+}
@@ -0,0 +1,25 @@
+package pl.jenczalik.validator.util.type;
+
+import pl.jenczalik.validator.model.ErrorCode;
+
+/**
+ * Typ prymitywu, do którego odwołują się pliki specyfikacji polem type, np. "type: uuid".
+ * <p>
+ * Sprawdzenie wartości wykonywane jest dla każdego prymitywu walidowanej definicji, dlatego
+ * implementacje nie powinny tworzyć obiektów ani rzucać wyjątków - wystarczy przejść po znakach wartości.
+ *
+ * @see PrimitiveTypes
+ */
+public interface PrimitiveType {
+
+    /**
+     * @return Nazwa typu, w postaci w jakiej występuje w pliku specyfikacji.
+     */
+    String getName();
+
+    /**
+     * @param value Wartość prymitywu
+     * @return Rodzaj błędu, lub null gdy wartość jest poprawna
+     */
+    ErrorCode check(String value);
+}
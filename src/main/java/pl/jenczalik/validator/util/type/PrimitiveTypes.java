@@ -0,0 +1,49 @@
+package pl.jenczalik.validator.util.type;
+
+import pl.jenczalik.validator.model.specification.NodeType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejestr typów prymitywów, do których mogą odwoływać się pliki specyfikacji.
+ * <p>
+ * Rejestr zawiera typy wbudowane ({@link BuiltInType}), a kolejne typy można dodać metodą
+ * {@link #register(PrimitiveType)}. Typ przypisywany jest węzłom podczas kompilacji specyfikacji,
+ * więc musi zostać zarejestrowany, zanim specyfikacja, która go używa, zostanie skompilowana.
+ */
+public final class PrimitiveTypes {
+    private static final Map<String, PrimitiveType> TYPES = new ConcurrentHashMap<>();
+
+    static {
+        for (BuiltInType type : BuiltInType.values()) {
+            TYPES.put(type.getName(), type);
+        }
+    }
+
+    private PrimitiveTypes() {
+    }
+
+    /**
+     * Metoda rejestrująca typ prymitywu. Typ o tej samej nazwie zostaje zastąpiony.
+     *
+     * @param type Typ prymitywu
+     * @throws IllegalArgumentException Wyjątek rzucany, gdy nazwa typu należy do typu string, boolean
+     * lub typu węzła z dziećmi - ich znaczenie jest częścią języka specyfikacji.
+     */
+    public static void register(PrimitiveType type) {
+        NodeType nodeType = NodeType.fromName(type.getName());
+        if (nodeType.isContainer() || nodeType == NodeType.STRING || nodeType == NodeType.BOOLEAN) {
+            throw new IllegalArgumentException(String.format("Type %s cannot be redefined.", type.getName()));
+        }
+        TYPES.put(type.getName(), type);
+    }
+
+    /**
+     * @param name Nazwa typu z pliku specyfikacji
+     * @return Typ prymitywu, lub null gdy nazwa nie jest zarejestrowana.
+     */
+    public static PrimitiveType get(String name) {
+        return name == null ? null : TYPES.get(name);
+    }
+}
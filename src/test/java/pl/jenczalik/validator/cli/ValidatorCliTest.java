@@ -0,0 +1,132 @@
+package pl.jenczalik.validator.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidatorCliTest {
+
+    private static final String VALID_DEFINITION = "coapi: '1.0'\n" +
+            "servers:\n" +
+            "  main:\n" +
+            "    port: 5683\n" +
+            "info:\n" +
+            "  title: API\n" +
+            "  version: '1.0'\n" +
+            "  coapVersion: '1'\n" +
+            "paths:\n" +
+            "  /lamps:\n" +
+            "    get:\n" +
+            "      description: Get lamps.\n" +
+            "      responses:\n" +
+            "        default:\n" +
+            "          content:\n" +
+            "            json:\n" +
+            "              schema: JSON\n";
+
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void validDefinitionsExitWithZero() throws Exception {
+        Files.createDirectories(directory.resolve("nested"));
+        Files.writeString(directory.resolve("first.yml"), VALID_DEFINITION);
+        Files.writeString(directory.resolve("nested/second.yaml"), VALID_DEFINITION);
+        Files.writeString(directory.resolve("notes.txt"), "not a definition");
+
+        assertEquals(ValidatorCli.EXIT_VALID, run(directory.toString()));
+
+        JsonNode report = objectMapper.readTree(out.toByteArray());
+        assertEquals("OK", report.get("validationCode").asText());
+        assertEquals(2, report.get("fileCount").asInt());
+        assertEquals(2, report.get("validCount").asInt());
+        assertEquals(List.of(directory.resolve("first.yml").toString(), directory.resolve("nested/second.yaml").toString()),
+                files(report));
+    }
+
+    @Test
+    void inVALID_DEFINITIONsAreReportedInPathOrder() throws Exception {
+        Files.writeString(directory.resolve("a.yml"), VALID_DEFINITION);
+        Files.writeString(directory.resolve("b.yml"), VALID_DEFINITION.replace("coapi: '1.0'\n", ""));
+        Files.writeString(directory.resolve("c.json"), "{\"coapi\": \"1.0\"}");
+        Path reportFile = directory.resolve("report.out");
+
+        int exitCode = run("--collect-all", "--threads", "2", "--validator-mode", "interpreted",
+                "--report", reportFile.toString(), directory + "/*.{yml,json}");
+
+        assertEquals(ValidatorCli.EXIT_INVALID, exitCode);
+        JsonNode report = objectMapper.readTree(reportFile.toFile());
+        assertEquals("EXCEPTION", report.get("validationCode").asText());
+        assertEquals(3, report.get("fileCount").asInt());
+        assertEquals(1, report.get("validCount").asInt());
+        assertEquals(2, report.get("invalidCount").asInt());
+        assertEquals(0, report.get("unreadableCount").asInt());
+        assertEquals(List.of("a.yml", "b.yml", "c.json"), files(report).stream()
+                .map(file -> Path.of(file).getFileName().toString())
+                .collect(Collectors.toList()));
+        assertEquals("OK", report.at("/results/0/result/validationCode").asText());
+        assertEquals("REQUIRED_OBJECT_NOT_PRESENT", report.at("/results/1/result/errors/0/code").asText());
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("1 valid, 2 invalid"));
+    }
+
+    @Test
+    void largeFilesAreMappedToMemory() throws Exception {
+        StringBuilder definition = new StringBuilder(VALID_DEFINITION);
+        String comment = "# " + "x".repeat(100) + "\n";
+        while (definition.length() <= DefinitionFiles.MAPPING_THRESHOLD) {
+            definition.append(comment);
+        }
+        Path file = directory.resolve("large.yml");
+        Files.writeString(file, definition);
+
+        assertEquals(definition.toString(), DefinitionFiles.read(file));
+        assertEquals(ValidatorCli.EXIT_VALID, run(file.toString()));
+    }
+
+    @Test
+    void incorrectUsageExitsWithTwo() throws Exception {
+        assertEquals(ValidatorCli.EXIT_USAGE, run());
+        assertEquals(ValidatorCli.EXIT_USAGE, run("--threads", "0", directory.toString()));
+        assertEquals(ValidatorCli.EXIT_USAGE, run(directory.toString()));
+        assertEquals(ValidatorCli.EXIT_USAGE, run(directory.resolve("missing.yml").toString()));
+        assertEquals(ValidatorCli.EXIT_VALID, run("--help"));
+    }
+
+    @Test
+    void unwritableReportExitsWithThree() throws Exception {
+        Files.writeString(directory.resolve("a.yml"), VALID_DEFINITION);
+
+        assertEquals(ValidatorCli.EXIT_IO_ERROR,
+                run("--report", directory.resolve("missing/report.json").toString(), directory.toString()));
+    }
+
+    private int run(String... args) {
+        out.reset();
+        err.reset();
+        return new ValidatorCli(new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8))
+                .run(args);
+    }
+
+    private static List<String> files(JsonNode report) {
+        List<String> files = new ArrayList<>();
+        report.get("results").forEach(result -> files.add(result.get("file").asText()));
+        return files;
+    }
+}
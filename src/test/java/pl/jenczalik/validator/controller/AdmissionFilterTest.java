@@ -0,0 +1,60 @@
+package pl.jenczalik.validator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import pl.jenczalik.validator.config.Config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionFilterTest {
+
+    private final AdmissionFilter filter;
+
+    AdmissionFilterTest() {
+        Config config = new Config();
+        config.setMaxRequestSize(DataSize.ofBytes(64));
+        filter = new AdmissionFilter(config, new ObjectMapper());
+    }
+
+    @Test
+    void requestWithinSizeIsAdmitted() throws Exception {
+        AtomicBoolean admitted = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "a: b"), response, (request, ignored) -> admitted.set(true));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertTrue(admitted.get());
+    }
+
+    @Test
+    void oversizedRequestIsRejectedBeforeAdmission() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("PATCH", "x".repeat(65)), response, (request, ignored) -> {
+            throw new AssertionError("Request should not be admitted.");
+        });
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertTrue(response.getContentAsString().contains("64"));
+
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "x".repeat(65)), read, (request, ignored) -> { });
+        assertEquals(HttpStatus.OK.value(), read.getStatus());
+    }
+
+    private static MockHttpServletRequest request(String method, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/validation");
+        if (body != null) {
+            request.setContent(body.getBytes());
+        }
+        return request;
+    }
+}
@@ -0,0 +1,103 @@
+package pl.jenczalik.validator.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import pl.jenczalik.validator.config.ReactiveConfig;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.ValidationCode;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {"paths.maxRequestSize=1KB", "paths.maxKeyLength=32"})
+class ReactiveValidationHandlerTest {
+
+    private static final String DOCUMENT = "coapi: '1.0'\n" +
+            "servers:\n" +
+            "  main:\n" +
+            "    port: 5683\n" +
+            "info:\n" +
+            "  title: API\n" +
+            "  version: '1.0'\n" +
+            "  coapVersion: '1'\n" +
+            "paths:\n" +
+            "  /lamps:\n" +
+            "    get:\n" +
+            "      size1: 1\n" +
+            "      responses:\n" +
+            "        default:\n" +
+            "          content:\n" +
+            "            json:\n" +
+            "              schema: JSON\n";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void validatesStreamedDefinition() throws Exception {
+        HttpResponse<String> response = send("", chunked(DOCUMENT));
+        assertEquals(HttpStatus.OK.value(), response.statusCode());
+        assertEquals(ValidationCode.OK.name(), json(response).get("validationCode").asText());
+
+        response = send("?collectAll=true", HttpRequest.BodyPublishers.ofString(DOCUMENT.replace("port: 5683", "port: port")));
+        assertEquals(HttpStatus.OK.value(), response.statusCode());
+        assertEquals(1, json(response).get("errors").size());
+    }
+
+    @Test
+    void rejectsOversizedBody() throws Exception {
+        String oversized = DOCUMENT + "#".repeat(1024) + "\n";
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), send("", HttpRequest.BodyPublishers.ofString(oversized)).statusCode());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), send("", chunked(oversized)).statusCode());
+    }
+
+    @Test
+    void reportsExceededDocumentLimit() throws Exception {
+        String document = DOCUMENT.replace("size1: 1", "k".repeat(33) + ": 1");
+
+        HttpResponse<String> response = send("?collectAll=true", HttpRequest.BodyPublishers.ofString(document));
+        assertEquals(HttpStatus.OK.value(), response.statusCode());
+        assertEquals(ErrorCode.LIMIT_EXCEEDED.name(), json(response).at("/errors/0/code").asText());
+    }
+
+    @Test
+    void rejectsUnknownSpecification() throws Exception {
+        HttpResponse<String> response = send("?specification=missing", HttpRequest.BodyPublishers.ofString(DOCUMENT));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.statusCode());
+        assertEquals(ValidationCode.EXCEPTION.name(), json(response).get("validationCode").asText());
+    }
+
+    private HttpResponse<String> send(String query, HttpRequest.BodyPublisher body) throws Exception {
+        URI uri = URI.create("http://localhost:" + port + ReactiveConfig.PATH + "/validation" + query);
+        return client.send(HttpRequest.newBuilder(uri).POST(body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Treść bez znanej długości - przesyłana bez nagłówka Content-Length.
+     */
+    private HttpRequest.BodyPublisher chunked(String body) {
+        return HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws Exception {
+        return objectMapper.readTree(response.body());
+    }
+}
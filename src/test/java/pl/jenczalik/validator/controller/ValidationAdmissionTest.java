@@ -0,0 +1,130 @@
+package pl.jenczalik.validator.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import pl.jenczalik.validator.service.ConcurrencyLimiter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "paths.maxConcurrentValidations=1", "paths.admissionTimeout=10ms", "paths.retryAfter=1500ms", "paths.maxRequestSize=1KB"})
+class ValidationAdmissionTest {
+
+    private static final String DOCUMENT = "coapi: '1.0'\n" +
+            "servers:\n" +
+            "  main:\n" +
+            "    port: 5683\n" +
+            "info:\n" +
+            "  title: API\n" +
+            "  version: '1.0'\n" +
+            "  coapVersion: '1'\n" +
+            "paths:\n" +
+            "  /lamps:\n" +
+            "    get:\n" +
+            "      size1: 1\n";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConcurrencyLimiter limiter;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void slowUploadDoesNotHoldValidationPermit() throws Exception {
+        CountDownLatch uploading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        InputStream slow = new SequenceInputStream(new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                uploading.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return -1;
+            }
+        });
+
+        CompletableFuture<HttpResponse<String>> upload = client.sendAsync(request()
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> slow)).build(), HttpResponse.BodyHandlers.ofString());
+        try {
+            assertTrue(uploading.await(10, TimeUnit.SECONDS));
+
+            HttpResponse<String> response = send(DOCUMENT);
+            assertEquals(HttpStatus.OK.value(), response.statusCode(), response.body());
+        } finally {
+            finish.countDown();
+        }
+
+        assertEquals(HttpStatus.OK.value(), upload.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(0, limiter.getActive());
+    }
+
+    @Test
+    void saturatedLimiterRejectsWithRetryAfter() throws Exception {
+        assertTrue(limiter.tryAcquire());
+        try {
+            HttpResponse<String> response = send(DOCUMENT);
+
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.statusCode());
+            assertEquals("2", response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null));
+            assertTrue(response.body().contains("Too many validations in progress"));
+        } finally {
+            limiter.release();
+        }
+        assertEquals(HttpStatus.OK.value(), send(DOCUMENT).statusCode());
+    }
+
+    @Test
+    void oversizedBodyWithoutContentLengthIsRejected() throws Exception {
+        // 600 dwubajtowych znaków - mniej niż 1024 znaki, lecz więcej niż 1024 bajty
+        String oversized = DOCUMENT + "# " + "ż".repeat(600) + "\n";
+
+        for (String path : List.of("", "/batch", "/stream", "/documents", "/jobs")) {
+            HttpResponse<String> response = client.send(request(path)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new ByteArrayInputStream(oversized.getBytes(StandardCharsets.UTF_8))))
+                    .build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+            assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.statusCode(), path);
+            assertTrue(response.body().contains("maximum size of 1024 bytes"), path);
+        }
+        assertEquals(0, limiter.getActive());
+    }
+
+    private HttpResponse<String> send(String body) throws Exception {
+        return client.send(request().POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder request() {
+        return request("");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation" + path))
+                .header(HttpHeaders.CONTENT_TYPE, "text/plain");
+    }
+}
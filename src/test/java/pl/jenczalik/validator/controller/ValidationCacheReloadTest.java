@@ -0,0 +1,93 @@
+package pl.jenczalik.validator.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import pl.jenczalik.validator.util.specification.SpecificationRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "paths.specification=${java.io.tmpdir}/validator-cache-reload-test/specification.yml",
+        "paths.specificationReloadInterval=0"})
+class ValidationCacheReloadTest {
+
+    private static final Path SPECIFICATION = Paths.get(System.getProperty("java.io.tmpdir"),
+            "validator-cache-reload-test", "specification.yml");
+
+    private static final String DOCUMENT = "coapi: '1.0'\n" +
+            "servers:\n" +
+            "  main:\n" +
+            "    port: 5683\n" +
+            "info:\n" +
+            "  title: API\n" +
+            "  version: '1.0'\n" +
+            "  coapVersion: '1'\n" +
+            "paths:\n" +
+            "  /lamps:\n" +
+            "    get:\n" +
+            "      size1: 1\n";
+
+    // plik specyfikacji musi istnieć przed utworzeniem kontekstu aplikacji
+    static {
+        try (InputStream stream = ValidationCacheReloadTest.class.getClassLoader().getResourceAsStream("specification.yml")) {
+            Files.createDirectories(SPECIFICATION.getParent());
+            Files.write(SPECIFICATION, stream.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SpecificationRegistry specificationRegistry;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void reloadInvalidatesCachedResults() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.BodyPublishers.ofString(DOCUMENT), null);
+        assertEquals(HttpStatus.OK.value(), response.statusCode());
+        String etag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), send(HttpRequest.BodyPublishers.noBody(), etag).statusCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), send(HttpRequest.BodyPublishers.noBody(), null).statusCode());
+
+        // nowa wersja specyfikacji wymaga pola description w operacji get
+        String content = Files.readString(SPECIFICATION);
+        long lastModified = SPECIFICATION.toFile().lastModified();
+        Files.writeString(SPECIFICATION, content.replaceFirst(
+                "            description:\n              required: false", "            description:\n              required: true"));
+        SPECIFICATION.toFile().setLastModified(lastModified + 2000);
+        specificationRegistry.reload();
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), send(HttpRequest.BodyPublishers.noBody(), etag).statusCode());
+    }
+
+    private HttpResponse<String> send(HttpRequest.BodyPublisher body, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/validation"))
+                .header(HttpHeaders.CONTENT_TYPE, "text/plain")
+                .POST(body);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+}
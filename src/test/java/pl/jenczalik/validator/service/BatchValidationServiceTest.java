@@ -0,0 +1,93 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.BatchTooLargeException;
+import pl.jenczalik.validator.model.BatchValidationResult;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.util.parser.YamlParser;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class BatchValidationServiceTest {
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private BatchValidationService batchValidationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Config config = new Config();
+        config.setBatchParallelism(4);
+        config.setMaxBatchSize(MAX_BATCH_SIZE);
+        batchValidationService = new BatchValidationService(TestValidation.createService(), new YamlParser(), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchValidationService.shutdown();
+    }
+
+    @Test
+    void multiDocumentYamlResultsKeepInputOrder() {
+        String batch = IntStream.range(0, MAX_BATCH_SIZE)
+                .mapToObj(i -> i % 3 == 0 ? invalidDocument(i) : validDocument(i))
+                .collect(Collectors.joining("---\n", "---\n", ""));
+
+        BatchValidationResult result = batchValidationService.validateYamlDocuments(batch, ValidationOptions.failFast());
+
+        assertEquals(ValidationCode.EXCEPTION, result.getValidationCode());
+        assertEquals(MAX_BATCH_SIZE, result.getDocumentCount());
+        for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+            if (i % 3 == 0) {
+                assertEquals(expectedError(i), result.getResults().get(i).getValidationMessage());
+            } else {
+                assertEquals(ValidationCode.OK, result.getResults().get(i).getValidationCode());
+            }
+        }
+    }
+
+    @Test
+    void ndjsonDocumentsAreValidated() {
+        String valid = "{\"coapi\": \"1.0\", \"servers\": {}, \"info\": {\"title\": \"API\", \"version\": \"1\", \"coapVersion\": \"1\"}, \"paths\": {}}";
+        String invalid = valid.replace("\"coapi\": \"1.0\", ", "");
+
+        BatchValidationResult result = batchValidationService.validateNdjson(valid + "\n\n" + invalid + "\n", ValidationOptions.failFast());
+
+        assertEquals(2, result.getDocumentCount());
+        assertEquals(ValidationCode.OK, result.getResults().get(0).getValidationCode());
+        assertEquals("Validation error at object: root. Required object coapi is not present.",
+                result.getResults().get(1).getValidationMessage());
+    }
+
+    @Test
+    void ndjsonLinesAreParsedAsJson() {
+        // "\/" i "\u00e9" są poprawne w JSON, ale nie w YAML
+        String escaped = "{\"coapi\": \"1.0\", \"servers\": {}, \"info\": {\"title\": \"API \\u00e9\", \"version\": \"1\", " +
+                "\"coapVersion\": \"1\"}, \"paths\": {\"\\/lamps\\/1\": {\"get\": {\"description\": \"Lamp\"}}}}";
+
+        BatchValidationResult result = batchValidationService.validateNdjson(escaped, ValidationOptions.failFast());
+
+        assertEquals(ValidationCode.OK, result.getResults().get(0).getValidationCode());
+    }
+
+    @Test
+    void oversizedBatchIsRejected() {
+        String batch = IntStream.rangeClosed(0, MAX_BATCH_SIZE)
+                .mapToObj(TestValidation::validDocument)
+                .collect(Collectors.joining("---\n"));
+
+        assertThrows(BatchTooLargeException.class,
+                () -> batchValidationService.validateYamlDocuments(batch, ValidationOptions.failFast()));
+    }
+}
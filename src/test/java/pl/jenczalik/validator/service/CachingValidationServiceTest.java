@@ -0,0 +1,105 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.model.CacheStatistics;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.specification.SpecificationRegistry;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class CachingValidationServiceTest {
+
+    private CachingValidationService cachingValidationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Config config = new Config();
+        config.setCacheMaxSize(100);
+        cachingValidationService = new CachingValidationService(TestValidation.createService(), new ContentHasher(), config);
+    }
+
+    @Test
+    void identicalDocumentIsValidatedOnce() {
+        ValidationOptions options = ValidationOptions.failFast();
+        String key = cachingValidationService.key(invalidDocument(1), options);
+
+        assertFalse(cachingValidationService.contains(key));
+        assertSame(cachingValidationService.validate(key, invalidDocument(1), options),
+                cachingValidationService.validate(key, invalidDocument(1), options));
+        assertTrue(cachingValidationService.contains(key));
+
+        CacheStatistics statistics = cachingValidationService.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+    }
+
+    @Test
+    void keyDependsOnDocumentAndOptions() {
+        String key = cachingValidationService.key(validDocument(1), ValidationOptions.failFast());
+
+        assertEquals(key, cachingValidationService.key(validDocument(1), ValidationOptions.failFast()));
+        assertNotEquals(key, cachingValidationService.key(validDocument(2), ValidationOptions.failFast()));
+        assertNotEquals(key, cachingValidationService.key(validDocument(1), ValidationOptions.collectAll(10)));
+    }
+
+    @Test
+    void invalidationRemovesResults() {
+        ValidationOptions options = ValidationOptions.failFast();
+        String key = cachingValidationService.key(validDocument(1), options);
+        cachingValidationService.validate(key, validDocument(1), options);
+
+        cachingValidationService.invalidateAll();
+
+        assertFalse(cachingValidationService.contains(key));
+    }
+
+    @Test
+    void resultsOfAnotherSpecificationVersionAreNotReturned(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("specification.yml");
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream("specification.yml")) {
+            Files.write(file, stream.readAllBytes());
+        }
+        Config config = TestValidation.config(ValidatorMode.INTERPRETED);
+        config.setSpecification(file.toString());
+        config.setCacheMaxSize(100);
+        SpecificationRegistry registry = TestValidation.createRegistry(config);
+        ValidationService validationService = TestValidation.createService(registry, config);
+        CachingValidationService service = new CachingValidationService(validationService, new ContentHasher(), config);
+
+        String document = validDocument(1).replace("      description: Get lamp.\n", "");
+        ValidationOptions options = ValidationOptions.failFast();
+        String cachedKey = service.key(document, options);
+        assertEquals(ValidationCode.OK, service.validate(cachedKey, document, options).getValidationCode());
+        String pendingKey = service.key(document, ValidationOptions.collectAll(10));
+
+        // nowa wersja wymaga pola description - przeładowanie bez usunięcia wyników, jak w trakcie trwającej walidacji
+        long lastModified = file.toFile().lastModified();
+        Files.writeString(file, Files.readString(file).replaceFirst(
+                "            description:\n              required: false", "            description:\n              required: true"));
+        file.toFile().setLastModified(lastModified + 2000);
+        registry.reload();
+
+        assertEquals(ValidationCode.EXCEPTION, service.validate(cachedKey, document, options).getValidationCode());
+        assertFalse(service.contains(cachedKey));
+        // klucz wyliczony przed przeładowaniem - wynik nowej wersji nie jest pod nim zapamiętywany
+        assertEquals(ValidationCode.EXCEPTION,
+                service.validate(pendingKey, document, ValidationOptions.collectAll(10)).getValidationCode());
+        assertFalse(service.contains(pendingKey));
+    }
+}
@@ -0,0 +1,104 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationError;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class CollectAllErrorsTest {
+
+    private static final String INVALID_DOCUMENT = validDocument(1)
+            .replace("  title: API 1\n", "")
+            .replace("    port: 5683\n", "    port: -1\n    unknown:\n      nested: value\n")
+            .replace("      size1: 1\n", "      size1: 99999999999\n      etag: maybe\n")
+            .replace("        default:\n", "        6.00:\n");
+
+    private ValidationService validationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validationService = TestValidation.createService();
+    }
+
+    @Test
+    void validDocumentHasNoErrors() {
+        ValidationResult result = validationService.validate(validDocument(1), ValidationOptions.collectAll(100));
+
+        assertEquals(ValidationCode.OK, result.getValidationCode());
+        assertNull(result.getErrors());
+    }
+
+    @Test
+    void allErrorsAreCollectedInOnePass() {
+        ValidationResult result = validationService.validate(INVALID_DOCUMENT, ValidationOptions.collectAll(100));
+
+        assertEquals(ValidationCode.EXCEPTION, result.getValidationCode());
+        assertEquals(Set.of(
+                "REQUIRED_OBJECT_NOT_PRESENT info null title null",
+                "BAD_NUMBER_FORMAT servers -> main port unsignedInteger -1",
+                "EXCESSIVE_OBJECT_PRESENT servers -> main null null unknown",
+                "NUMBER_TOO_LARGE paths -> /lamps/1 -> get size1 unsignedInteger 99999999999",
+                "BAD_TYPE paths -> /lamps/1 -> get etag boolean java.lang.String",
+                "NO_MATCH_WITH_REGEX paths -> /lamps/1 -> get -> responses 6.00 ([245]\\.\\d\\d)|(default) 6.00"
+        ), describe(result.getErrors()));
+    }
+
+    @Test
+    void streamingCollectsSameErrors() {
+        ValidationResult tree = validationService.validate(INVALID_DOCUMENT, ValidationOptions.collectAll(100));
+        ValidationResult stream = validationService.validateStream(
+                new ByteArrayInputStream(INVALID_DOCUMENT.getBytes(StandardCharsets.UTF_8)), ValidationOptions.collectAll(100));
+
+        assertEquals(describe(tree.getErrors()), describe(stream.getErrors()));
+    }
+
+    @Test
+    void collectionStopsWhenBudgetIsExhausted() {
+        ValidationResult result = validationService.validate(INVALID_DOCUMENT, ValidationOptions.collectAll(2));
+
+        assertEquals(2, result.getErrors().size());
+        assertEquals("Found 2 validation errors. Error budget exhausted, validation stopped early.", result.getValidationMessage());
+    }
+
+    @Test
+    void budgetEqualToErrorCountIsNotExhausted() {
+        for (ValidationOptions options : new ValidationOptions[]{ValidationOptions.collectAll(6), new ValidationOptions(6, null, true)}) {
+            ValidationResult result = validationService.validate(INVALID_DOCUMENT, options);
+
+            assertEquals(6, result.getErrors().size());
+            assertEquals("Found 6 validation errors.", result.getValidationMessage());
+        }
+
+        ValidationResult stream = validationService.validateStream(
+                new ByteArrayInputStream(INVALID_DOCUMENT.getBytes(StandardCharsets.UTF_8)), ValidationOptions.collectAll(6));
+        assertEquals("Found 6 validation errors.", stream.getValidationMessage());
+    }
+
+    @Test
+    void malformedDocumentIsReportedAsError() {
+        ValidationResult result = validationService.validate("key: [unclosed", ValidationOptions.collectAll(100));
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals(ErrorCode.MALFORMED_DOCUMENT, result.getErrors().get(0).getCode());
+    }
+
+    private static Set<String> describe(List<ValidationError> errors) {
+        return errors.stream()
+                .map(error -> String.join(" ", error.getCode().name(), error.getPath(),
+                        String.valueOf(error.getKey()), String.valueOf(error.getExpected()), String.valueOf(error.getActual())))
+                .collect(Collectors.toSet());
+    }
+}
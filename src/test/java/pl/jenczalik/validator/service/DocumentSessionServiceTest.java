@@ -0,0 +1,117 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.DocumentNotFoundException;
+import pl.jenczalik.validator.exception.InvalidPatchException;
+import pl.jenczalik.validator.model.DocumentValidationResult;
+import pl.jenczalik.validator.model.PatchOperation;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.util.error.ValidationErrorHandler;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.patch.JsonPatchApplier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class DocumentSessionServiceTest {
+
+    private static final String SIZE = "/paths/~1lamps~11/get/size1";
+
+    private ValidationService validationService;
+    private DocumentSessionService documentSessionService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validationService = TestValidation.createService();
+        documentSessionService = new DocumentSessionService(
+                validationService, new YamlParser(), new JsonPatchApplier(), new ValidationErrorHandler(), new Config());
+    }
+
+    @Test
+    void patchRevalidatesChangedField() {
+        String documentId = documentSessionService.create(validDocument(1), ValidationOptions.failFast()).getDocumentId();
+        assertNotNull(documentId);
+
+        DocumentValidationResult result = documentSessionService.patch(documentId, List.of(replace(SIZE, "bad1")));
+        assertEquals(expectedError(1), result.getResult().getValidationMessage());
+
+        result = documentSessionService.patch(documentId, List.of(replace(SIZE, 1)));
+        assertEquals(ValidationCode.OK, result.getResult().getValidationCode());
+    }
+
+    @Test
+    void incrementalResultMatchesFullValidation() {
+        ValidationOptions options = ValidationOptions.collectAll(100);
+        String documentId = documentSessionService.create(invalidDocument(1), options).getDocumentId();
+
+        ValidationResult result = documentSessionService.patch(documentId, List.of(
+                new PatchOperation("add", "/extra", null, "value"),
+                new PatchOperation("remove", "/info/title", null, null),
+                replace("/servers/main/port", "port"),
+                new PatchOperation("add", "/paths/~1lamps~12", null, Map.of("get", Map.of("size1", "bad2"))),
+                new PatchOperation("move", SIZE.replace("size1", "summary"), SIZE.replace("size1", "description"), null)
+        )).getResult();
+
+        String patchedDocument = invalidDocument(1)
+                .replace("  title: API 1\n", "")
+                .replace("port: 5683", "port: port")
+                .replace("      description: Get lamp.\n", "")
+                + "      summary: Get lamp.\n"
+                + "  /lamps/2:\n    get:\n      size1: bad2\n"
+                + "extra: value\n";
+
+        assertEquals(describe(validationService.validate(patchedDocument, options)), describe(result));
+    }
+
+    @Test
+    void failedPatchLeavesDocumentUnchanged() {
+        String documentId = documentSessionService.create(validDocument(1), ValidationOptions.failFast()).getDocumentId();
+
+        assertThrows(InvalidPatchException.class, () -> documentSessionService.patch(documentId, List.of(
+                replace(SIZE, "bad1"),
+                new PatchOperation("remove", "/info/missing", null, null))));
+
+        DocumentValidationResult result = documentSessionService.patch(documentId, List.of(
+                new PatchOperation("test", SIZE, null, 1)));
+        assertEquals(ValidationCode.OK, result.getResult().getValidationCode());
+    }
+
+    @Test
+    void malformedDocumentIsNotStored() {
+        DocumentValidationResult result = documentSessionService.create("key: [unclosed", ValidationOptions.failFast());
+
+        assertNull(result.getDocumentId());
+        assertEquals(ValidationCode.EXCEPTION, result.getResult().getValidationCode());
+    }
+
+    @Test
+    void deletedDocumentIsNotFound() {
+        String documentId = documentSessionService.create(validDocument(1), ValidationOptions.failFast()).getDocumentId();
+        documentSessionService.delete(documentId);
+
+        assertThrows(DocumentNotFoundException.class, () -> documentSessionService.get(documentId));
+    }
+
+    private static PatchOperation replace(String path, Object value) {
+        return new PatchOperation("replace", path, null, value);
+    }
+
+    private static List<String> describe(ValidationResult result) {
+        return result.getErrors().stream()
+                .map(error -> error.getPath() + ": " + error.getMessage())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+package pl.jenczalik.validator.service;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.util.jfr.FlightRecording;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pl.jenczalik.validator.service.TestValidation.largeDocument;
+
+class FlightRecorderEventsTest {
+
+    private static final String PREFIX = "pl.jenczalik.validator.";
+    private static final String[] EVENTS = {"Parse", "DocumentValidation", "SubtreeValidation", "RegexEvaluation"};
+
+    private static ValidationService service;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        service = TestValidation.createService();
+    }
+
+    @Test
+    void bundledSettingsEnableValidationEvents() throws Exception {
+        Map<String, String> settings = FlightRecording.settings();
+
+        for (String event : EVENTS) {
+            assertEquals("true", settings.get(PREFIX + event + "#enabled"));
+        }
+        assertEquals("20 ms", settings.get(PREFIX + "SubtreeValidation#threshold"));
+        // ustawienia JDK są zachowane
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+    }
+
+    @Test
+    void eventsAreDisabledByDefault(@TempDir Path directory) throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+            service.validate(largeDocument(5, Set.of()));
+            recording.stop();
+            events = dump(recording, directory.resolve("default.jfr"));
+        }
+
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().startsWith(PREFIX)));
+    }
+
+    @Test
+    void eventsCarryPathNodeTypeAndDocumentSize(@TempDir Path directory) throws Exception {
+        String document = largeDocument(5, Set.of(3));
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            for (String event : EVENTS) {
+                recording.enable(PREFIX + event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            assertEquals(ValidationCode.EXCEPTION, service.validate(document, ValidationOptions.collectAll(10)).getValidationCode());
+            recording.stop();
+            events = dump(recording, directory.resolve("validation.jfr"));
+        }
+
+        Map<String, List<RecordedEvent>> byName = events.stream()
+                .filter(event -> event.getEventType().getName().startsWith(PREFIX))
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName().substring(PREFIX.length())));
+        for (String name : EVENTS) {
+            assertFalse(byName.getOrDefault(name, List.of()).isEmpty(), name);
+            for (RecordedEvent event : byName.get(name)) {
+                assertEquals(document.length(), event.getLong("documentSize"));
+                assertTrue(event.hasField("path") && event.hasField("nodeType"));
+            }
+        }
+
+        RecordedEvent validation = byName.get("DocumentValidation").get(0);
+        assertEquals("tree", validation.getString("mode"));
+        assertEquals(1, validation.getInt("errors"));
+        assertEquals("yaml", byName.get("Parse").get(0).getString("format"));
+
+        assertTrue(byName.get("SubtreeValidation").stream()
+                .anyMatch(event -> "paths -> /lamps/3 -> get".equals(event.getString("path"))
+                        && "object".equals(event.getString("nodeType"))));
+        assertTrue(byName.get("RegexEvaluation").stream()
+                .anyMatch(event -> event.getBoolean("matched") && event.getString("pattern") != null));
+    }
+
+    private static List<RecordedEvent> dump(Recording recording, Path file) throws Exception {
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+}
@@ -0,0 +1,200 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.util.codegen.ValidatorGenerator;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationCompiler;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.largeDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+/**
+ * Testy wygenerowanego walidatora - wynik walidacji, wraz z kolejnością błędów, ścieżką
+ * pierwszego błędu i liczbą odwiedzonych pól, musi być taki sam jak w walidacji interpretowanej.
+ */
+class GeneratedValidatorTest {
+
+    private static final String SPECIFICATION = "name:\n" +
+            "  required: true\n" +
+            "  type: string\n" +
+            "  valueRegex: '[a-z]+ \"quoted\" \\\\d'\n" +
+            "count:\n" +
+            "  required: false\n" +
+            "  type: integer\n" +
+            "size:\n" +
+            "  required: false\n" +
+            "  type: unsignedInteger\n" +
+            "enabled:\n" +
+            "  required: true\n" +
+            "  type: boolean\n" +
+            "other:\n" +
+            "  required: false\n" +
+            "  type: custom\n" +
+            "id:\n" +
+            "  required: false\n" +
+            "  type: uuid\n" +
+            "code:\n" +
+            "  required: false\n" +
+            "  type: coapCode\n" +
+            "empty:\n" +
+            "  required: false\n" +
+            "  type: array\n" +
+            "nothing:\n" +
+            "  required: false\n" +
+            "  type: object\n" +
+            "items:\n" +
+            "  required: false\n" +
+            "  type: array\n" +
+            "  children:\n" +
+            "    item:\n" +
+            "      required: true\n" +
+            "      type: object\n" +
+            "      nameRegex: 'i\\d+'\n" +
+            "      children:\n" +
+            "        \"weird \\\"key\\\" \\\\u0041\":\n" +
+            "          required: true\n" +
+            "          type: string\n" +
+            "        tags:\n" +
+            "          required: false\n" +
+            "          type: array\n" +
+            "          children:\n" +
+            "            tag:\n" +
+            "              type: integer\n";
+
+    private static final List<String> CUSTOM_DOCUMENTS = List.of(
+            "name: abc \"quoted\" 1\nenabled: 'true'\n",
+            "name: ABC\nenabled: maybe\ncount: -12\nsize: -1\nother: x\n",
+            "name: abc \"quoted\" 1\nenabled: TRUE\ncount: 99999999999\nsize: 12a\nother: [x]\nextra: 1\n",
+            "count:\nsize: [1]\nname: {a: b}\nenabled: [true]\nnothing: {}\nempty: {}\n",
+            "name: abc \"quoted\" 1\nenabled: false\nnothing: {unexpected: 1}\nempty: []\n",
+            "name: abc \"quoted\" 1\nenabled: false\nitems:\n  i1:\n    weird \"key\" \\u0041: v\n    tags: {a: 1, b: x, c: 99999999999, d:}\n"
+                    + "  x2:\n    tags: []\n  i3:\n  i4: text\n",
+            "name: abc \"quoted\" 1\nenabled: false\nempty:\n  a: 1\n",
+            "name: abc \"quoted\" 1\nenabled: false\nid: 123e4567-e89b-12d3-a456-426614174000\ncode: 4.04\n",
+            "name: abc \"quoted\" 1\nenabled: false\nid: 123e4567-e89b-12d3-a456\ncode: 6.00\n");
+
+    private ValidationService interpreted;
+    private ValidationService generated;
+    private ValidatorGenerator validatorGenerator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        interpreted = TestValidation.createService();
+        validatorGenerator = new ValidatorGenerator(TestValidation.config(ValidatorMode.GENERATED));
+        generated = TestValidation.createService(validatorGenerator);
+    }
+
+    @Test
+    void validatorIsGeneratedForSpecification() throws Exception {
+        CompiledSpecification specification = generated.getSpecification(null);
+
+        assertTrue(validatorGenerator.prepare(specification).get().isPresent());
+        assertTrue(validatorGenerator.get(specification).isPresent());
+        assertTrue(validatorGenerator.generateSource(specification).contains("case \"coapi\":"));
+        assertEquals(Optional.empty(), new ValidatorGenerator(new Config()).get(specification));
+    }
+
+    @Test
+    void generatedValidatorMatchesInterpretedValidation() throws Exception {
+        assertTrue(validatorGenerator.prepare(generated.getSpecification(null)).get().isPresent());
+
+        List<String> definitions = new ArrayList<>();
+        definitions.add(validDocument(1));
+        definitions.add(invalidDocument(1));
+        definitions.add(largeDocument(50, Set.of(7, 21, 42)));
+        definitions.add(largeDocument(20, Set.of(3)).replace("port: 5683", "port: [5683]") + "extra:\n");
+        definitions.add(validDocument(2).replace("  title: API 2\n", "").replace("    port: 5683\n", "    port: -1\n    unknown: 1\n"));
+        definitions.add(validDocument(3).replace("        default:\n", "        6.00:\n          extra:\n        7.00:\n"));
+        definitions.add(validDocument(4).replace("      size1: 4\n", "      size1:\n      etag: maybe\n"));
+        definitions.add(Files.readString(new YamlParser().resolveFile("example-request.yml").toPath()));
+
+        for (String definition : definitions) {
+            for (ValidationOptions options : List.of(ValidationOptions.failFast(), ValidationOptions.collectAll(100), ValidationOptions.collectAll(2))) {
+                assertEquals(describe(interpreted.validate(definition, options)), describe(generated.validate(definition, options)), definition);
+            }
+        }
+    }
+
+    @Test
+    void generatedValidatorHandlesAllNodeTypes() throws Exception {
+        YamlParser yamlParser = new YamlParser();
+        CompiledSpecification specification = new SpecificationCompiler(new ContentHasher(), new RegexCompiler())
+                .compile(yamlParser.parseYamlString(SPECIFICATION));
+        assertTrue(validatorGenerator.prepare(specification).get().isPresent(), validatorGenerator.generateSource(specification));
+
+        for (String document : CUSTOM_DOCUMENTS) {
+            Map<String, ?> definition = yamlParser.parseYamlString(document);
+            for (ValidationOptions options : List.of(ValidationOptions.failFast(), ValidationOptions.collectAll(100))) {
+                assertEquals(validate(interpreted, definition, specification, options),
+                        validate(generated, definition, specification, options), document);
+            }
+        }
+    }
+
+    @Test
+    void controlCharactersInKeysDoNotBreakGeneratedSource() throws Exception {
+        // znak nowej linii zapisany jako \\u000a zakończyłby komentarz i literał w wygenerowanym kodzie
+        String specification = "\"line\\nbreak\":\n" +
+                "  required: true\n" +
+                "  type: object\n" +
+                "  children:\n" +
+                "    \"tab\\tcarriage\\rend \\u00e9 \\\\u000a\":\n" +
+                "      required: true\n" +
+                "      type: integer\n";
+        YamlParser yamlParser = new YamlParser();
+        CompiledSpecification compiled = new SpecificationCompiler(new ContentHasher(), new RegexCompiler())
+                .compile(yamlParser.parseYamlString(specification));
+        assertTrue(validatorGenerator.prepare(compiled).get().isPresent(), validatorGenerator.generateSource(compiled));
+
+        String valid = "\"line\\nbreak\":\n  \"tab\\tcarriage\\rend \\u00e9 \\\\u000a\": 1\n";
+        for (String document : List.of(valid, valid.replace(": 1", ": x"), "\"line\\nbreak\": {}\n")) {
+            Map<String, ?> definition = yamlParser.parseYamlString(document);
+            assertEquals(validate(interpreted, definition, compiled, ValidationOptions.collectAll(100)),
+                    validate(generated, definition, compiled, ValidationOptions.collectAll(100)), document);
+        }
+        Map<String, ?> definition = yamlParser.parseYamlString(valid);
+        assertEquals(List.of("path root, nodes 2"), validate(generated, definition, compiled, ValidationOptions.collectAll(100)));
+    }
+
+    private static List<String> validate(ValidationService service, Map<String, ?> definition,
+                                         CompiledSpecification specification, ValidationOptions options) {
+        ValidationContext context = new ValidationContext(options);
+        List<String> description = new ArrayList<>();
+        try {
+            service.validateDocument(definition, specification, context);
+        } catch (RuntimeException e) {
+            description.add(e instanceof NullPointerException ? e.getClass().getSimpleName() : e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        description.add("path " + context.getPath() + ", nodes " + context.getNodeCount());
+        context.getErrors().forEach(error -> description.add(error.getCode() + " " + error.getPath() + " "
+                + error.getKey() + " " + error.getExpected() + " " + error.getActual()));
+        return description;
+    }
+
+    private static List<String> describe(ValidationResult result) {
+        List<String> description = Optional.ofNullable(result.getErrors()).orElse(List.of()).stream()
+                .map(error -> error.getCode() + " " + error.getPath() + ": " + error.getMessage())
+                .collect(Collectors.toList());
+        description.add(0, result.getValidationCode() + ": " + result.getValidationMessage());
+        return description;
+    }
+}
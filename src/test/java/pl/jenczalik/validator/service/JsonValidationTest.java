@@ -0,0 +1,73 @@
+package pl.jenczalik.validator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.util.parser.YamlParser;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.largeDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class JsonValidationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ValidationService validationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validationService = TestValidation.createService();
+    }
+
+    @Test
+    void jsonResultMatchesYamlResult() throws Exception {
+        assertEquals(ValidationCode.OK, validationService.validate(toJson(validDocument(1)), DocumentFormat.JSON, ValidationOptions.failFast()).getValidationCode());
+        assertEquals(expectedError(1), validationService.validate(toJson(invalidDocument(1)), DocumentFormat.JSON, ValidationOptions.failFast()).getValidationMessage());
+
+        String yaml = largeDocument(20, Set.of(3, 11)).replace("port: 5683", "port: [5683]") + "extra: null\n";
+        ValidationOptions options = ValidationOptions.collectAll(100);
+        assertEquals(describe(validationService.validate(yaml, options)),
+                describe(validationService.validate(toJson(yaml), DocumentFormat.JSON, options)));
+    }
+
+    @Test
+    void jsonNumbersAndBooleansAreValidatedAsScalars() {
+        String json = "{\"coapi\": \"1.0\", \"servers\": {\"main\": {\"description\": \"Main\", \"port\": 5683}}, "
+                + "\"info\": {\"title\": \"API\", \"version\": \"1.0\", \"coapVersion\": 1}, \"paths\": {}}";
+
+        assertEquals(ValidationCode.OK, validationService.validate(json, DocumentFormat.JSON, ValidationOptions.failFast()).getValidationCode());
+        assertEquals(describe(validationService.validate(json.replace("5683", "true"), DocumentFormat.JSON, ValidationOptions.collectAll(100))),
+                describe(validationService.validate(json.replace("5683", "\"true\""), DocumentFormat.JSON, ValidationOptions.collectAll(100))));
+    }
+
+    @Test
+    void malformedJsonIsReported() {
+        for (String json : List.of("{\"coapi\": ", "[]", "{} {}", "")) {
+            ValidationResult result = validationService.validate(json, DocumentFormat.JSON, ValidationOptions.collectAll(100));
+
+            assertEquals(ValidationCode.EXCEPTION, result.getValidationCode(), json);
+            assertEquals(ErrorCode.MALFORMED_DOCUMENT, result.getErrors().get(0).getCode(), json);
+        }
+    }
+
+    private String toJson(String yaml) throws Exception {
+        return objectMapper.writeValueAsString(new YamlParser().parseYamlString(yaml));
+    }
+
+    private static List<String> describe(ValidationResult result) {
+        return result.getErrors().stream()
+                .map(error -> error.getPath() + ": " + error.getMessage())
+                .collect(Collectors.toList());
+    }
+}
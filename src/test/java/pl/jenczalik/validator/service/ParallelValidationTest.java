@@ -0,0 +1,66 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.largeDocument;
+
+class ParallelValidationTest {
+
+    private static final int PATHS = 1000;
+    private static final int REPETITIONS = 10;
+
+    private static ValidationService validationService;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        validationService = TestValidation.createService();
+    }
+
+    @Test
+    void validDocumentIsValid() {
+        ValidationResult result = validationService.validate(largeDocument(PATHS, Set.of()), ValidationOptions.failFast().withParallel(true));
+
+        assertEquals(ValidationCode.OK, result.getValidationCode());
+    }
+
+    @Test
+    void firstErrorIsTheSameAsInSequentialValidation() {
+        String document = largeDocument(PATHS, Set.of(950, 350, 651));
+
+        for (int i = 0; i < REPETITIONS; i++) {
+            ValidationResult result = validationService.validate(document, ValidationOptions.failFast().withParallel(true));
+            assertEquals(expectedError(350), result.getValidationMessage());
+        }
+    }
+
+    @Test
+    void collectedErrorsAreTheSameAsInSequentialValidation() {
+        String document = largeDocument(PATHS, Set.of(5, 300, 301, 750, 999));
+
+        for (int budget : new int[]{3, 100}) {
+            List<String> expected = describe(validationService.validate(document, ValidationOptions.collectAll(budget)));
+            assertEquals(Math.min(budget, 5), expected.size());
+
+            for (int i = 0; i < REPETITIONS; i++) {
+                ValidationResult result = validationService.validate(document, ValidationOptions.collectAll(budget).withParallel(true));
+                assertEquals(expected, describe(result));
+            }
+        }
+    }
+
+    private static List<String> describe(ValidationResult result) {
+        return result.getErrors().stream()
+                .map(error -> error.getPath() + ": " + error.getMessage())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,76 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class StreamingValidationTest {
+
+    private ValidationService validationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validationService = TestValidation.createService();
+    }
+
+    @Test
+    void validDocumentPasses() {
+        assertEquals(ValidationCode.OK, validateStream(validDocument(3)).getValidationCode());
+    }
+
+    @Test
+    void invalidPrimitiveReportsSamePathAsTreeValidation() {
+        ValidationResult result = validateStream(invalidDocument(3));
+
+        assertEquals(ValidationCode.EXCEPTION, result.getValidationCode());
+        assertEquals(expectedError(3), result.getValidationMessage());
+    }
+
+    @Test
+    void excessiveObjectIsReported() {
+        String document = validDocument(3).replace("    get:\n", "    get:\n      unknown: value\n");
+
+        assertStreamingMatchesTree(document);
+    }
+
+    @Test
+    void missingRequiredObjectIsReported() {
+        String document = validDocument(3).replace("  title: API 3\n", "");
+
+        assertStreamingMatchesTree(document);
+    }
+
+    @Test
+    void badNameRegexIsReported() {
+        String document = validDocument(3).replace("        default:\n", "        6.00:\n");
+
+        assertStreamingMatchesTree(document);
+    }
+
+    @Test
+    void badTypeIsReported() {
+        String document = validDocument(3).replace("  title: API 3\n", "  title:\n    nested: value\n");
+
+        assertStreamingMatchesTree(document);
+    }
+
+    private void assertStreamingMatchesTree(String document) {
+        ValidationResult expected = validationService.validate(document);
+
+        assertEquals(ValidationCode.EXCEPTION, expected.getValidationCode());
+        assertEquals(expected, validateStream(document));
+    }
+
+    private ValidationResult validateStream(String document) {
+        return validationService.validateStream(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,121 @@
+package pl.jenczalik.validator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.memo.MemoizationMode;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pl.jenczalik.validator.service.TestValidation.largeDocument;
+
+class SubtreeMemoizationTest {
+
+    private static final int PATHS = 200;
+
+    private static ValidationService plainService;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        plainService = TestValidation.createService();
+    }
+
+    @Test
+    void collectedErrorsAreTheSameAsWithoutMemoization() throws Exception {
+        String document = repeatedDocument(Set.of(5, 6, 100, 199));
+
+        for (MemoizationMode mode : new MemoizationMode[]{MemoizationMode.REQUEST, MemoizationMode.SHARED}) {
+            ValidationService service = createService(mode, new ValidationMetrics(new SimpleMeterRegistry()));
+            for (int budget : new int[]{3, 100}) {
+                List<String> expected = describe(plainService.validate(document, ValidationOptions.collectAll(budget)));
+                assertEquals(Math.min(budget, 4), expected.size());
+
+                // drugie wywołanie korzysta we wspólnym trybie z wyników pierwszego
+                assertEquals(expected, describe(service.validate(document, ValidationOptions.collectAll(budget))));
+                assertEquals(expected, describe(service.validate(document, ValidationOptions.collectAll(budget))));
+            }
+        }
+    }
+
+    @Test
+    void firstErrorIsTheSameAsWithoutMemoization() throws Exception {
+        ValidationService service = createService(MemoizationMode.SHARED, new ValidationMetrics(new SimpleMeterRegistry()));
+        String valid = repeatedDocument(Set.of());
+        String invalid = repeatedDocument(Set.of(150, 170));
+
+        assertEquals(ValidationCode.OK, service.validate(valid).getValidationCode());
+        ValidationResult expected = plainService.validate(invalid);
+        ValidationResult result = service.validate(invalid);
+
+        assertEquals(ValidationCode.EXCEPTION, result.getValidationCode());
+        assertEquals(expected.getValidationMessage(), result.getValidationMessage());
+    }
+
+    @Test
+    void repeatedSubtreesAreValidatedOnce() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationService service = createService(MemoizationMode.REQUEST, new ValidationMetrics(registry));
+
+        assertEquals(ValidationCode.OK, service.validate(repeatedDocument(Set.of())).getValidationCode());
+
+        assertEquals(PATHS - 1, registry.get(ValidationMetrics.MEMOIZATION).tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void resultsOfDifferentSpecificationNodesAreNotShared() throws Exception {
+        ValidationService service = createService(MemoizationMode.REQUEST, new ValidationMetrics(new SimpleMeterRegistry()));
+        // pole etag dozwolone jest jedynie w operacji get
+        String block = "      description: Lamp.\n" +
+                "      size1: 7\n" +
+                "      etag: 'true'\n" +
+                "      responses:\n" +
+                "        default:\n" +
+                "          content:\n" +
+                "            json:\n" +
+                "              schema: JSON\n";
+        String document = largeDocument(1, Set.of()).replaceFirst("(?s)paths:.*", "") +
+                "paths:\n" +
+                "  /lamps:\n" +
+                "    get:\n" + block +
+                "    put:\n" + block;
+
+        List<String> expected = describe(plainService.validate(document, ValidationOptions.collectAll(100)));
+
+        assertEquals(1, expected.size());
+        assertTrue(expected.get(0).startsWith("paths -> /lamps -> put"));
+        assertEquals(expected, describe(service.validate(document, ValidationOptions.collectAll(100))));
+    }
+
+    /**
+     * @param invalidIds Identyfikatory ścieżek z niepoprawną wartością
+     * @return Definicja API, której ścieżki mają identyczną treść - różnią się jedynie kluczem
+     */
+    private static String repeatedDocument(Set<Integer> invalidIds) {
+        return largeDocument(PATHS, invalidIds)
+                .replaceAll("size1: bad\\d+", "size1: bad")
+                .replaceAll("size1: \\d+", "size1: 7");
+    }
+
+    private static ValidationService createService(MemoizationMode mode, ValidationMetrics metrics) throws Exception {
+        Config config = TestValidation.config(ValidatorMode.INTERPRETED);
+        config.setSubtreeMemoization(mode);
+        config.setMemoizationThreshold(4);
+        return TestValidation.createService(metrics, config);
+    }
+
+    private static List<String> describe(ValidationResult result) {
+        return result.getErrors().stream()
+                .map(error -> error.getPath() + ": " + error.getMessage())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,94 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.exception.InvalidPointerException;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationError;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class SubtreeValidationTest {
+
+    private static final String INVALID_DOCUMENT = validDocument(1)
+            .replace("  title: API 1\n", "")
+            .replace("    port: 5683\n", "    port: -1\n    unknown:\n      nested: value\n")
+            .replace("      size1: 1\n", "      size1: 99999999999\n      etag: maybe\n");
+
+    private ValidationService validationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validationService = TestValidation.createService();
+    }
+
+    @Test
+    void onlyPointedSubtreesAreValidated() {
+        assertEquals(List.of(
+                "NUMBER_TOO_LARGE paths -> /lamps/1 -> get size1",
+                "BAD_TYPE paths -> /lamps/1 -> get etag"
+        ), validate(INVALID_DOCUMENT, "/paths/~1lamps~11/get"));
+
+        assertEquals(List.of(
+                "EXCESSIVE_OBJECT_PRESENT servers -> main null",
+                "BAD_NUMBER_FORMAT servers -> main port"
+        ), validate(INVALID_DOCUMENT, "/servers"));
+    }
+
+    @Test
+    void overlappingPointersAreValidatedOnce() {
+        assertEquals(List.of(
+                "EXCESSIVE_OBJECT_PRESENT servers -> main null",
+                "BAD_NUMBER_FORMAT servers -> main port",
+                "REQUIRED_OBJECT_NOT_PRESENT info null"
+        ), validate(INVALID_DOCUMENT, "/servers/main", "/servers", "/info", "/servers"));
+    }
+
+    @Test
+    void pointedFieldIsCheckedInItsParent() {
+        assertEquals(List.of("REQUIRED_OBJECT_NOT_PRESENT info null"), validate(INVALID_DOCUMENT, "/info/title"));
+        assertEquals(List.of("EXCESSIVE_OBJECT_PRESENT servers -> main null"), validate(INVALID_DOCUMENT, "/servers/main/unknown/nested"));
+        assertEquals(List.of(), validate(INVALID_DOCUMENT, "/paths/~1missing/get"));
+        assertEquals(List.of(), validate(INVALID_DOCUMENT, "/info/version"));
+    }
+
+    @Test
+    void rootPointerValidatesWholeDocument() {
+        ValidationOptions options = ValidationOptions.collectAll(100);
+
+        assertEquals(describe(validationService.validate(INVALID_DOCUMENT, options).getErrors()),
+                validate(INVALID_DOCUMENT, "", "/servers"));
+    }
+
+    @Test
+    void failFastReportsFirstErrorOfSubtree() {
+        ValidationOptions options = ValidationOptions.failFast().withPointers(List.of("/paths"));
+
+        assertEquals(expectedError(3), validationService.validate(invalidDocument(3), options).getValidationMessage());
+        assertEquals(ValidationCode.OK,
+                validationService.validate(invalidDocument(3), options.withPointers(List.of("/info"))).getValidationCode());
+        assertThrows(InvalidPointerException.class,
+                () -> validationService.validate(validDocument(1), options.withPointers(List.of("paths"))));
+    }
+
+    private List<String> validate(String document, String... pointers) {
+        ValidationResult result = validationService.validate(document,
+                ValidationOptions.collectAll(100).withPointers(List.of(pointers)));
+        return result.getErrors() == null ? List.of() : describe(result.getErrors());
+    }
+
+    private static List<String> describe(List<ValidationError> errors) {
+        return errors.stream()
+                .map(error -> String.join(" ", error.getCode().name(), error.getPath(), String.valueOf(error.getKey())))
+                .collect(Collectors.toList());
+    }
+}
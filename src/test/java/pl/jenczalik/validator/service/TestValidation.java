@@ -0,0 +1,141 @@
+package pl.jenczalik.validator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.util.codegen.ValidatorGenerator;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.error.ValidationErrorHandler;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.parser.JsonDocumentParser;
+import pl.jenczalik.validator.util.parser.YamlBackendType;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationRegistry;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pomocnicze metody dla testów walidacji - tworzenie serwisu bez kontekstu Springa
+ * oraz generowanie przykładowych definicji API.
+ */
+final class TestValidation {
+
+    private static final String PATHS = "paths:\n";
+
+    private TestValidation() {
+    }
+
+    static ValidationService createService() throws Exception {
+        return createService(new ValidationMetrics(new SimpleMeterRegistry()));
+    }
+
+    static ValidationService createService(ValidationMetrics metrics) throws Exception {
+        return createService(metrics, YamlBackendType.YAMLBEANS, new ValidatorGenerator(config(ValidatorMode.INTERPRETED)));
+    }
+
+    static ValidationService createService(YamlBackendType yamlBackend) throws Exception {
+        return createService(new ValidationMetrics(new SimpleMeterRegistry()), yamlBackend, new ValidatorGenerator(config(ValidatorMode.INTERPRETED)));
+    }
+
+    static ValidationService createService(ValidatorGenerator validatorGenerator) throws Exception {
+        return createService(new ValidationMetrics(new SimpleMeterRegistry()), YamlBackendType.YAMLBEANS, validatorGenerator);
+    }
+
+    static ValidationService createService(ValidationMetrics metrics, YamlBackendType yamlBackend, ValidatorGenerator validatorGenerator) throws Exception {
+        return createService(metrics, yamlBackend, validatorGenerator, config(ValidatorMode.INTERPRETED));
+    }
+
+    static ValidationService createService(ValidationMetrics metrics, Config config) throws Exception {
+        return createService(metrics, YamlBackendType.YAMLBEANS, new ValidatorGenerator(config), config);
+    }
+
+    static ValidationService createService(SpecificationRegistry specificationRegistry, Config config) {
+        return createService(new ValidationMetrics(new SimpleMeterRegistry()), new YamlParser(YamlBackendType.YAMLBEANS),
+                new ValidatorGenerator(config), config, specificationRegistry);
+    }
+
+    static SpecificationRegistry createRegistry(Config config) throws Exception {
+        return new SpecificationRegistry(new YamlParser(YamlBackendType.YAMLBEANS),
+                new SpecificationCompiler(new ContentHasher(), new RegexCompiler()), config);
+    }
+
+    private static ValidationService createService(ValidationMetrics metrics, YamlBackendType yamlBackend, ValidatorGenerator validatorGenerator,
+                                                   Config config) throws Exception {
+        YamlParser yamlParser = new YamlParser(yamlBackend);
+        return createService(metrics, yamlParser, validatorGenerator, config,
+                new SpecificationRegistry(yamlParser, new SpecificationCompiler(new ContentHasher(), new RegexCompiler()), config));
+    }
+
+    private static ValidationService createService(ValidationMetrics metrics, YamlParser yamlParser, ValidatorGenerator validatorGenerator,
+                                                   Config config, SpecificationRegistry specificationRegistry) {
+        PrimitiveValidator primitiveValidator = new PrimitiveValidator(metrics);
+        return new ValidationService(
+                yamlParser,
+                new JsonDocumentParser(),
+                specificationRegistry,
+                primitiveValidator,
+                new StreamingValidator(primitiveValidator),
+                validatorGenerator,
+                new ValidationErrorHandler(),
+                metrics,
+                config);
+    }
+
+    static Config config(ValidatorMode validatorMode) {
+        Config config = new Config();
+        config.setSpecification("specification.yml");
+        config.setSpecificationReloadInterval(Duration.ZERO);
+        config.setValidatorMode(validatorMode);
+        return config;
+    }
+
+    static String validDocument(int id) {
+        return "coapi: '1.0'\n" +
+                "servers:\n" +
+                "  main:\n" +
+                "    description: Main server\n" +
+                "    port: 5683\n" +
+                "info:\n" +
+                "  title: API " + id + "\n" +
+                "  version: '1.0'\n" +
+                "  coapVersion: '1'\n" +
+                "paths:\n" +
+                "  /lamps/" + id + ":\n" +
+                "    get:\n" +
+                "      description: Get lamp.\n" +
+                "      size1: " + id + "\n" +
+                "      responses:\n" +
+                "        default:\n" +
+                "          content:\n" +
+                "            json:\n" +
+                "              schema: JSON\n";
+    }
+
+    /**
+     * @param paths Liczba ścieżek definicji
+     * @param invalidIds Identyfikatory ścieżek z niepoprawną wartością
+     * @return Definicja API z wieloma ścieżkami, w kolejności identyfikatorów
+     */
+    static String largeDocument(int paths, Set<Integer> invalidIds) {
+        String header = validDocument(0);
+        StringBuilder document = new StringBuilder(header.substring(0, header.indexOf(PATHS) + PATHS.length()));
+
+        for (int id = 0; id < paths; id++) {
+            String path = invalidIds.contains(id) ? invalidDocument(id) : validDocument(id);
+            document.append(path.substring(path.indexOf(PATHS) + PATHS.length()));
+        }
+        return document.toString();
+    }
+
+    static String invalidDocument(int id) {
+        return validDocument(id).replace("size1: " + id, "size1: bad" + id);
+    }
+
+    static String expectedError(int id) {
+        return "Validation error at object: paths -> /lamps/" + id + " -> get. " +
+                "Value bad" + id + " has incorrect type. Required type is: unsignedInteger.";
+    }
+}
@@ -0,0 +1,169 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.JobNotFoundException;
+import pl.jenczalik.validator.exception.JobQueueFullException;
+import pl.jenczalik.validator.model.DocumentFormat;
+import pl.jenczalik.validator.model.JobStatus;
+import pl.jenczalik.validator.model.ValidationJob;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.util.codegen.ValidatorMode;
+import pl.jenczalik.validator.util.job.JobStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.largeDocument;
+
+class ValidationJobServiceTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(30);
+
+    @TempDir
+    Path directory;
+
+    private ValidationService validationService;
+    private ValidationJobService jobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validationService = TestValidation.createService();
+        jobService = createJobService(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void submittedJobCompletesWithResult() {
+        ValidationJob job = jobService.submit(invalidDocument(1), DocumentFormat.YAML, ValidationOptions.failFast());
+        assertNotNull(job.getJobId());
+
+        ValidationJob completed = jobService.await(job.getJobId(), WAIT).join();
+
+        assertEquals(JobStatus.COMPLETED, completed.getStatus());
+        assertNotNull(completed.getCompletedAt());
+        assertEquals(expectedError(1), completed.getResult().get("validationMessage").asText());
+    }
+
+    @Test
+    void completedResultSurvivesRestart() throws Exception {
+        String jobId = jobService.submit(invalidDocument(2), DocumentFormat.YAML, ValidationOptions.collectAll(100)).getJobId();
+        jobService.await(jobId, WAIT).join();
+        jobService.shutdown();
+
+        jobService = createJobService(4);
+        ValidationJob job = jobService.get(jobId);
+
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getResult().get("errors").size());
+    }
+
+    @Test
+    void unfinishedJobFailsAfterRestart() throws Exception {
+        String jobId = UUID.randomUUID().toString();
+        new JobStore(directory, Duration.ofHours(1)).save(ValidationJob.queued(jobId, System.currentTimeMillis()));
+
+        jobService.shutdown();
+        jobService = createJobService(4);
+
+        assertEquals(JobStatus.FAILED, jobService.get(jobId).getStatus());
+    }
+
+    @Test
+    void fullQueueRejectsJobs() throws Exception {
+        jobService.shutdown();
+        jobService = createJobService(1);
+        String document = largeDocument(5000, Set.of());
+
+        // pierwsze zadanie zajmuje jedyny wątek, drugie wypełnia kolejkę
+        String running = jobService.submit(document, DocumentFormat.YAML, ValidationOptions.failFast()).getJobId();
+        String queued = jobService.submit(document, DocumentFormat.YAML, ValidationOptions.failFast()).getJobId();
+
+        assertThrows(JobQueueFullException.class, () -> jobService.submit(document, DocumentFormat.YAML, ValidationOptions.failFast()));
+        assertEquals(JobStatus.COMPLETED, jobService.await(running, WAIT).join().getStatus());
+        assertEquals(JobStatus.COMPLETED, jobService.await(queued, WAIT).join().getStatus());
+    }
+
+    @Test
+    void expiredResultsAreRemoved() throws Exception {
+        JobStore store = new JobStore(directory, Duration.ofHours(1));
+        String jobId = UUID.randomUUID().toString();
+        store.save(ValidationJob.queued(jobId, System.currentTimeMillis()));
+        assertTrue(store.load(jobId).isPresent());
+
+        Files.setLastModifiedTime(directory.resolve(jobId + ".json"), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        assertTrue(store.load(jobId).isEmpty());
+        assertEquals(1, store.purgeExpired());
+        assertThrows(JobNotFoundException.class, () -> jobService.get(jobId));
+    }
+
+    @Test
+    void unsavedResultIsKeptUntilSaved() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean();
+        JobStore store = new JobStore(directory, Duration.ofHours(1)) {
+            @Override
+            public void save(ValidationJob job) {
+                if (failing.get() && job.getStatus().isFinal()) {
+                    throw new UncheckedIOException(new IOException("Disk full"));
+                }
+                super.save(job);
+            }
+        };
+        jobService.shutdown();
+        jobService = new ValidationJobService(validationService, store, createConfig(4));
+
+        failing.set(true);
+        String jobId = jobService.submit(invalidDocument(3), DocumentFormat.YAML, ValidationOptions.failFast()).getJobId();
+        assertEquals(JobStatus.COMPLETED, jobService.await(jobId, WAIT).join().getStatus());
+
+        assertEquals(JobStatus.QUEUED, store.load(jobId).orElseThrow().getStatus());
+        assertEquals(JobStatus.COMPLETED, jobService.get(jobId).getStatus());
+        jobService.purge();
+        assertEquals(JobStatus.COMPLETED, jobService.get(jobId).getStatus());
+
+        failing.set(false);
+        jobService.purge();
+        assertEquals(JobStatus.COMPLETED, store.load(jobId).orElseThrow().getStatus());
+        assertEquals(expectedError(3), jobService.get(jobId).getResult().get("validationMessage").asText());
+    }
+
+    @Test
+    void invalidJobIdIsNotFound() {
+        assertThrows(JobNotFoundException.class, () -> jobService.get("../" + UUID.randomUUID()));
+    }
+
+    private ValidationJobService createJobService(int queueSize) throws Exception {
+        Config config = createConfig(queueSize);
+        return new ValidationJobService(validationService, new JobStore(config), config);
+    }
+
+    private Config createConfig(int queueSize) {
+        Config config = TestValidation.config(ValidatorMode.INTERPRETED);
+        config.setJobDirectory(directory.toString());
+        config.setJobWorkers(1);
+        config.setJobQueueSize(queueSize);
+        return config;
+    }
+}
@@ -0,0 +1,56 @@
+package pl.jenczalik.validator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class ValidationMetricsTest {
+
+    private MeterRegistry registry;
+    private ValidationService validationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        validationService = TestValidation.createService(new ValidationMetrics(registry));
+    }
+
+    @Test
+    void phasesAreTimedSeparately() {
+        validationService.validate(validDocument(1));
+        validationService.validateStream(new ByteArrayInputStream(validDocument(1).getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, registry.get(ValidationMetrics.PARSE).timer().count());
+        assertEquals(1, registry.get(ValidationMetrics.VALIDATE).tag("mode", ValidationMetrics.TREE).timer().count());
+        assertEquals(1, registry.get(ValidationMetrics.VALIDATE).tag("mode", ValidationMetrics.STREAM).timer().count());
+        assertFalse(registry.get(ValidationMetrics.REGEX).timers().isEmpty());
+    }
+
+    @Test
+    void documentSizeAndNodesAreRecorded() {
+        validationService.validate(validDocument(1));
+
+        assertEquals(validDocument(1).length(), registry.get(ValidationMetrics.DOCUMENT_SIZE).summary().totalAmount());
+        assertTrue(registry.get(ValidationMetrics.DOCUMENT_NODES).summary().totalAmount() > 10);
+    }
+
+    @Test
+    void violationsAreCountedByExceptionType() {
+        validationService.validate(invalidDocument(1));
+        validationService.validate(invalidDocument(2), ValidationOptions.collectAll(10));
+
+        assertEquals(2, registry.get(ValidationMetrics.VIOLATIONS).tag("type", "BadNumberFormatException").counter().count());
+    }
+}
@@ -0,0 +1,74 @@
+package pl.jenczalik.validator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pl.jenczalik.validator.service.TestValidation.expectedError;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+class ValidationServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int VALIDATIONS = 800;
+
+    private ValidationService validationService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validationService = TestValidation.createService();
+    }
+
+    @Test
+    void validDocumentPasses() {
+        assertEquals(ValidationCode.OK, validationService.validate(validDocument(1)).getValidationCode());
+    }
+
+    @Test
+    void errorPathPointsToInvalidObject() {
+        ValidationResult result = validationService.validate(invalidDocument(7));
+
+        assertEquals(ValidationCode.EXCEPTION, result.getValidationCode());
+        assertEquals(expectedError(7), result.getValidationMessage());
+    }
+
+    @Test
+    void parallelValidationsKeepResultsAndPathsIsolated() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ValidationResult>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < VALIDATIONS; i++) {
+                String document = i % 2 == 0 ? validDocument(i) : invalidDocument(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return validationService.validate(document);
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < VALIDATIONS; i++) {
+                ValidationResult result = futures.get(i).get();
+                if (i % 2 == 0) {
+                    assertEquals(ValidationCode.OK, result.getValidationCode(), result.getValidationMessage());
+                } else {
+                    assertEquals(ValidationCode.EXCEPTION, result.getValidationCode());
+                    assertEquals(expectedError(i), result.getValidationMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package pl.jenczalik.validator.service;
+
+import com.esotericsoftware.yamlbeans.YamlException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.ValidationCode;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.util.parser.YamlBackendType;
+import pl.jenczalik.validator.util.parser.YamlParser;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static pl.jenczalik.validator.service.TestValidation.invalidDocument;
+import static pl.jenczalik.validator.service.TestValidation.largeDocument;
+import static pl.jenczalik.validator.service.TestValidation.validDocument;
+
+/**
+ * Testy zgodności implementacji odczytu YAML - każda implementacja musi zwracać tę samą
+ * strukturę i dawać te same wyniki walidacji co implementacja domyślna (YamlBeans).
+ */
+class YamlBackendConformanceTest {
+
+    private static final List<String> DOCUMENTS = List.of(
+            "a: b\n",
+            "",
+            "# comment only\n",
+            "a:\nb: ''\nc: \"\"\nd: null\ne: ~\nf: NULL\n",
+            "a: 1\nb: 1.5\nc: true\nd: 0x1F\ne: 2020-01-01\n",
+            "a: 'single ''quoted'''\nb: \"tab\\there\"\nc: plain # comment\nd: trailing   \n",
+            "a: multi\n  line\n  plain\n",
+            "a: |\n  l1\n  l2\nb: x\n",
+            "a: |\n  l1\n\n  l2\n",
+            "a: |+\n  l1\n\nb: x\n",
+            "a: |-\n  l1\n",
+            "a: >\n  l1\n  l2\n",
+            "a: >-\n  l1\n\n  l2\n",
+            "a: [1, 'two', {b: c}, []]\nb: {c: d, e: [f]}\nc: { }\n",
+            "a: &anchor\n  b: c\nd: *anchor\ne: &s scalar\nf: *s\n",
+            "base: &base\n  a: x\n  b: y\nchild:\n  <<: *base\n  b: z\n",
+            "base: &base\n  a: x\nchild:\n  b: z\n  <<: *base\n  a: w\n",
+            "a: &a {x: 1, y: 1}\nb: &b {y: 2, z: 2}\nc:\n  <<: [*a, *b]\n",
+            "a: b\na: c\n",
+            "%YAML 1.1\n---\na: b\n",
+            "--- !!map\na: b\n",
+            "---\na: b\n---\nc: d\n",
+            "---\na: b\n...\n",
+            "key with spaces: value\n\"quoted key\": v\n'1': one\n",
+            "a:\n  - b\n  -\n  - c: d\n    e: f\n  - - nested\n",
+            "a: \"unicode \\u00e9 é ✓\"\n");
+
+    private static final List<String> MALFORMED = List.of(
+            "- a\n- b\n",
+            "scalar\n",
+            "a: *missing\n",
+            "a: [b\n",
+            "a: 'unterminated\n",
+            "a: !custom b\n",
+            "a:\n  b: c\n d: e\n",
+            "a: b\n  c: d\n",
+            "base: x\nchild:\n  <<: *base\n");
+
+    private final YamlParser yamlBeans = new YamlParser(YamlBackendType.YAMLBEANS);
+    private final YamlParser snakeYaml = new YamlParser(YamlBackendType.SNAKEYAML);
+
+    private ValidationService yamlBeansService;
+    private ValidationService snakeYamlService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        yamlBeansService = TestValidation.createService(YamlBackendType.YAMLBEANS);
+        snakeYamlService = TestValidation.createService(YamlBackendType.SNAKEYAML);
+    }
+
+    @Test
+    void backendsProduceSameStructure() throws Exception {
+        for (String document : DOCUMENTS) {
+            assertEquals(yamlBeans.parseYamlString(document), snakeYaml.parseYamlString(document), document);
+        }
+    }
+
+    @Test
+    void aliasesShareTheAnchoredObject() throws Exception {
+        Map<?, ?> document = snakeYaml.parseYamlString("a: &anchor\n  b: c\nd: *anchor\n");
+
+        assertEquals(System.identityHashCode(document.get("a")), System.identityHashCode(document.get("d")));
+    }
+
+    @Test
+    void backendsRejectSameDocuments() {
+        for (String document : MALFORMED) {
+            assertThrows(YamlException.class, () -> yamlBeans.parseYamlString(document), document);
+            assertThrows(YamlException.class, () -> snakeYaml.parseYamlString(document), document);
+        }
+    }
+
+    @Test
+    void backendsProduceSameValidationResults() throws Exception {
+        List<String> definitions = new ArrayList<>(DOCUMENTS);
+        definitions.add(validDocument(1));
+        definitions.add(invalidDocument(1));
+        definitions.add(largeDocument(50, Set.of(7, 21, 42)));
+        definitions.add(largeDocument(20, Set.of(3)).replace("port: 5683", "port: [5683]") + "extra:\n");
+        definitions.add(Files.readString(yamlBeans.resolveFile("example-request.yml").toPath()));
+        definitions.add(anchoredDocument());
+
+        for (String definition : definitions) {
+            for (ValidationOptions options : List.of(ValidationOptions.failFast(), ValidationOptions.collectAll(100))) {
+                assertEquals(describe(yamlBeansService.validate(definition, options)),
+                        describe(snakeYamlService.validate(definition, options)), definition);
+            }
+        }
+    }
+
+    @Test
+    void malformedDocumentsAreReportedByBothBackends() {
+        for (String definition : MALFORMED) {
+            for (ValidationService service : List.of(yamlBeansService, snakeYamlService)) {
+                ValidationResult result = service.validate(definition, ValidationOptions.collectAll(100));
+
+                assertEquals(ValidationCode.EXCEPTION, result.getValidationCode(), definition);
+                assertEquals(ErrorCode.MALFORMED_DOCUMENT, result.getErrors().get(0).getCode(), definition);
+            }
+        }
+    }
+
+    /**
+     * Definicja, której ścieżki współdzielą odpowiedzi przez kotwice i scalanie map.
+     */
+    private static String anchoredDocument() {
+        return validDocument(1).replace("      responses:\n", "      responses: &responses\n")
+                + "  /lamps/2:\n"
+                + "    get:\n"
+                + "      size1: 2\n"
+                + "      responses: *responses\n"
+                + "  /lamps/3:\n"
+                + "    get: &get\n"
+                + "      size1: 3\n"
+                + "      responses:\n"
+                + "        <<: *responses\n"
+                + "  /lamps/4:\n"
+                + "    put:\n"
+                + "      <<: *get\n"
+                + "      size1: bad\n";
+    }
+
+    private static List<String> describe(ValidationResult result) {
+        List<String> description = Optional.ofNullable(result.getErrors()).orElse(List.of()).stream()
+                .map(error -> error.getCode() + " " + error.getPath()
+                        + (error.getCode() == ErrorCode.MALFORMED_DOCUMENT ? "" : ": " + error.getMessage()))
+                .collect(Collectors.toList());
+        description.add(0, result.getValidationCode() == ValidationCode.EXCEPTION
+                ? result.getValidationCode().name()
+                : result.getValidationCode() + ": " + result.getValidationMessage());
+        return description;
+    }
+}
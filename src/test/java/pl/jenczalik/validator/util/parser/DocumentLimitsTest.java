@@ -0,0 +1,191 @@
+package pl.jenczalik.validator.util.parser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.DocumentLimitExceededException;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.ValidationError;
+import pl.jenczalik.validator.model.ValidationOptions;
+import pl.jenczalik.validator.model.ValidationResult;
+import pl.jenczalik.validator.service.PrimitiveValidator;
+import pl.jenczalik.validator.service.StreamingValidator;
+import pl.jenczalik.validator.service.ValidationService;
+import pl.jenczalik.validator.util.codegen.ValidatorGenerator;
+import pl.jenczalik.validator.util.error.ValidationErrorHandler;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.metrics.CountingInputStream;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy limitów złożoności dokumentu - każda implementacja odczytu YAML oraz parser JSON
+ * muszą odrzucać te same dokumenty.
+ */
+class DocumentLimitsTest {
+
+    private static final DocumentLimits LIMITS = new DocumentLimits(256, 4, 20, 8);
+
+    private final List<YamlParser> yamlParsers = List.of(
+            new YamlParser(YamlBackendType.YAMLBEANS, LIMITS),
+            new YamlParser(YamlBackendType.SNAKEYAML, LIMITS));
+    private final JsonDocumentParser jsonParser = new JsonDocumentParser(LIMITS);
+
+    @Test
+    void documentWithinLimitsIsParsed() throws Exception {
+        for (YamlParser yamlParser : yamlParsers) {
+            assertEquals(Map.of("a", Map.of("b", Map.of("key", "d"))), yamlParser.parseYamlString("a:\n  b:\n    key: d\n"));
+        }
+        assertEquals(Map.of("a", Map.of("b", Map.of("key", "d"))), jsonParser.parseJsonString("{\"a\": {\"b\": {\"key\": \"d\"}}}"));
+    }
+
+    @Test
+    void deeplyNestedDocumentIsRejected() {
+        for (YamlParser yamlParser : yamlParsers) {
+            assertLimitExceeded("depth", () -> yamlParser.parseYamlString("a:\n  b:\n    c:\n      d: e\n"));
+            assertLimitExceeded("depth", () -> yamlParser.parseYamlString("a: [[[[b]]]]\n"));
+        }
+        assertLimitExceeded("depth", () -> jsonParser.parseJsonString("{\"a\": {\"b\": {\"c\": {\"d\": \"e\"}}}}"));
+    }
+
+    @Test
+    void documentWithTooManyNodesIsRejected() {
+        String list = "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20]";
+
+        for (YamlParser yamlParser : yamlParsers) {
+            assertLimitExceeded("number of nodes", () -> yamlParser.parseYamlString("a: " + list + "\n"));
+        }
+        assertLimitExceeded("number of nodes", () -> jsonParser.parseJsonString("{\"a\": " + list + "}"));
+    }
+
+    @Test
+    void longKeyIsRejected() {
+        for (YamlParser yamlParser : yamlParsers) {
+            assertLimitExceeded("key length", () -> yamlParser.parseYamlString("a:\n  abcdefghi: x\n"));
+        }
+        assertLimitExceeded("key length", () -> jsonParser.parseJsonString("{\"a\": {\"abcdefghi\": \"x\"}}"));
+    }
+
+    @Test
+    void aliasesAreCountedWithTheirSubtrees() throws Exception {
+        DocumentLimits limits = new DocumentLimits(256, 10, 40, 8);
+        String anchors = "a: &a [x, x, x]\nb: &b [*a, *a, *a]\n";
+
+        for (YamlBackendType backend : YamlBackendType.values()) {
+            YamlParser yamlParser = new YamlParser(backend, limits);
+            assertEquals(3, ((List<?>) yamlParser.parseYamlString(anchors).get("b")).size());
+            assertLimitExceeded("number of nodes", () -> yamlParser.parseYamlString(anchors + "c: [*b, *b, *b]\n"));
+            assertLimitExceeded("depth", () -> new YamlParser(backend, new DocumentLimits(256, 3, 40, 8))
+                    .parseYamlString("a: &a [x]\nb: [*a]\n"));
+        }
+    }
+
+    @Test
+    void largeDocumentIsRejectedBeforeParsing() {
+        String document = "a: " + "x".repeat(256) + "\n";
+
+        for (YamlParser yamlParser : yamlParsers) {
+            assertLimitExceeded("size in bytes", () -> yamlParser.parseYamlString(document));
+        }
+        assertLimitExceeded("size in bytes", () -> jsonParser.parseJsonString("{\"a\": \"" + "x".repeat(256) + "\"}"));
+        assertLimitExceeded("size in bytes", () -> jsonParser.parseJson(
+                new ByteArrayInputStream(("{\"a\": \"" + "x".repeat(256) + "\"}").getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void sizeIsCheckedInUtf8Bytes() throws Exception {
+        // 121 znaków, lecz 238 bajtów - z czterobajtowym znakiem spoza BMP
+        String document = "a: " + "ż".repeat(115) + "\uD83D\uDCA1\n";
+        LIMITS.checkSize(document.replace("ż", "z"));
+        new DocumentLimits(238, 4, 20, 8).checkSize(document);
+
+        assertLimitExceeded("size in bytes", () -> new DocumentLimits(237, 4, 20, 8).checkSize(document));
+        assertLimitExceeded("size in bytes", () -> new DocumentLimits(200, 4, 20, 8).checkSize(document));
+    }
+
+    @Test
+    void streamingValidationEnforcesLimits() throws Exception {
+        ValidationService validationService = createStreamingService();
+
+        // pole "a" jest nadmiarowe - limity sprawdzane są również w pomijanych poddrzewach
+        assertStreamLimitExceeded("depth", validationService, "a:\n  b:\n    c:\n      d: e\n");
+        assertStreamLimitExceeded("depth", validationService, "a: [[[[b]]]]\n");
+        assertStreamLimitExceeded("number of nodes", validationService,
+                "a: [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20]\n");
+        assertStreamLimitExceeded("key length", validationService, "a:\n  abcdefghi: x\n");
+        // wartość dłuższa od limitu długości klucza nie jest kluczem
+        assertStreamLimitExceeded(null, validationService, "a:\n  [x]: abcdefghi\n  b: abcdefghi\n");
+    }
+
+    @Test
+    void countingStreamStopsAtLimit() throws Exception {
+        CountingInputStream input = new CountingInputStream(new ByteArrayInputStream(new byte[16]), 8);
+
+        assertEquals(8, input.read(new byte[8]));
+        assertLimitExceeded("size in bytes", () -> input.read());
+        assertTrue(input.isLimitExceeded());
+    }
+
+    private static void assertLimitExceeded(String limit, Parse parse) {
+        DocumentLimitExceededException e = assertThrows(DocumentLimitExceededException.class, parse::run);
+        assertTrue(e.getMessage().contains("maximum " + limit), e.getMessage());
+    }
+
+    private static void assertStreamLimitExceeded(String limit, ValidationService validationService, String document) {
+        ValidationResult result = validationService.validateStream(
+                new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), ValidationOptions.collectAll(100));
+        List<ValidationError> limitErrors = result.getErrors().stream()
+                .filter(error -> error.getCode() == ErrorCode.LIMIT_EXCEEDED)
+                .collect(Collectors.toList());
+
+        if (limit == null) {
+            assertEquals(List.of(), limitErrors, document);
+        } else {
+            assertEquals(1, limitErrors.size(), document);
+            assertTrue(limitErrors.get(0).getActual().contains("maximum " + limit), limitErrors.get(0).getActual());
+        }
+    }
+
+    private static ValidationService createStreamingService() throws Exception {
+        Config config = new Config();
+        config.setSpecification("specification.yml");
+        config.setSpecificationReloadInterval(Duration.ZERO);
+        config.setMaxRequestSize(DataSize.ofBytes(LIMITS.getMaxBytes()));
+        config.setMaxDepth(LIMITS.getMaxDepth());
+        config.setMaxNodes(LIMITS.getMaxNodes());
+        config.setMaxKeyLength(LIMITS.getMaxKeyLength());
+
+        YamlParser yamlParser = new YamlParser(config);
+        ValidationMetrics metrics = new ValidationMetrics(new SimpleMeterRegistry());
+        PrimitiveValidator primitiveValidator = new PrimitiveValidator(metrics);
+        return new ValidationService(
+                yamlParser,
+                new JsonDocumentParser(config),
+                new SpecificationRegistry(yamlParser, new SpecificationCompiler(new ContentHasher(), new RegexCompiler()), config),
+                primitiveValidator,
+                new StreamingValidator(primitiveValidator),
+                new ValidatorGenerator(config),
+                new ValidationErrorHandler(),
+                metrics,
+                config);
+    }
+
+    @FunctionalInterface
+    private interface Parse {
+        void run() throws Exception;
+    }
+}
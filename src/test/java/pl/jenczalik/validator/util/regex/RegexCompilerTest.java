@@ -0,0 +1,75 @@
+package pl.jenczalik.validator.util.regex;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegexCompilerTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "\\/.*", "([245]\\.\\d\\d)|(default)", "^\\S+@\\S+\\.\\S+$",
+            "abc", ".*c", "a.*c", "[^a-c]\\w?", "(?:ab|a)*b+", "a{2,3}|\\d{2,}", "(a|b)(c|d)*$",
+            "(a*)*b", "[\\s.-]+", "a+?b", "(a)\\1", "a++b", "\\bab", "\\p{L}+");
+
+    private static final List<String> INPUTS = List.of(
+            "", "/", "/lamps/{id}", "/a\nb", "default", "4.04", "3.04", "jan@pw.edu.pl", "jan@pw", "a b@c.d",
+            "abc", "abbc", "aab", "aaa", "22", "ac", "bdd", "bdd\n", "aa", "a-b");
+
+    private static final char[] ALPHABET = {'a', 'b', 'c', 'd', '2', '.', '@', '/', ' ', '\n', '-', '_', '\u0142', '\uD83D', '\uDE00'};
+
+    private final RegexCompiler regexCompiler = new RegexCompiler();
+
+    @Test
+    void simpleShapesUseHandWrittenMatchers() {
+        assertTrue(regexCompiler.compile("\\/.*") instanceof AffixPattern);
+        assertTrue(regexCompiler.compile("([245]\\.\\d\\d)|(default)") instanceof FixedLengthPattern);
+        assertTrue(regexCompiler.compile("^\\S+@\\S+\\.\\S+$") instanceof AutomatonPattern);
+        assertTrue(regexCompiler.compile("(a)\\1") instanceof BudgetedPattern);
+    }
+
+    @Test
+    void matchesLikeJavaRegex() {
+        Random random = new Random(42);
+        for (String regex : PATTERNS) {
+            Pattern expected = Pattern.compile(regex);
+            SpecificationPattern actual = regexCompiler.compile(regex);
+            assertEquals(regex, actual.pattern());
+
+            for (String input : INPUTS) {
+                assertEquals(expected.matcher(input).matches(), actual.matches(input), regex + " on " + input);
+            }
+            for (int i = 0; i < 2000; i++) {
+                String input = randomString(random, i % 8);
+                assertEquals(expected.matcher(input).matches(), actual.matches(input), regex + " on " + input);
+            }
+        }
+    }
+
+    @Test
+    void matchingTimeIsBounded() {
+        String input = "@".repeat(100_000);
+        String nested = "a".repeat(5_000) + "!";
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertFalse(regexCompiler.compile("^\\S+@\\S+\\.\\S+$").matches(input));
+            assertFalse(regexCompiler.compile("(a*)*b").matches(nested));
+            assertFalse(regexCompiler.compile("(a*)*\\1b").matches(nested));
+        });
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+        return builder.toString();
+    }
+}
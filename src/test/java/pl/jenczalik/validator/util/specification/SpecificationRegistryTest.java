@@ -0,0 +1,98 @@
+package pl.jenczalik.validator.util.specification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.jenczalik.validator.config.Config;
+import pl.jenczalik.validator.exception.UnknownSpecificationException;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpecificationRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private String content;
+    private SpecificationRegistry registry;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream("specification.yml")) {
+            content = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        file = directory.resolve("specification-v2.yml");
+        Files.writeString(file, content);
+
+        Config config = new Config();
+        config.setSpecification("specification.yml");
+        config.setSpecifications(Map.of("v2", file.toString()));
+        config.setSpecificationReloadInterval(Duration.ZERO);
+
+        registry = new SpecificationRegistry(new YamlParser(), new SpecificationCompiler(new ContentHasher(), new RegexCompiler()), config,
+                events::add);
+    }
+
+    @Test
+    void versionsAreSelectedByName() {
+        assertSame(registry.get(SpecificationRegistry.DEFAULT), registry.get(null));
+        assertEquals(registry.get(null).getVersion(), registry.get("v2").getVersion());
+        assertEquals(2, registry.getVersions().size());
+        assertThrows(UnknownSpecificationException.class, () -> registry.get("v3"));
+    }
+
+    @Test
+    void changedFileIsSwappedIn() throws Exception {
+        CompiledSpecification previous = registry.get("v2");
+
+        modify(content.replaceFirst("required: true", "required: false"));
+        registry.reload();
+
+        CompiledSpecification current = registry.get("v2");
+        assertNotEquals(previous.getVersion(), current.getVersion());
+        assertFalse(current.getRoot().getRequiredFields().contains("coapi"));
+        assertEquals(registry.get(null).getVersion(), previous.getVersion());
+
+        assertEquals(1, events.size());
+        SpecificationChangedEvent event = (SpecificationChangedEvent) events.get(0);
+        assertEquals("v2", event.getName());
+        assertEquals(previous.getVersion(), event.getPreviousVersion());
+        assertEquals(current.getVersion(), event.getVersion());
+    }
+
+    @Test
+    void brokenFileKeepsPreviousVersion() throws Exception {
+        CompiledSpecification previous = registry.get("v2");
+
+        modify("coapi: [unclosed");
+        registry.reload();
+
+        assertSame(previous, registry.get("v2"));
+        assertEquals(List.of(), events);
+    }
+
+    private void modify(String newContent) throws Exception {
+        long lastModified = file.toFile().lastModified();
+        Files.writeString(file, newContent);
+        file.toFile().setLastModified(lastModified + 2000);
+    }
+}
@@ -0,0 +1,93 @@
+package pl.jenczalik.validator.util.specification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.jenczalik.validator.model.specification.CompiledSpecification;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.regex.SpecificationPattern;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpecificationSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final YamlParser yamlParser = new YamlParser();
+    private final SpecificationCompiler compiler = new SpecificationCompiler(new ContentHasher(), new RegexCompiler());
+    private String source;
+    private CompiledSpecification specification;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        source = yamlParser.readFile("specification.yml");
+        specification = compiler.compile(yamlParser.parseYamlString(source));
+    }
+
+    @Test
+    void snapshotRestoresCompiledSpecification() throws Exception {
+        CompiledSpecification restored = compiler.readSnapshot(new ByteArrayInputStream(write(specification)), source).orElseThrow();
+
+        assertEquals(specification.getVersion(), restored.getVersion());
+        assertEquals(describe(specification.getRoot()), describe(restored.getRoot()));
+    }
+
+    @Test
+    void snapshotOfDifferentSourceIsIgnored() throws Exception {
+        byte[] snapshot = write(specification);
+
+        assertEquals(Optional.empty(), compiler.readSnapshot(new ByteArrayInputStream(snapshot), source + "\n"));
+        assertEquals(Optional.empty(), compiler.readSnapshot(new ByteArrayInputStream(new byte[]{0, 0, 0, 0}), source));
+    }
+
+    @Test
+    void snapshotIsWrittenFromSpecificationFile() throws Exception {
+        Path snapshot = directory.resolve("nested/specification.yml" + SpecificationSnapshot.SUFFIX);
+        Path file = directory.resolve("specification.yml");
+        Files.writeString(file, source);
+
+        SpecificationSnapshot.main(new String[]{file.toString(), snapshot.toString()});
+
+        Optional<CompiledSpecification> restored = compiler.readSnapshot(Files.newInputStream(snapshot), source);
+        assertTrue(restored.isPresent());
+        assertEquals(describe(specification.getRoot()), describe(restored.get().getRoot()));
+    }
+
+    private byte[] write(CompiledSpecification specification) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        compiler.writeSnapshot(specification, source, output);
+        return output.toByteArray();
+    }
+
+    private static List<String> describe(SpecificationNode root) {
+        List<String> description = new ArrayList<>();
+        describe(root, "", description);
+        return description;
+    }
+
+    private static void describe(SpecificationNode node, String path, List<String> description) {
+        description.add(path + "/" + node.getName() + " " + node.getType() + " " + node.getTypeName() + " " + node.isRequired()
+                + " " + pattern(node.getNameRegex()) + " " + pattern(node.getValueRegex())
+                + " " + node.getRequiredFields() + " " + node.getAllowedFields());
+        for (SpecificationNode child : node.getChildren().values()) {
+            describe(child, path + "/" + node.getName(), description);
+        }
+    }
+
+    private static String pattern(SpecificationPattern pattern) {
+        return pattern == null ? null : pattern.getClass().getSimpleName() + ":" + pattern.pattern();
+    }
+}
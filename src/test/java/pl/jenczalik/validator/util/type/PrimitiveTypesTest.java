@@ -0,0 +1,116 @@
+package pl.jenczalik.validator.util.type;
+
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import pl.jenczalik.validator.model.ErrorCode;
+import pl.jenczalik.validator.model.specification.SpecificationNode;
+import pl.jenczalik.validator.service.PrimitiveValidator;
+import pl.jenczalik.validator.util.hash.ContentHasher;
+import pl.jenczalik.validator.util.metrics.ValidationMetrics;
+import pl.jenczalik.validator.util.parser.YamlParser;
+import pl.jenczalik.validator.util.regex.RegexCompiler;
+import pl.jenczalik.validator.util.specification.SpecificationCompiler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrimitiveTypesTest {
+
+    @Test
+    void integersAreCheckedWithoutParsing() {
+        for (String value : List.of("0", "-12", "+7", "2147483647", "-9223372036854775808")) {
+            assertNull(BuiltInType.INTEGER.check(value), value);
+        }
+        assertEquals(ErrorCode.NUMBER_TOO_LARGE, BuiltInType.INTEGER.check("2147483648"));
+        assertEquals(ErrorCode.NUMBER_TOO_LARGE, BuiltInType.INTEGER.check("9223372036854775807"));
+        for (String value : List.of("", "-", "12a", "1.0", "9223372036854775808")) {
+            assertEquals(ErrorCode.BAD_NUMBER_FORMAT, BuiltInType.INTEGER.check(value), value);
+        }
+
+        assertNull(BuiltInType.UNSIGNED_INTEGER.check("5683"));
+        assertNull(BuiltInType.UNSIGNED_INTEGER.check("-0"));
+        assertEquals(ErrorCode.BAD_NUMBER_FORMAT, BuiltInType.UNSIGNED_INTEGER.check("-1"));
+        assertEquals(ErrorCode.NUMBER_TOO_LARGE, BuiltInType.UNSIGNED_INTEGER.check("99999999999"));
+    }
+
+    @Test
+    void formatsAreChecked() {
+        assertValid(BuiltInType.UUID, "123e4567-e89b-12d3-a456-426614174000", "123E4567-E89B-12D3-A456-426614174000");
+        assertInvalid(BuiltInType.UUID, "123e4567e89b12d3a456426614174000", "123e4567-e89b-12d3-a456-42661417400g",
+                "123e4567-e89b-12d3-a456_426614174000", "123e4567-e89b-12d3-a456-4266141740000");
+
+        assertValid(BuiltInType.COAP_CODE, "2.05", "4.04", "5.31");
+        assertInvalid(BuiltInType.COAP_CODE, "0.01", "3.00", "4.32", "4.4", "4-04", "default");
+
+        assertValid(BuiltInType.URI, "coap://example.com/lamps?state=on#top", "mit.edu/license.md", "urn:isbn:0451450523",
+                "/lamps/%7Bid%7D", "coap+tcp://[::1]:5683");
+        assertInvalid(BuiltInType.URI, "", "http://example.com/a b", "1coap://example.com", "a_b:c", "/%7", "/%zz", "a#b#c",
+                "http://example.com/ż");
+
+        assertValid(BuiltInType.EMAIL, "jenczalik@pw.edu.pl", "first.last+tag@example.com", "user@bücher.de");
+        assertInvalid(BuiltInType.EMAIL, "jenczalik", "@pw.edu.pl", "jenczalik@pl", "a..b@pw.edu.pl", ".a@pw.edu.pl",
+                "a@b@pw.edu.pl", "a@-pw.edu.pl", "a@pw..pl", "a b@pw.edu.pl", "a@pw.edu.pl.", "@".repeat(2000));
+    }
+
+    @Test
+    void registeredTypesAreUsedBySpecification() throws Exception {
+        PrimitiveTypes.register(new PrimitiveType() {
+            @Override
+            public String getName() {
+                return "lowercase";
+            }
+
+            @Override
+            public ErrorCode check(String value) {
+                return value.chars().allMatch(Character::isLowerCase) ? null : ErrorCode.BAD_FORMAT;
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveTypes.register(new PrimitiveType() {
+            @Override
+            public String getName() {
+                return "string";
+            }
+
+            @Override
+            public ErrorCode check(String value) {
+                return null;
+            }
+        }));
+        assertSame(BuiltInType.UUID, PrimitiveTypes.get("uuid"));
+        assertNull(PrimitiveTypes.get("custom"));
+
+        YamlParser yamlParser = new YamlParser();
+        SpecificationCompiler compiler = new SpecificationCompiler(new ContentHasher(), new RegexCompiler());
+        PrimitiveValidator primitiveValidator = new PrimitiveValidator(new ValidationMetrics(new SimpleMeterRegistry()));
+        SpecificationNode root = compiler.compile(yamlParser.parseYamlString(
+                "id:\n  required: true\n  type: uuid\nname:\n  required: false\n  type: lowercase\n")).getRoot();
+
+        assertEquals(ErrorCode.BAD_FORMAT, primitiveValidator.validatePrimitive("1234", root.getChild("id")));
+        assertEquals(ErrorCode.BAD_FORMAT, primitiveValidator.validatePrimitive("Lamp", root.getChild("name")));
+        assertNull(primitiveValidator.validatePrimitive("lamp", root.getChild("name")));
+
+
+        // dołączona specyfikacja nie korzysta z typów formatów - definicje poprawne dotychczas pozostają poprawne
+        SpecificationNode info = compiler.compile(yamlParser.parseYamlString(yamlParser.readFile("specification.yml")))
+                .getRoot().getChild("info");
+        assertNull(info.getChild("contact").getChild("email").getPrimitiveType());
+        assertNull(info.getChild("contact").getChild("url").getPrimitiveType());
+        assertNull(info.getChild("licence").getChild("url").getPrimitiveType());
+    }
+
+    private static void assertValid(PrimitiveType type, String... values) {
+        for (String value : values) {
+            assertNull(type.check(value), value);
+        }
+    }
+
+    private static void assertInvalid(PrimitiveType type, String... values) {
+        for (String value : values) {
+            assertEquals(ErrorCode.BAD_FORMAT, type.check(value), value);
+        }
+    }
+}